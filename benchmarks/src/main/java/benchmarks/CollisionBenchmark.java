@@ -0,0 +1,127 @@
+package benchmarks;
+
+import javafx.geometry.Rectangle2D;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the player's collision checks, CollisionWorld against the list scan the game used before.
+ * "synthetic" is a 4000x4000 px room with 5000 random collision rectangles
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class CollisionBenchmark {
+    /**
+     * Amount of queries per benchmark call
+     */
+    private static final int QUERIES = 1024;
+    /**
+     * Which map's collisions to query
+     */
+    @Param({"cellar", "enter_hall", "garden", "synthetic"})
+    public String map;
+    /**
+     * CollisionWorld of the map
+     */
+    private Object world;
+    /**
+     * Collision rectangles of the map, the way RoomRenderer.getCollisions returned them
+     */
+    private List<Rectangle2D> rects;
+    /**
+     * Positions of the queried hitboxes, generated with a fixed seed
+     */
+    private double[] queryX, queryY;
+
+    /**
+     * Method used to build the collisions and the query positions before the benchmark
+     * @throws Throwable if the game's method fails
+     */
+    @Setup
+    public void setup() throws Throwable {
+        Random random = new Random(42);
+        double worldWidth;
+        double worldHeight;
+        if (map.equals("synthetic")) {
+            worldWidth = 4000;
+            worldHeight = 4000;
+            Object builder = (Object) GameHandles.NEW_COLLISION_BUILDER.invokeExact();
+            for (int i = 0; i < 5000; i++) {
+                builder = (Object) GameHandles.COLLISION_BUILDER_ADD.invokeExact(builder,
+                        random.nextDouble() * worldWidth, random.nextDouble() * worldHeight,
+                        8 + random.nextDouble() * 56, 8 + random.nextDouble() * 56);
+            }
+            world = (Object) GameHandles.COLLISION_BUILDER_BUILD.invokeExact(builder, worldWidth, worldHeight);
+        } else {
+            Object roomMap = (Object) GameHandles.COMPILE.invokeExact(new JSONObject(Maps.read(map)));
+            worldWidth = (int) GameHandles.MAP_WIDTH.invokeExact(roomMap) * (int) GameHandles.MAP_TILE_WIDTH.invokeExact(roomMap);
+            worldHeight = (int) GameHandles.MAP_HEIGHT.invokeExact(roomMap) * (int) GameHandles.MAP_TILE_HEIGHT.invokeExact(roomMap);
+            world = (Object) GameHandles.COLLISION_FROM_MAP.invokeExact(roomMap);
+        }
+        rects = new ArrayList<>();
+        int size = (int) GameHandles.COLLISION_SIZE.invokeExact(world);
+        for (int id = 0; id < size; id++) {
+            rects.add(new Rectangle2D((double) GameHandles.COLLISION_X.invokeExact(world, id),
+                    (double) GameHandles.COLLISION_Y.invokeExact(world, id),
+                    (double) GameHandles.COLLISION_WIDTH.invokeExact(world, id),
+                    (double) GameHandles.COLLISION_HEIGHT.invokeExact(world, id)));
+        }
+        queryX = new double[QUERIES];
+        queryY = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = random.nextDouble() * worldWidth;
+            queryY[i] = random.nextDouble() * worldHeight;
+        }
+    }
+
+    /**
+     * Querying the 12x12 player hitbox through CollisionWorld.overlaps
+     * @return amount of colliding hitboxes
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public int grid() throws Throwable {
+        int hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if ((boolean) GameHandles.COLLISION_OVERLAPS.invokeExact(world, queryX[i] - 6, queryY[i] - 6, 12.0, 12.0)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Querying the 12x12 player hitbox the way GameGUI.checkCollision used to(copying the list and streaming over it)
+     * @return amount of colliding hitboxes
+     */
+    @Benchmark
+    public int listScan() {
+        int hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            Rectangle2D hitbox = new Rectangle2D(queryX[i] - 6, queryY[i] - 6, 12, 12);
+            if (new ArrayList<>(rects).stream().anyMatch(rect -> rect.intersects(hitbox))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
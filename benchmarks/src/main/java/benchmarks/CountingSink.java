@@ -0,0 +1,26 @@
+package benchmarks;
+
+/**
+ * Headless draw sink, receives the tiles instead of drawing them and keeps a checksum so that the JIT can't drop the work
+ */
+public final class CountingSink {
+    /**
+     * Amount of received tiles
+     */
+    long tiles;
+    /**
+     * Checksum of the received tiles
+     */
+    long checksum;
+
+    /**
+     * Method called for every drawn tile
+     * @param tileId id(gid) of the tile
+     * @param x x coordinate of the tile in pixels
+     * @param y y coordinate of the tile in pixels
+     */
+    public void drawTile(int tileId, int x, int y) {
+        tiles++;
+        checksum = checksum * 31 + tileId + x * 7L + y * 13L;
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+
+import static benchmarks.GameHandles.erase;
+import static benchmarks.GameHandles.findConstructor;
+import static benchmarks.GameHandles.findStatic;
+import static benchmarks.GameHandles.findVirtual;
+import static benchmarks.GameHandles.load;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Class used to call the game's enemy classes from EnemyUpdateBenchmark, see GameHandles.
+ * Kept apart from GameHandles, so that the other benchmarks don't load the enemy classes
+ */
+final class EnemyHandles {
+    /** EnemyStore class */
+    static final Class<?> ENEMY_STORE = load("EnemyStore");
+    /** Enemy class */
+    static final Class<?> ENEMY = load("Enemy");
+    /** RoomId class */
+    static final Class<?> ROOM_ID = load("RoomId");
+    /** new EnemyStore(int) */
+    static final MethodHandle NEW_ENEMY_STORE = erase(findConstructor(ENEMY_STORE, methodType(void.class, int.class)));
+    /** EnemyStore.add(int, int, int) */
+    static final MethodHandle STORE_ADD = erase(findVirtual(ENEMY_STORE, "add", methodType(int.class, int.class, int.class, int.class)));
+    /** EnemyStore.setPosition(int, float, float) */
+    static final MethodHandle STORE_SET_POSITION = erase(findVirtual(ENEMY_STORE, "setPosition",
+            methodType(void.class, int.class, float.class, float.class)));
+    /** EnemyStore.update(int, int, int, float, float, float) */
+    static final MethodHandle STORE_UPDATE = erase(findVirtual(ENEMY_STORE, "update",
+            methodType(int.class, int.class, int.class, int.class, float.class, float.class, float.class)));
+    /** EnemyStore.getSlotCount() */
+    static final MethodHandle STORE_SLOT_COUNT = erase(findVirtual(ENEMY_STORE, "getSlotCount", methodType(int.class)));
+    /** RoomId.of(String) */
+    static final MethodHandle ROOM_ID_OF = erase(findStatic(ROOM_ID, "of", methodType(ROOM_ID, String.class)));
+    /** RoomId.getOrdinal() */
+    static final MethodHandle ROOM_ID_ORDINAL = erase(findVirtual(ROOM_ID, "getOrdinal", methodType(int.class)));
+    /** new Zombie(World, String) */
+    static final MethodHandle NEW_ZOMBIE = erase(findConstructor(load("Zombie"), methodType(void.class, load("World"), String.class)));
+    /** Enemy.getCurrentRoomId() */
+    static final MethodHandle ENEMY_ROOM_ID = erase(findVirtual(ENEMY, "getCurrentRoomId", methodType(ROOM_ID)));
+    /** Enemy.isDefeated() */
+    static final MethodHandle ENEMY_DEFEATED = erase(findVirtual(ENEMY, "isDefeated", methodType(boolean.class)));
+    /** Enemy.getX() */
+    static final MethodHandle ENEMY_X = erase(findVirtual(ENEMY, "getX", methodType(float.class)));
+    /** Enemy.getY() */
+    static final MethodHandle ENEMY_Y = erase(findVirtual(ENEMY, "getY", methodType(float.class)));
+    /** Enemy.setPosition(float, float) */
+    static final MethodHandle ENEMY_SET_POSITION = erase(findVirtual(ENEMY, "setPosition",
+            methodType(void.class, float.class, float.class)));
+    /** Enemy.setState(byte) */
+    static final MethodHandle ENEMY_SET_STATE = erase(findVirtual(ENEMY, "setState", methodType(void.class, byte.class)));
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private EnemyHandles() {
+    }
+}
@@ -0,0 +1,157 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a single AI tick over 100k zombies, the EnemyStore arrays against the same update done through every Zombie object.
+ * The zombies are spread over "rooms" rooms, only the ones in the player's room chase the player, who circles around the room between ticks
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class EnemyUpdateBenchmark {
+    /**
+     * Amount of zombies updated per tick
+     */
+    private static final int ENTITIES = 100_000;
+    /**
+     * How far a chasing zombie moves per tick, in pixels
+     */
+    private static final float STEP = 1.5f;
+    /**
+     * State of a zombie outside the player's room(EnemyStore.IDLE)
+     */
+    private static final byte IDLE = 0;
+    /**
+     * State of a zombie in the player's room(EnemyStore.CHASING)
+     */
+    private static final byte CHASING = 1;
+    /**
+     * Amount of rooms the zombies are spread over, 1 puts all of them into the player's room
+     */
+    @Param({"1", "64"})
+    public int rooms;
+    /**
+     * EnemyStore holding the zombies
+     */
+    private Object store;
+    /**
+     * The zombies as separate objects, not attached to any store
+     */
+    private Object[] zombies;
+    /**
+     * RoomId of the player's room
+     */
+    private Object playerRoom;
+    /**
+     * Ordinal of the player's room
+     */
+    private int playerRoomOrdinal;
+    /**
+     * Amount of ticks so far, moves the player
+     */
+    private int tick;
+
+    /**
+     * Method used to create the zombies, in the store and as objects, with the same random positions
+     * @throws Throwable if the game's method fails
+     */
+    @Setup
+    public void setup() throws Throwable {
+        Random random = new Random(42);
+        store = (Object) EnemyHandles.NEW_ENEMY_STORE.invokeExact(ENTITIES);
+        zombies = new Object[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            String roomName = "benchmark_room_" + (i % rooms);
+            int room = (int) EnemyHandles.ROOM_ID_ORDINAL.invokeExact((Object) EnemyHandles.ROOM_ID_OF.invokeExact(roomName));
+            float x = random.nextFloat() * 4000;
+            float y = random.nextFloat() * 4000;
+            int slot = (int) EnemyHandles.STORE_ADD.invokeExact(store, 90, room, 0);
+            EnemyHandles.STORE_SET_POSITION.invokeExact(store, slot, x, y);
+            zombies[i] = (Object) EnemyHandles.NEW_ZOMBIE.invokeExact((Object) null, roomName);
+            EnemyHandles.ENEMY_SET_POSITION.invokeExact(zombies[i], x, y);
+        }
+        playerRoom = (Object) EnemyHandles.ROOM_ID_OF.invokeExact("benchmark_room_0");
+        playerRoomOrdinal = (int) EnemyHandles.ROOM_ID_ORDINAL.invokeExact(playerRoom);
+    }
+
+    /**
+     * Updating all the slots of the store in one EnemyStore.update call
+     * @return amount of chasing zombies
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public int store() throws Throwable {
+        tick++;
+        float playerX = playerX();
+        float playerY = playerY();
+        int slots = (int) EnemyHandles.STORE_SLOT_COUNT.invokeExact(store);
+        return (int) EnemyHandles.STORE_UPDATE.invokeExact(store, 0, slots, playerRoomOrdinal, playerX, playerY, STEP);
+    }
+
+    /**
+     * The same update done through the getters and setters of every Zombie object
+     * @return amount of chasing zombies
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public int objects() throws Throwable {
+        tick++;
+        float playerX = playerX();
+        float playerY = playerY();
+        int chasing = 0;
+        for (Object zombie : zombies) {
+            if ((boolean) EnemyHandles.ENEMY_DEFEATED.invokeExact(zombie)) continue;
+            if ((Object) EnemyHandles.ENEMY_ROOM_ID.invokeExact(zombie) != playerRoom) {
+                EnemyHandles.ENEMY_SET_STATE.invokeExact(zombie, IDLE);
+                continue;
+            }
+            EnemyHandles.ENEMY_SET_STATE.invokeExact(zombie, CHASING);
+            chasing++;
+            float x = (float) EnemyHandles.ENEMY_X.invokeExact(zombie);
+            float y = (float) EnemyHandles.ENEMY_Y.invokeExact(zombie);
+            float dx = playerX - x;
+            float dy = playerY - y;
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            if (distance <= STEP) {
+                EnemyHandles.ENEMY_SET_POSITION.invokeExact(zombie, playerX, playerY);
+            } else {
+                float scale = STEP / distance;
+                EnemyHandles.ENEMY_SET_POSITION.invokeExact(zombie, x + dx * scale, y + dy * scale);
+            }
+        }
+        return chasing;
+    }
+
+    /**
+     * Method used to get the player's x position for the current tick
+     * @return the x position
+     */
+    private float playerX() {
+        return 2000 + 1500 * (float) Math.cos(tick * 0.01);
+    }
+
+    /**
+     * Method used to get the player's y position for the current tick
+     * @return the y position
+     */
+    private float playerY() {
+        return 2000 + 1500 * (float) Math.sin(tick * 0.01);
+    }
+}
@@ -0,0 +1,207 @@
+package benchmarks;
+
+import org.json.JSONObject;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Class used to call the game's classes from the benchmarks.
+ * The game is written in the default package, which can't be imported and which JMH doesn't allow benchmarks in,
+ * so the methods are bound once to static final method handles, which the JIT inlines like direct calls.
+ * Handles only needed by a single benchmark are kept in their own holder class(SaveHandles, EnemyHandles),
+ * so that a missing game class only fails that benchmark
+ */
+final class GameHandles {
+    /**
+     * Lookup used to find the game's methods
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    /** RoomMap class */
+    static final Class<?> ROOM_MAP = load("RoomMap");
+    /** RoomMap.TileLayer class */
+    static final Class<?> TILE_LAYER = load("RoomMap$TileLayer");
+    /** RoomMap.TilesetRef class */
+    static final Class<?> TILESET_REF = load("RoomMap$TilesetRef");
+    /** TileSink interface */
+    static final Class<?> TILE_SINK = load("TileSink");
+    /** TileSet class */
+    static final Class<?> TILE_SET = load("TileSet");
+    /** TileLookup class */
+    static final Class<?> TILE_LOOKUP = load("TileLookup");
+    /** CollisionWorld class */
+    static final Class<?> COLLISION_WORLD = load("CollisionWorld");
+    /** CollisionWorld.Builder class */
+    static final Class<?> COLLISION_BUILDER = load("CollisionWorld$Builder");
+
+    /** TiledMapLoader.compile(JSONObject) */
+    static final MethodHandle COMPILE = erase(findStatic(load("TiledMapLoader"), "compile", methodType(ROOM_MAP, JSONObject.class)));
+    /** RoomMap.getWidth() */
+    static final MethodHandle MAP_WIDTH = erase(findVirtual(ROOM_MAP, "getWidth", methodType(int.class)));
+    /** RoomMap.getHeight() */
+    static final MethodHandle MAP_HEIGHT = erase(findVirtual(ROOM_MAP, "getHeight", methodType(int.class)));
+    /** RoomMap.getTileWidth() */
+    static final MethodHandle MAP_TILE_WIDTH = erase(findVirtual(ROOM_MAP, "getTileWidth", methodType(int.class)));
+    /** RoomMap.getTileHeight() */
+    static final MethodHandle MAP_TILE_HEIGHT = erase(findVirtual(ROOM_MAP, "getTileHeight", methodType(int.class)));
+    /** RoomMap.getTileLayers() */
+    static final MethodHandle MAP_TILE_LAYERS = erase(findVirtual(ROOM_MAP, "getTileLayers", methodType(List.class)));
+    /** RoomMap.getTilesets() */
+    static final MethodHandle MAP_TILESETS = erase(findVirtual(ROOM_MAP, "getTilesets", methodType(List.class)));
+    /** RoomMap.TileLayer.getData() */
+    static final MethodHandle LAYER_DATA = erase(findVirtual(TILE_LAYER, "getData", methodType(int[].class)));
+    /** RoomMap.TileLayer.forEachTile(int, int, int, TileSink) */
+    static final MethodHandle LAYER_FOR_EACH_TILE = erase(findVirtual(TILE_LAYER, "forEachTile",
+            methodType(void.class, int.class, int.class, int.class, TILE_SINK)));
+    /** RoomMap.TilesetRef.getFirstGid() */
+    static final MethodHandle TILESET_FIRST_GID = erase(findVirtual(TILESET_REF, "getFirstGid", methodType(int.class)));
+    /** RoomMap.TilesetRef.getTileWidth() */
+    static final MethodHandle TILESET_TILE_WIDTH = erase(findVirtual(TILESET_REF, "getTileWidth", methodType(int.class)));
+    /** RoomMap.TilesetRef.getTileHeight() */
+    static final MethodHandle TILESET_TILE_HEIGHT = erase(findVirtual(TILESET_REF, "getTileHeight", methodType(int.class)));
+    /** RoomMap.TilesetRef.getColumns() */
+    static final MethodHandle TILESET_COLUMNS = erase(findVirtual(TILESET_REF, "getColumns", methodType(int.class)));
+    /** RoomMap.TilesetRef.getTileCount() */
+    static final MethodHandle TILESET_TILE_COUNT = erase(findVirtual(TILESET_REF, "getTileCount", methodType(int.class)));
+    /** new TileSet(Image, int, int, int, int, int), the image is never touched by the benchmarks */
+    static final MethodHandle NEW_TILE_SET = erase(findConstructor(TILE_SET, methodType(void.class,
+            load("javafx.scene.image.Image"), int.class, int.class, int.class, int.class, int.class)));
+    /** TileSet.containsTile(int) */
+    static final MethodHandle TILE_SET_CONTAINS = erase(findVirtual(TILE_SET, "containsTile", methodType(boolean.class, int.class)));
+    /** TileSet.getSourceX(int) */
+    static final MethodHandle TILE_SET_SOURCE_X = erase(findVirtual(TILE_SET, "getSourceX", methodType(int.class, int.class)));
+    /** new TileLookup(Collection) */
+    static final MethodHandle NEW_TILE_LOOKUP = erase(findConstructor(TILE_LOOKUP, methodType(void.class, Collection.class)));
+    /** TileLookup.getTileSet(int) */
+    static final MethodHandle LOOKUP_TILE_SET = erase(findVirtual(TILE_LOOKUP, "getTileSet", methodType(TILE_SET, int.class)));
+    /** TileLookup.getSourceX(int) */
+    static final MethodHandle LOOKUP_SOURCE_X = erase(findVirtual(TILE_LOOKUP, "getSourceX", methodType(int.class, int.class)));
+    /** CollisionWorld.fromMap(RoomMap) */
+    static final MethodHandle COLLISION_FROM_MAP = erase(findStatic(COLLISION_WORLD, "fromMap", methodType(COLLISION_WORLD, ROOM_MAP)));
+    /** CollisionWorld.overlaps(double, double, double, double) */
+    static final MethodHandle COLLISION_OVERLAPS = erase(findVirtual(COLLISION_WORLD, "overlaps",
+            methodType(boolean.class, double.class, double.class, double.class, double.class)));
+    /** CollisionWorld.size() */
+    static final MethodHandle COLLISION_SIZE = erase(findVirtual(COLLISION_WORLD, "size", methodType(int.class)));
+    /** CollisionWorld.getX(int) */
+    static final MethodHandle COLLISION_X = erase(findVirtual(COLLISION_WORLD, "getX", methodType(double.class, int.class)));
+    /** CollisionWorld.getY(int) */
+    static final MethodHandle COLLISION_Y = erase(findVirtual(COLLISION_WORLD, "getY", methodType(double.class, int.class)));
+    /** CollisionWorld.getWidth(int) */
+    static final MethodHandle COLLISION_WIDTH = erase(findVirtual(COLLISION_WORLD, "getWidth", methodType(double.class, int.class)));
+    /** CollisionWorld.getHeight(int) */
+    static final MethodHandle COLLISION_HEIGHT = erase(findVirtual(COLLISION_WORLD, "getHeight", methodType(double.class, int.class)));
+    /** new CollisionWorld.Builder() */
+    static final MethodHandle NEW_COLLISION_BUILDER = erase(findConstructor(COLLISION_BUILDER, methodType(void.class)));
+    /** CollisionWorld.Builder.add(double, double, double, double) */
+    static final MethodHandle COLLISION_BUILDER_ADD = erase(findVirtual(COLLISION_BUILDER, "add",
+            methodType(COLLISION_BUILDER, double.class, double.class, double.class, double.class)));
+    /** CollisionWorld.Builder.build(double, double) */
+    static final MethodHandle COLLISION_BUILDER_BUILD = erase(findVirtual(COLLISION_BUILDER, "build",
+            methodType(COLLISION_WORLD, double.class, double.class)));
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private GameHandles() {
+    }
+
+    /**
+     * Method used to wrap a sink into the game's TileSink interface, using a real lambda class rather than a reflective proxy
+     * @param sink sink receiving the tiles
+     * @return TileSink instance calling the sink
+     */
+    static Object tileSink(CountingSink sink) {
+        try {
+            MethodType drawTile = methodType(void.class, int.class, int.class, int.class);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "drawTile", methodType(TILE_SINK, CountingSink.class),
+                    drawTile, LOOKUP.findVirtual(CountingSink.class, "drawTile", drawTile), drawTile);
+            return site.getTarget().invoke(sink);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create TileSink", e);
+        }
+    }
+
+    /**
+     * Method used to load a game class
+     * @param name name of the class
+     * @return the class
+     */
+    static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Missing game class " + name, e);
+        }
+    }
+
+    /**
+     * Method used to find a static method
+     * @param owner class of the method
+     * @param name name of the method
+     * @param type type of the method
+     * @return handle of the method
+     */
+    static MethodHandle findStatic(Class<?> owner, String name, MethodType type) {
+        try {
+            return LOOKUP.findStatic(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing game method " + owner.getName() + "." + name, e);
+        }
+    }
+
+    /**
+     * Method used to find an instance method
+     * @param owner class of the method
+     * @param name name of the method
+     * @param type type of the method
+     * @return handle of the method
+     */
+    static MethodHandle findVirtual(Class<?> owner, String name, MethodType type) {
+        try {
+            return LOOKUP.findVirtual(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing game method " + owner.getName() + "." + name, e);
+        }
+    }
+
+    /**
+     * Method used to find a constructor
+     * @param owner class of the constructor
+     * @param type type of the constructor
+     * @return handle of the constructor
+     */
+    static MethodHandle findConstructor(Class<?> owner, MethodType type) {
+        try {
+            return LOOKUP.findConstructor(owner, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing game constructor " + owner.getName(), e);
+        }
+    }
+
+    /**
+     * Method used to replace the game's types in a handle's type by Object, so that the benchmarks can call it with invokeExact
+     * @param handle which handle
+     * @return the handle with the game's types erased
+     */
+    static MethodHandle erase(MethodHandle handle) {
+        MethodType type = handle.type();
+        for (int i = 0; i < type.parameterCount(); i++) {
+            if (!type.parameterType(i).isPrimitive() && type.parameterType(i).getPackageName().isEmpty()) {
+                type = type.changeParameterType(i, Object.class);
+            }
+        }
+        if (!type.returnType().isPrimitive() && type.returnType().getPackageName().isEmpty()) {
+            type = type.changeReturnType(Object.class);
+        }
+        return handle.asType(type);
+    }
+}
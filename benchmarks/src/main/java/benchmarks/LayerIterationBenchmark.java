@@ -0,0 +1,106 @@
+package benchmarks;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of walking all the tile layers of a room the way RoomRenderer does when drawing tile by tile,
+ * with the tiles going into a headless sink instead of a GraphicsContext, so that no display is needed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class LayerIterationBenchmark {
+    /**
+     * Which map to walk
+     */
+    @Param({"caravan", "cellar", "enter_hall", "garden", "laboratory"})
+    public String map;
+    /**
+     * Tile layers of the map
+     */
+    private Object[] layers;
+    /**
+     * Width of the map in tiles
+     */
+    private int width;
+    /**
+     * Width and height of a tile in pixels
+     */
+    private int tileWidth, tileHeight;
+    /**
+     * Headless sink receiving the tiles
+     */
+    private CountingSink sink;
+    /**
+     * The sink wrapped into the game's TileSink interface
+     */
+    private Object tileSink;
+
+    /**
+     * Method used to compile the map before the benchmark
+     * @throws Throwable if the game's method fails
+     */
+    @Setup
+    public void setup() throws Throwable {
+        Object roomMap = (Object) GameHandles.COMPILE.invokeExact(new JSONObject(Maps.read(map)));
+        List<?> tileLayers = (List<?>) GameHandles.MAP_TILE_LAYERS.invokeExact(roomMap);
+        layers = tileLayers.toArray();
+        width = (int) GameHandles.MAP_WIDTH.invokeExact(roomMap);
+        tileWidth = (int) GameHandles.MAP_TILE_WIDTH.invokeExact(roomMap);
+        tileHeight = (int) GameHandles.MAP_TILE_HEIGHT.invokeExact(roomMap);
+        sink = new CountingSink();
+        tileSink = GameHandles.tileSink(sink);
+    }
+
+    /**
+     * Walking the layers through RoomMap.TileLayer.forEachTile
+     * @return checksum of the received tiles
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public long forEachTile() throws Throwable {
+        for (Object layer : layers) {
+            GameHandles.LAYER_FOR_EACH_TILE.invokeExact(layer, width, tileWidth, tileHeight, tileSink);
+        }
+        return sink.checksum;
+    }
+
+    /**
+     * Walking the raw layer data directly, the lower bound for forEachTile
+     * @return checksum of the received tiles
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public long rawData() throws Throwable {
+        for (Object layer : layers) {
+            int[] data = (int[]) GameHandles.LAYER_DATA.invokeExact(layer);
+            int height = data.length / width;
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int tileId = data[y * width + x];
+                    if (tileId != 0) {
+                        sink.drawTile(tileId, x * tileWidth, y * tileHeight);
+                    }
+                }
+            }
+        }
+        return sink.checksum;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of loading a room's map: parsing the tmj json and compiling it into a RoomMap
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class MapCompileBenchmark {
+    /**
+     * Which map to load
+     */
+    @Param({"bathroom", "caravan", "cellar", "cemetery_ending", "dining_room", "enter_hall", "garden",
+            "garden_house", "laboratory", "library", "living_room", "main_bedroom", "secret_chamber"})
+    public String map;
+    /**
+     * Content of the tmj file
+     */
+    private String tmj;
+    /**
+     * Already parsed json of the tmj file
+     */
+    private JSONObject json;
+
+    /**
+     * Method used to read the map before the benchmark
+     */
+    @Setup
+    public void setup() {
+        tmj = Maps.read(map);
+        json = new JSONObject(tmj);
+    }
+
+    /**
+     * Parsing the json and compiling it, the way RoomManager.loadRoom does
+     * @return the compiled map
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public Object parseAndCompile() throws Throwable {
+        return (Object) GameHandles.COMPILE.invokeExact(new JSONObject(tmj));
+    }
+
+    /**
+     * Compiling already parsed json
+     * @return the compiled map
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public Object compileOnly() throws Throwable {
+        return (Object) GameHandles.COMPILE.invokeExact(json);
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class used to load the game's tmj files from the classpath
+ */
+final class Maps {
+    /**
+     * Names of all the maps in resources/maps
+     */
+    static final String[] ALL = {
+            "bathroom", "caravan", "cellar", "cemetery_ending", "dining_room", "enter_hall", "garden",
+            "garden_house", "laboratory", "library", "living_room", "main_bedroom", "secret_chamber"
+    };
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private Maps() {
+    }
+
+    /**
+     * Method used to read a tmj file
+     * @param name name of the map
+     * @return content of the file
+     */
+    static String read(String name) {
+        String path = "/maps/" + name + ".tmj";
+        try (InputStream is = Maps.class.getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IllegalStateException("Missing map " + path);
+            }
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
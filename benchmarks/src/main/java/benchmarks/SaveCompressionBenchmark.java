@@ -0,0 +1,77 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of encoding and decoding a save with the different compressions of the save body.
+ * The size of the encoded save is printed during the setup of every fork
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class SaveCompressionBenchmark {
+    /**
+     * Which compression to use, "none" or "deflate-" followed by the Deflate level
+     */
+    @Param({"none", "deflate-1", "deflate-6", "deflate-9"})
+    public String compression;
+    /**
+     * The GameStateGUI to encode
+     */
+    private Object state;
+    /**
+     * The encoded save to decode
+     */
+    private byte[] save;
+
+    /**
+     * Method used to set the compression and encode the save before the benchmark
+     * @throws Throwable if the game's methods fail
+     */
+    @Setup
+    public void setup() throws Throwable {
+        Object codec = null;
+        if (compression.startsWith("deflate-")) {
+            codec = (Object) SaveHandles.NEW_DEFLATE.invokeExact(Integer.parseInt(compression.substring("deflate-".length())));
+        }
+        SaveHandles.SAVE_SET_COMPRESSION.invokeExact(codec);
+        state = Saves.createState();
+        save = (byte[]) SaveHandles.SAVE_ENCODE.invokeExact(state);
+        System.out.println("Save size with " + compression + ": " + save.length + " bytes");
+    }
+
+    /**
+     * Encoding the state, the way a save or an autosave does on the save thread
+     * @return the encoded save
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public byte[] encode() throws Throwable {
+        return (byte[]) SaveHandles.SAVE_ENCODE.invokeExact(state);
+    }
+
+    /**
+     * Decoding the save, the way loading a save does
+     * @return the decoded state
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public Object decode() throws Throwable {
+        return (Object) SaveHandles.SAVE_DECODE.invokeExact(save);
+    }
+}
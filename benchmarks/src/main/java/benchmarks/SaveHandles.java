@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+
+import static benchmarks.GameHandles.erase;
+import static benchmarks.GameHandles.findConstructor;
+import static benchmarks.GameHandles.findStatic;
+import static benchmarks.GameHandles.findVirtual;
+import static benchmarks.GameHandles.load;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Class used to call the game's save classes from SaveCompressionBenchmark, see GameHandles.
+ * Kept apart from GameHandles, so that the other benchmarks don't load the save classes
+ */
+final class SaveHandles {
+    /** GameStateGUI class */
+    static final Class<?> GAME_STATE_GUI = load("GameStateGUI");
+    /** Item class */
+    static final Class<?> ITEM = load("Item");
+    /** SaveCompression interface */
+    static final Class<?> SAVE_COMPRESSION = load("SaveCompression");
+    /** new GameStateGUI() */
+    static final MethodHandle NEW_GAME_STATE = erase(findConstructor(GAME_STATE_GUI, methodType(void.class)));
+    /** GameStateGUI.setPlayerHealth(int) */
+    static final MethodHandle STATE_SET_HEALTH = erase(findVirtual(GAME_STATE_GUI, "setPlayerHealth", methodType(void.class, int.class)));
+    /** GameStateGUI.setPlayerPosition(double, double) */
+    static final MethodHandle STATE_SET_POSITION = erase(findVirtual(GAME_STATE_GUI, "setPlayerPosition",
+            methodType(void.class, double.class, double.class)));
+    /** GameStateGUI.setCurrentRoomName(String) */
+    static final MethodHandle STATE_SET_ROOM = erase(findVirtual(GAME_STATE_GUI, "setCurrentRoomName", methodType(void.class, String.class)));
+    /** GameStateGUI.setInventory(List) */
+    static final MethodHandle STATE_SET_INVENTORY = erase(findVirtual(GAME_STATE_GUI, "setInventory", methodType(void.class, List.class)));
+    /** GameStateGUI.setSearchedSpots(Map) */
+    static final MethodHandle STATE_SET_SEARCHED_SPOTS = erase(findVirtual(GAME_STATE_GUI, "setSearchedSpots", methodType(void.class, Map.class)));
+    /** GameStateGUI.setDroppedItems(Map) */
+    static final MethodHandle STATE_SET_DROPPED_ITEMS = erase(findVirtual(GAME_STATE_GUI, "setDroppedItems", methodType(void.class, Map.class)));
+    /** GameStateGUI.setLockStates(Map) */
+    static final MethodHandle STATE_SET_LOCK_STATES = erase(findVirtual(GAME_STATE_GUI, "setLockStates", methodType(void.class, Map.class)));
+    /** ItemCatalog.create(String) */
+    static final MethodHandle CREATE_ITEM = erase(findStatic(load("ItemCatalog"), "create", methodType(ITEM, String.class)));
+    /** new ItemPosition(Item, double, double) */
+    static final MethodHandle NEW_ITEM_POSITION = erase(findConstructor(load("ItemPosition"),
+            methodType(void.class, ITEM, double.class, double.class)));
+    /** SaveCodec.encode(GameStateGUI) */
+    static final MethodHandle SAVE_ENCODE = erase(findStatic(load("SaveCodec"), "encode", methodType(byte[].class, GAME_STATE_GUI)));
+    /** SaveCodec.decode(byte[]) */
+    static final MethodHandle SAVE_DECODE = erase(findStatic(load("SaveCodec"), "decode", methodType(Object.class, byte[].class)));
+    /** SaveCodec.setCompression(SaveCompression) */
+    static final MethodHandle SAVE_SET_COMPRESSION = erase(findStatic(load("SaveCodec"), "setCompression",
+            methodType(void.class, SAVE_COMPRESSION)));
+    /** new DeflateCompression(int) */
+    static final MethodHandle NEW_DEFLATE = erase(findConstructor(load("DeflateCompression"), methodType(void.class, int.class)));
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private SaveHandles() {
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class used to create game states for the save benchmarks, sized like a save made late in the game
+ */
+final class Saves {
+    /**
+     * Keys of the items in the inventory
+     */
+    private static final String[] INVENTORY = {
+            "PISTOL", "SHOTGUN", "PISTOL_AMMO", "SHOTGUN_AMMO", "FLASHLIGHT", "BATTERIES", "BANDAGE", "HEALING_SERUM",
+            "CASSETTE", "GEAR_PIECE_1"
+    };
+    /**
+     * Names of the search spots searched in every room
+     */
+    private static final String[] SPOTS = {"Drawer", "Wardrobe", "Bookshelf", "Bed", "Desk"};
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private Saves() {
+    }
+
+    /**
+     * Method used to create a game state with a full inventory, searched spots in every room, dropped items and lock states
+     * @return the GameStateGUI
+     * @throws Throwable if the game's methods fail
+     */
+    static Object createState() throws Throwable {
+        Object state = (Object) SaveHandles.NEW_GAME_STATE.invokeExact();
+        SaveHandles.STATE_SET_HEALTH.invokeExact(state, 65);
+        SaveHandles.STATE_SET_POSITION.invokeExact(state, 412.5, 288.25);
+        SaveHandles.STATE_SET_ROOM.invokeExact(state, "Library");
+        List<Object> inventory = new ArrayList<>();
+        for (String key : INVENTORY) {
+            inventory.add((Object) SaveHandles.CREATE_ITEM.invokeExact(key));
+        }
+        SaveHandles.STATE_SET_INVENTORY.invokeExact(state, (List<?>) inventory);
+        Map<String, List<String>> searchedSpots = new HashMap<>();
+        Map<String, List<Object>> droppedItems = new HashMap<>();
+        Map<String, Boolean> lockStates = new HashMap<>();
+        for (int i = 0; i < Maps.ALL.length; i++) {
+            String room = Maps.ALL[i];
+            searchedSpots.put(room, List.of(SPOTS).subList(0, 1 + i % SPOTS.length));
+            List<Object> dropped = new ArrayList<>();
+            for (int j = 0; j < i % 3; j++) {
+                Object item = (Object) SaveHandles.CREATE_ITEM.invokeExact(INVENTORY[j]);
+                dropped.add((Object) SaveHandles.NEW_ITEM_POSITION.invokeExact(item, 32.0 * j + 16, 48.0 * i));
+            }
+            droppedItems.put(room, dropped);
+            lockStates.put(room + " Door", i % 2 == 0);
+        }
+        SaveHandles.STATE_SET_SEARCHED_SPOTS.invokeExact(state, (Map<?, ?>) searchedSpots);
+        SaveHandles.STATE_SET_DROPPED_ITEMS.invokeExact(state, (Map<?, ?>) droppedItems);
+        SaveHandles.STATE_SET_LOCK_STATES.invokeExact(state, (Map<?, ?>) lockStates);
+        return state;
+    }
+}
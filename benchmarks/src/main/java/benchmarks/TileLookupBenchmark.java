@@ -0,0 +1,120 @@
+package benchmarks;
+
+import javafx.scene.image.Image;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of resolving every tile of a room to its tile set and source rectangle,
+ * TileLookup against the tile set map scan RoomRenderer used before
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class TileLookupBenchmark {
+    /**
+     * Which map's tiles to resolve
+     */
+    @Param({"caravan", "cellar", "enter_hall", "garden", "laboratory"})
+    public String map;
+    /**
+     * Non-empty tiles of all the map's layers
+     */
+    private int[] tiles;
+    /**
+     * Tile sets of the map (first gid, tile set), the way RoomRenderer stored them
+     */
+    private Map<Integer, Object> tileSets;
+    /**
+     * TileLookup built from the tile sets
+     */
+    private Object lookup;
+
+    /**
+     * Method used to compile the map and build the tile sets(without images) before the benchmark
+     * @throws Throwable if the game's method fails
+     */
+    @Setup
+    public void setup() throws Throwable {
+        Object roomMap = (Object) GameHandles.COMPILE.invokeExact(new JSONObject(Maps.read(map)));
+        tileSets = new HashMap<>();
+        for (Object ref : (List<?>) GameHandles.MAP_TILESETS.invokeExact(roomMap)) {
+            int firstGid = (int) GameHandles.TILESET_FIRST_GID.invokeExact(ref);
+            Object tileSet = (Object) GameHandles.NEW_TILE_SET.invokeExact((Image) null, firstGid,
+                    (int) GameHandles.TILESET_TILE_WIDTH.invokeExact(ref),
+                    (int) GameHandles.TILESET_TILE_HEIGHT.invokeExact(ref),
+                    (int) GameHandles.TILESET_COLUMNS.invokeExact(ref),
+                    (int) GameHandles.TILESET_TILE_COUNT.invokeExact(ref));
+            tileSets.put(firstGid, tileSet);
+        }
+        lookup = (Object) GameHandles.NEW_TILE_LOOKUP.invokeExact((Collection<?>) tileSets.values());
+        List<Integer> used = new ArrayList<>();
+        for (Object layer : (List<?>) GameHandles.MAP_TILE_LAYERS.invokeExact(roomMap)) {
+            for (int tileId : (int[]) GameHandles.LAYER_DATA.invokeExact(layer)) {
+                if (tileId != 0) {
+                    used.add(tileId);
+                }
+            }
+        }
+        tiles = used.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Resolving the tiles through TileLookup
+     * @return sum of the source x coordinates
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public long tileLookup() throws Throwable {
+        long sum = 0;
+        for (int tileId : tiles) {
+            Object tileSet = (Object) GameHandles.LOOKUP_TILE_SET.invokeExact(lookup, tileId);
+            if (tileSet != null) {
+                sum += (int) GameHandles.LOOKUP_SOURCE_X.invokeExact(lookup, tileId);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Resolving the tiles by scanning the tile set map, the way RoomRenderer.renderTile used to
+     * @return sum of the source x coordinates
+     * @throws Throwable if the game's method fails
+     */
+    @Benchmark
+    public long mapScan() throws Throwable {
+        long sum = 0;
+        for (int tileId : tiles) {
+            for (Map.Entry<Integer, Object> entry : tileSets.entrySet()) {
+                if (tileId >= entry.getKey()) {
+                    Object tileSet = entry.getValue();
+                    if ((boolean) GameHandles.TILE_SET_CONTAINS.invokeExact(tileSet, tileId)) {
+                        sum += (int) GameHandles.TILE_SET_SOURCE_X.invokeExact(tileSet, tileId);
+                        break;
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+}
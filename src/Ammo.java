@@ -24,6 +24,12 @@ public class Ammo extends Item {
      */
     public int getAmount() { return amount; }
 
+    /**
+     * Setter for the field 'amount'
+     * @param amount what to set the value of 'amount' to
+     */
+    public void setAmount(int amount) { this.amount = amount; }
+
     /**
      * Method used to describe the usage of ammo
      * @param player Specifies which player is trying to use the ammo
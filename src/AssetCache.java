@@ -0,0 +1,262 @@
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class used to share decoded images(tile sets, item sprites, HUD) between the whole game, so that every image is only decoded once.
+ * Images held by someone(acquired) are never evicted, the rest is evicted by least recent use once the byte budget is exceeded
+ */
+public final class AssetCache {
+    /**
+     * Default byte budget of the cache (64 MB)
+     */
+    public static final long DEFAULT_BYTE_BUDGET = 64L * 1024 * 1024;
+    /**
+     * Map used to store the cached images (resource path, entry), in the order they've been used in
+     */
+    private static final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Set used to store the resource paths which don't exist, so that the classpath isn't searched every frame
+     */
+    private static final Set<String> missing = new HashSet<>();
+    /**
+     * Maximum amount of bytes the unreferenced images can take up
+     */
+    private static long byteBudget = DEFAULT_BYTE_BUDGET;
+    /**
+     * Amount of bytes the cached images take up
+     */
+    private static long bytes;
+    /**
+     * Amount of requests served from the cache
+     */
+    private static long hits;
+    /**
+     * Amount of requests which had to decode the image
+     */
+    private static long misses;
+    /**
+     * Amount of images evicted from the cache
+     */
+    private static long evictions;
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private AssetCache() {
+    }
+
+    /**
+     * Method used to get an image and hold a reference to it, so that it stays in the cache until it's released
+     * @param path classpath resource path of the image
+     * @return the image, null if it doesn't exist
+     */
+    public static synchronized Image acquire(String path) {
+        Entry entry = lookup(path);
+        if (entry == null) {
+            return null;
+        }
+        entry.references++;
+        return entry.image;
+    }
+
+    /**
+     * Method used to release an image acquired using acquire()
+     * @param path classpath resource path of the image
+     */
+    public static synchronized void release(String path) {
+        Entry entry = entries.get(path);
+        if (entry != null && entry.references > 0) {
+            entry.references--;
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Method used to get an image without holding a reference to it, the image can be evicted once the budget is exceeded
+     * @param path classpath resource path of the image
+     * @return the image, null if it doesn't exist
+     */
+    public static synchronized Image get(String path) {
+        Entry entry = lookup(path);
+        return entry != null ? entry.image : null;
+    }
+
+    /**
+     * Method used to find an image in the cache, decoding it if it isn't cached yet
+     * @param path classpath resource path of the image
+     * @return entry of the image, null if it doesn't exist
+     */
+    private static Entry lookup(String path) {
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            hits++;
+            return entry;
+        }
+        if (missing.contains(path)) {
+            hits++;
+            return null;
+        }
+        misses++;
+        Image image = decode(path);
+        if (image == null) {
+            missing.add(path);
+            return null;
+        }
+        entry = new Entry(image, estimateBytes(image));
+        entries.put(path, entry);
+        bytes += entry.bytes;
+        evictIfNeeded();
+        return entry;
+    }
+
+    /**
+     * Method used to decode an image from the classpath
+     * @param path classpath resource path of the image
+     * @return the image, null if it doesn't exist or couldn't be decoded
+     */
+    private static Image decode(String path) {
+        try (InputStream is = AssetCache.class.getResourceAsStream(path)) {
+            if (is == null) {
+                System.err.println("Could not load image: " + path);
+                return null;
+            }
+            return new Image(is);
+        } catch (Exception e) {
+            System.err.println("Error loading image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Method used to estimate how much memory a decoded image takes up (4 bytes per pixel)
+     * @param image which image
+     * @return estimated amount of bytes
+     */
+    private static long estimateBytes(Image image) {
+        return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+    }
+
+    /**
+     * Method used to evict the least recently used unreferenced images until the cache fits into its budget
+     */
+    private static void evictIfNeeded() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (bytes > byteBudget && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.references == 0) {
+                iterator.remove();
+                bytes -= entry.bytes;
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Setter for 'byteBudget'
+     * @param budget what to set the value of 'byteBudget' to
+     */
+    public static synchronized void setByteBudget(long budget) {
+        byteBudget = Math.max(0, budget);
+        evictIfNeeded();
+    }
+
+    /**
+     * Getter for 'byteBudget'
+     * @return value of 'byteBudget'
+     */
+    public static synchronized long getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * Getter for 'bytes'
+     * @return value of 'bytes'
+     */
+    public static synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Getter for 'hits'
+     * @return value of 'hits'
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter for 'misses'
+     * @return value of 'misses'
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Getter for 'evictions'
+     * @return value of 'evictions'
+     */
+    public static synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Getter for the amount of cached images
+     * @return amount of cached images
+     */
+    public static synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Method used to reset the hit/miss/eviction counters
+     */
+    public static synchronized void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Method used to get a readable summary of the cache's counters
+     * @return the summary
+     */
+    public static synchronized String getStatsSummary() {
+        return "Images: " + entries.size() + ", " + (bytes / 1024) + "/" + (byteBudget / 1024) + " KB, hits: " + hits
+                + ", misses: " + misses + ", evictions: " + evictions;
+    }
+
+    /**
+     * Class used to store a single cached image
+     */
+    private static final class Entry {
+        /**
+         * The decoded image
+         */
+        private final Image image;
+        /**
+         * Estimated size of the image in bytes
+         */
+        private final long bytes;
+        /**
+         * Amount of holders of the image
+         */
+        private int references;
+
+        /**
+         * Constructor
+         * @param image the decoded image
+         * @param bytes estimated size of the image in bytes
+         */
+        private Entry(Image image, long bytes) {
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+}
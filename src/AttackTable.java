@@ -0,0 +1,121 @@
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class used to store the attacks of an enemy type (name, damage). Every enemy of a type shares the same table instead of
+ * building its own map of attacks, the tables are numbered so that the enemy store can refer to them by an int
+ */
+public final class AttackTable {
+    /**
+     * All the tables, by their indexes
+     */
+    private static final List<AttackTable> TABLES = new ArrayList<>();
+    /**
+     * Map containing the table of each enemy type (class, table)
+     */
+    private static final Map<Class<?>, AttackTable> BY_TYPE = new HashMap<>();
+    /**
+     * Index of the table
+     */
+    private final int index;
+    /**
+     * Names of the attacks
+     */
+    private final String[] names;
+    /**
+     * Damage of the attacks, in the same order as their names
+     */
+    private final int[] damages;
+    /**
+     * Read-only map of the attacks (name, damage), handed out to the enemies
+     */
+    private final Map<String, Integer> view;
+
+    /**
+     * Constructor
+     * @param index index of the table
+     * @param attacks the attacks (name, damage)
+     */
+    private AttackTable(int index, Map<String, Integer> attacks) {
+        this.index = index;
+        this.names = new String[attacks.size()];
+        this.damages = new int[attacks.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> attack : attacks.entrySet()) {
+            names[i] = attack.getKey();
+            damages[i] = attack.getValue();
+            i++;
+        }
+        this.view = Collections.unmodifiableMap(new LinkedHashMap<>(attacks));
+    }
+
+    /**
+     * Method used to get the table of an enemy type
+     * @param type class of the enemy
+     * @return the table, null if the type doesn't have one yet
+     */
+    public static synchronized AttackTable forType(Class<?> type) {
+        return BY_TYPE.get(type);
+    }
+
+    /**
+     * Method used to create the table of an enemy type, if the type already has one, that table is returned
+     * @param type class of the enemy
+     * @param attacks the attacks (name, damage)
+     * @return table of the type
+     */
+    public static synchronized AttackTable register(Class<?> type, Map<String, Integer> attacks) {
+        AttackTable table = BY_TYPE.get(type);
+        if (table == null) {
+            table = new AttackTable(TABLES.size(), attacks);
+            TABLES.add(table);
+            BY_TYPE.put(type, table);
+        }
+        return table;
+    }
+
+    /**
+     * Method used to get a table by its index
+     * @param index index of the table
+     * @return the table
+     */
+    public static synchronized AttackTable get(int index) {
+        return TABLES.get(index);
+    }
+
+    /**
+     * Method used to pick a random attack
+     * @return the attack, null if the table has no attacks
+     */
+    public AttackResult randomAttack() {
+        if (names.length == 0) {
+            return null;
+        }
+        int attack = ThreadLocalRandom.current().nextInt(names.length);
+        return new AttackResult(names[attack], damages[attack]);
+    }
+
+    /**
+     * Getter for 'index'
+     * @return value of 'index'
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Method used to get the amount of attacks
+     * @return the amount
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Method used to get the attacks as a map
+     * @return read-only map of the attacks (name, damage)
+     */
+    public Map<String, Integer> asMap() {
+        return view;
+    }
+}
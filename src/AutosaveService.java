@@ -0,0 +1,296 @@
+import java.util.function.Supplier;
+
+/**
+ * Class used to save the game automatically, after room transitions and after a while without a save.
+ * Only the snapshot of the game state is taken on the game loop's thread, the save itself is written on the save thread
+ * incrementally(see SavePipeline.saveIncremental). Requests made while a save is being written, or shortly after one,
+ * are coalesced into a single save of the latest state. The autosaves rotate through a bounded amount of slots,
+ * the oldest one is always overwritten
+ */
+public class AutosaveService {
+    /**
+     * Prefix of the names of the autosaves
+     */
+    public static final String NAME_PREFIX = "autosave_";
+    /**
+     * Default amount of autosave slots
+     */
+    public static final int DEFAULT_SLOTS = 3;
+    /**
+     * Default time after the last save after which the game is saved even without a room transition
+     */
+    public static final long DEFAULT_INTERVAL_NANOS = 120_000_000_000L;
+    /**
+     * Default minimal time between two autosaves, requests made sooner are coalesced
+     */
+    public static final long DEFAULT_MIN_SPACING_NANOS = 2_000_000_000L;
+    /**
+     * Profiler phase of taking the snapshot
+     */
+    private static final int PHASE_SNAPSHOT = FrameProfiler.phase("autosave: snapshot");
+    /**
+     * Slot store the autosaves are written into
+     */
+    private final SlotStore store;
+    /**
+     * Amount of autosave slots
+     */
+    private final int slots;
+    /**
+     * Time after the last save after which the game is saved even without a room transition, in nanoseconds
+     */
+    private final long intervalNanos;
+    /**
+     * Minimal time between two autosaves, in nanoseconds
+     */
+    private final long minSpacingNanos;
+    /**
+     * Supplier of the snapshots of the game state, called on the game loop's thread
+     */
+    private final Supplier<GameStateGUI> snapshots;
+    /**
+     * Index of the slot the next autosave is written into
+     */
+    private int nextSlot;
+    /**
+     * Is there a save waiting to be made?
+     */
+    private boolean requested = false;
+    /**
+     * Is a save being written?
+     */
+    private boolean inFlight = false;
+    /**
+     * Has update been called yet?
+     */
+    private boolean started = false;
+    /**
+     * When the last save has been started, in nanoseconds
+     */
+    private long lastSaveNanos;
+    /**
+     * Amount of written autosaves
+     */
+    private int saves;
+    /**
+     * Amount of autosaves which couldn't be written
+     */
+    private int failures;
+    /**
+     * Amount of requests merged into another save
+     */
+    private int coalesced;
+    /**
+     * Time between taking the snapshot and the save being written, in nanoseconds
+     */
+    private long lastLatencyNanos, maxLatencyNanos, totalLatencyNanos;
+    /**
+     * Time taken by the snapshot on the game loop's thread, in nanoseconds
+     */
+    private long lastSnapshotNanos, maxSnapshotNanos;
+    /**
+     * Size of the last autosave in the store(the base and its journal), in bytes
+     */
+    private long lastSizeBytes;
+
+    /**
+     * Constructor, uses the default amount of slots, interval and spacing
+     * @param store slot store the autosaves are written into
+     * @param snapshots supplier of the snapshots of the game state
+     */
+    public AutosaveService(SlotStore store, Supplier<GameStateGUI> snapshots) {
+        this(store, DEFAULT_SLOTS, DEFAULT_INTERVAL_NANOS, DEFAULT_MIN_SPACING_NANOS, snapshots);
+    }
+
+    /**
+     * Constructor
+     * @param store slot store the autosaves are written into
+     * @param slots amount of autosave slots
+     * @param intervalNanos time after the last save after which the game is saved even without a room transition
+     * @param minSpacingNanos minimal time between two autosaves
+     * @param snapshots supplier of the snapshots of the game state
+     */
+    public AutosaveService(SlotStore store, int slots, long intervalNanos, long minSpacingNanos, Supplier<GameStateGUI> snapshots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("At least one autosave slot is needed");
+        }
+        this.store = store;
+        this.slots = slots;
+        this.intervalNanos = intervalNanos;
+        this.minSpacingNanos = minSpacingNanos;
+        this.snapshots = snapshots;
+        this.nextSlot = findOldestSlot();
+    }
+
+    /**
+     * Method used to get the name of the save of an autosave slot
+     * @param slot index of the slot
+     * @return the name
+     */
+    public String getSlotName(int slot) {
+        return NAME_PREFIX + (slot + 1);
+    }
+
+    /**
+     * Method used to find the slot to write into first, a missing slot or the one written longest ago
+     * @return index of the slot
+     */
+    private int findOldestSlot() {
+        int oldest = 0;
+        long oldestModified = Long.MAX_VALUE;
+        for (int i = 0; i < slots; i++) {
+            SaveMetadata metadata = store.getMetadata(getSlotName(i));
+            long modified = metadata != null ? metadata.getLastModified() : Long.MIN_VALUE;
+            if (modified < oldestModified) {
+                oldest = i;
+                oldestModified = modified;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Method used to ask for an autosave, made during one of the next updates
+     */
+    public synchronized void requestSave() {
+        if (requested || inFlight) {
+            coalesced++;
+        }
+        requested = true;
+    }
+
+    /**
+     * Method used to make the requested autosave once possible, called every frame by the game loop
+     * @param now current time in nanoseconds
+     */
+    public void update(long now) {
+        synchronized (this) {
+            if (!started) {
+                started = true;
+                lastSaveNanos = now;
+            }
+            if (now - lastSaveNanos >= intervalNanos) {
+                requested = true;
+            }
+            if (!requested || inFlight || now - lastSaveNanos < minSpacingNanos) {
+                return;
+            }
+            requested = false;
+            inFlight = true;
+            lastSaveNanos = now;
+        }
+        FrameProfiler.begin(PHASE_SNAPSHOT);
+        long snapshotStart = System.nanoTime();
+        GameStateGUI snapshot;
+        try {
+            snapshot = snapshots.get();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to take autosave snapshot: " + e.getMessage());
+            synchronized (this) {
+                inFlight = false;
+                failures++;
+            }
+            return;
+        } finally {
+            FrameProfiler.end(PHASE_SNAPSHOT);
+        }
+        long snapshotEnd = System.nanoTime();
+        String slot = getSlotName(nextSlot);
+        nextSlot = (nextSlot + 1) % slots;
+        SavePipeline.saveIncremental(store, slot, snapshot).whenComplete((saved, error) ->
+                finished(slot, snapshotEnd - snapshotStart, System.nanoTime() - snapshotStart, error));
+    }
+
+    /**
+     * Method used to record the result of an autosave, called on the save thread
+     * @param slot name of the autosave
+     * @param snapshotNanos time taken by the snapshot
+     * @param latencyNanos time between taking the snapshot and the save being written
+     * @param error why the save failed, null if it has been written
+     */
+    private synchronized void finished(String slot, long snapshotNanos, long latencyNanos, Throwable error) {
+        inFlight = false;
+        if (error != null) {
+            failures++;
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            System.err.println("Autosave failed: " + cause.getMessage());
+            return;
+        }
+        saves++;
+        lastSnapshotNanos = snapshotNanos;
+        maxSnapshotNanos = Math.max(maxSnapshotNanos, snapshotNanos);
+        lastLatencyNanos = latencyNanos;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+        totalLatencyNanos += latencyNanos;
+        SaveMetadata metadata = store.getMetadata(slot);
+        lastSizeBytes = metadata != null ? metadata.getSize() : 0;
+    }
+
+    /**
+     * Getter for 'saves'
+     * @return value of 'saves'
+     */
+    public synchronized int getSaves() {
+        return saves;
+    }
+
+    /**
+     * Getter for 'failures'
+     * @return value of 'failures'
+     */
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Getter for 'coalesced'
+     * @return value of 'coalesced'
+     */
+    public synchronized int getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Getter for 'lastLatencyNanos'
+     * @return value of 'lastLatencyNanos'
+     */
+    public synchronized long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    /**
+     * Getter for 'maxSnapshotNanos'
+     * @return value of 'maxSnapshotNanos'
+     */
+    public synchronized long getMaxSnapshotNanos() {
+        return maxSnapshotNanos;
+    }
+
+    /**
+     * Getter for 'lastSizeBytes'
+     * @return value of 'lastSizeBytes'
+     */
+    public synchronized long getLastSizeBytes() {
+        return lastSizeBytes;
+    }
+
+    /**
+     * Method used to check whether an autosave is waiting or being written
+     * @return true if a save is pending
+     */
+    public synchronized boolean isPending() {
+        return requested || inFlight;
+    }
+
+    /**
+     * Method used to get a readable summary of the autosave's counters
+     * @return the summary
+     */
+    public synchronized String getStatsSummary() {
+        double averageLatency = saves == 0 ? 0 : totalLatencyNanos / (double) saves / 1_000_000;
+        return String.format("Autosaves: %d, failed: %d, coalesced: %d, latency: %.1f ms (avg %.1f, max %.1f), "
+                        + "snapshot: %d us (max %d), size: %.1f KB",
+                saves, failures, coalesced, lastLatencyNanos / 1_000_000.0, averageLatency, maxLatencyNanos / 1_000_000.0,
+                lastSnapshotNanos / 1000, maxSnapshotNanos / 1000, lastSizeBytes / 1024.0);
+    }
+}
@@ -13,10 +13,6 @@ public class Cassette extends KeyItem {
      * String, specifying where the save files would be saved to
      */
     private static final String SAVE_FOLDER = "saves/";
-    /**
-     * An int value, specifying which save slot will the game get saved to, upon using the Cassette
-     */
-    private static int saveSlotCounter = 1;
 
 
     /**
@@ -73,77 +69,21 @@ public class Cassette extends KeyItem {
     }
 
     /**
-     * Method used to save the game into a save folder, writing the objects specified in GameState into a file
+     * Method used to save the game into a new save, writing the GameState into the slot store
      * @param player Used to specify which player is saving the game
      */
     private void saveGame(Player player,World world) {
         try {
-            String filename = SAVE_FOLDER + "save_" + saveSlotCounter + ".dat";
-            GameState state = createGameState(player,world);
+            String name = SaveManager.getNewSaveName();
+            GameState state = SaveHelper.createTextGameState(player, world);
 
-            try (ObjectOutputStream out = new ObjectOutputStream(
-                    new FileOutputStream(filename))) {
-                out.writeObject(state);
-                System.out.println("✅ Game saved successfully in slot " + saveSlotCounter);
-                saveSlotCounter++;
+            SaveManager.writeSave(name, state);
+            if (world.getGame() != null) {
+                world.getGame().addCheckpoint(state);
             }
+            System.out.println("✅ Game saved successfully as " + name);
         } catch (IOException e) {
             System.out.println("❌ Failed to save game: " + e.getMessage());
         }
     }
-
-    /**
-     * Creates a GameState instance and sets all of its fields' values to the ones of the game
-     * @param player Used to specify which player's data to set into the GameState
-     * @return the GameState instance
-     */
-    private GameState createGameState(Player player,World world) {
-        GameState state = new GameState();
-        // Set all the game state properties
-        state.setPlayerHealth(player.getHealth());
-        state.setEquippedWeapon(player.getEquippedWeapon());
-        state.setInventory(player.getInventory().getItems());
-        state.setCurrentRoomName(player.getCurrentRoom().getName());
-
-        // Get flashlight state
-        Flashlight flashlight = (Flashlight) player.findItemInInventory("Flashlight");
-        if (flashlight != null) {
-            state.setFlashlightBattery(flashlight.getBatteryLevel());
-            state.setFlashlightInCellar(flashlight.getIsInCellar());
-        }
-
-        // Get combat state
-        state.setPlayerFighting(player.isFighting());
-        state.setPlayerBlocking(player.isBlocking());
-
-        // Get world state
-        state.setInsertedGears(world.getGearLock().getInsertedGears());
-        state.setLockStates(world.getAllLockStates());
-        Map<String, List<String>> searchedSpotsMap = getSearchedSpotsMap(world);
-        state.setSearchedSpotsPerRoom(searchedSpotsMap);
-
-        // Get stalker distance
-        state.setStalkerDistance(world.getStalkerDistance());
-        return state;
-    }
-
-    /**
-     * Extracted method used to create map of rooms and their searched spots
-     * @return map of searched spots in individual rooms
-     */
-    private Map<String, List<String>> getSearchedSpotsMap(World world) {
-        Map<String, List<String>> searchedSpotsMap = new HashMap<>();
-        for (Room room : world.getRooms().values()) {
-            List<String> searchedSpotNames = new ArrayList<>();
-            for (SearchSpot spot : room.getSearchSpots()) {
-                if (spot.isSearched()) {
-                    searchedSpotNames.add(spot.getName());
-                }
-            }
-            if (!searchedSpotNames.isEmpty()) {
-                searchedSpotsMap.put(room.getName(), searchedSpotNames);
-            }
-        }
-        return searchedSpotsMap;
-    }
-}
\ No newline at end of file
+}
@@ -21,9 +21,9 @@ public abstract class Character implements Serializable {
      */
     protected transient World world;
     /**
-     * Name of the current room
+     * Identifier of the current room
      */
-    protected String currentRoomName;//For serialization
+    protected RoomId currentRoomId;//For serialization
 
     /**
      * Constructor
@@ -35,7 +35,7 @@ public abstract class Character implements Serializable {
         this.name = name;
         this.health = health;
         this.world = world;
-        this.currentRoomName = currentRoomName;
+        this.currentRoomId = RoomId.of(currentRoomName);
     }
 
     /**
@@ -88,13 +88,26 @@ public abstract class Character implements Serializable {
     }
 
     /**
-     * Method used to get the player's current room, used for serialization
-     * @return the current room
+     * Getter for 'currentRoomId'
+     * @return value of 'currentRoomId'
+     */
+    public RoomId getCurrentRoomId() {
+        return currentRoomId;
+    }
+
+    /**
+     * Method used to get the index of the character's current room in the world
+     * @return index of the current room, -1 if the room isn't in the world
+     */
+    public int getCurrentRoomIndex() {
+        return world != null ? world.getRoomIndex(currentRoomId) : -1;
+    }
+
+    /**
+     * Method used to get the character's current room
+     * @return the current room, null if the room isn't in the world
      */
     public Room getCurrentRoom() {
-        if (world != null) {
-            return world.findRoomByName(currentRoomName);
-        }
-         return null;
+        return world != null ? world.getRoom(currentRoomId) : null;
     }
 }
@@ -0,0 +1,91 @@
+import java.util.Arrays;
+
+/**
+ * Class used to keep the last few checkpoints in memory as encoded snapshots(see SaveCodec),
+ * so that restoring one after the player's death doesn't have to touch the disk.
+ * When full, adding a checkpoint overwrites the oldest one
+ */
+public class CheckpointRing {
+    /**
+     * Default amount of kept checkpoints
+     */
+    public static final int DEFAULT_CAPACITY = 8;
+    /**
+     * The encoded checkpoints
+     */
+    private final byte[][] slots;
+    /**
+     * Index of the slot the next checkpoint goes into
+     */
+    private int head = 0;
+    /**
+     * Amount of stored checkpoints
+     */
+    private int size = 0;
+
+    /**
+     * Constructor
+     * @param capacity how many checkpoints to keep
+     */
+    public CheckpointRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.slots = new byte[capacity][];
+    }
+
+    /**
+     * Method used to add a checkpoint, overwriting the oldest one when full
+     * @param snapshot the encoded checkpoint
+     */
+    public synchronized void push(byte[] snapshot) {
+        slots[head] = snapshot;
+        head = (head + 1) % slots.length;
+        size = Math.min(size + 1, slots.length);
+    }
+
+    /**
+     * Method used to get a checkpoint
+     * @param age how old the checkpoint is, 0 for the newest one
+     * @return the encoded checkpoint, null if there are not that many checkpoints
+     */
+    public synchronized byte[] get(int age) {
+        if (age < 0 || age >= size) {
+            return null;
+        }
+        return slots[Math.floorMod(head - 1 - age, slots.length)];
+    }
+
+    /**
+     * Method used to get the newest checkpoint
+     * @return the encoded checkpoint, null if there are none
+     */
+    public byte[] latest() {
+        return get(0);
+    }
+
+    /**
+     * Getter for 'size'
+     * @return amount of stored checkpoints
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Getter for the amount of checkpoints the ring can hold
+     * @return the capacity
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Method used to remove all the checkpoints
+     */
+    public synchronized void clear() {
+        Arrays.fill(slots, null);
+        head = 0;
+        size = 0;
+    }
+}
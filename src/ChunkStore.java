@@ -0,0 +1,635 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Class used to store the bodies of the saves deduplicated. The uncompressed body of a save is split into chunks
+ * at positions chosen by its content(a rolling hash over the last bytes), so a change in one part of the state only
+ * changes the chunks around it. Every chunk is identified by the hash of its content and stored only once, compressed on its own,
+ * under a small id given to it when it's first stored. The save itself only keeps its header and the ids of its chunks(see SaveCodec.CHUNKED).
+ * The chunks are appended to a log file, the references are counted by the slot store holding the saves,
+ * so a chunk nobody references anymore is dropped once the log is compacted
+ */
+public class ChunkStore implements Closeable {
+    /**
+     * Length of a chunk hash in bytes(the first half of its SHA-256)
+     */
+    private static final int HASH_SIZE = 16;
+    /**
+     * Shortest chunk, except the last one of a body
+     */
+    static final int MIN_CHUNK_SIZE = 32;
+    /**
+     * Longest chunk
+     */
+    static final int MAX_CHUNK_SIZE = 512;
+    /**
+     * Bits of the rolling hash which have to be zero at the end of a chunk, 6 bits give chunks of 64 bytes on average(over the shortest chunk)
+     */
+    private static final long BOUNDARY_MASK = 0xFC00000000000000L;
+    /**
+     * Random values of the bytes for the rolling hash, the seed is fixed so the chunks are the same in every run
+     */
+    private static final long[] GEAR = createGear();
+    /**
+     * Number the chunk log starts with("GCHK")
+     */
+    private static final int STORE_MAGIC = 0x4743484B;
+    /**
+     * Version of the chunk log format
+     */
+    private static final int STORE_VERSION = 1;
+    /**
+     * Size of the chunk log header
+     */
+    private static final int FILE_HEADER_SIZE = 16;
+    /**
+     * Offset of the id of the next chunk inside the log header, 0 in logs written before it was stored
+     */
+    private static final int HEADER_NEXT_ID = 8;
+    /**
+     * Size of a record header(id, hash, length of the stored chunk, checksum)
+     */
+    private static final int RECORD_HEADER_SIZE = 4 + HASH_SIZE + 8;
+    /**
+     * Offset of the length inside a record header
+     */
+    private static final int RECORD_LENGTH = 4 + HASH_SIZE;
+    /**
+     * Offset of the checksum inside a record header
+     */
+    private static final int RECORD_CRC = RECORD_LENGTH + 4;
+    /**
+     * Size of the log after which dropped chunks taking up more than half of it get compacted
+     */
+    private static final long COMPACTION_MIN_SIZE = 16 * 1024;
+    /**
+     * The chunk log file
+     */
+    private final File file;
+    /**
+     * Channel of the chunk log
+     */
+    private FileChannel channel;
+    /**
+     * Stored chunks by their ids
+     */
+    private final Map<Integer, Chunk> chunks = new HashMap<>();
+    /**
+     * Ids of the stored chunks by their hashes
+     */
+    private final Map<Hash, Integer> idsByHash = new HashMap<>();
+    /**
+     * Id given to the next stored chunk, kept in the log header so that the ids of dropped chunks are never given out again
+     */
+    private int nextId = 1;
+    /**
+     * Digest used to hash the chunks, the methods using it are synchronized
+     */
+    private final MessageDigest digest = createDigest();
+    /**
+     * Size of the chunk log in bytes
+     */
+    private long size;
+    /**
+     * Bytes taken up by the records of the chunks without references
+     */
+    private long garbageBytes;
+    /**
+     * Are there appended records which haven't been forced to the disk yet?
+     */
+    private boolean dirty;
+
+    /**
+     * Constructor, opens the chunk log or creates it. A record cut off by a crash at the end of the log is dropped
+     * @param file the chunk log file
+     * @throws IOException if the file couldn't be opened or isn't a chunk log
+     */
+    public ChunkStore(File file) throws IOException {
+        this.file = file;
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null && !folder.exists()) folder.mkdirs();
+        open();
+    }
+
+    /**
+     * Method used to create the values of the rolling hash
+     * @return value for every byte
+     */
+    private static long[] createGear() {
+        Random random = new Random(0x5A7E5L);
+        long[] gear = new long[256];
+        for (int i = 0; i < gear.length; i++) {
+            gear[i] = random.nextLong();
+        }
+        return gear;
+    }
+
+    /**
+     * Method used to split data into chunks by its content
+     * @param data the data to split
+     * @return the chunks, in order
+     */
+    static List<byte[]> split(byte[] data) {
+        List<byte[]> result = new ArrayList<>();
+        int start = 0;
+        long hash = 0;
+        for (int i = 0; i < data.length; i++) {
+            hash = (hash << 1) + GEAR[data[i] & 0xFF];
+            int length = i + 1 - start;
+            if ((length >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0) || length == MAX_CHUNK_SIZE) {
+                result.add(Arrays.copyOfRange(data, start, i + 1));
+                start = i + 1;
+                hash = 0;
+            }
+        }
+        if (start < data.length) {
+            result.add(Arrays.copyOfRange(data, start, data.length));
+        }
+        return result;
+    }
+
+    /**
+     * Method used to store the body of a save as chunks, only the chunks which aren't stored yet are written.
+     * The chunks aren't referenced by anything until the returned save is written into a slot(see retain)
+     * @param save the encoded save
+     * @return the save with only the ids of its chunks, or the save itself if it can't be split(no header or already chunked)
+     * @throws IOException if the body couldn't be read or the chunks couldn't be written
+     */
+    public synchronized byte[] deduplicate(byte[] save) throws IOException {
+        byte[] body = SaveCodec.readBody(save);
+        if (body == null) {
+            return save;
+        }
+        List<byte[]> parts = split(body);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(SaveCodec.HEADER_SIZE + 5 + parts.size() * 2);
+        out.write(save, 0, SaveCodec.HEADER_SIZE);
+        out.write(SaveCodec.CHUNKED);
+        writeVarInt(out, parts.size());
+        for (byte[] part : parts) {
+            Hash hash = new Hash(hash(part));
+            Integer id = idsByHash.get(hash);
+            if (id == null) {
+                id = append(hash, part);
+            }
+            writeVarInt(out, id);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Method used to restore a save written by deduplicate, its chunks are read and joined into an uncompressed save
+     * @param save the save with the ids of its chunks
+     * @return the whole save
+     * @throws IOException if a chunk is missing or broken
+     */
+    public synchronized byte[] restore(byte[] save) throws IOException {
+        List<Integer> references = references(save);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(SaveCodec.HEADER_SIZE + 1 + references.size() * 96);
+        out.write(save, 0, SaveCodec.HEADER_SIZE);
+        out.write(SaveCodec.NO_COMPRESSION);
+        for (int reference : references) {
+            out.write(read(reference));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Method used to get the ids of the chunks a save references
+     * @param save the save, possibly not chunked
+     * @return the ids in order, empty if the save isn't chunked
+     * @throws IOException if the list of the ids is cut off or broken
+     */
+    static List<Integer> references(byte[] save) throws IOException {
+        if (!SaveCodec.isChunked(save)) {
+            return Collections.emptyList();
+        }
+        SaveCodec.Reader in = new SaveCodec.Reader(save, SaveCodec.HEADER_SIZE + 1);
+        int count = in.readCount();
+        List<Integer> references = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            references.add(in.readVarInt());
+        }
+        return references;
+    }
+
+    /**
+     * Method used to add references to chunks, once a save referencing them has been written
+     * @param references ids of the chunks
+     */
+    synchronized void retain(List<Integer> references) {
+        for (int reference : references) {
+            Chunk chunk = chunks.get(reference);
+            if (chunk == null) continue;
+            if (chunk.references++ == 0) {
+                garbageBytes -= chunk.recordSize();
+            }
+        }
+    }
+
+    /**
+     * Method used to remove references to chunks, once a save referencing them has been overwritten or deleted
+     * @param references ids of the chunks
+     */
+    synchronized void release(List<Integer> references) {
+        for (int reference : references) {
+            Chunk chunk = chunks.get(reference);
+            if (chunk == null || chunk.references == 0) continue;
+            if (--chunk.references == 0) {
+                garbageBytes += chunk.recordSize();
+            }
+        }
+    }
+
+    /**
+     * Method used to force the written chunks to the disk, called before a save referencing them is written
+     * @throws IOException if the log couldn't be forced
+     */
+    public synchronized void flush() throws IOException {
+        if (dirty) {
+            ByteBuffer next = ByteBuffer.allocate(4);
+            next.putInt(0, nextId);
+            channel.write(next, HEADER_NEXT_ID);
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    /**
+     * Method used to compact the log once the chunks without references take up more than half of it
+     * @return true if the log has been compacted
+     * @throws IOException if the log couldn't be rewritten
+     */
+    public synchronized boolean compactIfNeeded() throws IOException {
+        if (size < COMPACTION_MIN_SIZE || garbageBytes * 2 <= size) {
+            return false;
+        }
+        compact();
+        return true;
+    }
+
+    /**
+     * Method used to rewrite the log with only the referenced chunks, the new log replaces the old one atomically
+     * @throws IOException if the log couldn't be rewritten
+     */
+    public synchronized void compact() throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        Map<Integer, Chunk> live = new HashMap<>();
+        long position = FILE_HEADER_SIZE;
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(fileHeader(nextId), 0);
+            for (Map.Entry<Integer, Chunk> entry : chunks.entrySet()) {
+                Chunk chunk = entry.getValue();
+                if (chunk.references == 0) continue;
+                ByteBuffer record = ByteBuffer.allocate(chunk.recordSize());
+                channel.read(record, chunk.offset);
+                record.flip();
+                out.write(record, position);
+                live.put(entry.getKey(), new Chunk(chunk.hash, position, chunk.length, chunk.references));
+                position += chunk.recordSize();
+            }
+            out.force(true);
+        }
+        // The old log stays open until the new one has replaced it, so the store keeps working if the move fails
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        channel.close();
+        chunks.clear();
+        chunks.putAll(live);
+        idsByHash.clear();
+        for (Map.Entry<Integer, Chunk> entry : live.entrySet()) {
+            idsByHash.put(entry.getValue().hash, entry.getKey());
+        }
+        garbageBytes = 0;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = channel.size();
+    }
+
+    /**
+     * Getter for the amount of stored chunks
+     * @return amount of chunks, including the ones without references
+     */
+    public synchronized int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Getter for 'size'
+     * @return value of 'size'
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Getter for 'garbageBytes'
+     * @return value of 'garbageBytes'
+     */
+    public synchronized long getGarbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * Method used to close the chunk log
+     * @throws IOException if the log couldn't be forced or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Method used to open the log and read the hashes of its chunks, the references are added later by the slot store.
+     * Only an incomplete record at the end of the log is cut off, damaged records are skipped
+     * @throws IOException if the log couldn't be opened, isn't a chunk log or has a record header which can't be read
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                channel.write(fileHeader(nextId), 0);
+                channel.force(true);
+                size = FILE_HEADER_SIZE;
+                return;
+            }
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.getInt(0) != STORE_MAGIC) {
+                throw new IOException(file.getName() + " is not a chunk store");
+            }
+            if (header.getInt(4) > STORE_VERSION) {
+                throw new IOException(file.getName() + " was written by a newer version of the game");
+            }
+            int storedNextId = header.getInt(HEADER_NEXT_ID);
+            long fileSize = channel.size();
+            long position = FILE_HEADER_SIZE;
+            ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            while (position + RECORD_HEADER_SIZE <= fileSize) {
+                recordHeader.clear();
+                channel.read(recordHeader, position);
+                int id = recordHeader.getInt(0);
+                int length = recordHeader.getInt(RECORD_LENGTH);
+                if (id <= 0 || length <= 0 || length > MAX_CHUNK_SIZE + 1) {
+                    // Space at the end reserved by the file system but never written
+                    if (isZero(position, fileSize)) break;
+                    // Without a valid length the next record can't be found, the log is left as it is
+                    throw new IOException(file.getName() + " has a broken chunk record at " + position);
+                }
+                if (position + RECORD_HEADER_SIZE + length > fileSize) break;
+                ByteBuffer data = ByteBuffer.allocate(length);
+                channel.read(data, position + RECORD_HEADER_SIZE);
+                if (crc(data.array()) != recordHeader.getInt(RECORD_CRC)) {
+                    // The chunk is damaged, it's skipped and the saves referencing it fail to read, the records after it are kept
+                    // Its id isn't given out again(see HEADER_NEXT_ID), so those saves never read another chunk instead
+                    System.err.println("Skipping damaged chunk record at " + position + " in " + file.getName());
+                    nextId = Math.max(nextId, id + 1);
+                    position += RECORD_HEADER_SIZE + length;
+                    continue;
+                }
+                Hash hash = new Hash(Arrays.copyOfRange(recordHeader.array(), 4, RECORD_LENGTH));
+                if (!chunks.containsKey(id) && !idsByHash.containsKey(hash)) {
+                    chunks.put(id, new Chunk(hash, position, length, 0));
+                    idsByHash.put(hash, id);
+                }
+                nextId = Math.max(nextId, id + 1);
+                position += RECORD_HEADER_SIZE + length;
+            }
+            if (position < fileSize) {
+                // The last record has been cut off by a crash, the saves referencing it haven't been written
+                System.err.println("Dropping " + (fileSize - position) + " broken bytes at the end of " + file.getName());
+                channel.truncate(position);
+            }
+            nextId = Math.max(nextId, storedNextId);
+            size = position;
+            garbageBytes = size - FILE_HEADER_SIZE;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method used to check whether a part of the log only contains zeros
+     * @param from position of the first byte
+     * @param to position after the last byte
+     * @return true if every byte is zero
+     * @throws IOException if the log couldn't be read
+     */
+    private boolean isZero(long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        for (long position = from; position < to; position += buffer.limit()) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - position));
+            channel.read(buffer, position);
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method used to create the header of the log
+     * @param nextId id given to the next stored chunk
+     * @return the header
+     */
+    private static ByteBuffer fileHeader(int nextId) {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(0, STORE_MAGIC);
+        header.putInt(4, STORE_VERSION);
+        header.putInt(HEADER_NEXT_ID, nextId);
+        return header;
+    }
+
+    /**
+     * Method used to append a chunk to the log, compressed with the current compression of the saves
+     * @param hash hash of the chunk
+     * @param chunk content of the chunk
+     * @return id given to the chunk
+     * @throws IOException if the chunk couldn't be written
+     */
+    private int append(Hash hash, byte[] chunk) throws IOException {
+        byte[] data = SaveCodec.compressChunk(chunk);
+        int id = nextId++;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + data.length);
+        record.putInt(id);
+        record.put(hash.bytes);
+        record.putInt(data.length);
+        record.putInt(crc(data));
+        record.put(data);
+        record.flip();
+        channel.write(record, size);
+        Chunk stored = new Chunk(hash, size, data.length, 0);
+        chunks.put(id, stored);
+        idsByHash.put(hash, id);
+        size += stored.recordSize();
+        garbageBytes += stored.recordSize();
+        dirty = true;
+        return id;
+    }
+
+    /**
+     * Method used to read a chunk
+     * @param id id of the chunk
+     * @return content of the chunk
+     * @throws IOException if the chunk is missing or broken
+     */
+    private byte[] read(int id) throws IOException {
+        Chunk chunk = chunks.get(id);
+        if (chunk == null) {
+            throw new IOException("Save chunk " + id + " is missing");
+        }
+        ByteBuffer record = ByteBuffer.allocate(chunk.recordSize());
+        channel.read(record, chunk.offset);
+        byte[] data = Arrays.copyOfRange(record.array(), RECORD_HEADER_SIZE, record.capacity());
+        if (crc(data) != record.getInt(RECORD_CRC)) {
+            throw new IOException("Save chunk " + id + " is broken");
+        }
+        return SaveCodec.decompressChunk(data);
+    }
+
+    /**
+     * Method used to compute the hash of a chunk
+     * @param data content of the chunk
+     * @return the hash, HASH_SIZE bytes
+     */
+    private byte[] hash(byte[] data) {
+        return Arrays.copyOf(digest.digest(data), HASH_SIZE);
+    }
+
+    /**
+     * Method used to create the digest the chunks are hashed with
+     * @return SHA-256 digest
+     */
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method used to compute the checksum of a chunk
+     * @param data content of the chunk
+     * @return the checksum
+     */
+    private static int crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Method used to write a non-negative int in as few bytes as possible(7 bits per byte)
+     * @param out where to write
+     * @param value the value
+     */
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Class used as the key of a chunk, compares the hashes by their content
+     */
+    private static final class Hash {
+        /**
+         * The hash
+         */
+        private final byte[] bytes;
+        /**
+         * Cached hash code, the first bytes of the hash are already random
+         */
+        private final int hashCode;
+
+        /**
+         * Constructor
+         * @param bytes the hash, HASH_SIZE bytes
+         */
+        private Hash(byte[] bytes) {
+            this.bytes = bytes;
+            this.hashCode = Arrays.hashCode(bytes);
+        }
+
+        /**
+         * Check if the hashes are the same
+         * @param o what are we comparing the hash to
+         * @return true/false - does it equal?
+         */
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Hash && Arrays.equals(bytes, ((Hash) o).bytes));
+        }
+
+        /**
+         * HashCode
+         * @return hash code based on the content of the hash
+         */
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Class used to keep the position and the references of a stored chunk
+     */
+    private static final class Chunk {
+        /**
+         * Hash of the chunk's content
+         */
+        private final Hash hash;
+        /**
+         * Position of the chunk's record in the log
+         */
+        private final long offset;
+        /**
+         * Length of the stored(compressed) chunk
+         */
+        private final int length;
+        /**
+         * Amount of slot entries referencing the chunk
+         */
+        private int references;
+
+        /**
+         * Constructor
+         * @param hash hash of the chunk's content
+         * @param offset position of the chunk's record in the log
+         * @param length length of the stored(compressed) chunk
+         * @param references amount of slot entries referencing the chunk
+         */
+        Chunk(Hash hash, long offset, int length, int references) {
+            this.hash = hash;
+            this.offset = offset;
+            this.length = length;
+            this.references = references;
+        }
+
+        /**
+         * Method used to get the size of the chunk's record in the log
+         * @return the size in bytes
+         */
+        int recordSize() {
+            return RECORD_HEADER_SIZE + length;
+        }
+    }
+}
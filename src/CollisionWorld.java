@@ -0,0 +1,249 @@
+import java.util.Arrays;
+
+/**
+ * Class used to store the collision rectangles of a room in primitive arrays, indexed by a uniform grid,
+ * so that checking the player's hitbox against the collisions doesn't allocate and only looks at the nearby rectangles
+ */
+public final class CollisionWorld {
+    /**
+     * Default size of a grid cell in pixels
+     */
+    public static final double DEFAULT_CELL_SIZE = 32;
+    /**
+     * Left, top, right and bottom edges of the rectangles
+     */
+    private final double[] minX, minY, maxX, maxY;
+    /**
+     * Size of a grid cell in pixels
+     */
+    private final double cellSize;
+    /**
+     * Amount of columns of the grid
+     */
+    private final int columns;
+    /**
+     * Amount of rows of the grid
+     */
+    private final int rows;
+    /**
+     * Index into 'cellItems' where each cell's rectangles start, the last value is the total length
+     */
+    private final int[] cellStart;
+    /**
+     * Ids of the rectangles located in the individual cells, stored cell by cell
+     */
+    private final int[] cellItems;
+
+    /**
+     * Constructor
+     * @param minX left edges of the rectangles
+     * @param minY top edges of the rectangles
+     * @param maxX right edges of the rectangles
+     * @param maxY bottom edges of the rectangles
+     * @param count amount of rectangles
+     * @param worldWidth width of the room in pixels
+     * @param worldHeight height of the room in pixels
+     * @param cellSize size of a grid cell in pixels
+     */
+    private CollisionWorld(double[] minX, double[] minY, double[] maxX, double[] maxY, int count,
+                           double worldWidth, double worldHeight, double cellSize) {
+        this.minX = Arrays.copyOf(minX, count);
+        this.minY = Arrays.copyOf(minY, count);
+        this.maxX = Arrays.copyOf(maxX, count);
+        this.maxY = Arrays.copyOf(maxY, count);
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(worldWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(worldHeight / cellSize));
+        // Counting pass, then filling pass, so that the cells are stored in two flat arrays
+        int[] counts = new int[columns * rows + 1];
+        for (int id = 0; id < count; id++) {
+            for (int row = row(this.minY[id]); row <= row(this.maxY[id]); row++) {
+                for (int column = column(this.minX[id]); column <= column(this.maxX[id]); column++) {
+                    counts[row * columns + column]++;
+                }
+            }
+        }
+        cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < columns * rows; i++) {
+            cellStart[i + 1] = cellStart[i] + counts[i];
+        }
+        cellItems = new int[cellStart[columns * rows]];
+        int[] fill = Arrays.copyOf(cellStart, columns * rows);
+        for (int id = 0; id < count; id++) {
+            for (int row = row(this.minY[id]); row <= row(this.maxY[id]); row++) {
+                for (int column = column(this.minX[id]); column <= column(this.maxX[id]); column++) {
+                    cellItems[fill[row * columns + column]++] = id;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method used to build the CollisionWorld of a room from its Collisions object layer
+     * @param map compiled tmj data of the room
+     * @return the built CollisionWorld
+     */
+    public static CollisionWorld fromMap(RoomMap map) {
+        Builder builder = new Builder();
+        RoomMap.ObjectGroup layer = map.getObjectGroup("Collisions");
+        if (layer != null) {
+            double layerOffsetX = layer.getOffsetX();
+            double layerOffsetY = layer.getOffsetY();
+            for (RoomMap.MapObject obj : layer.getObjects()) {
+                if (obj.getType().equals("Collisions") || obj.getName().equals("Collision")) {
+                    if (obj.getWidth() < 1 || obj.getHeight() < 1) continue;
+                    builder.add(obj.getX() + layerOffsetX, obj.getY() + layerOffsetY, obj.getWidth(), obj.getHeight());
+                }
+            }
+        }
+        return builder.build((double) map.getWidth() * map.getTileWidth(), (double) map.getHeight() * map.getTileHeight());
+    }
+
+    /**
+     * Method used to clamp an x coordinate into a grid column
+     * @param x x coordinate in pixels
+     * @return the column
+     */
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize)));
+    }
+
+    /**
+     * Method used to clamp a y coordinate into a grid row
+     * @param y y coordinate in pixels
+     * @return the row
+     */
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+    }
+
+    /**
+     * Method used to find out whether a rectangle overlaps any of the collisions, touching edges don't count(same as Rectangle2D.intersects)
+     * @param x x coordinate of the rectangle in pixels
+     * @param y y coordinate of the rectangle in pixels
+     * @param w width of the rectangle
+     * @param h height of the rectangle
+     * @return does the rectangle overlap a collision?
+     */
+    public boolean overlaps(double x, double y, double w, double h) {
+        double right = x + w;
+        double bottom = y + h;
+        int maxRow = row(bottom);
+        int maxColumn = column(right);
+        for (int row = row(y); row <= maxRow; row++) {
+            for (int column = column(x); column <= maxColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int id = cellItems[i];
+                    if (right > minX[id] && bottom > minY[id] && x < maxX[id] && y < maxY[id]) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Getter for the amount of collision rectangles
+     * @return amount of collision rectangles
+     */
+    public int size() {
+        return minX.length;
+    }
+
+    /**
+     * Method used to get the x coordinate of a collision rectangle
+     * @param id id of the rectangle
+     * @return x coordinate in pixels
+     */
+    public double getX(int id) {
+        return minX[id];
+    }
+
+    /**
+     * Method used to get the y coordinate of a collision rectangle
+     * @param id id of the rectangle
+     * @return y coordinate in pixels
+     */
+    public double getY(int id) {
+        return minY[id];
+    }
+
+    /**
+     * Method used to get the width of a collision rectangle
+     * @param id id of the rectangle
+     * @return width in pixels
+     */
+    public double getWidth(int id) {
+        return maxX[id] - minX[id];
+    }
+
+    /**
+     * Method used to get the height of a collision rectangle
+     * @param id id of the rectangle
+     * @return height in pixels
+     */
+    public double getHeight(int id) {
+        return maxY[id] - minY[id];
+    }
+
+    /**
+     * Class used to collect the collision rectangles before building the CollisionWorld
+     */
+    public static final class Builder {
+        /**
+         * Edges of the collected rectangles
+         */
+        private double[] minX = new double[16], minY = new double[16], maxX = new double[16], maxY = new double[16];
+        /**
+         * Amount of collected rectangles
+         */
+        private int count;
+
+        /**
+         * Method used to add a collision rectangle
+         * @param x x coordinate in pixels
+         * @param y y coordinate in pixels
+         * @param width width in pixels
+         * @param height height in pixels
+         * @return this builder
+         */
+        public Builder add(double x, double y, double width, double height) {
+            if (count == minX.length) {
+                int capacity = count * 2;
+                minX = Arrays.copyOf(minX, capacity);
+                minY = Arrays.copyOf(minY, capacity);
+                maxX = Arrays.copyOf(maxX, capacity);
+                maxY = Arrays.copyOf(maxY, capacity);
+            }
+            minX[count] = x;
+            minY[count] = y;
+            maxX[count] = x + width;
+            maxY[count] = y + height;
+            count++;
+            return this;
+        }
+
+        /**
+         * Method used to build the CollisionWorld
+         * @param worldWidth width of the room in pixels
+         * @param worldHeight height of the room in pixels
+         * @return the built CollisionWorld
+         */
+        public CollisionWorld build(double worldWidth, double worldHeight) {
+            return build(worldWidth, worldHeight, DEFAULT_CELL_SIZE);
+        }
+
+        /**
+         * Method used to build the CollisionWorld
+         * @param worldWidth width of the room in pixels
+         * @param worldHeight height of the room in pixels
+         * @param cellSize size of a grid cell in pixels
+         * @return the built CollisionWorld
+         */
+        public CollisionWorld build(double worldWidth, double worldHeight, double cellSize) {
+            return new CollisionWorld(minX, minY, maxX, maxY, count, worldWidth, worldHeight, cellSize);
+        }
+    }
+}
@@ -325,6 +325,9 @@ public class CombatSystem {
             System.out.println("You defeated " + enemy.getName() + "!");
             if (enemy instanceof Stalker) {
                 ((Stalker) enemy).retreat();
+            } else if (enemy.getWorld() != null) {
+                // Killed, so it doesn't attack the player again
+                enemy.getWorld().removeEnemy(enemy);
             }
             // Handle loot/drops
         }
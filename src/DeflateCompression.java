@@ -0,0 +1,104 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Class used to compress the saves through Deflate(built into the JDK), in the zlib format, so a damaged save is detected by its checksum
+ */
+public class DeflateCompression implements SaveCompression {
+    /**
+     * Id of the compression stored in the saves
+     */
+    public static final int ID = 1;
+    /**
+     * Compression used by default, the default Deflate level
+     */
+    public static final DeflateCompression DEFAULT = new DeflateCompression(Deflater.DEFAULT_COMPRESSION);
+    /**
+     * Size of the streams' buffers
+     */
+    private static final int BUFFER_SIZE = 4096;
+    /**
+     * Deflate level(0 - 9, or Deflater.DEFAULT_COMPRESSION)
+     */
+    private final int level;
+
+    /**
+     * Constructor
+     * @param level Deflate level(0 - 9, or Deflater.DEFAULT_COMPRESSION), only affects writing, every level is read the same way
+     */
+    public DeflateCompression(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Getter for 'level'
+     * @return value of 'level'
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Getter for the id stored in the saves
+     * @return the id of deflate
+     */
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Getter for the name of the compression
+     * @return "deflate"
+     */
+    @Override
+    public String getName() {
+        return "deflate";
+    }
+
+    /**
+     * Method used to wrap a stream, so that everything written into it is deflated with the compression level
+     * @param out stream receiving the compressed data
+     * @return stream to write the uncompressed data into, closing it frees the deflater
+     */
+    @Override
+    public OutputStream compress(OutputStream out) {
+        Deflater deflater = new Deflater(level);
+        return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    // A Deflater passed in isn't ended by the stream, its native memory has to be freed here
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Method used to wrap a stream, so that everything read from it is inflated
+     * @param in stream of the compressed data
+     * @return stream to read the uncompressed data from, closing it frees the inflater
+     */
+    @Override
+    public InputStream decompress(InputStream in) {
+        Inflater inflater = new Inflater();
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+}
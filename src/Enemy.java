@@ -1,8 +1,12 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 
 /**
- * Class used to create and implement the enemies' behavior, values and methods
+ * Class used to create and implement the enemies' behavior, values and methods.
+ * An enemy can be attached to an enemy store, it then only views its health, position, room and state in the store
  */
 public abstract class Enemy extends Character implements Serializable {
     /**
@@ -10,13 +14,37 @@ public abstract class Enemy extends Character implements Serializable {
      */
     private static final long serialVersionUID = 1L;
     /**
-     * Map containing all the enemy's attacks (Name,Damage)
+     * Map containing all the enemy's attacks (Name,Damage), shared by all the enemies of the same type once they're initialized
      */
     protected Map<String, Integer> attacks;
+    /**
+     * Attack table of the enemy's type
+     */
+    private transient AttackTable attackTable;
     /**
      * int value to specify, how many rooms(moves) away from the player the enemy is(specifically used for Stalker)
      */
     protected int distanceFromPlayer;
+    /**
+     * Id of the enemy in the enemy registry of its world, -1 if it isn't registered
+     */
+    private int entityId = -1;
+    /**
+     * Position of the enemy, used while it isn't attached to a store
+     */
+    private float x, y;
+    /**
+     * State of the enemy(EnemyStore.IDLE, CHASING or DEAD), used while it isn't attached to a store
+     */
+    private byte state;
+    /**
+     * Store the enemy is attached to, null if the enemy keeps its values itself
+     */
+    private transient EnemyStore store;
+    /**
+     * Slot of the enemy in its store
+     */
+    private transient int slot;
 
     /**
      * Constructor
@@ -26,8 +54,200 @@ public abstract class Enemy extends Character implements Serializable {
      */
     public Enemy(String name, int health, World world, String startingRoomName) {
         super(name, Math.max(1,health), world,startingRoomName);//Ensures the enemy has atleast 1 health
-        this.attacks = new HashMap<>();
-        initializeAttacks();
+        initializeAttackTable();
+    }
+
+    /**
+     * Method used to get the attack table of the enemy's type, the attacks are only initialized for the first enemy of the type
+     */
+    private void initializeAttackTable() {
+        attackTable = AttackTable.forType(getClass());
+        if (attackTable == null) {
+            this.attacks = new HashMap<>();
+            initializeAttacks();
+            attackTable = AttackTable.register(getClass(), attacks);
+        }
+        this.attacks = attackTable.asMap();
+    }
+
+    /**
+     * Method used to attach the enemy to a store, its values are moved into the store
+     * @param store the store
+     */
+    public void attach(EnemyStore store) {
+        if (this.store != null) {
+            throw new IllegalStateException(name + " is already attached to a store");
+        }
+        int room = currentRoomId != null ? currentRoomId.getOrdinal() : EnemyStore.NO_ROOM;
+        slot = store.add(health, room, attackTable.getIndex());
+        store.setPosition(slot, x, y);
+        store.setState(slot, state);
+        this.store = store;
+    }
+
+    /**
+     * Method used to detach the enemy from its store, its values are copied back from the store and its slot is freed
+     */
+    public void detach() {
+        if (store == null) return;
+        copyFromStore();
+        store.remove(slot);
+        store = null;
+    }
+
+    /**
+     * Method used to copy the enemy's values from its store into its own fields
+     */
+    private void copyFromStore() {
+        health = store.getHealth(slot);
+        x = store.getX(slot);
+        y = store.getY(slot);
+        state = store.getState(slot);
+    }
+
+    /**
+     * Getter for 'store'
+     * @return value of 'store'
+     */
+    public EnemyStore getStore() {
+        return store;
+    }
+
+    /**
+     * Getter for 'slot'
+     * @return value of 'slot', -1 if the enemy isn't attached to a store
+     */
+    public int getSlot() {
+        return store != null ? slot : -1;
+    }
+
+    /**
+     * Getter for 'health', read from the enemy store while the enemy is attached to one
+     * @return int value of 'health'
+     */
+    @Override
+    public int getHealth() {
+        return store != null ? store.getHealth(slot) : health;
+    }
+
+    /**
+     * Method used to set the enemy's health
+     * @param health what to set the health to
+     */
+    private void setHealth(int health) {
+        if (store != null) {
+            store.setHealth(slot, health);
+        } else {
+            this.health = health;
+            if (health <= 0) {
+                state = EnemyStore.DEAD;
+            } else if (state == EnemyStore.DEAD) {
+                state = EnemyStore.IDLE;
+            }
+        }
+    }
+
+    /**
+     * Method used to decrease the enemy's health when taking damage, the health doesn't go below 0
+     * @param damage amount of health to decrease by
+     */
+    @Override
+    public void takeDamage(int damage) {
+        setHealth(Math.max(0, getHealth() - damage));
+    }
+
+    /**
+     * Method used to figure out, whether the enemy has been defeated or not
+     * @return boolean value of whether the enemy's health had reached 0 or not
+     */
+    @Override
+    public boolean isDefeated() {
+        return getHealth() <= 0;
+    }
+
+    /**
+     * Method used to set the enemy's current room, enemies in a world are moved through World.moveEnemy so that the registry is kept up to date
+     * @param roomId identifier of the room, null if the enemy isn't in any room
+     */
+    void setCurrentRoomId(RoomId roomId) {
+        this.currentRoomId = roomId;
+        if (store != null) {
+            store.setRoom(slot, roomId != null ? roomId.getOrdinal() : EnemyStore.NO_ROOM);
+        }
+    }
+
+    /**
+     * Method used to get the x position of the enemy
+     * @return the x position, in pixels
+     */
+    public float getX() {
+        return store != null ? store.getX(slot) : x;
+    }
+
+    /**
+     * Method used to get the y position of the enemy
+     * @return the y position, in pixels
+     */
+    public float getY() {
+        return store != null ? store.getY(slot) : y;
+    }
+
+    /**
+     * Method used to set the position of the enemy
+     * @param x the x position, in pixels
+     * @param y the y position, in pixels
+     */
+    public void setPosition(float x, float y) {
+        if (store != null) {
+            store.setPosition(slot, x, y);
+        } else {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Method used to get the state of the enemy
+     * @return the state(EnemyStore.IDLE, CHASING or DEAD)
+     */
+    public byte getState() {
+        return store != null ? store.getState(slot) : state;
+    }
+
+    /**
+     * Method used to set the state of the enemy
+     * @param state the state(EnemyStore.IDLE, CHASING or DEAD)
+     */
+    public void setState(byte state) {
+        if (store != null) {
+            store.setState(slot, state);
+        } else {
+            this.state = state;
+        }
+    }
+
+    /**
+     * Getter for 'attackTable'
+     * @return value of 'attackTable'
+     */
+    public AttackTable getAttackTable() {
+        return attackTable;
+    }
+
+    /**
+     * Getter for 'entityId'
+     * @return value of 'entityId'
+     */
+    public int getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Setter for 'entityId', only used by the enemy registry
+     * @param entityId what to set the value of 'entityId' to
+     */
+    void setEntityId(int entityId) {
+        this.entityId = entityId;
     }
 
     /**
@@ -40,14 +260,12 @@ public abstract class Enemy extends Character implements Serializable {
      * @return the attack used by the enemy
      */
     public AttackResult performRandomAttack() {
-        if (attacks.isEmpty()) {
+        AttackResult attack = attackTable.randomAttack();
+        if (attack == null) {
             System.out.println(name + " has no attacks!");
             return new AttackResult("misses", 0);
         }
-        List<String> attackNames = new ArrayList<>(attacks.keySet());
-        String randomAttack = attackNames.get(new Random().nextInt(attackNames.size()));
-        int damage = attacks.get(randomAttack);
-        return new AttackResult(randomAttack, damage);
+        return attack;
     }
 
     /**
@@ -72,6 +290,30 @@ public abstract class Enemy extends Character implements Serializable {
      */
     public void retreat() {
         distanceFromPlayer = 3;
-        this.health = 120;
+        setHealth(120);
+    }
+
+    /**
+     * Method used to copy the enemy's values from its store before it's serialized, the store itself isn't serialized
+     * @param out stream the enemy is written into
+     * @throws IOException if the enemy couldn't be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        if (store != null) {
+            copyFromStore();
+        }
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Method used to get the attack table of the enemy's type after deserialization, the enemy isn't attached to any store
+     * @param in stream the enemy is read from
+     * @throws IOException if the enemy couldn't be read
+     * @throws ClassNotFoundException if a class of the enemy couldn't be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        attackTable = AttackTable.register(getClass(), attacks);
+        attacks = attackTable.asMap();
     }
 }
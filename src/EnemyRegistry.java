@@ -0,0 +1,258 @@
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Class used to keep track of the enemies of the world, indexed by their ids, names, types and rooms.
+ * Every enemy gets an id when registered, the ids of removed enemies are reused. All lookups are a single map or array access,
+ * adding, removing and moving an enemy only swaps it with the last enemy of the lists it's in, so the registry stays fast with thousands of enemies
+ */
+public class EnemyRegistry implements Serializable {
+    /**
+     * Used for serialization
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * Empty list returned when there are no enemies of a name, type or in a room
+     */
+    private static final List<Enemy> NONE = Collections.emptyList();
+    /**
+     * Registered enemies by their ids, null where the id is free
+     */
+    private final List<Enemy> byId = new ArrayList<>();
+    /**
+     * Enemies by their names in lower case, so that a name is found ignoring case with a single lookup
+     */
+    private final Map<String, Bucket> byName = new HashMap<>();
+    /**
+     * Enemies by their classes
+     */
+    private final Map<Class<?>, Bucket> byType = new HashMap<>();
+    /**
+     * Enemies by the identifiers of their rooms, enemies without a room aren't indexed by room
+     */
+    private final Map<RoomId, Bucket> byRoom = new HashMap<>();
+    /**
+     * Positions of the enemies in their name, type and room buckets, by their ids
+     */
+    private int[] namePositions = new int[16], typePositions = new int[16], roomPositions = new int[16];
+    /**
+     * Ids of the removed enemies, which are given to the next registered enemies
+     */
+    private int[] freeIds = new int[16];
+    /**
+     * Amount of ids in freeIds
+     */
+    private int freeCount;
+    /**
+     * Amount of registered enemies
+     */
+    private int size;
+
+    /**
+     * Class used to store the enemies with the same name, type or room
+     */
+    private static final class Bucket implements Serializable {
+        /**
+         * Used for serialization
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The enemies, in no particular order
+         */
+        private final ArrayList<Enemy> enemies = new ArrayList<>();
+        /**
+         * Read-only view of the enemies, handed out by the registry
+         */
+        private final List<Enemy> view = Collections.unmodifiableList(enemies);
+
+        /**
+         * Method used to add an enemy
+         * @param enemy the enemy
+         * @return position of the enemy in the bucket
+         */
+        private int add(Enemy enemy) {
+            enemies.add(enemy);
+            return enemies.size() - 1;
+        }
+
+        /**
+         * Method used to remove an enemy by moving the last enemy into its position
+         * @param position position of the enemy in the bucket
+         * @return the enemy moved into the position, null if the removed enemy was the last one
+         */
+        private Enemy remove(int position) {
+            Enemy last = enemies.remove(enemies.size() - 1);
+            if (position == enemies.size()) {
+                return null;
+            }
+            enemies.set(position, last);
+            return last;
+        }
+    }
+
+    /**
+     * Method used to register an enemy
+     * @param enemy the enemy
+     * @return id of the enemy
+     */
+    public int register(Enemy enemy) {
+        if (enemy.getEntityId() != -1) {
+            throw new IllegalArgumentException(enemy.getName() + " is already registered with id " + enemy.getEntityId());
+        }
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+            byId.set(id, enemy);
+        } else {
+            id = byId.size();
+            byId.add(enemy);
+            if (id >= namePositions.length) {
+                int capacity = namePositions.length * 2;
+                namePositions = Arrays.copyOf(namePositions, capacity);
+                typePositions = Arrays.copyOf(typePositions, capacity);
+                roomPositions = Arrays.copyOf(roomPositions, capacity);
+            }
+        }
+        enemy.setEntityId(id);
+        namePositions[id] = byName.computeIfAbsent(nameKey(enemy.getName()), k -> new Bucket()).add(enemy);
+        typePositions[id] = byType.computeIfAbsent(enemy.getClass(), k -> new Bucket()).add(enemy);
+        if (enemy.getCurrentRoomId() != null) {
+            roomPositions[id] = byRoom.computeIfAbsent(enemy.getCurrentRoomId(), k -> new Bucket()).add(enemy);
+        }
+        size++;
+        return id;
+    }
+
+    /**
+     * Method used to remove an enemy, e.g. once it has been killed
+     * @param enemy the enemy
+     * @return true if the enemy had been registered
+     */
+    public boolean unregister(Enemy enemy) {
+        int id = enemy.getEntityId();
+        if (id == -1 || id >= byId.size() || byId.get(id) != enemy) {
+            return false;
+        }
+        removeFrom(byName, nameKey(enemy.getName()), namePositions, id);
+        removeFrom(byType, enemy.getClass(), typePositions, id);
+        if (enemy.getCurrentRoomId() != null) {
+            removeFrom(byRoom, enemy.getCurrentRoomId(), roomPositions, id);
+        }
+        byId.set(id, null);
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = id;
+        enemy.setEntityId(-1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Method used to move a registered enemy into another room, the enemy's current room is changed as well
+     * @param enemy the enemy
+     * @param roomId identifier of the room to move into, null if the enemy isn't in any room
+     */
+    public void move(Enemy enemy, RoomId roomId) {
+        int id = enemy.getEntityId();
+        if (id == -1 || byId.get(id) != enemy) {
+            throw new IllegalArgumentException(enemy.getName() + " is not registered");
+        }
+        RoomId previous = enemy.getCurrentRoomId();
+        if (previous == roomId) return;
+        if (previous != null) {
+            removeFrom(byRoom, previous, roomPositions, id);
+        }
+        enemy.setCurrentRoomId(roomId);
+        if (roomId != null) {
+            roomPositions[id] = byRoom.computeIfAbsent(roomId, k -> new Bucket()).add(enemy);
+        }
+    }
+
+    /**
+     * Method used to remove an enemy from a bucket, updating the position of the enemy moved into its place.
+     * The bucket is removed from its map once it's empty
+     * @param buckets map of the buckets of this kind
+     * @param key key of the bucket
+     * @param positions positions of the enemies in the buckets of this kind
+     * @param id id of the enemy
+     * @param <K> type of the keys
+     */
+    private <K> void removeFrom(Map<K, Bucket> buckets, K key, int[] positions, int id) {
+        Bucket bucket = buckets.get(key);
+        Enemy moved = bucket.remove(positions[id]);
+        if (moved != null) {
+            positions[moved.getEntityId()] = positions[id];
+        }
+        if (bucket.enemies.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * Method used to get the key of a name in 'byName'
+     * @param name name of the enemy
+     * @return the name in lower case, null if the name is null
+     */
+    private static String nameKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Method used to get an enemy by its id
+     * @param id id of the enemy
+     * @return the enemy, null if there is no enemy with the id
+     */
+    public Enemy get(int id) {
+        return id >= 0 && id < byId.size() ? byId.get(id) : null;
+    }
+
+    /**
+     * Method used to find an enemy by its name, with a single lookup
+     * @param name name of the enemy(ignoring case)
+     * @return one of the enemies with the name, null if there is none
+     */
+    public Enemy findByName(String name) {
+        Bucket bucket = byName.get(nameKey(name));
+        return bucket == null ? null : bucket.enemies.get(0);
+    }
+
+    /**
+     * Method used to find an enemy of a type
+     * @param type class of the enemy(subclasses aren't included)
+     * @param <T> type of the enemy
+     * @return one of the enemies of the type, null if there is none
+     */
+    public <T extends Enemy> T findByType(Class<T> type) {
+        Bucket bucket = byType.get(type);
+        return bucket == null ? null : type.cast(bucket.enemies.get(0));
+    }
+
+    /**
+     * Method used to get the enemies of a type
+     * @param type class of the enemies(subclasses aren't included)
+     * @return read-only list of the enemies, in no particular order, it stops being updated once it becomes empty
+     */
+    public List<Enemy> getByType(Class<? extends Enemy> type) {
+        Bucket bucket = byType.get(type);
+        return bucket == null ? NONE : bucket.view;
+    }
+
+    /**
+     * Method used to get the enemies in a room
+     * @param roomId identifier of the room
+     * @return read-only list of the enemies, in no particular order, it stops being updated once it becomes empty
+     */
+    public List<Enemy> getInRoom(RoomId roomId) {
+        Bucket bucket = roomId == null ? null : byRoom.get(roomId);
+        return bucket == null ? NONE : bucket.view;
+    }
+
+    /**
+     * Getter for 'size'
+     * @return value of 'size'
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Class used to run the enemies' AI from the game loop within a time budget per frame.
+ * The enemies in the player's room are updated first, in batches, round-robin, so that if the budget runs out
+ * the next frame continues with the enemies which have been skipped. Enemies in the other rooms aren't on screen,
+ * they're only updated with the time left over, also round-robin
+ */
+public class EnemyScheduler {
+    /**
+     * Default time budget per frame, in microseconds
+     */
+    public static final long DEFAULT_BUDGET_MICROS = 500;
+    /**
+     * How fast the enemies chase the player, in pixels per second(a bit slower than the player walks)
+     */
+    public static final double CHASE_SPEED = 12;
+    /**
+     * Distance from the player the enemies stop at, in pixels(the player is drawn with a radius of 10)
+     */
+    public static final float CONTACT_DISTANCE = 10 + EnemyStore.SIZE / 2;
+    /**
+     * Amount of enemies in the player's room updated between two checks of the budget
+     */
+    private static final int ON_SCREEN_BATCH = 32;
+    /**
+     * Amount of slots outside the player's room updated between two checks of the budget
+     */
+    private static final int OFF_SCREEN_BATCH = 1024;
+    /**
+     * World whose enemies are updated
+     */
+    private final World world;
+    /**
+     * Clock used to measure the budget, in nanoseconds
+     */
+    private final LongSupplier clock;
+    /**
+     * Time budget per frame, in nanoseconds
+     */
+    private long budgetNanos;
+    /**
+     * Slots of the enemies in the player's room, gathered every frame
+     */
+    private int[] onScreenSlots = new int[64];
+    /**
+     * Index in onScreenSlots the next frame starts at
+     */
+    private int onScreenCursor;
+    /**
+     * Slot the next off-screen update starts at
+     */
+    private int offScreenCursor;
+    /**
+     * Amount of enemies in the player's room updated during the last frame
+     */
+    private int lastOnScreen;
+    /**
+     * Amount of enemies in the player's room skipped during the last frame, because the budget ran out
+     */
+    private int lastSkipped;
+    /**
+     * Amount of slots updated outside the player's room during the last frame
+     */
+    private int lastOffScreen;
+    /**
+     * Time spent during the last frame, in nanoseconds
+     */
+    private long lastNanos;
+    /**
+     * Longest time spent during a frame, in nanoseconds
+     */
+    private long maxNanos;
+
+    /**
+     * Constructor
+     * @param world world whose enemies are updated
+     */
+    public EnemyScheduler(World world) {
+        this(world, System::nanoTime);
+    }
+
+    /**
+     * Constructor
+     * @param world world whose enemies are updated
+     * @param clock clock used to measure the budget, in nanoseconds
+     */
+    public EnemyScheduler(World world, LongSupplier clock) {
+        this.world = world;
+        this.clock = clock;
+        setBudgetMicros(DEFAULT_BUDGET_MICROS);
+    }
+
+    /**
+     * Method used to update the enemies for a frame, stops once the budget has been spent.
+     * At least one batch of the enemies in the player's room is updated every frame, so they never stop moving
+     * @param playerRoom identifier of the room the player is in, null if the enemies can't see the player(e.g. while hiding)
+     * @param playerX x position of the player, in pixels
+     * @param playerY y position of the player, in pixels
+     * @param seconds time simulated since the last frame, in seconds
+     * @param collisions collisions of the player's room the enemies can't move into, null if there are none
+     * @return amount of enemies in the player's room which have been updated
+     */
+    public int update(RoomId playerRoom, double playerX, double playerY, double seconds, CollisionWorld collisions) {
+        long start = clock.getAsLong();
+        long deadline = start + budgetNanos;
+        EnemyStore store = world.getEnemyStore();
+        int room = playerRoom != null ? playerRoom.getOrdinal() : EnemyStore.NO_ROOM;
+        float step = (float) (CHASE_SPEED * seconds);
+        int count = gatherOnScreen(store, playerRoom);
+        int onScreen = 0;
+        if (count > 0) {
+            if (onScreenCursor >= count) {
+                onScreenCursor = 0;
+            }
+            do {
+                int batch = Math.min(ON_SCREEN_BATCH, Math.min(count - onScreen, count - onScreenCursor));
+                store.update(onScreenSlots, onScreenCursor, onScreenCursor + batch, room, (float) playerX, (float) playerY, step,
+                        CONTACT_DISTANCE, collisions);
+                onScreenCursor = (onScreenCursor + batch) % count;
+                onScreen += batch;
+            } while (onScreen < count && clock.getAsLong() < deadline);
+        }
+        int slots = store.getSlotCount();
+        int offScreen = 0;
+        while (offScreen < slots && clock.getAsLong() < deadline) {
+            if (offScreenCursor >= slots) {
+                offScreenCursor = 0;
+            }
+            int batch = Math.min(OFF_SCREEN_BATCH, Math.min(slots - offScreen, slots - offScreenCursor));
+            store.updateOffScreen(offScreenCursor, offScreenCursor + batch, room);
+            offScreenCursor += batch;
+            offScreen += batch;
+        }
+        lastOnScreen = onScreen;
+        lastSkipped = count - onScreen;
+        lastOffScreen = offScreen;
+        lastNanos = clock.getAsLong() - start;
+        maxNanos = Math.max(maxNanos, lastNanos);
+        return onScreen;
+    }
+
+    /**
+     * Method used to gather the slots of the enemies in the player's room
+     * @param store store the enemies are attached to
+     * @param playerRoom identifier of the room the player is in
+     * @return amount of gathered slots
+     */
+    private int gatherOnScreen(EnemyStore store, RoomId playerRoom) {
+        List<Enemy> enemies = world.getEnemies().getInRoom(playerRoom);
+        if (enemies.size() > onScreenSlots.length) {
+            onScreenSlots = new int[Math.max(enemies.size(), onScreenSlots.length * 2)];
+        }
+        int count = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.getStore() == store) {
+                onScreenSlots[count++] = enemy.getSlot();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Setter for the time budget
+     * @param micros time budget per frame, in microseconds
+     */
+    public void setBudgetMicros(long micros) {
+        if (micros <= 0) {
+            throw new IllegalArgumentException("Invalid AI budget " + micros + " us");
+        }
+        this.budgetNanos = micros * 1000;
+    }
+
+    /**
+     * Getter for the time budget
+     * @return time budget per frame, in microseconds
+     */
+    public long getBudgetMicros() {
+        return budgetNanos / 1000;
+    }
+
+    /**
+     * Getter for 'lastSkipped'
+     * @return value of 'lastSkipped'
+     */
+    public int getLastSkipped() {
+        return lastSkipped;
+    }
+
+    /**
+     * Getter for 'lastOffScreen'
+     * @return value of 'lastOffScreen'
+     */
+    public int getLastOffScreen() {
+        return lastOffScreen;
+    }
+
+    /**
+     * Method used to get a readable summary of the scheduler's counters
+     * @return the summary
+     */
+    public String getStatsSummary() {
+        return String.format("Enemy AI: %d on screen (%d skipped), %d off screen, %d/%d us (max %d)",
+                lastOnScreen, lastSkipped, lastOffScreen, lastNanos / 1000, budgetNanos / 1000, maxNanos / 1000);
+    }
+}
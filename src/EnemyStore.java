@@ -0,0 +1,370 @@
+import java.util.Arrays;
+
+/**
+ * Class used to store the values of many enemies in parallel primitive arrays(health, position, room, state and attack table),
+ * one slot per enemy. Enemies attached to the store only keep their slot and read and write their values here, so updating all of them
+ * is a loop over a few arrays instead of following a reference to every enemy. Slots of removed enemies are reused.
+ * The store isn't serialized, the enemies copy their values back into their own fields when they're serialized or detached
+ */
+public class EnemyStore {
+    /**
+     * State of an enemy which isn't in the player's room
+     */
+    public static final byte IDLE = 0;
+    /**
+     * State of an enemy in the player's room, moving towards the player
+     */
+    public static final byte CHASING = 1;
+    /**
+     * State of a defeated enemy, or of a free slot
+     */
+    public static final byte DEAD = 2;
+    /**
+     * Room of an enemy which isn't in any room
+     */
+    public static final int NO_ROOM = -1;
+    /**
+     * Size of an enemy's hitbox, in pixels, the position is the center of the hitbox
+     */
+    public static final float SIZE = 12;
+    /**
+     * Health of the enemies
+     */
+    private int[] health;
+    /**
+     * Positions of the enemies, in pixels
+     */
+    private float[] x, y;
+    /**
+     * Ordinals of the RoomIds of the enemies' rooms, NO_ROOM if the enemy isn't in any room
+     */
+    private int[] rooms;
+    /**
+     * States of the enemies
+     */
+    private byte[] states;
+    /**
+     * Indexes of the enemies' attack tables
+     */
+    private int[] attackTables;
+    /**
+     * Slots of the removed enemies, which are given to the next added enemies
+     */
+    private int[] freeSlots;
+    /**
+     * Amount of slots in freeSlots
+     */
+    private int freeCount;
+    /**
+     * Amount of slots used so far, higher than the slot of any enemy
+     */
+    private int slotCount;
+
+    /**
+     * Constructor
+     */
+    public EnemyStore() {
+        this(16);
+    }
+
+    /**
+     * Constructor
+     * @param capacity amount of enemies the store has room for before growing
+     */
+    public EnemyStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        health = new int[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        rooms = new int[capacity];
+        states = new byte[capacity];
+        attackTables = new int[capacity];
+        freeSlots = new int[16];
+    }
+
+    /**
+     * Method used to add an enemy
+     * @param health health of the enemy
+     * @param room ordinal of the RoomId of the enemy's room, NO_ROOM if it isn't in any room
+     * @param attackTable index of the enemy's attack table
+     * @return slot of the enemy
+     */
+    public int add(int health, int room, int attackTable) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == this.health.length) {
+                grow(slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        this.health[slot] = health;
+        x[slot] = 0;
+        y[slot] = 0;
+        rooms[slot] = room;
+        states[slot] = health > 0 ? IDLE : DEAD;
+        attackTables[slot] = attackTable;
+        return slot;
+    }
+
+    /**
+     * Method used to remove an enemy, its slot is reused by the next added enemy
+     * @param slot slot of the enemy
+     */
+    public void remove(int slot) {
+        checkSlot(slot);
+        health[slot] = 0;
+        rooms[slot] = NO_ROOM;
+        states[slot] = DEAD;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Method used to update a range of slots for a single tick. Enemies in the player's room move towards the player by a step,
+     * the others become idle, defeated enemies and free slots are skipped
+     * @param from first slot to update
+     * @param to slot after the last slot to update, limited to the amount of used slots
+     * @param playerRoom ordinal of the RoomId of the player's room
+     * @param playerX x position of the player
+     * @param playerY y position of the player
+     * @param step how far the chasing enemies move, in pixels
+     * @return amount of enemies chasing the player in the range
+     */
+    public int update(int from, int to, int playerRoom, float playerX, float playerY, float step) {
+        int end = Math.min(to, slotCount);
+        int chasing = 0;
+        for (int i = Math.max(0, from); i < end; i++) {
+            if (states[i] == DEAD) continue;
+            if (rooms[i] != playerRoom) {
+                states[i] = IDLE;
+                continue;
+            }
+            chase(i, playerX, playerY, step, 0, null);
+            chasing++;
+        }
+        return chasing;
+    }
+
+    /**
+     * Method used to update the enemies in some of the slots for a single tick, like update(from, to, ...),
+     * but the enemies stop at a distance from the player and can't move into the collisions of the room
+     * @param slots slots of the enemies, e.g. the enemies in the player's room
+     * @param from index of the first slot in 'slots' to update
+     * @param to index after the last slot in 'slots' to update
+     * @param playerRoom ordinal of the RoomId of the player's room
+     * @param playerX x position of the player
+     * @param playerY y position of the player
+     * @param step how far the chasing enemies move, in pixels
+     * @param stopDistance distance from the player the enemies stop at, in pixels
+     * @param collisions collisions of the player's room, null if the enemies can move anywhere
+     * @return amount of enemies chasing the player among the slots
+     */
+    public int update(int[] slots, int from, int to, int playerRoom, float playerX, float playerY, float step,
+                      float stopDistance, CollisionWorld collisions) {
+        int chasing = 0;
+        for (int j = from; j < to; j++) {
+            int i = slots[j];
+            if (i < 0 || i >= slotCount || states[i] == DEAD) continue;
+            if (rooms[i] != playerRoom) {
+                states[i] = IDLE;
+                continue;
+            }
+            chase(i, playerX, playerY, step, stopDistance, collisions);
+            chasing++;
+        }
+        return chasing;
+    }
+
+    /**
+     * Method used to update the enemies outside the player's room in a range of slots, they lose track of the player and become idle.
+     * Enemies in the player's room are left as they are
+     * @param from first slot to update
+     * @param to slot after the last slot to update, limited to the amount of used slots
+     * @param playerRoom ordinal of the RoomId of the player's room
+     */
+    public void updateOffScreen(int from, int to, int playerRoom) {
+        int end = Math.min(to, slotCount);
+        for (int i = Math.max(0, from); i < end; i++) {
+            if (states[i] == CHASING && rooms[i] != playerRoom) {
+                states[i] = IDLE;
+            }
+        }
+    }
+
+    /**
+     * Method used to move an enemy towards the player, each axis is only moved if the hitbox doesn't end up in a collision,
+     * so the enemy slides along walls
+     * @param i slot of the enemy
+     * @param playerX x position of the player
+     * @param playerY y position of the player
+     * @param step how far the enemy moves, in pixels
+     * @param stopDistance distance from the player the enemy stops at, in pixels
+     * @param collisions collisions of the room, null if the enemy can move anywhere
+     */
+    private void chase(int i, float playerX, float playerY, float step, float stopDistance, CollisionWorld collisions) {
+        states[i] = CHASING;
+        float dx = playerX - x[i];
+        float dy = playerY - y[i];
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance <= stopDistance) return;
+        float move = Math.min(step, distance - stopDistance);
+        float nextX = x[i] + dx * (move / distance);
+        float nextY = y[i] + dy * (move / distance);
+        if (collisions == null) {
+            x[i] = nextX;
+            y[i] = nextY;
+            return;
+        }
+        float half = SIZE / 2;
+        if (!collisions.overlaps(nextX - half, y[i] - half, SIZE, SIZE)) {
+            x[i] = nextX;
+        }
+        if (!collisions.overlaps(x[i] - half, nextY - half, SIZE, SIZE)) {
+            y[i] = nextY;
+        }
+    }
+
+    /**
+     * Method used to get the health of an enemy
+     * @param slot slot of the enemy
+     * @return the health
+     */
+    public int getHealth(int slot) {
+        return health[slot];
+    }
+
+    /**
+     * Method used to set the health of an enemy, the enemy becomes dead at 0 health and idle once it's healed again
+     * @param slot slot of the enemy
+     * @param value the health
+     */
+    public void setHealth(int slot, int value) {
+        checkSlot(slot);
+        health[slot] = value;
+        if (value <= 0) {
+            states[slot] = DEAD;
+        } else if (states[slot] == DEAD) {
+            states[slot] = IDLE;
+        }
+    }
+
+    /**
+     * Method used to get the x position of an enemy
+     * @param slot slot of the enemy
+     * @return the x position
+     */
+    public float getX(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * Method used to get the y position of an enemy
+     * @param slot slot of the enemy
+     * @return the y position
+     */
+    public float getY(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * Method used to set the position of an enemy
+     * @param slot slot of the enemy
+     * @param x the x position
+     * @param y the y position
+     */
+    public void setPosition(int slot, float x, float y) {
+        checkSlot(slot);
+        this.x[slot] = x;
+        this.y[slot] = y;
+    }
+
+    /**
+     * Method used to get the room of an enemy
+     * @param slot slot of the enemy
+     * @return ordinal of the RoomId of the room, NO_ROOM if the enemy isn't in any room
+     */
+    public int getRoom(int slot) {
+        return rooms[slot];
+    }
+
+    /**
+     * Method used to set the room of an enemy
+     * @param slot slot of the enemy
+     * @param room ordinal of the RoomId of the room, NO_ROOM if the enemy isn't in any room
+     */
+    public void setRoom(int slot, int room) {
+        checkSlot(slot);
+        rooms[slot] = room;
+    }
+
+    /**
+     * Method used to get the state of an enemy
+     * @param slot slot of the enemy
+     * @return the state(IDLE, CHASING or DEAD)
+     */
+    public byte getState(int slot) {
+        return states[slot];
+    }
+
+    /**
+     * Method used to set the state of an enemy
+     * @param slot slot of the enemy
+     * @param state the state(IDLE, CHASING or DEAD)
+     */
+    public void setState(int slot, byte state) {
+        checkSlot(slot);
+        states[slot] = state;
+    }
+
+    /**
+     * Method used to get the attack table of an enemy
+     * @param slot slot of the enemy
+     * @return index of the attack table
+     */
+    public int getAttackTable(int slot) {
+        return attackTables[slot];
+    }
+
+    /**
+     * Getter for 'slotCount'
+     * @return value of 'slotCount'
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Method used to get the amount of enemies in the store
+     * @return the amount
+     */
+    public int size() {
+        return slotCount - freeCount;
+    }
+
+    /**
+     * Method used to make sure a slot is in use
+     * @param slot the slot
+     */
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= slotCount) {
+            throw new IndexOutOfBoundsException("Invalid enemy slot " + slot);
+        }
+    }
+
+    /**
+     * Method used to make the arrays larger
+     * @param capacity new capacity
+     */
+    private void grow(int capacity) {
+        health = Arrays.copyOf(health, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        rooms = Arrays.copyOf(rooms, capacity);
+        states = Arrays.copyOf(states, capacity);
+        attackTables = Arrays.copyOf(attackTables, capacity);
+    }
+}
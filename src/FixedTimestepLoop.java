@@ -0,0 +1,155 @@
+/**
+ * Class used to run the game's simulation at a fixed rate, independent of how often the screen is refreshed.
+ * Time reported by the frames is collected in an accumulator and spent in fixed steps(ticks),
+ * the leftover time is used to interpolate what's rendered between the last two ticks
+ */
+public class FixedTimestepLoop {
+    /**
+     * Longest frame(in nanoseconds) taken into account, longer gaps(pausing, dragging the window) are cut off
+     */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+    /**
+     * Length of a single tick in nanoseconds
+     */
+    private long stepNanos;
+    /**
+     * Maximum amount of ticks run during a single frame, the rest of the time is dropped
+     */
+    private int maxTicksPerFrame;
+    /**
+     * Minimum time(in nanoseconds) between two rendered frames, 0 if the rendering isn't limited
+     */
+    private long minRenderNanos;
+    /**
+     * Time which hasn't been simulated yet
+     */
+    private long accumulator;
+    /**
+     * Time of the last frame, -1 if there wasn't one yet
+     */
+    private long lastFrameTime = -1;
+    /**
+     * Time of the last rendered frame, -1 if there wasn't one yet
+     */
+    private long lastRenderTime = -1;
+    /**
+     * Amount of ticks which have been dropped, because a frame would need more than 'maxTicksPerFrame' of them
+     */
+    private long droppedTicks;
+
+    /**
+     * Constructor
+     * @param ticksPerSecond how many times a second the simulation is updated
+     * @param maxTicksPerFrame maximum amount of ticks run during a single frame
+     */
+    public FixedTimestepLoop(double ticksPerSecond, int maxTicksPerFrame) {
+        setTicksPerSecond(ticksPerSecond);
+        setMaxTicksPerFrame(maxTicksPerFrame);
+    }
+
+    /**
+     * Method used to find out how many ticks have to be run during the current frame
+     * @param now current time in nanoseconds
+     * @return amount of ticks to run
+     */
+    public int advance(long now) {
+        if (lastFrameTime < 0) {
+            lastFrameTime = now;
+            return 0;
+        }
+        long frameNanos = Math.min(Math.max(0, now - lastFrameTime), MAX_FRAME_NANOS);
+        lastFrameTime = now;
+        accumulator += frameNanos;
+        int ticks = (int) (accumulator / stepNanos);
+        if (ticks > maxTicksPerFrame) {
+            // The simulation can't catch up, drop the time instead of spiralling
+            droppedTicks += ticks - maxTicksPerFrame;
+            ticks = maxTicksPerFrame;
+            accumulator = 0;
+        } else {
+            accumulator -= ticks * stepNanos;
+        }
+        return ticks;
+    }
+
+    /**
+     * Method used to find out whether the current frame should be rendered, based on the render rate limit
+     * @param now current time in nanoseconds
+     * @return should the frame be rendered?
+     */
+    public boolean shouldRender(long now) {
+        if (minRenderNanos > 0 && lastRenderTime >= 0 && now - lastRenderTime < minRenderNanos) {
+            return false;
+        }
+        lastRenderTime = now;
+        return true;
+    }
+
+    /**
+     * Getter for the interpolation factor between the last two ticks
+     * @return value between 0(previous tick) and 1(last tick)
+     */
+    public double getAlpha() {
+        return Math.min(1.0, (double) accumulator / stepNanos);
+    }
+
+    /**
+     * Method used to forget the previous frame, so that the time in between isn't simulated
+     */
+    public void reset() {
+        accumulator = 0;
+        lastFrameTime = -1;
+        lastRenderTime = -1;
+    }
+
+    /**
+     * Setter for the simulation rate
+     * @param ticksPerSecond how many times a second the simulation is updated
+     */
+    public void setTicksPerSecond(double ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Simulation rate has to be positive");
+        }
+        this.stepNanos = Math.max(1, Math.round(1_000_000_000.0 / ticksPerSecond));
+    }
+
+    /**
+     * Getter for the simulation rate
+     * @return how many times a second the simulation is updated
+     */
+    public double getTicksPerSecond() {
+        return 1_000_000_000.0 / stepNanos;
+    }
+
+    /**
+     * Getter for the length of a single tick
+     * @return length of a tick in seconds
+     */
+    public double getStepSeconds() {
+        return stepNanos / 1_000_000_000.0;
+    }
+
+    /**
+     * Setter for 'maxTicksPerFrame'
+     * @param maxTicksPerFrame what to set the value of 'maxTicksPerFrame' to
+     */
+    public void setMaxTicksPerFrame(int maxTicksPerFrame) {
+        this.maxTicksPerFrame = Math.max(1, maxTicksPerFrame);
+    }
+
+    /**
+     * Setter for the render rate limit
+     * @param framesPerSecond maximum amount of rendered frames per second, 0 or less disables the limit
+     */
+    public void setMaxRenderFps(double framesPerSecond) {
+        this.minRenderNanos = framesPerSecond > 0 ? Math.round(1_000_000_000.0 / framesPerSecond) : 0;
+    }
+
+    /**
+     * Getter for 'droppedTicks'
+     * @return value of 'droppedTicks'
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+}
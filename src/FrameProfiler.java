@@ -0,0 +1,266 @@
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Class used to measure how long the individual phases of a frame(updating, rendering the layers, prompts, HUD) take.
+ * The timings are stored in preallocated ring buffers, shown in an on-screen overlay and can be exported to a CSV file.
+ * When disabled, every call returns right away
+ */
+public final class FrameProfiler {
+    /**
+     * Amount of frames kept in the ring buffers
+     */
+    public static final int CAPACITY = 600;
+    /**
+     * Maximum amount of phases which can be registered
+     */
+    private static final int MAX_PHASES = 64;
+    /**
+     * Name of the folder the CSV files are exported into
+     */
+    private static final String EXPORT_FOLDER = "profiles/";
+    /**
+     * Is the profiler currently measuring?
+     */
+    private static boolean enabled = false;
+    /**
+     * Names of the registered phases
+     */
+    private static final String[] phaseNames = new String[MAX_PHASES];
+    /**
+     * Amount of registered phases
+     */
+    private static int phaseCount = 0;
+    /**
+     * Time the phases have been started at during the current frame
+     */
+    private static final long[] phaseStart = new long[MAX_PHASES];
+    /**
+     * Time spent in the phases during the current frame
+     */
+    private static final long[] phaseTotal = new long[MAX_PHASES];
+    /**
+     * Ring buffers of the phase timings, one row per phase
+     */
+    private static final long[][] phaseHistory = new long[MAX_PHASES][CAPACITY];
+    /**
+     * Ring buffer of the whole frame timings
+     */
+    private static final long[] frameHistory = new long[CAPACITY];
+    /**
+     * Array used to sort the timings when calculating the percentiles
+     */
+    private static final long[] scratch = new long[CAPACITY];
+    /**
+     * Time the current frame has been started at
+     */
+    private static long frameStart;
+    /**
+     * Amount of recorded frames
+     */
+    private static long frameCount;
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private FrameProfiler() {
+    }
+
+    /**
+     * Method used to register a phase, registering the same name again returns the same id
+     * @param name name of the phase
+     * @return id of the phase
+     */
+    public static synchronized int phase(String name) {
+        for (int i = 0; i < phaseCount; i++) {
+            if (phaseNames[i].equals(name)) {
+                return i;
+            }
+        }
+        if (phaseCount == MAX_PHASES) {
+            throw new IllegalStateException("Too many profiler phases");
+        }
+        phaseNames[phaseCount] = name;
+        return phaseCount++;
+    }
+
+    /**
+     * Method used to start a new frame
+     */
+    public static void beginFrame() {
+        if (!enabled) return;
+        Arrays.fill(phaseTotal, 0, phaseCount, 0);
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * Method used to finish the current frame, storing its timings into the ring buffers
+     */
+    public static void endFrame() {
+        if (!enabled || frameStart == 0) return;
+        int slot = (int) (frameCount % CAPACITY);
+        frameHistory[slot] = System.nanoTime() - frameStart;
+        for (int i = 0; i < phaseCount; i++) {
+            phaseHistory[i][slot] = phaseTotal[i];
+        }
+        frameCount++;
+    }
+
+    /**
+     * Method used to start measuring a phase
+     * @param phase id of the phase
+     */
+    public static void begin(int phase) {
+        if (!enabled) return;
+        phaseStart[phase] = System.nanoTime();
+    }
+
+    /**
+     * Method used to stop measuring a phase, a phase can be measured several times per frame
+     * @param phase id of the phase
+     */
+    public static void end(int phase) {
+        if (!enabled) return;
+        phaseTotal[phase] += System.nanoTime() - phaseStart[phase];
+    }
+
+    /**
+     * Setter for 'enabled', the recorded frames are cleared when enabling the profiler
+     * @param enable what to set the value of 'enabled' to
+     */
+    public static void setEnabled(boolean enable) {
+        if (enable && !enabled) {
+            frameCount = 0;
+            frameStart = 0;
+        }
+        enabled = enable;
+    }
+
+    /**
+     * Getter for 'enabled'
+     * @return value of 'enabled'
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Getter for the amount of frames currently stored in the ring buffers
+     * @return amount of stored frames
+     */
+    public static int getRecordedFrames() {
+        return (int) Math.min(frameCount, CAPACITY);
+    }
+
+    /**
+     * Method used to calculate a percentile of a phase's timings
+     * @param phase id of the phase, -1 for the whole frame
+     * @param percentile which percentile(0 - 100)
+     * @return the percentile in nanoseconds
+     */
+    public static long percentile(int phase, double percentile) {
+        int frames = getRecordedFrames();
+        if (frames == 0) return 0;
+        System.arraycopy(phase < 0 ? frameHistory : phaseHistory[phase], 0, scratch, 0, frames);
+        Arrays.sort(scratch, 0, frames);
+        int index = (int) Math.ceil(percentile / 100.0 * frames) - 1;
+        return scratch[Math.max(0, Math.min(frames - 1, index))];
+    }
+
+    /**
+     * Method used to render the overlay with the percentiles of the phases and a graph of the frame times
+     * @param gc GraphicsContext instance
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     */
+    public static void renderOverlay(GraphicsContext gc, double screenWidth, double screenHeight) {
+        if (!enabled) return;
+        double width = 420;
+        double rowHeight = 16;
+        double graphHeight = 80;
+        double height = 50 + rowHeight * (phaseCount + 1) + graphHeight;
+        double x = screenWidth - width - 20;
+        double y = 20;
+        gc.save();
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.setFill(Color.rgb(0, 0, 0, 0.75));
+        gc.fillRoundRect(x, y, width, height, 10, 10);
+        gc.setFont(Font.font("Monospaced", 12));
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setFill(Color.WHITE);
+        gc.fillText(String.format("%-22s %7s %7s %7s %7s", "phase (ms)", "p50", "p95", "p99", "max"), x + 10, y + 20);
+        drawRow(gc, "frame", -1, x + 10, y + 20 + rowHeight);
+        for (int i = 0; i < phaseCount; i++) {
+            drawRow(gc, phaseNames[i], i, x + 10, y + 20 + rowHeight * (i + 2));
+        }
+        // Frame time graph, the line marks 16.7 ms(60 FPS)
+        double graphX = x + 10;
+        double graphY = y + height - graphHeight - 10;
+        double graphWidth = width - 20;
+        double scale = graphHeight / 33_333_333.0;
+        int frames = getRecordedFrames();
+        gc.setStroke(Color.rgb(255, 255, 255, 0.4));
+        gc.strokeLine(graphX, graphY + graphHeight - 16_666_667 * scale, graphX + graphWidth, graphY + graphHeight - 16_666_667 * scale);
+        gc.setFill(Color.LIMEGREEN);
+        double barWidth = graphWidth / CAPACITY;
+        for (int i = 0; i < frames; i++) {
+            long frame = frameHistory[(int) ((frameCount - frames + i) % CAPACITY)];
+            double barHeight = Math.min(graphHeight, frame * scale);
+            gc.fillRect(graphX + i * barWidth, graphY + graphHeight - barHeight, Math.max(1, barWidth), barHeight);
+        }
+        gc.restore();
+    }
+
+    /**
+     * Method used to draw a single row of the overlay
+     * @param gc GraphicsContext instance
+     * @param name name of the phase
+     * @param phase id of the phase, -1 for the whole frame
+     * @param x x coordinate of the row
+     * @param y y coordinate of the row
+     */
+    private static void drawRow(GraphicsContext gc, String name, int phase, double x, double y) {
+        String label = name.length() > 22 ? name.substring(0, 22) : name;
+        gc.fillText(String.format("%-22s %7.2f %7.2f %7.2f %7.2f", label,
+                percentile(phase, 50) / 1e6, percentile(phase, 95) / 1e6,
+                percentile(phase, 99) / 1e6, percentile(phase, 100) / 1e6), x, y);
+    }
+
+    /**
+     * Method used to export the stored frames into a CSV file(one row per frame, one column per phase, in nanoseconds)
+     * @return the created file
+     * @throws IOException if the file couldn't be written
+     */
+    public static File exportCsv() throws IOException {
+        File folder = new File(EXPORT_FOLDER);
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create folder " + EXPORT_FOLDER);
+        }
+        File file = new File(folder, "frame_profile_" + System.currentTimeMillis() + ".csv");
+        try (PrintWriter writer = new PrintWriter(file)) {
+            StringBuilder header = new StringBuilder("frame,frame_ns");
+            for (int i = 0; i < phaseCount; i++) {
+                header.append(',').append(phaseNames[i].replace(',', ' '));
+            }
+            writer.println(header);
+            int frames = getRecordedFrames();
+            for (int i = 0; i < frames; i++) {
+                long frame = frameCount - frames + i;
+                int slot = (int) (frame % CAPACITY);
+                StringBuilder row = new StringBuilder().append(frame).append(',').append(frameHistory[slot]);
+                for (int j = 0; j < phaseCount; j++) {
+                    row.append(',').append(phaseHistory[j][slot]);
+                }
+                writer.println(row);
+            }
+        }
+        return file;
+    }
+}
@@ -1,6 +1,4 @@
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.ObjectInputStream;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -23,6 +21,10 @@ public class Game {
      * CommandFactory instance
      */
     private CommandFactory commandFactory;
+    /**
+     * Checkpoints captured at the save points and room transitions, the newest one is restored upon dying
+     */
+    private final CheckpointRing checkpoints = new CheckpointRing(CheckpointRing.DEFAULT_CAPACITY);
     /**
      * Constructor, contains the initialization of locks, gear locks, enemies, player,etc.
      */
@@ -59,21 +61,20 @@ public class Game {
         System.out.println("║       SAVED GAMES         ║");
         System.out.println("╠════════════════════════════╣");
 
-        File[] saveFiles = new File("saves/").listFiles((dir, name) -> name.startsWith("save_"));
-        Arrays.sort(saveFiles, Comparator.comparingLong(File::lastModified).reversed());
+        List<SaveMetadata> saves = getSaves();
 
-        for (int i = 0; i < saveFiles.length; i++) {
-            System.out.printf("║ %d. %-20s ║%n", i+1, saveFiles[i].getName());
+        for (int i = 0; i < saves.size(); i++) {
+            System.out.printf("║ %d. %-20s ║%n", i+1, saves.get(i).getName());
         }
-        System.out.println("║ " + (saveFiles.length+1) + ". New Game            ║");
+        System.out.println("║ " + (saves.size()+1) + ". New Game            ║");
         System.out.println("╚════════════════════════════╝");
         System.out.print("Choose an option: ");
 
         try {
             int choice = Integer.parseInt(scanner.nextLine());
-            if (choice > 0 && choice <= saveFiles.length) {
-                loadGame(saveFiles[choice-1]);
-            } else if (choice == saveFiles.length+1) {
+            if (choice > 0 && choice <= saves.size()) {
+                loadGame(saves.get(choice-1).getName());
+            } else if (choice == saves.size()+1) {
                 initializeNewGame();
             } else {
                 System.out.println("Invalid choice. Starting new game.");
@@ -85,14 +86,29 @@ public class Game {
         }
     }
 
+    /**
+     * Method used to get the saves made by the player(autosaves excluded), newest first
+     * @return metadata of the saves
+     */
+    private List<SaveMetadata> getSaves() {
+        List<SaveMetadata> saves = new ArrayList<>();
+        for (SaveMetadata save : SaveManager.getSaveMetadata()) {
+            if (save.getName().startsWith("save_")) {
+                saves.add(save);
+            }
+        }
+        return saves;
+    }
+
     /**
      * Method used to load the data saved in GameState, when choosing to load a previous save
-     * @param saveFile Specifies, which saveFile is trying to be load
+     * @param name Specifies, which save is trying to be load
      */
-    private void loadGame(File saveFile) {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(saveFile))) {
-            GameState state = (GameState) in.readObject();
+    private void loadGame(String name) {
+        try {
+            GameState state = SaveManager.readGameState(name);
             applyGameState(state);
+            addCheckpoint(state);
             System.out.println("✅ Game loaded successfully!");
         } catch (Exception e) {
             System.out.println("❌ Failed to load game: " + e.getMessage());
@@ -104,22 +120,48 @@ public class Game {
      * Method used to load checkpoint upon dying
      */
     public void loadCheckpoint() {
-        File[] saveFiles = new File("saves/").listFiles((dir, name) -> name.startsWith("save_"));
-        if (saveFiles == null || saveFiles.length == 0) {
+        byte[] checkpoint = checkpoints.latest();
+        if (checkpoint != null) {
+            try {
+                applyGameState((GameState) SaveCodec.decode(checkpoint));
+                System.out.println("✅ Checkpoint loaded successfully!");
+                return;
+            } catch (IOException e) {
+                System.err.println("Failed to restore checkpoint from memory: " + e.getMessage());
+            }
+        }
+        // No checkpoint in memory yet, fall back to the newest save on disk
+        List<SaveMetadata> saves = getSaves();
+        if (saves.isEmpty()) {
             System.out.println("No save files found! Starting new game.");
             initializeNewGame();
             return;
         }
-        Arrays.sort(saveFiles, Comparator.comparingLong(File::lastModified).reversed());
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(saveFiles[0]))) {
-            GameState state = (GameState) in.readObject();
+        try {
+            GameState state = SaveManager.readGameState(saves.get(0).getName());
             applyGameState(state);
+            addCheckpoint(state);
             System.out.println("✅ Checkpoint loaded successfully!");
         } catch (Exception e) {
             System.out.println("❌ Failed to load checkpoint: " + e.getMessage());
             initializeNewGame();
         }
     }
+    /**
+     * Method used to capture a checkpoint of the current game state
+     */
+    public void captureCheckpoint() {
+        addCheckpoint(SaveHelper.createTextGameState(player, world));
+    }
+
+    /**
+     * Method used to add a checkpoint, the state is encoded right away so later changes in the game don't affect it
+     * @param state which state to store as a checkpoint
+     */
+    public void addCheckpoint(GameState state) {
+        checkpoints.push(SaveCodec.encode(state));
+    }
+
     /**
      * Applies the game's stats(saved in game state) to the loaded game, used when loading the game in 'loadGame' method
      * @param state used to access GameState class
@@ -142,7 +184,7 @@ public class Game {
         Room targetRoom = world.findRoomByName(state.getCurrentRoomName());
         if (targetRoom != null) {
             player.setCurrentRoom(targetRoom);
-
+            world.setCurrentRoom(targetRoom);
         }
 
         // Restore flashlight
@@ -5,7 +5,6 @@ import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.Cursor;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
@@ -25,11 +24,8 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.ObjectInputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -38,7 +34,7 @@ import java.util.stream.Collectors;
  */
 public class GameGUI extends Application {
     /**
-     * Sets max walk speed of the player
+     * Sets max walk speed of the player (tiles per simulation tick)
      */
     private final double MAX_WALK_SPEED = 0.008;
     /**
@@ -74,9 +70,45 @@ public class GameGUI extends Application {
      */
     private boolean shiftPressed = false;
     /**
-     * Last update time, used for stamina tracking
+     * Room the stalker claw has to be inserted in to end the game
      */
-    private long lastUpdateTime = System.nanoTime();
+    private static final RoomId ENDING_ROOM = RoomId.of("enter_hall");
+    /**
+     * Default simulation rate (ticks per second), the movement speeds are tuned for this rate
+     */
+    private static final double DEFAULT_SIMULATION_RATE = 60;
+    /**
+     * Maximum amount of simulation ticks run during a single frame
+     */
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    /**
+     * Fixed timestep loop used to run update() at a fixed rate, independent of the display's refresh rate
+     */
+    private final FixedTimestepLoop simulation = new FixedTimestepLoop(DEFAULT_SIMULATION_RATE, MAX_TICKS_PER_FRAME);
+    /**
+     * Profiler phases of the frame
+     */
+    private static final int PHASE_UPDATE = FrameProfiler.phase("update");
+    private static final int PHASE_NEARBY_ITEMS = FrameProfiler.phase("update: nearby items");
+    private static final int PHASE_TRIGGERS = FrameProfiler.phase("update: triggers");
+    private static final int PHASE_HIDING_SPOTS = FrameProfiler.phase("update: hiding spots");
+    private static final int PHASE_MOVEMENT = FrameProfiler.phase("update: movement");
+    private static final int PHASE_TRANSITIONS = FrameProfiler.phase("update: transitions");
+    private static final int PHASE_ENEMIES = FrameProfiler.phase("enemy AI");
+    private static final int PHASE_RENDER = FrameProfiler.phase("render");
+    private static final int PHASE_ROOM = FrameProfiler.phase("render: room");
+    private static final int PHASE_ENEMIES_RENDER = FrameProfiler.phase("render: enemies");
+    private static final int PHASE_PLAYER = FrameProfiler.phase("render: player");
+    private static final int PHASE_PROMPTS = FrameProfiler.phase("render: prompts");
+    private static final int PHASE_HUD = FrameProfiler.phase("render: hud");
+    /**
+     * Scheduler running the enemies' AI once per frame, within its time budget
+     */
+    private EnemyScheduler enemyAI;
+    /**
+     * Player's position before the last simulation tick, used to interpolate the rendered position
+     */
+    private double previousPlayerX, previousPlayerY;
     /**
      * InventoryGUI instance
      */
@@ -150,9 +182,13 @@ public class GameGUI extends Application {
      */
     private GameStateGUI loadedState;
     /**
-     * Which file is supposed to be load
+     * Name of the save which is supposed to be loaded
      */
-    private File saveFileToLoad;
+    private String saveToLoad;
+    /**
+     * Autosave service, saves the game after room transitions and after a while without a save
+     */
+    private AutosaveService autosave;
     /**
      * Prompt for interacting with the main door
      */
@@ -171,11 +207,11 @@ public class GameGUI extends Application {
     private ImageView pauseButton;
 
     /**
-     * Method used to set, which file is supposed to load
-     * @param saveFile which file is supposed to be loaded
+     * Method used to set, which save is supposed to load
+     * @param name name of the save which is supposed to be loaded
      */
-    public void loadGame(File saveFile) {
-        this.saveFileToLoad = saveFile;
+    public void loadGame(String name) {
+        this.saveToLoad = name;
     }
 
     /**
@@ -199,6 +235,7 @@ public class GameGUI extends Application {
             player.setGameGUI(this);
             game = new Game(world);
             world.setGame(game);
+            enemyAI = new EnemyScheduler(world);
             world.loadRoomLayout("src/fileImports/game_layout.txt");
             world.loadSearchSpots("src/fileImports/search_spots.txt");
             inventoryGUI = new InventoryGUI(player, this);
@@ -206,13 +243,18 @@ public class GameGUI extends Application {
             roomManager = new RoomManager(player, this);
             hidingSpotManager = new HidingSpotManager(player, roomManager);
             loadRooms(roomManager);
-            if (saveFileToLoad != null) {
-                loadGameState(saveFileToLoad);
+            if (saveToLoad != null) {
+                loadGameState(saveToLoad);
             }
             if (loadedState != null) {
                 roomManager.transitionToRoom(loadedState.getCurrentRoomName(),true,loadedState.getPlayerX(),loadedState.getPlayerY());
                 player.setPosition(loadedState.getPlayerX(), loadedState.getPlayerY());
             }
+            try {
+                autosave = new AutosaveService(SaveManager.getStore(), () -> SaveHelper.createGameState(player, world));
+            } catch (IOException e) {
+                System.err.println("Autosave disabled, the saves could not be opened: " + e.getMessage());
+            }
             roomManager.setOnRoomChanged(() -> {
                 primaryStage.setTitle("The Game - " + roomManager.getCurrentRoomName());
                 updateCanvasSize();
@@ -264,7 +306,7 @@ public class GameGUI extends Application {
         rootPane = new StackPane();
         rootPane.setStyle("-fx-background-color: black;");
         rootPane.getChildren().add(canvas);
-        Image pauseImage = new Image("/ui/pause_button.png");
+        Image pauseImage = AssetCache.acquire("/ui/pause_button.png");
         pauseButton = new ImageView(pauseImage);
         // Keep original image size
         pauseButton.setPreserveRatio(true);
@@ -485,6 +527,41 @@ public class GameGUI extends Application {
                 e.consume();
             }
         });
+        scene.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F5) {
+                // Frame profiler overlay
+                FrameProfiler.setEnabled(!FrameProfiler.isEnabled());
+                addConsoleMessage("Frame profiler " + (FrameProfiler.isEnabled() ? "enabled" : "disabled"));
+                e.consume();
+            } else if (e.getCode() == KeyCode.F6 && FrameProfiler.isEnabled()) {
+                try {
+                    File file = FrameProfiler.exportCsv();
+                    addConsoleMessage("Frame profile exported to " + file.getPath());
+                } catch (IOException ex) {
+                    System.err.println("Failed to export frame profile: " + ex.getMessage());
+                }
+                e.consume();
+            }
+        });
+        scene.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F3) {
+                // Debug output of the shared image cache, the autosaves and the enemy AI, used to check that nothing is decoded or written during the game loop
+                addConsoleMessage(AssetCache.getStatsSummary());
+                if (autosave != null) {
+                    addConsoleMessage(autosave.getStatsSummary());
+                }
+                addConsoleMessage(enemyAI.getStatsSummary());
+                e.consume();
+            }
+        });
+        scene.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F4) {
+                // Debug switch between the pre-rendered static layers and tile by tile drawing
+                RoomRenderer.setStaticLayerCacheEnabled(!RoomRenderer.isStaticLayerCacheEnabled());
+                addConsoleMessage("Static layer cache " + (RoomRenderer.isStaticLayerCacheEnabled() ? "enabled" : "disabled"));
+                e.consume();
+            }
+        });
 
     }
 
@@ -602,38 +679,80 @@ public class GameGUI extends Application {
      * Method used to start the main game loop
      */
     private void startGameLoop() {
+        simulation.reset();
         gameLoop = new AnimationTimer() {
             @Override
             public void handle(long now) {
-                update();
-                render();
+                FrameProfiler.beginFrame();
+                int ticks = simulation.advance(now);
+                for (int i = 0; i < ticks; i++) {
+                    previousPlayerX = player.getX();
+                    previousPlayerY = player.getY();
+                    FrameProfiler.begin(PHASE_UPDATE);
+                    update();
+                    FrameProfiler.end(PHASE_UPDATE);
+                }
+                if (ticks > 0) {
+                    FrameProfiler.begin(PHASE_ENEMIES);
+                    updateEnemies(ticks * simulation.getStepSeconds());
+                    FrameProfiler.end(PHASE_ENEMIES);
+                }
+                if (autosave != null && ticks > 0 && player.getHealth() > 0) {
+                    autosave.update(now);
+                }
+                boolean rendered = simulation.shouldRender(now);
+                if (rendered) {
+                    FrameProfiler.begin(PHASE_RENDER);
+                    render();
+                    FrameProfiler.end(PHASE_RENDER);
+                }
+                FrameProfiler.endFrame();
+                if (rendered) {
+                    FrameProfiler.renderOverlay(canvas.getGraphicsContext2D(), canvas.getWidth(), canvas.getHeight());
+                }
             }
         };
         gameLoop.start();
     }
 
+    /**
+     * Method used to let the enemies chase the player, the enemies don't see the player while he's hiding or transitioning
+     * @param seconds time simulated during the frame, in seconds
+     */
+    private void updateEnemies(double seconds) {
+        RoomRenderer room = roomManager.getCurrentRoom();
+        if (room == null) return;
+        boolean visible = !hidingSpotManager.isHiding() && !player.isTransitioning();
+        enemyAI.update(visible ? roomManager.getCurrentRoomId() : null, player.getX() * room.getTileWidth(),
+                player.getY() * room.getTileHeight(), seconds, room.getCollisionWorld());
+    }
+
     /**
      * Method used to regularly update the game's attributes, based on player's current location and situation
      */
     private void update() {
+        player.addPlayTime(simulation.getStepSeconds());
         if (hidingSpotManager.isHiding()) {
             activeSearchSpots.clear();
             currentNearbyItem = null;
             return;
         }
+        FrameProfiler.begin(PHASE_NEARBY_ITEMS);
         checkNearbyItems();
+        FrameProfiler.end(PHASE_NEARBY_ITEMS);
         keysToRemove.forEach(pressedKeys::remove);
         keysToRemove.clear();
         if (world == null || world.getCurrentRoom() == null) {
             return;
         }
-        List<SearchSpot> activeSpots = new ArrayList<>();
-
+        FrameProfiler.begin(PHASE_TRIGGERS);
+        roomManager.updateTriggers();
         activeSearchSpots.clear();
         Room currentRoom = world.getCurrentRoom();
-        if (world != null && world.getCurrentRoom() != null) {
-            for (SearchSpot spot : currentRoom.getSearchSpots()) {
-                if (!spot.isSearched() && isPlayerOverlapping(spot, player.getX(), player.getY())) {
+        for (TriggerIndex.Zone zone : roomManager.getTriggers().getInside()) {
+            if (zone.getKind() == TriggerIndex.Kind.SEARCH_SPOT) {
+                SearchSpot spot = currentRoom.getSearchSpot(zone.getName());
+                if (spot != null && !spot.isSearched()) {
                     activeSearchSpots.add(spot);
                 }
             }
@@ -643,28 +762,24 @@ public class GameGUI extends Application {
         } else {
             selectedSpotIndex = 0;
         }
-
-        for (SearchSpot spot : currentRoom.getSearchSpots()) {
-            if (isPlayerOverlapping(spot, player.getX(), player.getY())) {
-                activeSpots.add(spot);
-            }
-        }
         boolean isMoving = pressedKeys.stream().anyMatch(this::isMovementKey);
         checkCassettePlayer();
         checkEndingObject();
+        FrameProfiler.end(PHASE_TRIGGERS);
         player.updateWalkCycle(isMoving);
         player.updatePosition();
-        hidingSpotManager.loadHidingSpots();
+        FrameProfiler.begin(PHASE_HIDING_SPOTS);
         hidingSpotManager.update();
+        FrameProfiler.end(PHASE_HIDING_SPOTS);
+        FrameProfiler.begin(PHASE_MOVEMENT);
         handlePlayerMovement();
+        FrameProfiler.end(PHASE_MOVEMENT);
+        FrameProfiler.begin(PHASE_TRANSITIONS);
         roomManager.checkAllTransitions();
+        FrameProfiler.end(PHASE_TRANSITIONS);
         constrainPlayerToRoom();
-        long currentTime = System.nanoTime();
-        long deltaTimeNanos = currentTime - lastUpdateTime;
-        double deltaTimeSeconds = deltaTimeNanos / 1_000_000_000.0;
-        lastUpdateTime = currentTime;
         // Updated stamina - now passing isMoving parameter
-        player.updateStamina(deltaTimeSeconds, isMoving);
+        player.updateStamina(simulation.getStepSeconds(), isMoving);
 
         // If shift is held but stamina ran out, stop sprinting
         if (shiftPressed && player.getCurrentStamina() <= 0) {
@@ -721,7 +836,7 @@ public class GameGUI extends Application {
      * @param itemName name of the item this prompt currently applies for
      */
     private void showPickupPrompt(String itemName) {
-        itemPickupPrompt.show("Pick up " + itemName, "");
+        itemPickupPrompt.show("Pick up " + itemName);
     }
 
     /**
@@ -731,28 +846,6 @@ public class GameGUI extends Application {
         itemPickupPrompt.hide();
     }
 
-    /**
-     * Method used to check whether the player is overlapping with a search spot's coordinates
-     * @param spot spot we're checking
-     * @param playerX player's x coordinate
-     * @param playerY player's y coordinate
-     * @return is the player overlapping with a search spot's coordinates?
-     */
-    private boolean isPlayerOverlapping(SearchSpot spot, double playerX, double playerY) {
-        RoomRenderer room = roomManager.getCurrentRoom();
-        if (room == null) return false;
-        // Convert player position to pixels
-        double px = playerX * room.getTileWidth();
-        double py = playerY * room.getTileHeight();
-        // Search spot coordinates are already in pixels from Tiled
-        double spotX = spot.getX();
-        double spotY = spot.getY();
-        double spotWidth = spot.getWidth();
-        double spotHeight = spot.getHeight();
-        return px + 10 >= spotX && px - 10 <= spotX + spotWidth &&
-                py + 10 >= spotY && py - 10 <= spotY + spotHeight;
-    }
-
     /**
      * Method used to ensure that the player doesn't go out of the bounds of the room he's currently in
      */
@@ -783,7 +876,9 @@ public class GameGUI extends Application {
         if (player.isTransitioning() || !player.isMovementEnabled()) return;
         // Calculate base speed (walking or sprinting)
         double speedMultiplier = player.isSprinting() ? player.getSPRINT_SPEED_MULTIPLIER() : 1.0;
-        double currentMaxSpeed = MAX_WALK_SPEED * speedMultiplier;
+        // Speeds are tuned for the default rate, so that the movement is the same at any simulation rate
+        double tickScale = DEFAULT_SIMULATION_RATE * simulation.getStepSeconds();
+        double currentMaxSpeed = MAX_WALK_SPEED * speedMultiplier * tickScale;
         // Reset speeds first
         double targetSpeedX = 0;
         double targetSpeedY = 0;
@@ -822,6 +917,59 @@ public class GameGUI extends Application {
         player.setSpeed(targetSpeedX, targetSpeedY);
     }
 
+    /**
+     * Method used to get the player's x coordinate interpolated between the last two simulation ticks
+     * @return x coordinate to render the player at
+     */
+    private double getRenderPlayerX() {
+        return interpolatePosition(previousPlayerX, player.getX());
+    }
+
+    /**
+     * Method used to get the player's y coordinate interpolated between the last two simulation ticks
+     * @return y coordinate to render the player at
+     */
+    private double getRenderPlayerY() {
+        return interpolatePosition(previousPlayerY, player.getY());
+    }
+
+    /**
+     * Method used to interpolate a coordinate between the last two simulation ticks, jumps(transitions, hiding) aren't interpolated
+     * @param previous coordinate before the last tick
+     * @param current coordinate after the last tick
+     * @return interpolated coordinate
+     */
+    private double interpolatePosition(double previous, double current) {
+        if (Math.abs(current - previous) > 0.5) {
+            return current;
+        }
+        return previous + (current - previous) * simulation.getAlpha();
+    }
+
+    /**
+     * Setter for the simulation rate
+     * @param ticksPerSecond how many times a second the game is updated
+     */
+    public void setSimulationRate(double ticksPerSecond) {
+        simulation.setTicksPerSecond(ticksPerSecond);
+    }
+
+    /**
+     * Setter for the enemy AI's time budget
+     * @param micros time the enemies can be updated for during a frame, in microseconds
+     */
+    public void setEnemyBudgetMicros(long micros) {
+        enemyAI.setBudgetMicros(micros);
+    }
+
+    /**
+     * Setter for the render rate limit
+     * @param framesPerSecond maximum amount of rendered frames per second, 0 or less renders every frame
+     */
+    public void setMaxRenderFps(double framesPerSecond) {
+        simulation.setMaxRenderFps(framesPerSecond);
+    }
+
     /**
      * Method used to render the visuals of the stamina bar
      * @param gc GraphicsContext instance
@@ -849,6 +997,25 @@ public class GameGUI extends Application {
         gc.fillText("Stamina: " + (int) player.getCurrentStamina() + "%", x, y - 5);
     }
 
+    /**
+     * Method used to render the enemies of the current room, drawn like the player, the ones chasing the player are brighter
+     * @param gc GraphicsContext instance, already scaled to the room
+     */
+    private void renderEnemies(GraphicsContext gc) {
+        if (roomManager.getCurrentRoom() == null) return;
+        double radius = EnemyStore.SIZE / 2;
+        for (Enemy enemy : world.getEnemies().getInRoom(roomManager.getCurrentRoomId())) {
+            if (enemy.isDefeated()) continue;
+            boolean chasing = enemy.getState() == EnemyStore.CHASING;
+            if (enemy instanceof Zombie) {
+                gc.setFill(chasing ? Color.rgb(90, 170, 60) : Color.rgb(60, 110, 45));
+            } else {
+                gc.setFill(chasing ? Color.rgb(200, 40, 40) : Color.rgb(130, 30, 30));
+            }
+            gc.fillOval(enemy.getX() - radius, enemy.getY() - radius, radius * 2, radius * 2);
+        }
+    }
+
     /**
      * Method used to check if player's position is close to any collision objects
      * @param tileX x coordinate of the tile
@@ -864,11 +1031,7 @@ public class GameGUI extends Application {
         double playerX = tileX * room.getTileWidth();
         double playerY = tileY * room.getTileHeight();
         // Tight collision box (12x12 pixels centered on player)
-        Rectangle2D playerHitbox = new Rectangle2D(
-                playerX - 6, playerY - 6, 12, 12
-        );
-        return room.getCollisions().stream()
-                .anyMatch(rect -> rect.intersects(playerHitbox));
+        return room.overlaps(playerX - 6, playerY - 6, 12, 12);
     }
 
     /**
@@ -893,42 +1056,41 @@ public class GameGUI extends Application {
             gc.save();
             gc.scale(roomManager.getRenderScale(), roomManager.getRenderScale());
             RoomRenderer room = roomManager.getCurrentRoom();
-            room.render(gc);
-            gc.setStroke(Color.RED);
-            gc.setLineWidth(1);
-            for (Rectangle2D rect : room.getCollisions()) {
-                gc.strokeRect(
-                        rect.getMinX(),
-                        rect.getMinY(),
-                        rect.getWidth(),
-                        rect.getHeight()
-                );
-            }
-            room.render(gc);
+            FrameProfiler.begin(PHASE_ROOM);
+            room.render(gc, roomManager.getRenderScale());
+            FrameProfiler.end(PHASE_ROOM);
         }
+        FrameProfiler.begin(PHASE_ENEMIES_RENDER);
+        renderEnemies(gc);
+        FrameProfiler.end(PHASE_ENEMIES_RENDER);
+        FrameProfiler.begin(PHASE_PLAYER);
         if (!hidingSpotManager.isHiding()) {
             RoomRenderer room = roomManager.getCurrentRoom();
-            double playerX = player.getX() * room.getTileWidth();
-            double playerY = player.getY() * room.getTileHeight();
+            double playerX = getRenderPlayerX() * room.getTileWidth();
+            double playerY = getRenderPlayerY() * room.getTileHeight();
             if (player.getSpeedX() != 0 || player.getSpeedY() != 0) {
                 playerY += Math.sin(player.getWalkCyclePosition()) * 0.5;
             }
             gc.setFill(Color.BLUE);
             gc.fillOval(playerX - 10, playerY - 10, 20, 20);
         }
+        FrameProfiler.end(PHASE_PLAYER);
         gc.restore();
+        FrameProfiler.begin(PHASE_PROMPTS);
         stalkerClawPrompt.render(gc, canvas.getWidth(), canvas.getHeight());
         cassettePrompt.render(gc, canvas.getWidth(), canvas.getHeight());
         hidingSpotManager.render(gc, canvas.getWidth(), canvas.getHeight());
         roomManager.renderPrompt(gc, canvas.getWidth(), canvas.getHeight());
         itemPickupPrompt.render(gc, canvas.getWidth(), canvas.getHeight());
+        FrameProfiler.end(PHASE_PROMPTS);
+        FrameProfiler.begin(PHASE_HUD);
         if (player.getCurrentStamina() < player.getMaxStamina() || player.isSprinting()) {
             renderStaminaBar(gc);
         }
         if (!activeSearchSpots.isEmpty()) {
             RoomRenderer room = roomManager.getCurrentRoom();
-            double playerScreenX = (player.getX() * room.getTileWidth()) * roomManager.getRenderScale();
-            double playerScreenY = (player.getY() * room.getTileHeight()) * roomManager.getRenderScale();
+            double playerScreenX = (getRenderPlayerX() * room.getTileWidth()) * roomManager.getRenderScale();
+            double playerScreenY = (getRenderPlayerY() * room.getTileHeight()) * roomManager.getRenderScale();
             // Position menu relative to player but constrained to screen
             double menuX = playerScreenX + 30;
             double menuY = playerScreenY - 50;
@@ -976,7 +1138,7 @@ public class GameGUI extends Application {
         if (System.currentTimeMillis() < itemNotificationEndTime) {
             renderItemNotification(gc);
         }
-
+        FrameProfiler.end(PHASE_HUD);
     }
 
     /**
@@ -1010,7 +1172,7 @@ public class GameGUI extends Application {
      * Method used to perform the transition between individual rooms, using a fade transition
      * @param targetRoom which room is the player transitioning to
      */
-    public void performTransition(String targetRoom) {
+    public void performTransition(RoomId targetRoom) {
         clearMovementInputs();
         FadeTransition fadeOut = new FadeTransition(Duration.millis(TRANSITION_DURATION), canvas);
         fadeOut.setFromValue(1.0);
@@ -1034,29 +1196,9 @@ public class GameGUI extends Application {
             nearCassettePlayer = false;
             return;
         }
-        nearCassettePlayer = false;
-        JSONObject cassetteLayer = roomManager.getCurrentRoom().getObjectGroup("CassettePlayer");
-        if (cassetteLayer != null) {
-            JSONArray objects = cassetteLayer.getJSONArray("objects");
-            for (int i = 0; i < objects.length(); i++) {
-                JSONObject obj = objects.getJSONObject(i);
-                double objX = obj.getDouble("x");
-                double objY = obj.getDouble("y");
-                // Convert player position to pixels
-                double playerX = player.getX() * roomManager.getCurrentRoom().getTileWidth();
-                double playerY = player.getY() * roomManager.getCurrentRoom().getTileHeight();
-                // Use actual player size for detection
-                double distance = Math.hypot(playerX - objX, playerY - objY);
-                double detectionRadius = 50; // pixels
-
-                if (distance < detectionRadius) {
-                    nearCassettePlayer = true;
-                    break;
-                }
-            }
-        }
+        nearCassettePlayer = roomManager.getTriggers().isInside(TriggerIndex.Kind.CASSETTE_PLAYER);
         if (nearCassettePlayer) {
-            cassettePrompt.show("Save progress using a Cassette", "");
+            cassettePrompt.show("Save progress using a Cassette");
         } else {
             cassettePrompt.hide();
         }
@@ -1086,12 +1228,12 @@ public class GameGUI extends Application {
     }
 
     /**
-     * Method used to load the game from a specific file
-     * @param saveFile which file are we loading from
+     * Method used to load the game from a specific save
+     * @param name name of the save we are loading from
      */
-    private void loadGameState(File saveFile) {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(saveFile))) {
-            GameStateGUI state = (GameStateGUI) in.readObject();
+    private void loadGameState(String name) {
+        try {
+            GameStateGUI state = SaveManager.readGameStateGUI(name);
             applyGameState(state);
         } catch (Exception e) {
             System.err.println("Failed to load game: " + e.getMessage());
@@ -1107,6 +1249,7 @@ public class GameGUI extends Application {
         // Apply loaded state to game
         player.setHealth(state.getPlayerHealth());
         player.setCurrentStamina(state.getPlayerStamina());
+        player.setPlayTime(state.getPlayTime());
         player.setPosition(state.getPlayerX(), state.getPlayerY());
         player.setCurrentRoomName(state.getCurrentRoomName());
         // Clear existing inventory and add saved items
@@ -1157,72 +1300,19 @@ public class GameGUI extends Application {
             return;
         }
         RoomRenderer room = roomManager.getCurrentRoom();
-        if (room == null || !"enter_hall".equals(roomManager.getCurrentRoomName())) {
-            stalkerClawPrompt.hide();
-            nearStalkerClaw = false;
-            return;
-        }
-        JSONObject endingLayer = room.getObjectGroup("USE_STALKER_CLAW");
-        if (endingLayer == null) {
+        if (room == null || roomManager.getCurrentRoomId() != ENDING_ROOM) {
             stalkerClawPrompt.hide();
             nearStalkerClaw = false;
             return;
         }
-        JSONArray objects = endingLayer.getJSONArray("objects");
-        nearStalkerClaw = false;
-        for (int i = 0; i < objects.length(); i++) {
-            JSONObject obj = objects.getJSONObject(i);
-            double objX = obj.getDouble("x");
-            double objY = obj.getDouble("y");
-            double objWidth = obj.getDouble("width");
-            double objHeight = obj.getDouble("height");
-            if (isPlayerInRectangle(objX, objY, objWidth, objHeight)) {
-                nearStalkerClaw = true;
-                break;
-            }
-        }
-        for (int i = 0; i < objects.length(); i++) {
-            JSONObject obj = objects.getJSONObject(i);
-            if (isPlayerNear(obj.getDouble("x"), obj.getDouble("y"))) {
-                nearStalkerClaw = true;
-                break;
-            }
-        }
+        nearStalkerClaw = roomManager.getTriggers().isInside(TriggerIndex.Kind.ENDING);
         if (nearStalkerClaw && player.getInventory().findItem("Stalker's Claw") != null) {
-            stalkerClawPrompt.show("Insert Stalker Claw", "");
+            stalkerClawPrompt.show("Insert Stalker Claw");
         } else {
             stalkerClawPrompt.hide();
         }
     }
 
-    /**
-     * Method used to check if the player is located in a certain rectangle
-     * @param rectX x coordinate of the rectangle
-     * @param rectY y coordinate of the rectangle
-     * @param rectWidth width of the rectangle
-     * @param rectHeight height of the rectangle
-     * @return is the player located in a certain rectangle?
-     */
-    private boolean isPlayerInRectangle(double rectX, double rectY, double rectWidth, double rectHeight) {
-        RoomRenderer room = roomManager.getCurrentRoom();
-        if (room == null) return false;
-        double playerX = player.getX() * room.getTileWidth();
-        double playerY = player.getY() * room.getTileHeight();
-        double playerSize = 20; // Player circle
-        // Calculate player bounds
-        double playerLeft = playerX - playerSize / 2;
-        double playerRight = playerX + playerSize / 2;
-        double playerTop = playerY - playerSize / 2;
-        double playerBottom = playerY + playerSize / 2;
-        // Calculate rectangle bounds
-        double rectRight = rectX + rectWidth;
-        double rectBottom = rectY + rectHeight;
-        // Check for overlap
-        boolean xOverlap = playerRight > rectX && playerLeft < rectRight;
-        boolean yOverlap = playerBottom > rectY && playerTop < rectBottom;
-        return xOverlap && yOverlap;
-    }
-
     /**
      * Method used to trigger the 'GAME END' sequence, activated by inserting the stalker claw item at the prompt area
      * @param primaryStage which stage to play the sequence in
@@ -1323,15 +1413,24 @@ public class GameGUI extends Application {
 
     /**
      * Method used to load the selected state, from the pause menu
-     * @param saveFile which save file to load
+     * @param name name of the save to load
      */
-    private void handleSaveSelected(File saveFile) {
-        if (saveFile != null) {
-            loadGameState(saveFile);
+    private void handleSaveSelected(String name) {
+        if (name != null) {
+            loadGameState(name);
             hidePauseMenu(null);
         }
     }
 
+    /**
+     * Method used to ask for an autosave, called after a room transition
+     */
+    public void requestAutosave() {
+        if (autosave != null) {
+            autosave.requestSave();
+        }
+    }
+
     /**
      * Getter for world
      * @return value of 'world'
@@ -1372,6 +1471,14 @@ public class GameGUI extends Application {
         return rootPane;
     }
 
+    /**
+     * getter for 'canvas'
+     * @return value of 'canvas'
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
     /**
      * getter for 'inventoryGUI'
      * @return value of 'inventoryGUI'
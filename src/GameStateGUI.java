@@ -58,6 +58,16 @@ public class GameStateGUI implements Serializable {
      */
     private int stalkerDistance;
 
+    // Save info
+    /**
+     * How long the player has been playing, in seconds
+     */
+    private double playTime;
+    /**
+     * When the game has been saved(milliseconds since the epoch)
+     */
+    private long savedAt;
+
     // Getters and setters
 
     /**
@@ -197,4 +207,28 @@ public class GameStateGUI implements Serializable {
      * @param distance what to set the value of 'stalkerDistance' to
      */
     public void setStalkerDistance(int distance) { this.stalkerDistance = distance; }
+
+    /**
+     * Getter for 'playTime'
+     * @return value of 'playTime'
+     */
+    public double getPlayTime() { return playTime; }
+
+    /**
+     * Setter for 'playTime'
+     * @param playTime what to set the value of 'playTime' to
+     */
+    public void setPlayTime(double playTime) { this.playTime = playTime; }
+
+    /**
+     * Getter for 'savedAt'
+     * @return value of 'savedAt'
+     */
+    public long getSavedAt() { return savedAt; }
+
+    /**
+     * Setter for 'savedAt'
+     * @param savedAt what to set the value of 'savedAt' to
+     */
+    public void setSavedAt(long savedAt) { this.savedAt = savedAt; }
 }
\ No newline at end of file
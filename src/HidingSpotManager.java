@@ -1,13 +1,7 @@
-import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Class used to manage all the hiding spots of the game, their behavior and attributes
@@ -37,10 +31,6 @@ public class HidingSpotManager {
      * Cooldown between individual hiding intervals
      */
     private static final long HIDE_COOLDOWN = 1000; // 1 second cooldown
-    /**
-     * List of the hiding spots
-     */
-    private List<Rectangle2D> hidingSpots = new ArrayList<>();
     /**
      * Name of the currently used hiding spot
      */
@@ -64,25 +54,6 @@ public class HidingSpotManager {
         this.roomManager = roomManager;
     }
 
-    /**
-     * Method used to load the hiding spots' locations from the files
-     */
-    public void loadHidingSpots() {
-        hidingSpots.clear();
-        JSONObject hidingLayer = roomManager.getCurrentRoom().getObjectGroup("HidingSpotPrompt");
-        if (hidingLayer != null) {
-            JSONArray objects = hidingLayer.getJSONArray("objects");
-            for (int i = 0; i < objects.length(); i++) {
-                JSONObject obj = objects.getJSONObject(i);
-                double x = obj.getDouble("x");
-                double y = obj.getDouble("y");
-                double width = obj.getDouble("width");
-                double height = obj.getDouble("height");
-                hidingSpots.add(new Rectangle2D(x, y, width, height));
-            }
-        }
-    }
-
     /**
      * Method used to update the game(updating the player's status)
      */
@@ -97,27 +68,10 @@ public class HidingSpotManager {
         }
         // Check if player is near a hiding spot
         showHidePrompt = false;
-        RoomRenderer room = roomManager.getCurrentRoom();
-        if (room == null) return;
-        double playerX = player.getX() * room.getTileWidth();
-        double playerY = player.getY() * room.getTileHeight();
-        Rectangle2D playerBounds = new Rectangle2D(playerX - 10, playerY - 10, 20, 20);
-        for (Rectangle2D spot : hidingSpots) {
-            if (spot.intersects(playerBounds)) {
-                JSONObject hidingLayer = roomManager.getCurrentRoom().getObjectGroup("HidingSpotPrompt");
-                if (hidingLayer != null) {
-                    JSONArray objects = hidingLayer.getJSONArray("objects");
-                    for (int i = 0; i < objects.length(); i++) {
-                        JSONObject obj = objects.getJSONObject(i);
-                        if (obj.getDouble("x") == spot.getMinX() && obj.getDouble("y") == spot.getMinY()) {
-                            currentHidingSpotName = obj.getString("name");
-                            showHidePrompt = true;
-                            break;
-                        }
-                    }
-                }
-                break;
-            }
+        TriggerIndex.Zone spot = roomManager.getTriggers().getFirstInside(TriggerIndex.Kind.HIDING_SPOT);
+        if (spot != null) {
+            currentHidingSpotName = spot.getName();
+            showHidePrompt = true;
         }
     }
 
@@ -144,17 +98,11 @@ public class HidingSpotManager {
             originalY = player.getY();
             // Position player at the center of the hiding spot
             RoomRenderer room = roomManager.getCurrentRoom();
-            for (Rectangle2D spot : hidingSpots) {
-                double playerX = player.getX() * room.getTileWidth();
-                double playerY = player.getY() * room.getTileHeight();
-                Rectangle2D playerBounds = new Rectangle2D(playerX - 10, playerY - 10, 20, 20);
-
-                if (spot.intersects(playerBounds)) {
-                    double centerX = (spot.getMinX() + spot.getWidth() / 2) / room.getTileWidth();
-                    double centerY = (spot.getMinY() + spot.getHeight() / 2) / room.getTileHeight();
-                    player.setPosition(centerX, centerY);
-                    break;
-                }
+            TriggerIndex.Zone spot = roomManager.getTriggers().getFirstInside(TriggerIndex.Kind.HIDING_SPOT);
+            if (spot != null) {
+                double centerX = (spot.getX() + spot.getWidth() / 2) / room.getTileWidth();
+                double centerY = (spot.getY() + spot.getHeight() / 2) / room.getTileHeight();
+                player.setPosition(centerX, centerY);
             }
             player.setMovementEnabled(false);
             isHiding = true;
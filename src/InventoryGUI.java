@@ -19,7 +19,6 @@ import javafx.stage.Popup;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -473,15 +472,11 @@ public class InventoryGUI extends StackPane implements Inventory.InventoryObserv
      */
     private ImageView loadItemImage(Item item) {
         try {
-            String path = "/sprites/items/" +
-                    item.getName().toUpperCase().replace(" ", "_") + ".png";
-
-            InputStream stream = getClass().getResourceAsStream(path);
-            if (stream == null) {
+            String path = item.getSpritePath();
+            Image img = AssetCache.get(path);
+            if (img == null) {
                 throw new RuntimeException("Missing item image: " + path);
             }
-
-            Image img = new Image(stream);
             ImageView iv = new ImageView(img);
             iv.setOnMouseEntered(e -> {
 
@@ -44,6 +44,14 @@ public abstract class Item implements Serializable {
         return description;
     }
 
+    /**
+     * Getter for the classpath resource path of the item's sprite
+     * @return path of the item's sprite
+     */
+    public String getSpritePath() {
+        return "/sprites/items/" + name.toUpperCase().replace(" ", "_") + ".png";
+    }
+
     /**
      * Method used to implement the item's behavior
      * @param player Who is using the item
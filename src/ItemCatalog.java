@@ -0,0 +1,171 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class containing the definitions of all the items which can be found in the world.
+ * Every definition has a stable numeric id(its index in KEYS), used to store items in the save files,
+ * so new definitions must only ever be appended to the end
+ */
+public final class ItemCatalog {
+    /**
+     * Keys of the item definitions(as used in the search spot files), the index of a key is the definition's id.
+     * Id 0 is reserved for items without a definition
+     */
+    private static final String[] KEYS = {
+            null, "KNIFE", "PISTOL", "SHOTGUN", "PISTOL_AMMO", "SHOTGUN_AMMO", "BANDAGE", "HEALING_SERUM", "CASSETTE",
+            "GEAR_PIECE_1", "GEAR_PIECE_2", "GEAR_PIECE_3", "GEAR_PIECE_4", "FLASHLIGHT", "BATTERIES", "REPAIR_TOOL",
+            "HAMMER", "STALKERS_CLAW", "CURING_SERUM", "HINT_1", "HINT_2", "HINT_3", "HINT_4",
+            "KEY_TO_DINING_ROOM_WARDROBE_2", "KEY_TO_GARDEN_HOUSE"
+    };
+    /**
+     * Id used for items without a definition
+     */
+    public static final int NO_DEFINITION = 0;
+    /**
+     * Map of the items' names to their definition ids, created when first needed
+     */
+    private static Map<String, Integer> idsByName;
+    /**
+     * Classes of the items created by the definitions, indexed by id
+     */
+    private static Class<?>[] classes;
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private ItemCatalog() {
+    }
+
+    /**
+     * Method used to create an item from its definition key
+     * @param key key of the definition(case-insensitive)
+     * @return the item based on the key given, null if no such item had been found
+     */
+    public static Item create(String key) {
+        switch (key.toUpperCase()) {
+            case "KNIFE":
+                return new Knife();
+            case "PISTOL":
+                return new Pistol();
+            case "SHOTGUN":
+                return new Shotgun();
+            case "PISTOL_AMMO":
+                return new PistolAmmo(10);
+            case "SHOTGUN_AMMO":
+                return new ShotgunShells(5);
+            case "BANDAGE":
+                return new Bandage();
+            case "HEALING_SERUM":
+                return new HealingSerum();
+            case "CASSETTE":
+                return new Cassette();
+            case "GEAR_PIECE_1":
+                return new GearPiece("GEAR_PIECE_1");
+            case "GEAR_PIECE_2":
+                return new GearPiece("GEAR_PIECE_2");
+            case "GEAR_PIECE_3":
+                return new GearPiece("GEAR_PIECE_3");
+            case "GEAR_PIECE_4":
+                return new GearPiece("GEAR_PIECE_4");
+            case "FLASHLIGHT":
+                return new Flashlight();
+            case "BATTERIES":
+                return new Batteries();
+            case "REPAIR_TOOL":
+                return new KeyItem("Repair Tool", "A tool for fixing machines.");
+            case "HAMMER":
+                return new KeyItem("Hammer", "Useful for breaking or fixing things.");
+            case "STALKERS_CLAW":
+                return new KeyItem("Stalker's Claw", "A trophy from the final enemy.");
+            case "CURING_SERUM":
+                return new KeyItem("Curing Serum", "A special serum with mysterious properties.");
+            case "HINT_1":
+                return new Hint("Hint 1", "You need to wander into the basement. To do so, you need to find 4 gear pieces to unlock the door. The first one may be located somewhere outside...");
+            case "HINT_2":
+                return new Hint("Hint 2", "The second gear piece might be somewhere in the garden house.");
+            case "HINT_3":
+                return new Hint("Hint 3", "The third gear piece is probably located in the bathroom somewhere...you're gonna need a hammer.");
+            case "HINT_4":
+                return new Hint("Hint 4", "The last gear piece is located somewhere in the lower floor.");
+            case "KEY_TO_DINING_ROOM_WARDROBE_2":
+                return new KeyItem("Key to Dining Room Wardrobe 2", "A key. It seems to fit into a wardrobe in the dining room.");
+            case "KEY_TO_GARDEN_HOUSE":
+                return new KeyItem("Key to Garden House", "A key used to access the garden house.");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Method used to create an item from its definition id
+     * @param id id of the definition
+     * @return the item, null if no such definition exists
+     */
+    public static Item create(int id) {
+        if (id <= NO_DEFINITION || id >= KEYS.length) {
+            return null;
+        }
+        return create(KEYS[id]);
+    }
+
+    /**
+     * Method used to copy an item together with its own values(ammo, battery), so that the copy doesn't change with the original.
+     * Items without a definition can't change and are returned as they are
+     * @param item which item to copy
+     * @return the copy
+     */
+    public static Item copy(Item item) {
+        int id = idOf(item);
+        if (id == NO_DEFINITION) {
+            return item;
+        }
+        Item copy = create(id);
+        if (item instanceof Weapon) {
+            ((Weapon) copy).setCurrentAmmo(((Weapon) item).getCurrentAmmo());
+        } else if (item instanceof Ammo) {
+            ((Ammo) copy).setAmount(((Ammo) item).getAmount());
+        } else if (item instanceof Flashlight) {
+            ((Flashlight) copy).setBatteryLevel(((Flashlight) item).getBatteryLevel());
+        }
+        return copy;
+    }
+
+    /**
+     * Method used to find the definition an item has been created from
+     * @param item which item
+     * @return id of the item's definition, NO_DEFINITION if it doesn't come from any
+     */
+    public static synchronized int idOf(Item item) {
+        if (idsByName == null) {
+            idsByName = new HashMap<>();
+            classes = new Class<?>[KEYS.length];
+            for (int id = 1; id < KEYS.length; id++) {
+                Item definition = create(KEYS[id]);
+                idsByName.put(definition.getName(), id);
+                classes[id] = definition.getClass();
+            }
+        }
+        Integer id = idsByName.get(item.getName());
+        if (id == null || classes[id] != item.getClass()) {
+            return NO_DEFINITION;
+        }
+        return id;
+    }
+
+    /**
+     * Getter for the key of a definition
+     * @param id id of the definition
+     * @return the key, null if no such definition exists
+     */
+    public static String getKey(int id) {
+        return id > NO_DEFINITION && id < KEYS.length ? KEYS[id] : null;
+    }
+
+    /**
+     * Getter for the amount of definitions
+     * @return amount of definitions, including the reserved id 0
+     */
+    public static int size() {
+        return KEYS.length;
+    }
+}
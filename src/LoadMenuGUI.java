@@ -4,32 +4,23 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
-import java.io.File;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.function.Consumer;
 
 /**
  * Class used to create,style and set the Load button's menu and its behavior
  */
 public class LoadMenuGUI {
-    /**
-     * Save file
-     */
-    private static final String SAVE_FOLDER = "saves/";
-
     /**
      * Method used to show the Load menu
      * @param owner which stage to show the menu in
-     * @param saveSelectedHandler shows the files
+     * @param saveSelectedHandler called with the name of the selected save
      */
-    public static void show(Stage owner, Consumer<File> saveSelectedHandler) {
+    public static void show(Stage owner, Consumer<String> saveSelectedHandler) {
         Stage dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
         dialog.initOwner(owner);
@@ -48,35 +39,16 @@ public class LoadMenuGUI {
         Label title = new Label("SAVED GAMES");
         title.setFont(javafx.scene.text.Font.font("Arial", FontWeight.BOLD, 28));
         title.setTextFill(Color.WHITE);
-        VBox savesContainer = new VBox(15);
-        savesContainer.setAlignment(Pos.CENTER);
-        savesContainer.setPadding(new Insets(10));
-        // List save files
-        File saveDir = new File(SAVE_FOLDER);
-        File[] saveFiles = saveDir.listFiles((dir, name) -> name.endsWith(".dat"));
-        if (saveFiles != null && saveFiles.length > 0) {
-            Arrays.sort(saveFiles, Comparator.comparingLong(File::lastModified).reversed());
-            for (File saveFile : saveFiles) {
-                SaveEntry entry = new SaveEntry(saveFile);
-                entry.setOnAction(e -> confirmLoad(saveFile, dialog, saveSelectedHandler));
-                savesContainer.getChildren().add(entry);
-            }
-        } else {
-            Label noSaves = new Label("No saved games found");
-            noSaves.setFont(Font.font(18));
-            noSaves.setTextFill(Color.LIGHTGRAY);
-            savesContainer.getChildren().add(noSaves);
-        }
-        ScrollPane scrollPane = new ScrollPane(savesContainer);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
-        scrollPane.setMinHeight(300);
-        scrollPane.setMaxHeight(300);
+        // Only the visible rows are created, their thumbnails are loaded in the background
+        SaveListView saveList = new SaveListView("LOAD", "menu-button",
+                save -> confirmLoad(save.getName(), dialog, saveSelectedHandler));
+        saveList.setMinHeight(300);
+        saveList.setMaxHeight(300);
         Button backBtn = new Button("Back");
         backBtn.getStyleClass().add("menu-button");
         backBtn.setMinWidth(120);
         backBtn.setOnAction(e -> dialog.close());
-        mainLayout.getChildren().addAll(title, scrollPane, backBtn);
+        mainLayout.getChildren().addAll(title, saveList, backBtn);
         Scene scene = new Scene(mainLayout, 500, 500);
         scene.setFill(Color.TRANSPARENT);
         dialog.setScene(scene);
@@ -84,48 +56,22 @@ public class LoadMenuGUI {
     }
 
     /**
-     * Method used to create and style the confirmation window for loading a file
-     * @param saveFile which file is the player attempting to load
+     * Method used to create and style the confirmation window for loading a save
+     * @param name name of the save the player is attempting to load
      * @param dialog which stage to close
      * @param saveSelectedHandler selected save
      */
-    private static void confirmLoad(File saveFile, Stage dialog, Consumer<File> saveSelectedHandler) {
+    private static void confirmLoad(String name, Stage dialog, Consumer<String> saveSelectedHandler) {
         Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
         confirmDialog.setTitle("Confirm Load");
         confirmDialog.setHeaderText("Load this save?");
-        confirmDialog.setContentText(saveFile.getName());
+        confirmDialog.setContentText(name);
         confirmDialog.initStyle(StageStyle.UTILITY);
         confirmDialog.showAndWait().ifPresent(response -> {
             if (response == javafx.scene.control.ButtonType.OK) {
-                saveSelectedHandler.accept(saveFile);
+                saveSelectedHandler.accept(name);
                 dialog.close();
             }
         });
     }
-
-    /**
-     * Static class used to create and style the individual save entries in the load menu
-     */
-    private static class SaveEntry extends Button {
-        public SaveEntry(File saveFile) {
-            super(); // Call the Button constructor
-            getStyleClass().add("menu-button");
-            setStyle("-fx-background-color: rgba(50, 50, 70, 0.8);");
-            setMinWidth(350);
-            setAlignment(Pos.CENTER_LEFT);
-            // Create a container for the text
-            VBox textContainer = new VBox(5);
-            textContainer.setAlignment(Pos.CENTER_LEFT);
-            // Filename label
-            Label nameLabel = new Label(saveFile.getName());
-            nameLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
-            // Metadata label
-            Label metaLabel = new Label(SaveHelper.getSaveMetadata(saveFile));
-            metaLabel.setStyle("-fx-text-fill: #aaa; -fx-font-size: 12;");
-            textContainer.getChildren().addAll(nameLabel, metaLabel);
-            // Set the graphic instead of text
-            setGraphic(textContainer);
-            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
-        }
-    }
 }
\ No newline at end of file
@@ -9,9 +9,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import java.io.File;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.List;
 
 /**
  * Class used to create, style and set the initial main menu of the game
@@ -22,9 +20,9 @@ public class MainMenu extends Application {
      */
     private Stage primaryStage;
     /**
-     * Used to track the most recent save
+     * Used to track the name of the most recent save
      */
-    private File latestSave;
+    private String latestSave;
 
     /**
      * Method used to 'start' the main menu sequence
@@ -36,12 +34,11 @@ public class MainMenu extends Application {
         primaryStage.setTitle("The Game");
         primaryStage.setMinWidth(800);
         primaryStage.setMinHeight(600);
+        SaveManager.importSaveFiles();
         // Find latest save
-        File saveDir = new File("saves/");
-        File[] saveFiles = saveDir.listFiles((dir, name) -> name.endsWith(".dat"));
-        if (saveFiles != null && saveFiles.length > 0) {
-            Arrays.sort(saveFiles, Comparator.comparingLong(File::lastModified).reversed());
-            latestSave = saveFiles[0];
+        List<SaveMetadata> saves = SaveManager.getSaveMetadata();
+        if (!saves.isEmpty()) {
+            latestSave = saves.get(0).getName();
         }
         StackPane root = new StackPane();
         root.setStyle("-fx-background-color: linear-gradient(to bottom, #1a1a1a, #0d0d0d);");
@@ -138,14 +135,14 @@ public class MainMenu extends Application {
     }
 
     /**
-     * Method used to load the selected save file from the load menu
-     * @param saveFile which save file is supposed to be loaded
+     * Method used to load the selected save from the load menu
+     * @param name name of the save which is supposed to be loaded
      */
-    private void handleSaveSelected(File saveFile) {
-        if (saveFile != null) {
+    private void handleSaveSelected(String name) {
+        if (name != null) {
             GameGUI game = new GameGUI();
             Stage gameStage = new Stage();
-            game.loadGame(saveFile);
+            game.loadGame(name);
             game.start(gameStage);
             primaryStage.close();
         }
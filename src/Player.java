@@ -24,18 +24,10 @@ public class Player extends Character implements Serializable {
      * Boolean to decide whether the player is currently in a fight or not
      */
     private boolean isFighting = false;
-    /**
-     * World instance
-     */
-    private World world;
     /**
      * X and Y coordinates on the map
      */
     private double x, y;
-    /**
-     * String of the current room name
-     */
-    private String currentRoomName;
     /**
      * Player's move speed in the x direction
      */
@@ -100,6 +92,10 @@ public class Player extends Character implements Serializable {
      * GameGUI instance
      */
     private GameGUI gameGUI;
+    /**
+     * How long the player has been playing, in seconds
+     */
+    private double playTime = 0;
 
     /**
      * Method used to update the player's walk cycle
@@ -290,51 +286,51 @@ public class Player extends Character implements Serializable {
     }
 
     /**
-     * Getter for World
-     * @return world
+     * Method used to set player's current room
+     * @param room what room to set player's current room to
      */
-    public World getWorld() {
-        return world;
+    public void setCurrentRoom(Room room) {
+        this.currentRoomId = room.getId();
     }
 
     /**
-     * Setter for World
-     * @param world what to set the world to
+     * Setter for 'currentRoomId'
+     * @param roomId what to set the value of 'currentRoomId' to
      */
-    public void setWorld(World world) {
-        this.world = world;
+    public void setCurrentRoom(RoomId roomId) {
+        this.currentRoomId = roomId;
     }
 
     /**
-     * Method used to set player's current room
-     * @param room what room to set player's current room to
+     * Method used to set player's current room by its name
+     * @param roomName name of the room, converted into its identifier
      */
-    public void setCurrentRoom(Room room) {
-        this.currentRoomName = room.getName();
+    public void setCurrentRoomName(String roomName) {
+        this.currentRoomId = RoomId.of(roomName);
     }
 
     /**
-     * Setter for 'currentRoomName'
-     * @param roomName what to set the value of 'currentRoomName' to
+     * Method used to set player's current room by its name
+     * @param roomName name of the room, converted into its identifier
      */
-    public void setCurrentRoomName(String roomName) {
-        this.currentRoomName = roomName;
+    public void setCurrentRoom(String roomName) {
+        this.currentRoomId = RoomId.of(roomName);
     }
 
     /**
-     * Setter for 'currentRoomName'
-     * @param roomName what to set the value of 'currentRoomName' to
+     * Method used to get the name of the player's current room shown to the player
+     * @return the display name of the room(see RoomId), null if the player isn't in any room
      */
-    public void setCurrentRoom(String roomName) {
-        this.currentRoomName = roomName;
+    public String getCurrentRoomName() {
+        return currentRoomId != null ? currentRoomId.getDisplayName() : null;
     }
 
     /**
-     * Getter for 'currentRoomName'
-     * @return value of 'currentRoomName'
+     * Method used to get the key of the player's current room, as stored in the saves and used to find the room
+     * @return the normalized name of the room(see RoomId), null if the player isn't in any room
      */
-    public String getCurrentRoomName() {
-        return currentRoomName;
+    public String getCurrentRoomKey() {
+        return currentRoomId != null ? currentRoomId.getKey() : null;
     }
 
     /**
@@ -532,6 +528,30 @@ public class Player extends Character implements Serializable {
         this.currentStamina = currentStamina;
     }
 
+    /**
+     * Getter for 'playTime'
+     * @return value of 'playTime'
+     */
+    public double getPlayTime() {
+        return playTime;
+    }
+
+    /**
+     * Setter for 'playTime'
+     * @param playTime what to set the value of 'playTime' to
+     */
+    public void setPlayTime(double playTime) {
+        this.playTime = playTime;
+    }
+
+    /**
+     * Method used to add to the player's play time
+     * @param seconds how many seconds to add
+     */
+    public void addPlayTime(double seconds) {
+        playTime += seconds;
+    }
+
     /**
      * Setter for 'gameGUI'
      * @param gui what to set the value of 'gameGUI' to
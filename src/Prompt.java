@@ -12,9 +12,9 @@ public class Prompt {
      */
     private String message;
     /**
-     * Target room for transition prompts
+     * Target room for transition prompts, null for the other prompts
      */
-    private String targetRoom;
+    private RoomId targetRoom;
     /**
      * Is the prompt active
      */
@@ -29,11 +29,19 @@ public class Prompt {
     private final double height = 60;
 
     /**
-     * Constructor
+     * Method used to show a prompt which isn't a transition prompt
+     * @param message Message displayed in the prompt
+     */
+    public void show(String message) {
+        show(message, null);
+    }
+
+    /**
+     * Method used to show the prompt
      * @param message Message displayed in the prompt
      * @param targetRoom Target room for transition prompts
      */
-    public void show(String message, String targetRoom) {
+    public void show(String message, RoomId targetRoom) {
         this.message = message;
         this.targetRoom = targetRoom;
         this.active = true;
@@ -58,7 +66,7 @@ public class Prompt {
      * Getter for 'targetRoom'
      * @return value of 'targetRoom'
      */
-    public String getTargetRoom() {
+    public RoomId getTargetRoom() {
         return targetRoom;
     }
 
@@ -19,6 +19,10 @@ public class Room implements Serializable {
      * Name of the room, loaded from file
      */
     private final String name;// room name
+    /**
+     * Identifier of the room, created from its name
+     */
+    private final RoomId id;
     /**
      * Boolean indicating, whether the room is locked or not
      */
@@ -132,6 +136,7 @@ public class Room implements Serializable {
      */
     public Room(String name, boolean isLocked) {
         this.name = name;
+        this.id = RoomId.of(name);
         this.isLocked = isLocked;
         this.searchSpots = new ArrayList<>();
         this.items = new ArrayList<>();
@@ -147,6 +152,7 @@ public class Room implements Serializable {
     public Room(int index, String name, List<Integer> neighbors) {
         this.index = index;
         this.name = name;
+        this.id = RoomId.of(name);
         this.neighbors = neighbors;
         this.items = new ArrayList<>();
         this.characters = new ArrayList<>();
@@ -177,6 +183,22 @@ public class Room implements Serializable {
         return index;
     }
 
+    /**
+     * Getter for 'id'
+     * @return value of 'id'
+     */
+    public RoomId getId() {
+        return id;
+    }
+
+    /**
+     * Setter for 'index'
+     * @param index what to set the value of 'index' to
+     */
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
     /**
      * Getter for 'name'
      * @return value of 'name'
@@ -287,6 +309,20 @@ public class Room implements Serializable {
         this.neighbors = neighbors;
     }
 
+    /**
+     * Method used to find a search spot by its name
+     * @param spotName name of the search spot
+     * @return the search spot, null if the room doesn't contain it
+     */
+    public SearchSpot getSearchSpot(String spotName) {
+        for (SearchSpot spot : getSearchSpots()) {
+            if (spot.getName().equals(spotName)) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
     /**
      * Getter for searchSpots
      * @return list of searchSpots
@@ -0,0 +1,124 @@
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class used to identify the rooms. The identifiers are interned, every spelling of a room's name("Enter_Hall", "ENTER HALL",
+ * "enter_hall") maps to the same instance, so they're compared by reference. The names are only converted when the identifier
+ * is created, which happens when loading, all the other forms of the name are computed right away
+ */
+public final class RoomId implements Serializable {
+    /**
+     * Used for serialization
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * Map containing all the identifiers(key, identifier)
+     */
+    private static final Map<String, RoomId> INTERNED = new ConcurrentHashMap<>();
+    /**
+     * Amount of created identifiers, used for their ordinals
+     */
+    private static final AtomicInteger COUNT = new AtomicInteger();
+    /**
+     * Normalized name of the room, lowercase with underscores instead of spaces, also the name of the room's tmj file
+     */
+    private final String key;
+    /**
+     * Name of the room shown to the player, uppercase with spaces
+     */
+    private final transient String displayName;
+    /**
+     * Name of the objects marking the entrances from this room(ENTER FROM [Name of this room])
+     */
+    private final transient String entranceName;
+    /**
+     * Number of the identifier, unique and lower than the amount of identifiers, so it can be used as an array index
+     */
+    private final transient int ordinal;
+
+    /**
+     * Constructor
+     * @param key normalized name of the room
+     * @param ordinal number of the identifier
+     */
+    private RoomId(String key, int ordinal) {
+        this.key = key;
+        this.displayName = key.replace('_', ' ').toUpperCase(Locale.ROOT);
+        this.entranceName = "ENTER FROM " + displayName;
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * Method used to get the identifier of a room
+     * @param name name of the room, in any case, with spaces or underscores
+     * @return the identifier, null if the name is null or blank
+     */
+    public static RoomId of(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String key = name.trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+        RoomId id = INTERNED.get(key);
+        return id != null ? id : INTERNED.computeIfAbsent(key, k -> new RoomId(k, COUNT.getAndIncrement()));
+    }
+
+    /**
+     * Method used to get the amount of identifiers created so far
+     * @return the amount, higher than the ordinal of any identifier
+     */
+    public static int count() {
+        return COUNT.get();
+    }
+
+    /**
+     * Getter for 'key'
+     * @return value of 'key'
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Getter for 'displayName'
+     * @return value of 'displayName'
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Getter for 'entranceName'
+     * @return value of 'entranceName'
+     */
+    public String getEntranceName() {
+        return entranceName;
+    }
+
+    /**
+     * Getter for 'ordinal'
+     * @return value of 'ordinal'
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Method used to keep the identifiers interned after deserialization
+     * @return the interned identifier
+     */
+    private Object readResolve() {
+        return of(key);
+    }
+
+    /**
+     * Method used to get the identifier as text
+     * @return the key of the room
+     */
+    @Override
+    public String toString() {
+        return key;
+    }
+}
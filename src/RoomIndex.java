@@ -0,0 +1,558 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Class used to store the rooms of the world by their ids, additionally indexed by their names ignoring case,
+ * by their ids in an array and by their RoomIds, so that finding a room by its name or id is a single lookup which doesn't allocate.
+ * The rooms are kept in a private map, every change made through this map or its views(put, remove, compute, merge, entrySet().removeIf,
+ * keySet().remove, iterator().remove, Entry.setValue, ...) ends in put or in removing through the index, so the indexes are kept up to date
+ */
+public class RoomIndex extends AbstractMap<Integer, Room> implements Serializable {
+    /**
+     * Used for serialization
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * Ids lower than this are stored in the array, higher ones are only found through the map
+     */
+    private static final int MAX_DENSE_ID = 1 << 16;
+    /**
+     * Rooms by their ids, null where there is no room
+     */
+    private transient Room[] byId;
+    /**
+     * Ids of the rooms by the ordinals of their RoomIds, increased by one so that 0 means there is no room
+     */
+    private transient int[] byRoomId;
+    /**
+     * Names of the rooms in the name table(open addressing, linear probing), null where the slot is free
+     */
+    private transient String[] names;
+    /**
+     * Ids of the rooms in the name table, in the same slots as their names
+     */
+    private transient int[] nameIds;
+    /**
+     * Amount of names in the name table
+     */
+    private transient int nameCount;
+    /**
+     * Highest id of a room, -1 if there are no rooms
+     */
+    private transient int maxId;
+    /**
+     * The rooms by their ids
+     */
+    private final HashMap<Integer, Room> rooms = new HashMap<>();
+    /**
+     * View of the entries whose changes go through the index, created when it's first needed
+     */
+    private transient Set<Map.Entry<Integer, Room>> entries;
+    /**
+     * View of the ids whose changes go through the index, created when it's first needed
+     */
+    private transient Set<Integer> ids;
+    /**
+     * View of the rooms whose changes go through the index, created when it's first needed
+     */
+    private transient Collection<Room> values;
+
+    /**
+     * Constructor
+     */
+    public RoomIndex() {
+        clearIndexes();
+    }
+
+    /**
+     * Method used to get a room by its id
+     * @param id id of the room
+     * @return the room, null if there is no such room
+     */
+    public Room get(int id) {
+        if (id >= 0 && id < byId.length) {
+            return byId[id];
+        }
+        return id >= MAX_DENSE_ID ? rooms.get(id) : null;
+    }
+
+    /**
+     * Method used to get a room by its name, ignoring case
+     * @param name name of the room
+     * @return the room, null if there is no such room
+     */
+    public Room get(String name) {
+        int id = getId(name);
+        return id == -1 ? null : get(id);
+    }
+
+    /**
+     * Method used to get a room by its identifier
+     * @param roomId identifier of the room
+     * @return the room, null if there is no such room
+     */
+    public Room get(RoomId roomId) {
+        int id = getId(roomId);
+        return id == -1 ? null : get(id);
+    }
+
+    /**
+     * Method used to get the id of a room by its identifier
+     * @param roomId identifier of the room
+     * @return id of the room, -1 if there is no such room
+     */
+    public int getId(RoomId roomId) {
+        if (roomId == null || roomId.getOrdinal() >= byRoomId.length) return -1;
+        return byRoomId[roomId.getOrdinal()] - 1;
+    }
+
+    /**
+     * Method used to get the id of a room by its name, ignoring case
+     * @param name name of the room
+     * @return id of the room, -1 if there is no such room
+     */
+    public int getId(String name) {
+        if (name == null) return -1;
+        int slot = findSlot(name);
+        return names[slot] != null ? nameIds[slot] : -1;
+    }
+
+    /**
+     * Method used to get the id the next added room should get
+     * @return id higher than the id of any room
+     */
+    public int nextId() {
+        return maxId + 1;
+    }
+
+    /**
+     * Method used to get a room by its id, through the array for the lower ids
+     * @param id id of the room
+     * @return the room, null if there is no such room or the id isn't an Integer
+     */
+    @Override
+    public Room get(Object id) {
+        return id instanceof Integer ? get(((Integer) id).intValue()) : null;
+    }
+
+    /**
+     * Method used to check whether there is a room with an id
+     * @param id id of the room
+     * @return true if there is a room with the id
+     */
+    @Override
+    public boolean containsKey(Object id) {
+        return get(id) != null || rooms.containsKey(id);
+    }
+
+    /**
+     * Method used to get the amount of rooms
+     * @return the amount
+     */
+    @Override
+    public int size() {
+        return rooms.size();
+    }
+
+    /**
+     * Method used to add a room, replacing the room with the same id, the indexes are updated
+     * @param id id of the room
+     * @param room the room
+     * @return the replaced room, null if there was none
+     */
+    @Override
+    public Room put(Integer id, Room room) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid room id " + id);
+        }
+        Room previous = rooms.put(id, room);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        index(id, room);
+        return previous;
+    }
+
+    /**
+     * Method used to remove a room, also from the indexes
+     * @param id id of the room
+     * @return the removed room, null if there was none
+     */
+    @Override
+    public Room remove(Object id) {
+        if (!(id instanceof Integer) || !rooms.containsKey(id)) {
+            return null;
+        }
+        Room removed = rooms.remove(id);
+        removed((Integer) id, removed);
+        return removed;
+    }
+
+    /**
+     * Method used to remove all the rooms and empty the indexes
+     */
+    @Override
+    public void clear() {
+        rooms.clear();
+        clearIndexes();
+    }
+
+    /**
+     * Method used to get the rooms as entries(id, room), removing an entry or setting its room goes through the index
+     * @return view of the entries
+     */
+    @Override
+    public Set<Map.Entry<Integer, Room>> entrySet() {
+        if (entries == null) {
+            entries = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<Integer, Room>> iterator() {
+                    return new RoomIterator<>() {
+                        @Override
+                        Map.Entry<Integer, Room> value(Map.Entry<Integer, Room> entry) {
+                            Integer id = entry.getKey();
+                            return new SimpleEntry<>(id, entry.getValue()) {
+                                @Override
+                                public Room setValue(Room room) {
+                                    super.setValue(room);
+                                    return put(id, room);
+                                }
+                            };
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return rooms.size();
+                }
+
+                @Override
+                public void clear() {
+                    RoomIndex.this.clear();
+                }
+            };
+        }
+        return entries;
+    }
+
+    /**
+     * Method used to get the ids of the rooms, removing an id removes its room through the index
+     * @return view of the ids
+     */
+    @Override
+    public Set<Integer> keySet() {
+        if (ids == null) {
+            ids = new AbstractSet<>() {
+                @Override
+                public Iterator<Integer> iterator() {
+                    return new RoomIterator<>() {
+                        @Override
+                        Integer value(Map.Entry<Integer, Room> entry) {
+                            return entry.getKey();
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object id) {
+                    return containsKey(id);
+                }
+
+                @Override
+                public boolean remove(Object id) {
+                    if (!containsKey(id)) return false;
+                    RoomIndex.this.remove(id);
+                    return true;
+                }
+
+                @Override
+                public int size() {
+                    return rooms.size();
+                }
+
+                @Override
+                public void clear() {
+                    RoomIndex.this.clear();
+                }
+            };
+        }
+        return ids;
+    }
+
+    /**
+     * Method used to get the rooms, removing a room goes through the index
+     * @return view of the rooms
+     */
+    @Override
+    public Collection<Room> values() {
+        if (values == null) {
+            values = new AbstractCollection<>() {
+                @Override
+                public Iterator<Room> iterator() {
+                    return new RoomIterator<>() {
+                        @Override
+                        Room value(Map.Entry<Integer, Room> entry) {
+                            return entry.getValue();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return rooms.size();
+                }
+
+                @Override
+                public void clear() {
+                    RoomIndex.this.clear();
+                }
+            };
+        }
+        return values;
+    }
+
+    /**
+     * Method used to remove a room which has been removed from the map from the indexes
+     * @param id id of the room
+     * @param room the room, can be null
+     */
+    private void removed(int id, Room room) {
+        if (id < byId.length) {
+            byId[id] = null;
+        }
+        if (room != null) {
+            unindex(id, room);
+        }
+    }
+
+    /**
+     * Method used to add a room into the indexes
+     * @param id id of the room
+     * @param room the room
+     */
+    private void index(int id, Room room) {
+        if (id < MAX_DENSE_ID) {
+            if (id >= byId.length) {
+                byId = Arrays.copyOf(byId, Math.max(id + 1, byId.length * 2));
+            }
+            byId[id] = room;
+        }
+        if (room != null && room.getName() != null) {
+            putName(room.getName(), id);
+        }
+        if (room != null && room.getId() != null) {
+            int ordinal = room.getId().getOrdinal();
+            if (ordinal >= byRoomId.length) {
+                byRoomId = Arrays.copyOf(byRoomId, Math.max(ordinal + 1, byRoomId.length * 2));
+            }
+            byRoomId[ordinal] = id + 1;
+        }
+        maxId = Math.max(maxId, id);
+    }
+
+    /**
+     * Method used to remove a room from the name and identifier indexes, if they still point to its id
+     * @param id id of the room
+     * @param room the room
+     */
+    private void unindex(int id, Room room) {
+        if (room.getName() != null) {
+            removeName(room.getName(), id);
+        }
+        if (room.getId() != null && room.getId().getOrdinal() < byRoomId.length && byRoomId[room.getId().getOrdinal()] == id + 1) {
+            byRoomId[room.getId().getOrdinal()] = 0;
+        }
+    }
+
+    /**
+     * Method used to empty the indexes
+     */
+    private void clearIndexes() {
+        byId = new Room[16];
+        byRoomId = new int[16];
+        names = new String[16];
+        nameIds = new int[16];
+        nameCount = 0;
+        maxId = -1;
+    }
+
+    /**
+     * Method used to add a name into the name table, replacing the id of a room with the same name
+     * @param name name of the room
+     * @param id id of the room
+     */
+    private void putName(String name, int id) {
+        if ((nameCount + 1) * 2 > names.length) {
+            resizeNames(names.length * 2);
+        }
+        int slot = findSlot(name);
+        if (names[slot] == null) {
+            names[slot] = name;
+            nameCount++;
+        }
+        nameIds[slot] = id;
+    }
+
+    /**
+     * Method used to remove a name from the name table, if it belongs to the given room,
+     * the names placed after it are put into the table again so that none of them becomes unreachable
+     * @param name name of the room
+     * @param id id of the room
+     */
+    private void removeName(String name, int id) {
+        int slot = findSlot(name);
+        if (names[slot] == null || nameIds[slot] != id) return;
+        names[slot] = null;
+        nameCount--;
+        int mask = names.length - 1;
+        for (int next = (slot + 1) & mask; names[next] != null; next = (next + 1) & mask) {
+            String moved = names[next];
+            int movedId = nameIds[next];
+            names[next] = null;
+            int movedSlot = findSlot(moved);
+            names[movedSlot] = moved;
+            nameIds[movedSlot] = movedId;
+        }
+    }
+
+    /**
+     * Method used to make the name table larger
+     * @param capacity new capacity, a power of two
+     */
+    private void resizeNames(int capacity) {
+        String[] oldNames = names;
+        int[] oldIds = nameIds;
+        names = new String[capacity];
+        nameIds = new int[capacity];
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                int slot = findSlot(oldNames[i]);
+                names[slot] = oldNames[i];
+                nameIds[slot] = oldIds[i];
+            }
+        }
+    }
+
+    /**
+     * Method used to find the slot of a name in the name table
+     * @param name name of the room
+     * @return the slot holding the name, or the free slot where it would be added
+     */
+    private int findSlot(String name) {
+        int mask = names.length - 1;
+        int slot = hash(name) & mask;
+        while (names[slot] != null && !matches(names[slot], name)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Method used to hash a name ignoring case, consistent with String.equalsIgnoreCase
+     * @param name the name
+     * @return the hash
+     */
+    private static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + fold(name.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Method used to check whether two names are equal ignoring case, without allocating
+     * @param a first name
+     * @param b second name
+     * @return true if the names are equal ignoring case
+     */
+    private static boolean matches(String a, String b) {
+        if (a.length() != b.length()) return false;
+        for (int i = 0; i < a.length(); i++) {
+            char first = a.charAt(i);
+            char second = b.charAt(i);
+            if (first != second && fold(first) != fold(second)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method used to fold the case of a character the same way String.equalsIgnoreCase does
+     * @param c the character
+     * @return the folded character
+     */
+    private static char fold(char c) {
+        return java.lang.Character.toLowerCase(java.lang.Character.toUpperCase(c));
+    }
+
+    /**
+     * Method used to rebuild the indexes after deserialization, they aren't serialized
+     * @param in stream the rooms are read from
+     * @throws IOException if the rooms couldn't be read
+     * @throws ClassNotFoundException if a class of the rooms couldn't be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        clearIndexes();
+        for (Map.Entry<Integer, Room> entry : rooms.entrySet()) {
+            index(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Iterator over the private map, removing a room goes through the index
+     * @param <T> type of the returned values(entries, ids or rooms)
+     */
+    private abstract class RoomIterator<T> implements Iterator<T> {
+        /**
+         * Iterator over the private map
+         */
+        private final Iterator<Map.Entry<Integer, Room>> iterator = rooms.entrySet().iterator();
+        /**
+         * Entry returned last, null if there is none or it has been removed
+         */
+        private Map.Entry<Integer, Room> last;
+
+        /**
+         * Method used to get the returned value of an entry
+         * @param entry entry of the private map
+         * @return the value
+         */
+        abstract T value(Map.Entry<Integer, Room> entry);
+
+        /**
+         * Method used to check whether there are more rooms
+         * @return true if there are more rooms
+         */
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        /**
+         * Method used to move to the next room
+         * @return value of the next room's entry
+         */
+        @Override
+        public T next() {
+            last = iterator.next();
+            return value(last);
+        }
+
+        /**
+         * Method used to remove the room returned last, also from the indexes
+         */
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            iterator.remove();
+            removed(last.getKey(), last.getValue());
+            last = null;
+        }
+    }
+}
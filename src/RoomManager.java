@@ -1,10 +1,10 @@
 import javafx.application.Platform;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.GraphicsContext;
-import org.json.JSONArray;
 import org.json.JSONObject;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -14,7 +14,7 @@ public class RoomManager {
     /**
      * Map used to store the rooms
      */
-    private Map<String, RoomRenderer> rooms = new HashMap<>();
+    private Map<RoomId, RoomRenderer> rooms = new HashMap<>();
     /**
      * Current room of the room renderer
      */
@@ -24,9 +24,9 @@ public class RoomManager {
      */
     private Player player;
     /**
-     * Name of the current room
+     * Identifier of the current room
      */
-    private String currentRoomName;
+    private RoomId currentRoomId;
     /**
      * Runnable used to set what happens when the room changes
      */
@@ -55,6 +55,10 @@ public class RoomManager {
      * Was the player in prompt area?
      */
     private boolean wasInPromptArea = false;
+    /**
+     * Tracks the trigger zones the player is in, updated once per frame
+     */
+    private final TriggerIndex.Tracker triggers = new TriggerIndex.Tracker();
     /**
      * GameGUI instance
      */
@@ -97,13 +101,13 @@ public class RoomManager {
 
     /**
      * Method used to create/Get the room upon a transition
-     * @param roomName which room to create
+     * @param roomId which room to create
      * @return the room which is supposed to be created/obtained
      */
-    private Room getOrCreateGameRoom(String roomName) {
-        Room gameRoom = gameGUI.getWorld().getRoomByName(roomName);
+    private Room getOrCreateGameRoom(RoomId roomId) {
+        Room gameRoom = gameGUI.getWorld().getRoom(roomId);
         if (gameRoom == null) {
-            gameRoom = new Room(roomName, false);
+            gameRoom = new Room(roomId.getKey(), false);
             gameGUI.getWorld().addRoom(gameRoom);
         }
         return gameRoom;
@@ -115,20 +119,30 @@ public class RoomManager {
      * @throws Exception when the room doesn't exist/the file path is incorrect,etc.
      */
     public void loadRoom(String roomName) throws Exception {
-        if (!rooms.containsKey(roomName)) {
-            JSONObject tmjData = loadTMJData("/maps/" + roomName + ".tmj");
+        loadRoom(RoomId.of(roomName));
+    }
+
+    /**
+     * Method used to load the room
+     * @param roomId identifier of the room which is supposed to be loaded
+     * @throws Exception when the room doesn't exist/the file path is incorrect,etc.
+     */
+    public void loadRoom(RoomId roomId) throws Exception {
+        if (!rooms.containsKey(roomId)) {
+            RoomMap roomMap = TiledMapLoader.compile(loadTMJData("/maps/" + roomId.getKey() + ".tmj"));
             RoomRenderer renderer = new RoomRenderer();
-            renderer.loadRoom(tmjData);
-            rooms.put(roomName, renderer);
+            renderer.loadRoom(roomMap);
+            rooms.put(roomId, renderer);
             // Get or create the game room
-            Room gameRoom = getOrCreateGameRoom(roomName);
+            Room gameRoom = getOrCreateGameRoom(roomId);
             renderer.setGameRoom(gameRoom);
-            gameGUI.getWorld().loadSearchSpotsFromTMJ(gameRoom, tmjData);
-            loadCassettePlayers(gameRoom, tmjData);
+            gameGUI.getWorld().loadSearchSpotsFromMap(gameRoom, roomMap);
+            loadCassettePlayers(gameRoom, roomMap);
+            placeEnemies(gameRoom, renderer);
             // Set current room if this is the first room
             if (currentRoom == null) {
                 currentRoom = renderer;
-                currentRoomName = roomName;
+                currentRoomId = roomId;
                 gameGUI.getWorld().setCurrentRoom(gameRoom);
                 positionPlayerAtSpawn();
             }
@@ -148,33 +162,19 @@ public class RoomManager {
         }
     }
 
-    /**
-     * Method used to 'normalize' the room names
-     * @param roomName which room name to normalize
-     * @return the normalized room name
-     */
-    private String normalizeRoomName(String roomName) {
-        // Convert to lowercase and replace spaces with underscores
-        return roomName.trim()
-                .toLowerCase()
-                .replace(" ", "_");
-    }
-
     /**
      * Method used to position the player at the SPAWNPOINT object
      */
     private void positionPlayerAtSpawn() {
-        JSONObject objects = currentRoom.getObjectGroup("GameObjects");
+        RoomMap.ObjectGroup objects = currentRoom.getObjectGroup("GameObjects");
         if (objects != null) {
-            JSONArray objectArray = objects.getJSONArray("objects");
-            for (int i = 0; i < objectArray.length(); i++) {
-                JSONObject obj = objectArray.getJSONObject(i);
-                if (obj.has("name") && obj.getString("name").equals("SPAWNPOINT")) {
+            for (RoomMap.MapObject obj : objects.getObjects()) {
+                if (obj.getName().equals("SPAWNPOINT")) {
                     player.setPosition(
-                            obj.getDouble("x") / currentRoom.getTileWidth(),
-                            obj.getDouble("y") / currentRoom.getTileHeight()
+                            obj.getX() / currentRoom.getTileWidth(),
+                            obj.getY() / currentRoom.getTileHeight()
                     );
-                    player.setCurrentRoom(currentRoomName);
+                    player.setCurrentRoom(currentRoomId);
                     break;
                 }
             }
@@ -189,6 +189,21 @@ public class RoomManager {
      * @param savedY the y coordinate saved
      */
     public void transitionToRoom(String roomName, boolean useSavedPosition, double savedX, double savedY) {
+        transitionToRoom(RoomId.of(roomName), useSavedPosition, savedX, savedY);
+    }
+
+    /**
+     * Method used to transition from room to room
+     * @param roomId identifier of the room to transition to
+     * @param useSavedPosition should the saved position be used or not?
+     * @param savedX the x coordinate saved
+     * @param savedY the y coordinate saved
+     */
+    public void transitionToRoom(RoomId roomId, boolean useSavedPosition, double savedX, double savedY) {
+        if (roomId == null) {
+            System.err.println("Transition failed: no room to transition to");
+            return;
+        }
         player.setMovementEnabled(false);
         player.setTransitioning(true);
         try {
@@ -198,28 +213,28 @@ public class RoomManager {
             });
             if (currentRoom == null) {
                 // Handle initial room setup
-                loadRoom(roomName.toLowerCase());
+                loadRoom(roomId);
                 positionPlayerAtSpawn();
                 return;
             }
-            String normalizedName = normalizeRoomName(roomName);
-            if (!rooms.containsKey(normalizedName)) {
-                loadRoom(normalizedName);
+            if (!rooms.containsKey(roomId)) {
+                loadRoom(roomId);
             }
-            if (rooms.containsKey(normalizedName)) {
-                String previousRoomName = currentRoomName;
-                currentRoom = rooms.get(normalizedName);
-                currentRoomName = normalizedName;
-                Room gameRoom = gameGUI.getWorld().getRoomByName(normalizedName);
+            if (rooms.containsKey(roomId)) {
+                RoomId previousRoomId = currentRoomId;
+                currentRoom = rooms.get(roomId);
+                currentRoomId = roomId;
+                Room gameRoom = gameGUI.getWorld().getRoom(roomId);
                 gameGUI.getWorld().setCurrentRoom(gameRoom);
                 if (useSavedPosition) {
                     player.setPosition(savedX, savedY);
                 } else {
-                    positionPlayerAtEntrance(previousRoomName);
+                    positionPlayerAtEntrance(previousRoomId);
                 }
                 if (onRoomChanged != null) {
                     onRoomChanged.run();
                 }
+                gameGUI.requestAutosave();
                 // Adds a small delay before re-enabling controls
                 new Thread(() -> {
                     try {
@@ -241,20 +256,18 @@ public class RoomManager {
 
     /**
      * Method used to position the player at an entrance(ENTER FROM [Name of the previous room]) object of the room transitioned into
-     * @param previousRoom room the player had transitioned into
+     * @param previousRoom room the player had transitioned from
      */
-    private void positionPlayerAtEntrance(String previousRoom) {
-        JSONObject objects = currentRoom.getObjectGroup("GameObjects");
+    private void positionPlayerAtEntrance(RoomId previousRoom) {
+        RoomMap.ObjectGroup objects = currentRoom.getObjectGroup("GameObjects");
         if (objects != null) {
-            JSONArray objectArray = objects.getJSONArray("objects");
-            String entranceName = "ENTER FROM " + previousRoom.toUpperCase().replace("_", " ");
-            for (int i = 0; i < objectArray.length(); i++) {
-                JSONObject obj = objectArray.getJSONObject(i);
-                if (obj.getString("name").equalsIgnoreCase(entranceName)) {
-                    double entranceX = obj.getDouble("x");
-                    double entranceY = obj.getDouble("y");
-                    double entranceWidth = obj.getDouble("width");
-                    double entranceHeight = obj.getDouble("height");
+            String entranceName = previousRoom.getEntranceName();
+            for (RoomMap.MapObject obj : objects.getObjects()) {
+                if (obj.getName().equalsIgnoreCase(entranceName)) {
+                    double entranceX = obj.getX();
+                    double entranceY = obj.getY();
+                    double entranceWidth = obj.getWidth();
+                    double entranceHeight = obj.getHeight();
                     double tileWidth = currentRoom.getTileWidth();
                     double tileHeight = currentRoom.getTileHeight();
                     // Calculate entrance center in tile units
@@ -302,46 +315,28 @@ public class RoomManager {
         if (room == null) return false;
         double playerX = tileX * room.getTileWidth();
         double playerY = tileY * room.getTileHeight();
-        Rectangle2D hitbox = new Rectangle2D(
-                playerX - 10, playerY - 10, 20, 20);
-        return room.getCollisions().stream()
-                .anyMatch(rect -> rect.intersects(hitbox));
+        return room.overlaps(playerX - 10, playerY - 10, 20, 20);
     }
 
     /**
-     * Method used to determine whether the player is located in an exit(EXIT TO [Name of the next room]) object
-     * @param exit which EXIT TO object are we checking for
-     * @return is the player in an exit area?
+     * Method used to update the trigger zones the player is in, has to be called once per frame before the trigger checks
      */
-    private boolean isPlayerInExit(JSONObject exit) {
-        double exitX = exit.getDouble("x");
-        double exitY = exit.getDouble("y");
-        double exitWidth = exit.getDouble("width");
-        double exitHeight = exit.getDouble("height");
-        // Convert player position to pixels
+    public void updateTriggers() {
+        if (currentRoom == null) {
+            triggers.update(null, 0, 0);
+            return;
+        }
         double playerX = player.getX() * currentRoom.getTileWidth();
         double playerY = player.getY() * currentRoom.getTileHeight();
-        double playerSize = 20; // Player circle
-        // Calculate player bounds
-        double playerLeft = playerX - playerSize / 2;
-        double playerRight = playerX + playerSize / 2;
-        double playerTop = playerY - playerSize / 2;
-        double playerBottom = playerY + playerSize / 2;
-        double exitLeft = exitX;
-        double exitRight = exitX + exitWidth;
-        double exitTop = exitY;
-        double exitBottom = exitY + exitHeight;
-        boolean xOverlap = playerRight > exitLeft && playerLeft < exitRight;
-        boolean yOverlap = playerBottom > exitTop && playerTop < exitBottom;
-        if (exitWidth < 20 || exitHeight < 20) {
-            double expandedWidth = Math.max(20, exitWidth);
-            double expandedHeight = Math.max(20, exitHeight);
-            double centerX = exitX + exitWidth / 2;
-            double centerY = exitY + exitHeight / 2;
-            return Math.abs(playerX - centerX) < expandedWidth / 2 &&
-                    Math.abs(playerY - centerY) < expandedHeight / 2;
-        }
-        return xOverlap && yOverlap;
+        triggers.update(currentRoom.getTriggerIndex(), playerX, playerY);
+    }
+
+    /**
+     * Getter for 'triggers'
+     * @return value of 'triggers'
+     */
+    public TriggerIndex.Tracker getTriggers() {
+        return triggers;
     }
 
     /**
@@ -360,20 +355,10 @@ public class RoomManager {
      * @return is the player located in one of the EXIT TO[Name of the next room] objects?
      */
     private boolean checkRegularExits() {
-        JSONObject exits = currentRoom.getObjectGroup("GameObjects");
-        if (exits != null) {
-            JSONArray objects = exits.getJSONArray("objects");
-            for (int i = 0; i < objects.length(); i++) {
-                JSONObject obj = objects.getJSONObject(i);
-                if (obj.has("name") && obj.getString("name").startsWith("EXIT TO")) {
-                    if (isPlayerInExit(obj)) {
-                        String targetRoom = obj.getString("name").substring(7).trim()
-                                .toUpperCase().replace(" ", "_");
-                        gameGUI.performTransition(targetRoom);
-                        return true;
-                    }
-                }
-            }
+        TriggerIndex.Zone exit = triggers.getFirstInside(TriggerIndex.Kind.EXIT);
+        if (exit != null) {
+            gameGUI.performTransition(exit.getTargetRoom());
+            return true;
         }
         return false;
     }
@@ -382,27 +367,11 @@ public class RoomManager {
      * Method used to check whether a prompt transition is available
      */
     public void checkPromptTransitions() {
-        boolean currentlyInPromptArea = false;
-
-        JSONObject prompts = currentRoom.getObjectGroup("RoomTransitionPrompts");
-        if (prompts == null) {
-            prompts = currentRoom.getObjectGroup("RoomTransitionPrompt");
-        }
-
-        if (prompts != null) {
-            JSONArray objects = prompts.getJSONArray("objects");
-            for (int i = 0; i < objects.length(); i++) {
-                JSONObject obj = objects.getJSONObject(i);
-                if (isPlayerInExit(obj)) {
-                    currentlyInPromptArea = true;
-                    if (!prompt.isActive()) {
-                        String targetRoom = obj.getString("name").substring(7).trim()
-                                .toUpperCase().replace(" ", "_");
-                        showTransitionPrompt(targetRoom);
-                    }
-                    break; // Only show one prompt at a time
-                }
-            }
+        // Only show one prompt at a time
+        TriggerIndex.Zone promptZone = triggers.getFirstInside(TriggerIndex.Kind.PROMPT);
+        boolean currentlyInPromptArea = promptZone != null;
+        if (currentlyInPromptArea && !prompt.isActive()) {
+            showTransitionPrompt(promptZone.getTargetRoom());
         }
 
         // Only hide if we left a prompt area after being in one
@@ -438,36 +407,66 @@ public class RoomManager {
     /**
      * Method used to load the CassettePlayer objects
      * @param gameRoom which rooms to add the objects into
-     * @param tmjData used to access the tmj date
-     */
-    private void loadCassettePlayers(Room gameRoom, JSONObject tmjData) {
-        if (tmjData.has("layers")) {
-            JSONArray layers = tmjData.getJSONArray("layers");
-            for (int i = 0; i < layers.length(); i++) {
-                JSONObject layer = layers.getJSONObject(i);
-                if ("CassettePlayer".equals(layer.optString("name", ""))) {
-                    if (layer.has("objects")) {
-                        JSONArray objects = layer.getJSONArray("objects");
-                        for (int j = 0; j < objects.length(); j++) {
-                            JSONObject obj = objects.getJSONObject(j);
-                            gameRoom.addCassettePlayerPosition(
-                                    obj.getDouble("x"),
-                                    obj.getDouble("y")
-                            );
-                        }
+     * @param roomMap used to access the compiled tmj data
+     */
+    private void loadCassettePlayers(Room gameRoom, RoomMap roomMap) {
+        RoomMap.ObjectGroup layer = roomMap.getObjectGroup("CassettePlayer");
+        if (layer != null) {
+            for (RoomMap.MapObject obj : layer.getObjects()) {
+                gameRoom.addCassettePlayerPosition(obj.getX(), obj.getY());
+            }
+        }
+    }
+
+    /**
+     * Method used to place the enemies of a room when its map is loaded. Every enemy gets its own free tile(without collisions),
+     * the tiles furthest from the GameObjects(spawn point, entrances) are used first, so the player doesn't walk into the enemies right away
+     * @param gameRoom room whose enemies are placed
+     * @param renderer renderer of the room's map
+     */
+    private void placeEnemies(Room gameRoom, RoomRenderer renderer) {
+        List<Enemy> enemies = gameGUI.getWorld().getEnemiesInRoom(gameRoom);
+        if (enemies.isEmpty()) return;
+        int tileWidth = renderer.getTileWidth();
+        int tileHeight = renderer.getTileHeight();
+        int columns = renderer.getWidthInPixels() / tileWidth;
+        int rows = renderer.getHeightInPixels() / tileHeight;
+        RoomMap.ObjectGroup objects = renderer.getObjectGroup("GameObjects");
+        float half = EnemyStore.SIZE / 2;
+        List<double[]> freeTiles = new ArrayList<>(); // x, y, distance from the nearest game object
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                double x = (column + 0.5) * tileWidth;
+                double y = (row + 0.5) * tileHeight;
+                if (renderer.overlaps(x - half, y - half, EnemyStore.SIZE, EnemyStore.SIZE)) continue;
+                double distance = Double.MAX_VALUE;
+                if (objects != null) {
+                    for (RoomMap.MapObject obj : objects.getObjects()) {
+                        double dx = obj.getX() + obj.getWidth() / 2 - x;
+                        double dy = obj.getY() + obj.getHeight() / 2 - y;
+                        distance = Math.min(distance, dx * dx + dy * dy);
                     }
-                    break;
                 }
+                freeTiles.add(new double[]{x, y, distance});
             }
         }
+        if (freeTiles.isEmpty()) {
+            System.err.println("No free tiles for the enemies of " + gameRoom.getName());
+            return;
+        }
+        freeTiles.sort((a, b) -> Double.compare(b[2], a[2]));
+        for (int i = 0; i < enemies.size(); i++) {
+            double[] tile = freeTiles.get(i % freeTiles.size());
+            enemies.get(i).setPosition((float) tile[0], (float) tile[1]);
+        }
     }
 
     /**
      * Method used to show the transition prompt
      * @param targetRoom which room would the transition occur into
      */
-    private void showTransitionPrompt(String targetRoom) {
-        prompt.show("Enter " + targetRoom.replace("_", " "), targetRoom);
+    private void showTransitionPrompt(RoomId targetRoom) {
+        prompt.show("Enter " + targetRoom.getDisplayName(), targetRoom);
     }
 
     /**
@@ -495,10 +494,18 @@ public class RoomManager {
     }
 
     /**
-     * Getter for 'currentRoomName'
-     * @return value of 'currentRoomName'
+     * Getter for 'currentRoomId'
+     * @return value of 'currentRoomId'
+     */
+    public RoomId getCurrentRoomId() {
+        return currentRoomId;
+    }
+
+    /**
+     * Method used to get the name of the current room, used for display
+     * @return the display name of the current room(see RoomId), null if no room has been loaded
      */
     public String getCurrentRoomName() {
-        return currentRoomName;
+        return currentRoomId != null ? currentRoomId.getDisplayName() : null;
     }
 }
\ No newline at end of file
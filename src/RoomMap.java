@@ -0,0 +1,467 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class used to store an already compiled tiled map(tmj file), so that the json data only has to be read once when loading a room
+ */
+public final class RoomMap {
+    /**
+     * Width of the map in tiles
+     */
+    private final int width;
+    /**
+     * Height of the map in tiles
+     */
+    private final int height;
+    /**
+     * Width of a tile in pixels
+     */
+    private final int tileWidth;
+    /**
+     * Height of a tile in pixels
+     */
+    private final int tileHeight;
+    /**
+     * Tile layers in the order they're stored in the tmj file
+     */
+    private final List<TileLayer> tileLayers;
+    /**
+     * Map used to access the tile layers by their names
+     */
+    private final Map<String, TileLayer> tileLayersByName;
+    /**
+     * Map used to access the object groups by their names, in the order they're stored in the tmj file
+     */
+    private final Map<String, ObjectGroup> objectGroups;
+    /**
+     * Tile sets referenced by the map
+     */
+    private final List<TilesetRef> tilesets;
+
+    /**
+     * Constructor
+     * @param width width of the map in tiles
+     * @param height height of the map in tiles
+     * @param tileWidth width of a tile in pixels
+     * @param tileHeight height of a tile in pixels
+     * @param tileLayers tile layers in file order
+     * @param objectGroups object groups in file order
+     * @param tilesets tile sets referenced by the map
+     */
+    public RoomMap(int width, int height, int tileWidth, int tileHeight,
+                   List<TileLayer> tileLayers, List<ObjectGroup> objectGroups, List<TilesetRef> tilesets) {
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.tileLayers = Collections.unmodifiableList(new ArrayList<>(tileLayers));
+        Map<String, TileLayer> layersByName = new LinkedHashMap<>();
+        for (TileLayer layer : tileLayers) {
+            layersByName.putIfAbsent(layer.getName(), layer);
+        }
+        this.tileLayersByName = Collections.unmodifiableMap(layersByName);
+        Map<String, ObjectGroup> groups = new LinkedHashMap<>();
+        for (ObjectGroup group : objectGroups) {
+            groups.putIfAbsent(group.getName(), group);
+        }
+        this.objectGroups = Collections.unmodifiableMap(groups);
+        this.tilesets = Collections.unmodifiableList(new ArrayList<>(tilesets));
+    }
+
+    /**
+     * Getter for 'width'
+     * @return value of 'width'
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter for 'height'
+     * @return value of 'height'
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Getter for 'tileWidth'
+     * @return value of 'tileWidth'
+     */
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    /**
+     * Getter for 'tileHeight'
+     * @return value of 'tileHeight'
+     */
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    /**
+     * Getter for 'tileLayers'
+     * @return tile layers in file order
+     */
+    public List<TileLayer> getTileLayers() {
+        return tileLayers;
+    }
+
+    /**
+     * Method used to get a tile layer by its name
+     * @param name name of the layer
+     * @return the layer, null if the map doesn't contain it
+     */
+    public TileLayer getTileLayer(String name) {
+        return tileLayersByName.get(name);
+    }
+
+    /**
+     * Method used to get an object group by its name
+     * @param name name of the object group
+     * @return the object group, null if the map doesn't contain it
+     */
+    public ObjectGroup getObjectGroup(String name) {
+        return objectGroups.get(name);
+    }
+
+    /**
+     * Getter for all the object groups
+     * @return object groups in file order
+     */
+    public List<ObjectGroup> getObjectGroups() {
+        return new ArrayList<>(objectGroups.values());
+    }
+
+    /**
+     * Getter for 'tilesets'
+     * @return tile sets referenced by the map
+     */
+    public List<TilesetRef> getTilesets() {
+        return tilesets;
+    }
+
+    /**
+     * Class used to store the tile ids(gids) of a single tile layer
+     */
+    public static final class TileLayer {
+        /**
+         * Name of the layer
+         */
+        private final String name;
+        /**
+         * Tile ids of the layer, stored row by row
+         */
+        private final int[] data;
+
+        /**
+         * Constructor
+         * @param name name of the layer
+         * @param data tile ids of the layer, stored row by row
+         */
+        public TileLayer(String name, int[] data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        /**
+         * Getter for 'name'
+         * @return value of 'name'
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter for 'data', the array is shared and must not be modified
+         * @return tile ids of the layer
+         */
+        public int[] getData() {
+            return data;
+        }
+
+        /**
+         * Method used to pass every non-empty tile of the layer to a sink, row by row
+         * @param width width of the map in tiles
+         * @param tileWidth width of a tile in pixels
+         * @param tileHeight height of a tile in pixels
+         * @param sink where to pass the tiles to
+         */
+        public void forEachTile(int width, int tileWidth, int tileHeight, TileSink sink) {
+            int height = data.length / width;
+            for (int y = 0; y < height; y++) {
+                int row = y * width;
+                for (int x = 0; x < width; x++) {
+                    int tileId = data[row + x];
+                    if (tileId != 0) {
+                        sink.drawTile(tileId, x * tileWidth, y * tileHeight);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Class used to store an object layer(object group) of the map
+     */
+    public static final class ObjectGroup {
+        /**
+         * Name of the object group
+         */
+        private final String name;
+        /**
+         * X offset of the layer in pixels
+         */
+        private final double offsetX;
+        /**
+         * Y offset of the layer in pixels
+         */
+        private final double offsetY;
+        /**
+         * Objects located in the layer
+         */
+        private final List<MapObject> objects;
+
+        /**
+         * Constructor
+         * @param name name of the object group
+         * @param offsetX x offset of the layer
+         * @param offsetY y offset of the layer
+         * @param objects objects located in the layer
+         */
+        public ObjectGroup(String name, double offsetX, double offsetY, List<MapObject> objects) {
+            this.name = name;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.objects = Collections.unmodifiableList(new ArrayList<>(objects));
+        }
+
+        /**
+         * Getter for 'name'
+         * @return value of 'name'
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter for 'offsetX'
+         * @return value of 'offsetX'
+         */
+        public double getOffsetX() {
+            return offsetX;
+        }
+
+        /**
+         * Getter for 'offsetY'
+         * @return value of 'offsetY'
+         */
+        public double getOffsetY() {
+            return offsetY;
+        }
+
+        /**
+         * Getter for 'objects'
+         * @return objects located in the layer
+         */
+        public List<MapObject> getObjects() {
+            return objects;
+        }
+    }
+
+    /**
+     * Class used to store a single object(rectangle/point) from an object layer
+     */
+    public static final class MapObject {
+        /**
+         * Name of the object, empty if it has none
+         */
+        private final String name;
+        /**
+         * Type(class) of the object, empty if it has none
+         */
+        private final String type;
+        /**
+         * X coordinate in pixels
+         */
+        private final double x;
+        /**
+         * Y coordinate in pixels
+         */
+        private final double y;
+        /**
+         * Width in pixels
+         */
+        private final double width;
+        /**
+         * Height in pixels
+         */
+        private final double height;
+
+        /**
+         * Constructor
+         * @param name name of the object
+         * @param type type of the object
+         * @param x x coordinate in pixels
+         * @param y y coordinate in pixels
+         * @param width width in pixels
+         * @param height height in pixels
+         */
+        public MapObject(String name, String type, double x, double y, double width, double height) {
+            this.name = name;
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Getter for 'name'
+         * @return value of 'name'
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter for 'type'
+         * @return value of 'type'
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Getter for 'x'
+         * @return value of 'x'
+         */
+        public double getX() {
+            return x;
+        }
+
+        /**
+         * Getter for 'y'
+         * @return value of 'y'
+         */
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * Getter for 'width'
+         * @return value of 'width'
+         */
+        public double getWidth() {
+            return width;
+        }
+
+        /**
+         * Getter for 'height'
+         * @return value of 'height'
+         */
+        public double getHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * Class used to store a tile set reference from the tmj file
+     */
+    public static final class TilesetRef {
+        /**
+         * first gid attribute from tmj file
+         */
+        private final int firstGid;
+        /**
+         * Classpath resource path of the tile set's image
+         */
+        private final String imagePath;
+        /**
+         * width of the tile
+         */
+        private final int tileWidth;
+        /**
+         * height of the tile
+         */
+        private final int tileHeight;
+        /**
+         * amount of columns
+         */
+        private final int columns;
+        /**
+         * amount of tiles
+         */
+        private final int tileCount;
+
+        /**
+         * Constructor
+         * @param firstGid first gid attribute from tmj file
+         * @param imagePath classpath resource path of the image
+         * @param tileWidth width of the tile
+         * @param tileHeight height of the tile
+         * @param columns amount of columns
+         * @param tileCount amount of tiles
+         */
+        public TilesetRef(int firstGid, String imagePath, int tileWidth, int tileHeight, int columns, int tileCount) {
+            this.firstGid = firstGid;
+            this.imagePath = imagePath;
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+            this.columns = columns;
+            this.tileCount = tileCount;
+        }
+
+        /**
+         * Getter for 'firstGid'
+         * @return value of 'firstGid'
+         */
+        public int getFirstGid() {
+            return firstGid;
+        }
+
+        /**
+         * Getter for 'imagePath'
+         * @return value of 'imagePath'
+         */
+        public String getImagePath() {
+            return imagePath;
+        }
+
+        /**
+         * Getter for 'tileWidth'
+         * @return value of 'tileWidth'
+         */
+        public int getTileWidth() {
+            return tileWidth;
+        }
+
+        /**
+         * Getter for 'tileHeight'
+         * @return value of 'tileHeight'
+         */
+        public int getTileHeight() {
+            return tileHeight;
+        }
+
+        /**
+         * Getter for 'columns'
+         * @return value of 'columns'
+         */
+        public int getColumns() {
+            return columns;
+        }
+
+        /**
+         * Getter for 'tileCount'
+         * @return value of 'tileCount'
+         */
+        public int getTileCount() {
+            return tileCount;
+        }
+    }
+}
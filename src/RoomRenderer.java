@@ -1,11 +1,12 @@
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -23,26 +24,108 @@ public class RoomRenderer {
      * Map used to store the individual rooms' tile sets
      */
     private Map<Integer, TileSet> tileSets = new HashMap<>();
+    /**
+     * Lookup table used to resolve the tiles' tile sets and source rectangles, built when loading the tile sets
+     */
+    private TileLookup tileLookup = new TileLookup(new ArrayList<>());
+    /**
+     * List used to store the resource paths of the tile set images acquired from the AssetCache
+     */
+    private final List<String> acquiredImages = new ArrayList<>();
+    /**
+     * Should the used tiles be packed into a texture atlas when loading the room?
+     */
+    private static boolean textureAtlasEnabled = true;
+    /**
+     * Texture atlas of the room, null if the tiles are drawn from the tile sets
+     */
+    private TextureAtlas atlas;
+    /**
+     * Trigger zones of the room, compiled from the object layers when loading the room
+     */
+    private TriggerIndex triggerIndex;
     /**
      * List used to store the collision rectangles
      */
     private List<Rectangle2D> collisionRects = new ArrayList<>();
+    /**
+     * Collision rectangles of the room indexed by a uniform grid, used for the collision checks
+     */
+    private CollisionWorld collisionWorld = new CollisionWorld.Builder().build(0, 0);
     /**
      * Room instance
      */
     private Room gameRoom;
+    /**
+     * Names of the tile layers, in the order they're rendered in
+     */
+    private static final String[] RENDER_ORDER = {
+            "Floor", "Floor2", "Carpets", "Walls", "Walls2", "Repair_Tool item", "WallSafe", "FUSEBOX",
+            "GEARLOCKDOOR", "Furniture2A", "Furniture", "Furniture2", "Furniture3", "Furniture4",
+            "Stairs2", "Stairs", "Tree"
+    };
+    /**
+     * Tile layers of the room which are rendered, resolved from RENDER_ORDER when loading the room
+     */
+    private RoomMap.TileLayer[] renderLayers = new RoomMap.TileLayer[0];
+    /**
+     * Profiler phase ids of the rendered layers, in the same order as 'renderLayers'
+     */
+    private int[] layerPhases = new int[0];
+    /**
+     * Profiler phase of drawing the pre-rendered static layers
+     */
+    private static final int PHASE_STATIC_LAYERS = FrameProfiler.phase("render: cached layers");
+    /**
+     * Profiler phase of drawing the dropped items
+     */
+    private static final int PHASE_ITEMS = FrameProfiler.phase("render: items");
+    /**
+     * Largest width/height(in pixels) of a pre-rendered static layer image, bigger rooms are drawn tile by tile
+     */
+    private static final int MAX_STATIC_CACHE_SIZE = 8192;
+    /**
+     * Should the static layers be drawn from the pre-rendered images? False draws them tile by tile(used for debugging)
+     */
+    private static boolean staticLayerCacheEnabled = true;
+    /**
+     * Map used to store the pre-rendered static layers of the room (render scale, image)
+     */
+    private final Map<Integer, WritableImage> staticLayerCache = new HashMap<>();
 
     /**
      * Method used to load the room
-     * @param tmjData used to access the tmj data
+     * @param roomMap compiled tmj data of the room
      * @throws Exception if the tmj data is incorrect/invalid
      */
-    public void loadRoom(JSONObject tmjData) throws Exception {
+    public void loadRoom(RoomMap roomMap) throws Exception {
+        dispose();
         mapLoader = new TiledMapLoader();
-        mapLoader.loadMap(tmjData);
+        mapLoader.loadMap(roomMap);
         loadTilesets();
         loadCollisionObjects();
+        triggerIndex = TriggerIndex.build(roomMap);
+        loadRenderLayers();
+        buildTextureAtlas();
+        invalidateStaticLayers();
+    }
 
+    /**
+     * Method used to resolve the rendered tile layers once, so that rendering doesn't have to look them up by name
+     */
+    private void loadRenderLayers() {
+        List<RoomMap.TileLayer> layers = new ArrayList<>();
+        for (String layerName : RENDER_ORDER) {
+            RoomMap.TileLayer layer = mapLoader.getLayer(layerName);
+            if (layer != null) {
+                layers.add(layer);
+            }
+        }
+        renderLayers = layers.toArray(new RoomMap.TileLayer[0]);
+        layerPhases = new int[renderLayers.length];
+        for (int i = 0; i < renderLayers.length; i++) {
+            layerPhases[i] = FrameProfiler.phase("layer: " + renderLayers[i].getName());
+        }
     }
 
     /**
@@ -57,64 +140,94 @@ public class RoomRenderer {
      * Method used to load the individual collision objects
      */
     private void loadCollisionObjects() {
+        collisionWorld = CollisionWorld.fromMap(mapLoader.getRoomMap());
         collisionRects.clear();
-        JSONObject collisionLayer = mapLoader.getObjectGroup("Collisions");
-        if (collisionLayer != null) {
-            loadCollisionsFromLayer(collisionLayer, collisionRects);
+        for (int id = 0; id < collisionWorld.size(); id++) {
+            collisionRects.add(new Rectangle2D(collisionWorld.getX(id), collisionWorld.getY(id),
+                    collisionWorld.getWidth(id), collisionWorld.getHeight(id)));
         }
-
     }
 
     /**
-     * Method used to load the collision from the collision layer
-     * @param layer used to access the Collisions layer
-     * @param targetList used to store the coordinated of the collision objects
-     */
-    private void loadCollisionsFromLayer(JSONObject layer, List<Rectangle2D> targetList) {
-        double layerOffsetX = layer.optDouble("offsetx", 0);
-        double layerOffsetY = layer.optDouble("offsety", 0);
-        JSONArray objects = layer.getJSONArray("objects");
-        for (int i = 0; i < objects.length(); i++) {
-            JSONObject obj = objects.getJSONObject(i);
-            if (obj.optString("type", "").equals("Collisions") ||
-                    obj.optString("name", "").equals("Collision")) {
-                double x = obj.getDouble("x") + layerOffsetX;
-                double y = obj.getDouble("y") + layerOffsetY;
-                double width = obj.getDouble("width");
-                double height = obj.getDouble("height");
-
-                if (width < 1 || height < 1) continue;
-                targetList.add(new Rectangle2D(x, y, width, height));
+     * Method used to load the individual tile sets from the room files
+     * @throws Exception incorrect file path, incorrect tmj data, etc.
+     */
+    private void loadTilesets() throws Exception {
+        for (RoomMap.TilesetRef tileset : mapLoader.getRoomMap().getTilesets()) {
+            String resourcePath = tileset.getImagePath();
+            Image image = AssetCache.acquire(resourcePath);
+            if (image == null) {
+                System.err.println("Could not load tileset: " + resourcePath);
+                continue;
             }
+            acquiredImages.add(resourcePath);
+            int firstGid = tileset.getFirstGid();
+            int tileWidth = tileset.getTileWidth();
+            int tileHeight = tileset.getTileHeight();
+            int columns = tileset.getColumns();
+
+            tileSets.put(firstGid, new TileSet(image, firstGid, tileWidth, tileHeight, columns));
         }
+        tileLookup = new TileLookup(tileSets.values());
     }
 
     /**
-     * Method used to load the individual tile sets from the room files
-     * @throws Exception incorrect file path, incorrect tmj data, etc.
+     * Method used to pack the tiles used by the rendered layers into a texture atlas,
+     * the tile set images are released afterwards so that the unused parts of them can be evicted
      */
-    private void loadTilesets() throws Exception {
-        JSONArray tilesets = mapLoader.getMapData().getJSONArray("tilesets");
-        for (int i = 0; i < tilesets.length(); i++) {
-            JSONObject tileset = tilesets.getJSONObject(i);
-            String imagePath = tileset.getString("image");
-            imagePath = imagePath.replace("..\\", "").replace("../", "");
-            String filename = imagePath.substring(imagePath.lastIndexOf("/") + 1);
-            String resourcePath = "/tilesets/" + filename;
-            try (InputStream is = getClass().getResourceAsStream(resourcePath)) {
-                if (is == null) {
-                    System.err.println("Could not load tileset: " + resourcePath);
-                    continue;
-                }
-                Image image = new Image(is);
-                int firstGid = tileset.getInt("firstgid");
-                int tileWidth = tileset.getInt("tilewidth");
-                int tileHeight = tileset.getInt("tileheight");
-                int columns = tileset.getInt("columns");
+    private void buildTextureAtlas() {
+        if (!textureAtlasEnabled) {
+            return;
+        }
+        TextureAtlas built = TextureAtlas.build(tileLookup, renderLayers, TextureAtlas.DEFAULT_MAX_PAGE_SIZE);
+        if (built == null) {
+            return;
+        }
+        atlas = built;
+        tileLookup = built.getLookup();
+        tileSets.clear();
+        for (String path : acquiredImages) {
+            AssetCache.release(path);
+        }
+        acquiredImages.clear();
+    }
 
-                tileSets.put(firstGid, new TileSet(image, firstGid, tileWidth, tileHeight, columns));
-            }
+    /**
+     * Setter for 'textureAtlasEnabled', only affects rooms loaded afterwards
+     * @param enabled what to set the value of 'textureAtlasEnabled' to
+     */
+    public static void setTextureAtlasEnabled(boolean enabled) {
+        textureAtlasEnabled = enabled;
+    }
+
+    /**
+     * Getter for 'atlas'
+     * @return the room's texture atlas, null if the room doesn't use one
+     */
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+
+    /**
+     * Method used to release the room's tile set images and pre-rendered layers
+     */
+    public void dispose() {
+        for (String path : acquiredImages) {
+            AssetCache.release(path);
         }
+        acquiredImages.clear();
+        tileSets.clear();
+        atlas = null;
+        tileLookup = new TileLookup(new ArrayList<>());
+        invalidateStaticLayers();
+    }
+
+    /**
+     * Getter for 'triggerIndex'
+     * @return value of 'triggerIndex'
+     */
+    public TriggerIndex getTriggerIndex() {
+        return triggerIndex;
     }
 
     /**
@@ -122,58 +235,109 @@ public class RoomRenderer {
      * @param name name of the object group
      * @return the object group
      */
-    public JSONObject getObjectGroup(String name) {
+    public RoomMap.ObjectGroup getObjectGroup(String name) {
         return mapLoader.getObjectGroup(name);
     }
 
     /**
      * Method used to render all the layers from all the tile maps
-     * @param gc GraphicsContext instance
+     * @param gc GraphicsContext instance, already scaled by the render scale
+     * @param renderScale render scale the GraphicsContext is scaled by
      */
-    public void render(GraphicsContext gc) {
+    public void render(GraphicsContext gc, double renderScale) {
         gc.setImageSmoothing(false);
-        renderLayer(gc, "Floor");
-        renderLayer(gc, "Floor2");
-        renderLayer(gc, "Carpets");
-        renderLayer(gc, "Walls");
-        renderLayer(gc, "Walls2");
-        renderLayer(gc, "Repair_Tool item");
-        renderLayer(gc, "WallSafe");
-        renderLayer(gc, "FUSEBOX");
-        renderLayer(gc, "GEARLOCKDOOR");
-        renderLayer(gc, "Furniture2A");
-        renderLayer(gc, "Furniture");
-        renderLayer(gc, "Furniture2");
-        renderLayer(gc, "Furniture3");
-        renderLayer(gc, "Furniture4");
-        renderLayer(gc, "Stairs2");
-        renderLayer(gc, "Stairs");
-        renderLayer(gc, "Tree");
+        WritableImage staticLayers = staticLayerCacheEnabled ? getStaticLayers(renderScale) : null;
+        if (staticLayers != null) {
+            FrameProfiler.begin(PHASE_STATIC_LAYERS);
+            gc.drawImage(staticLayers, 0, 0, getWidthInPixels(), getHeightInPixels());
+            FrameProfiler.end(PHASE_STATIC_LAYERS);
+        } else {
+            renderStaticLayers(gc);
+        }
+        FrameProfiler.begin(PHASE_ITEMS);
         renderItems(gc);
+        FrameProfiler.end(PHASE_ITEMS);
+    }
 
+    /**
+     * Method used to render the static(tile) layers tile by tile
+     * @param gc GraphicsContext instance
+     */
+    private void renderStaticLayers(GraphicsContext gc) {
+        for (int i = 0; i < renderLayers.length; i++) {
+            FrameProfiler.begin(layerPhases[i]);
+            renderLayer(gc, renderLayers[i]);
+            FrameProfiler.end(layerPhases[i]);
+        }
+    }
 
+    /**
+     * Method used to get the pre-rendered static layers for a certain render scale, rendering them if they're not cached yet
+     * @param renderScale render scale of the room
+     * @return the pre-rendered image, null if the room is too big to be pre-rendered
+     */
+    private WritableImage getStaticLayers(double renderScale) {
+        int scale = Math.max(1, (int) Math.round(renderScale));
+        WritableImage image = staticLayerCache.get(scale);
+        if (image == null && !staticLayerCache.containsKey(scale)) {
+            image = bakeStaticLayers(scale);
+            staticLayerCache.put(scale, image);
+        }
+        return image;
+    }
+
+    /**
+     * Method used to render the static layers into an offscreen image
+     * @param scale integer render scale to render the image in
+     * @return the rendered image, null if the image would be too big
+     */
+    private WritableImage bakeStaticLayers(int scale) {
+        int width = getWidthInPixels() * scale;
+        int height = getHeightInPixels() * scale;
+        if (width <= 0 || height <= 0 || width > MAX_STATIC_CACHE_SIZE || height > MAX_STATIC_CACHE_SIZE) {
+            return null;
+        }
+        Canvas offscreen = new Canvas(width, height);
+        GraphicsContext offscreenGc = offscreen.getGraphicsContext2D();
+        offscreenGc.setImageSmoothing(false);
+        offscreenGc.scale(scale, scale);
+        renderStaticLayers(offscreenGc);
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return offscreen.snapshot(parameters, null);
+    }
+
+    /**
+     * Method used to throw away the pre-rendered static layers, has to be called whenever the room's tiles change visually
+     */
+    public void invalidateStaticLayers() {
+        staticLayerCache.clear();
+    }
+
+    /**
+     * Setter for 'staticLayerCacheEnabled'
+     * @param enabled what to set the value of 'staticLayerCacheEnabled' to
+     */
+    public static void setStaticLayerCacheEnabled(boolean enabled) {
+        staticLayerCacheEnabled = enabled;
+    }
+
+    /**
+     * Getter for 'staticLayerCacheEnabled'
+     * @return value of 'staticLayerCacheEnabled'
+     */
+    public static boolean isStaticLayerCacheEnabled() {
+        return staticLayerCacheEnabled;
     }
 
     /**
      * Method used to render the individual layers from the maps
      * @param gc GraphicsContext instance
-     * @param layerName name of the layer
-     */
-    private void renderLayer(GraphicsContext gc, String layerName) {
-        int[] layerData = mapLoader.getLayerData(layerName);
-        if (layerData == null) return;
-        int width = mapLoader.getWidth();
-        int height = mapLoader.getHeight();
-        int tileWidth = mapLoader.getTileWidth();
-        int tileHeight = mapLoader.getTileHeight();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int tileId = layerData[y * width + x];
-                if (tileId != 0) {
-                    renderTile(gc, tileId, x * tileWidth, y * tileHeight);
-                }
-            }
-        }
+     * @param layer which layer to render
+     */
+    private void renderLayer(GraphicsContext gc, RoomMap.TileLayer layer) {
+        layer.forEachTile(mapLoader.getWidth(), mapLoader.getTileWidth(), mapLoader.getTileHeight(),
+                (tileId, x, y) -> renderTile(gc, tileId, x, y));
     }
 
     /**
@@ -184,16 +348,7 @@ public class RoomRenderer {
      * @param y y coordinate of the tile
      */
     private void renderTile(GraphicsContext gc, int tileId, int x, int y) {
-        for (Map.Entry<Integer, TileSet> entry : tileSets.entrySet()) {
-            int firstGid = entry.getKey();
-            if (tileId >= firstGid) {
-                TileSet tileset = entry.getValue();
-                if (tileset.containsTile(tileId)) {
-                    tileset.drawTile(gc, tileId, x, y);
-                    break;
-                }
-            }
-        }
+        tileLookup.drawTile(gc, tileId, x, y);
     }
 
     /**
@@ -211,7 +366,7 @@ public class RoomRenderer {
                 int count = positionCounts.getOrDefault(pos, 0);
                 double offsetX = count * 5; // 5 pixels offset per item
                 double offsetY = count * 5;
-                Image image = loadItemImage(item);
+                Image image = AssetCache.get(item.getSpritePath());
                 if (image != null) {
                     double x = pos.getX() * getTileWidth() + 8 + offsetX;
                     double y = pos.getY() * getTileHeight() + 8 + offsetY;
@@ -223,21 +378,6 @@ public class RoomRenderer {
         }
     }
 
-    /**
-     * Method used to load the individual items' images
-     * @param item which item's image to load
-     * @return the image of the selected item
-     */
-    private Image loadItemImage(Item item) {
-        String path = "/sprites/items/" + item.getName().toUpperCase().replace(" ", "_") + ".png";
-        try (InputStream is = getClass().getResourceAsStream(path)) {
-            return is != null ? new Image(is) : null;
-        } catch (Exception e) {
-            System.err.println("Error loading item image: " + e.getMessage());
-            return null;
-        }
-    }
-
     /**
      * Getter for width of the room in pixels
      * @return width of the room in pixels
@@ -277,4 +417,24 @@ public class RoomRenderer {
         return allCollisions;
     }
 
+    /**
+     * Method used to find out whether a rectangle overlaps any collision in the room, doesn't allocate
+     * @param x x coordinate of the rectangle in pixels
+     * @param y y coordinate of the rectangle in pixels
+     * @param w width of the rectangle
+     * @param h height of the rectangle
+     * @return does the rectangle overlap a collision?
+     */
+    public boolean overlaps(double x, double y, double w, double h) {
+        return collisionWorld.overlaps(x, y, w, h);
+    }
+
+    /**
+     * Getter for 'collisionWorld'
+     * @return value of 'collisionWorld'
+     */
+    public CollisionWorld getCollisionWorld() {
+        return collisionWorld;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,1149 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Class used to encode the game states into the binary save format and back.
+ * A save starts with a fixed-size header(magic bytes, schema version, type of the state, health, play time, save time, room name),
+ * which can be read on its own to show the save in the menus, followed by the state itself,
+ * integers are stored as varints, every string is stored once and then referenced by its index,
+ * items are stored by their ItemCatalog id together with their own values(ammo, battery) and the positions of the dropped items are stored as primitive arrays.
+ * Since version 3 the header is followed by the id of the compression the rest of the save is compressed with(see SaveCompression).
+ * A save whose body is kept in a chunk store has the id 255 instead, followed by the ids of its chunks(see ChunkStore).
+ * Saves written through Java serialization by the older versions of the game can still be read and converted
+ */
+public final class SaveCodec {
+    /**
+     * Bytes every binary save starts with
+     */
+    private static final byte[] MAGIC = {'G', 'S', 'A', 'V'};
+    /**
+     * Current version of the save schema
+     */
+    public static final int VERSION = 3;
+    /**
+     * First version with the fixed-size header
+     */
+    private static final int HEADER_VERSION = 2;
+    /**
+     * First version with the compressed body
+     */
+    private static final int COMPRESSION_VERSION = 3;
+    /**
+     * Id of the saves whose body isn't compressed
+     */
+    public static final int NO_COMPRESSION = 0;
+    /**
+     * Id written instead of the compression id by saves whose body is kept in a chunk store(see ChunkStore)
+     */
+    static final int CHUNKED = 255;
+    /**
+     * Size of the header in bytes, the layout of the header doesn't change between versions
+     */
+    public static final int HEADER_SIZE = 64;
+    /**
+     * Bytes reserved for the room name in the header(length byte included)
+     */
+    private static final int HEADER_ROOM_SIZE = HEADER_SIZE - MAGIC.length - 2 - 4 - 8 - 8;
+    /**
+     * Type of the saves holding a GameStateGUI
+     */
+    public static final int TYPE_GUI = 1;
+    /**
+     * Type of the saves holding a GameState(text version of the game)
+     */
+    public static final int TYPE_TEXT = 2;
+    /**
+     * Kind of the items without a definition, stored as KeyItem
+     */
+    private static final int CUSTOM_KEY_ITEM = 0;
+    /**
+     * Kind of the items without a definition, stored as Hint
+     */
+    private static final int CUSTOM_HINT = 1;
+    /**
+     * Marks that no weapon is equipped
+     */
+    static final int EQUIPPED_NONE = 0;
+    /**
+     * Marks that the equipped weapon isn't in the inventory and follows
+     */
+    static final int EQUIPPED_ITEM = 1;
+    /**
+     * Marks that the equipped weapon is in the inventory, the index is added to this value
+     */
+    static final int EQUIPPED_INVENTORY = 2;
+    /**
+     * Registered compressions by their ids
+     */
+    private static final Map<Integer, SaveCompression> COMPRESSIONS = new HashMap<>();
+    /**
+     * Compression the new saves are written with, null to write them uncompressed
+     */
+    private static volatile SaveCompression compression = DeflateCompression.DEFAULT;
+
+    static {
+        registerCompression(DeflateCompression.DEFAULT);
+    }
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private SaveCodec() {
+    }
+
+    /**
+     * Method used to register a compression, so that the saves written with it can be read
+     * @param codec which compression
+     */
+    public static synchronized void registerCompression(SaveCompression codec) {
+        if (codec.getId() <= NO_COMPRESSION || codec.getId() >= CHUNKED) {
+            throw new IllegalArgumentException("Compression id " + codec.getId() + " is outside of 1 - " + (CHUNKED - 1));
+        }
+        SaveCompression registered = COMPRESSIONS.get(codec.getId());
+        if (registered != null && registered.getClass() != codec.getClass()) {
+            throw new IllegalArgumentException("Compression id " + codec.getId() + " is already used by " + registered.getName());
+        }
+        COMPRESSIONS.put(codec.getId(), codec);
+    }
+
+    /**
+     * Setter for the compression the new saves are written with, the compression gets registered
+     * @param codec which compression, null to write the saves uncompressed
+     */
+    public static void setCompression(SaveCompression codec) {
+        if (codec != null) {
+            registerCompression(codec);
+        }
+        compression = codec;
+    }
+
+    /**
+     * Getter for the compression the new saves are written with
+     * @return the compression, null if the saves are written uncompressed
+     */
+    public static SaveCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Method used to find a registered compression
+     * @param id id of the compression
+     * @return the compression
+     * @throws IOException if no compression with the id is registered
+     */
+    private static synchronized SaveCompression getCompression(int id) throws IOException {
+        SaveCompression codec = COMPRESSIONS.get(id);
+        if (codec == null) {
+            throw new IOException("Save is compressed with an unknown compression " + id);
+        }
+        return codec;
+    }
+
+    /**
+     * Method used to join the header with the body, compressing the body with the current compression
+     * @param header the encoded header
+     * @param body the encoded state
+     * @return the whole save
+     */
+    private static byte[] join(byte[] header, byte[] body) {
+        SaveCompression codec = compression;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(header.length + 1 + body.length);
+        out.write(header, 0, header.length);
+        out.write(codec == null ? NO_COMPRESSION : codec.getId());
+        if (codec == null) {
+            out.write(body, 0, body.length);
+            return out.toByteArray();
+        }
+        try (OutputStream compressed = codec.compress(out)) {
+            compressed.write(body);
+        } catch (IOException e) {
+            // Nothing is written outside of the memory
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Method used to decompress the body of a save
+     * @param in reader positioned at the compression id, right after the header
+     * @return reader of the decompressed body
+     * @throws IOException if the compression is unknown or the body is broken
+     */
+    private static Reader decompress(Reader in) throws IOException {
+        int id = in.readByte();
+        if (id == NO_COMPRESSION) {
+            return in;
+        }
+        if (id == CHUNKED) {
+            throw new IOException("Save is kept in a chunk store and has to be restored from it first");
+        }
+        SaveCompression codec = getCompression(id);
+        try (InputStream body = codec.decompress(new ByteArrayInputStream(in.data, in.position, in.data.length - in.position))) {
+            return new Reader(body.readAllBytes(), 0);
+        } catch (IOException e) {
+            throw new IOException("Broken " + codec.getName() + " save: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method used to get the uncompressed body of a save, everything after the header and the compression id
+     * @param save the encoded save
+     * @return the body, null if the save has no compression id(older versions) or its body is kept in a chunk store
+     * @throws IOException if the compression is unknown or the body is broken
+     */
+    static byte[] readBody(byte[] save) throws IOException {
+        if (!isBinary(save) || (save[MAGIC.length] & 0xFF) < COMPRESSION_VERSION || save.length <= HEADER_SIZE
+                || (save[HEADER_SIZE] & 0xFF) == CHUNKED) {
+            return null;
+        }
+        Reader body = decompress(new Reader(save, HEADER_SIZE));
+        return Arrays.copyOfRange(body.data, body.position, body.data.length);
+    }
+
+    /**
+     * Method used to compress a chunk of a save body with the current compression(see ChunkStore)
+     * @param chunk the chunk
+     * @return the compression id followed by the compressed chunk, or NO_COMPRESSION followed by the chunk if compressing doesn't make it smaller
+     */
+    static byte[] compressChunk(byte[] chunk) {
+        byte[] compressed = join(new byte[0], chunk);
+        if (compressed.length <= chunk.length) {
+            return compressed;
+        }
+        byte[] stored = new byte[chunk.length + 1];
+        stored[0] = NO_COMPRESSION;
+        System.arraycopy(chunk, 0, stored, 1, chunk.length);
+        return stored;
+    }
+
+    /**
+     * Method used to decompress a chunk written by compressChunk
+     * @param stored the compression id followed by the chunk
+     * @return the chunk
+     * @throws IOException if the compression is unknown or the chunk is broken
+     */
+    static byte[] decompressChunk(byte[] stored) throws IOException {
+        Reader chunk = decompress(new Reader(stored, 0));
+        return Arrays.copyOfRange(chunk.data, chunk.position, chunk.data.length);
+    }
+
+    /**
+     * Method used to check whether the body of a save is kept in a chunk store
+     * @param save the encoded save
+     * @return true if the save only holds the references of its chunks
+     */
+    static boolean isChunked(byte[] save) {
+        return isBinary(save) && (save[MAGIC.length] & 0xFF) >= COMPRESSION_VERSION && save.length > HEADER_SIZE
+                && (save[HEADER_SIZE] & 0xFF) == CHUNKED;
+    }
+
+    /**
+     * Method used to encode the state of the GUI version of the game
+     * @param state which state to encode
+     * @return the encoded save
+     */
+    public static byte[] encode(GameStateGUI state) {
+        Writer out = new Writer();
+        out.writeSignedVarInt(state.getPlayerHealth());
+        out.writeDouble(state.getPlayerStamina());
+        out.writeDouble(state.getPlayerX());
+        out.writeDouble(state.getPlayerY());
+        out.writeString(state.getCurrentRoomName());
+        writeInventory(out, state.getInventory(), state.getEquippedWeapon());
+        writeStringLists(out, state.getSearchedSpots());
+        Map<String, List<ItemPosition>> droppedItems = state.getDroppedItems();
+        out.writeVarInt(droppedItems == null ? 0 : droppedItems.size());
+        if (droppedItems != null) {
+            for (Map.Entry<String, List<ItemPosition>> entry : droppedItems.entrySet()) {
+                List<ItemPosition> items = entry.getValue();
+                out.writeString(entry.getKey());
+                out.writeVarInt(items.size());
+                for (ItemPosition position : items) {
+                    writeItem(out, position.getItem());
+                }
+                for (ItemPosition position : items) {
+                    out.writeDouble(position.getX());
+                }
+                for (ItemPosition position : items) {
+                    out.writeDouble(position.getY());
+                }
+            }
+        }
+        writeLockStates(out, state.getLockStates());
+        out.writeSignedVarInt(state.getStalkerDistance());
+        return join(encodeHeader(state), out.toByteArray());
+    }
+
+    /**
+     * Method used to encode only the fixed-size header of a GUI save
+     * @param state whose values to put into the header
+     * @return the header, HEADER_SIZE bytes
+     */
+    static byte[] encodeHeader(GameStateGUI state) {
+        Writer out = new Writer(TYPE_GUI);
+        long savedAt = state.getSavedAt() != 0 ? state.getSavedAt() : System.currentTimeMillis();
+        out.writeHeader(state.getPlayerHealth(), Math.round(state.getPlayTime() * 1000), savedAt, state.getCurrentRoomName());
+        return out.toByteArray();
+    }
+
+    /**
+     * Method used to encode the state of the text version of the game
+     * @param state which state to encode
+     * @return the encoded save
+     */
+    public static byte[] encode(GameState state) {
+        Writer header = new Writer(TYPE_TEXT);
+        header.writeHeader(state.getPlayerHealth(), 0, System.currentTimeMillis(), state.getCurrentRoomName());
+        Writer out = new Writer();
+        out.writeSignedVarInt(state.getPlayerHealth());
+        out.writeString(state.getCurrentRoomName());
+        writeInventory(out, state.getInventory(), state.getEquippedWeapon());
+        writeStringLists(out, state.getSearchedSpotsPerRoom());
+        Set<String> insertedGears = state.getInsertedGears();
+        out.writeVarInt(insertedGears == null ? 0 : insertedGears.size());
+        if (insertedGears != null) {
+            for (String gear : insertedGears) {
+                out.writeString(gear);
+            }
+        }
+        writeLockStates(out, state.getLockStates());
+        out.writeSignedVarInt(state.getStalkerDistance());
+        out.writeSignedVarInt(state.getFlashlightBattery());
+        out.writeByte((state.isFlashlightInCellar() ? 1 : 0)
+                | (state.isPlayerFighting() ? 2 : 0)
+                | (state.isPlayerBlocking() ? 4 : 0));
+        return join(header.toByteArray(), out.toByteArray());
+    }
+
+    /**
+     * Method used to decode a binary save
+     * @param data the encoded save
+     * @return the decoded GameStateGUI or GameState
+     * @throws IOException if the data isn't a valid save
+     */
+    public static Object decode(byte[] data) throws IOException {
+        if (!isBinary(data)) {
+            throw new IOException("Not a binary save");
+        }
+        Reader in = new Reader(data, MAGIC.length);
+        int version = in.readByte();
+        if (version > VERSION) {
+            throw new IOException("Save was written by a newer version of the game(schema " + version + ")");
+        }
+        int type = in.readByte();
+        long playTime = 0;
+        long savedAt = 0;
+        if (version >= HEADER_VERSION) {
+            in.readInt();
+            playTime = in.readLong();
+            savedAt = in.readLong();
+            in.readFixedString(HEADER_ROOM_SIZE);
+        }
+        if (version >= COMPRESSION_VERSION) {
+            in = decompress(in);
+        }
+        if (type == TYPE_GUI) {
+            GameStateGUI state = decodeGui(in);
+            state.setPlayTime(playTime / 1000.0);
+            state.setSavedAt(savedAt);
+            return state;
+        } else if (type == TYPE_TEXT) {
+            return decodeText(in);
+        }
+        throw new IOException("Unknown save type " + type);
+    }
+
+    /**
+     * Method used to decode the state of the GUI version of the game
+     * @param in reader positioned after the header
+     * @return the decoded state
+     * @throws IOException if the data isn't a valid save
+     */
+    private static GameStateGUI decodeGui(Reader in) throws IOException {
+        GameStateGUI state = new GameStateGUI();
+        state.setPlayerHealth(in.readSignedVarInt());
+        state.setPlayerStamina(in.readDouble());
+        double x = in.readDouble();
+        double y = in.readDouble();
+        state.setPlayerPosition(x, y);
+        state.setCurrentRoomName(in.readString());
+        List<Item> inventory = new ArrayList<>();
+        state.setEquippedWeapon(readInventory(in, inventory));
+        state.setInventory(inventory);
+        state.setSearchedSpots(readStringLists(in));
+        int rooms = in.readCount();
+        Map<String, List<ItemPosition>> droppedItems = new HashMap<>();
+        for (int i = 0; i < rooms; i++) {
+            String room = in.readString();
+            int count = in.readCount();
+            Item[] items = new Item[count];
+            double[] xs = new double[count];
+            double[] ys = new double[count];
+            for (int j = 0; j < count; j++) {
+                items[j] = readItem(in);
+            }
+            for (int j = 0; j < count; j++) {
+                xs[j] = in.readDouble();
+            }
+            for (int j = 0; j < count; j++) {
+                ys[j] = in.readDouble();
+            }
+            List<ItemPosition> positions = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                positions.add(new ItemPosition(items[j], xs[j], ys[j]));
+            }
+            droppedItems.put(room, positions);
+        }
+        state.setDroppedItems(droppedItems);
+        state.setLockStates(readLockStates(in));
+        state.setStalkerDistance(in.readSignedVarInt());
+        return state;
+    }
+
+    /**
+     * Method used to decode the state of the text version of the game
+     * @param in reader positioned after the header
+     * @return the decoded state
+     * @throws IOException if the data isn't a valid save
+     */
+    private static GameState decodeText(Reader in) throws IOException {
+        GameState state = new GameState();
+        state.setPlayerHealth(in.readSignedVarInt());
+        state.setCurrentRoomName(in.readString());
+        List<Item> inventory = new ArrayList<>();
+        state.setEquippedWeapon(readInventory(in, inventory));
+        state.setInventory(inventory);
+        state.setSearchedSpotsPerRoom(readStringLists(in));
+        int gears = in.readCount();
+        Set<String> insertedGears = new HashSet<>();
+        for (int i = 0; i < gears; i++) {
+            insertedGears.add(in.readString());
+        }
+        state.setInsertedGears(insertedGears);
+        state.setLockStates(readLockStates(in));
+        state.setStalkerDistance(in.readSignedVarInt());
+        state.setFlashlightBattery(in.readSignedVarInt());
+        int flags = in.readByte();
+        state.setFlashlightInCellar((flags & 1) != 0);
+        state.setPlayerFighting((flags & 2) != 0);
+        state.setPlayerBlocking((flags & 4) != 0);
+        return state;
+    }
+
+    /**
+     * Method used to check whether data is a binary save
+     * @param data the data to check
+     * @return true if the data starts with the binary save header
+     */
+    public static boolean isBinary(byte[] data) {
+        if (data.length < MAGIC.length + 2) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method used to read a save file, both binary and the older serialized ones
+     * @param file which file to read
+     * @return the GameStateGUI or GameState stored in the file
+     * @throws IOException if the file couldn't be read or isn't a valid save
+     */
+    public static Object read(File file) throws IOException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        return isBinary(data) ? decode(data) : readLegacy(data);
+    }
+
+    /**
+     * Method used to read the metadata of a save, only the header is read unless the save is older than the header
+     * @param file which file to read
+     * @return the metadata of the save
+     * @throws IOException if the file couldn't be read or isn't a valid save
+     */
+    public static SaveMetadata readMetadata(File file) throws IOException {
+        byte[] header;
+        try (InputStream in = new FileInputStream(file)) {
+            header = in.readNBytes(HEADER_SIZE);
+        }
+        int version = isBinary(header) ? header[MAGIC.length] & 0xFF : 0;
+        if (version >= HEADER_VERSION && header.length == HEADER_SIZE) {
+            return readHeader(file.getName(), file.length(), file.lastModified(), header);
+        }
+        // Older saves don't have the header, so they have to be loaded whole
+        Object state = read(file);
+        if (state instanceof GameStateGUI) {
+            GameStateGUI guiState = (GameStateGUI) state;
+            return new SaveMetadata(file.getName(), file.length(), file.lastModified(), version,
+                    guiState.getPlayerHealth(), guiState.getCurrentRoomName(),
+                    Math.round(guiState.getPlayTime() * 1000), file.lastModified());
+        }
+        if (state instanceof GameState) {
+            GameState textState = (GameState) state;
+            return new SaveMetadata(file.getName(), file.length(), file.lastModified(), version,
+                    textState.getPlayerHealth(), textState.getCurrentRoomName(), 0, file.lastModified());
+        }
+        throw new IOException(file.getName() + " doesn't contain a game state");
+    }
+
+    /**
+     * Method used to read the metadata of a save from its header
+     * @param name name of the save
+     * @param size size of the save in bytes
+     * @param modified when the save has been last modified
+     * @param header the header, HEADER_SIZE bytes
+     * @return the metadata of the save
+     * @throws IOException if the header isn't valid
+     */
+    public static SaveMetadata readHeader(String name, long size, long modified, byte[] header) throws IOException {
+        int version = isBinary(header) ? header[MAGIC.length] & 0xFF : 0;
+        if (version < HEADER_VERSION || header.length < HEADER_SIZE) {
+            throw new IOException("Save " + name + " has no header");
+        }
+        Reader in = new Reader(header, MAGIC.length + 2);
+        int health = in.readInt();
+        long playTime = in.readLong();
+        long savedAt = in.readLong();
+        String room = in.readFixedString(HEADER_ROOM_SIZE);
+        return new SaveMetadata(name, size, modified, version, health, room, playTime, savedAt);
+    }
+
+    /**
+     * Method used to read a save file of the GUI version of the game
+     * @param file which file to read
+     * @return the stored state
+     * @throws IOException if the file couldn't be read or doesn't hold a GameStateGUI
+     */
+    public static GameStateGUI readGameStateGUI(File file) throws IOException {
+        Object state = read(file);
+        if (!(state instanceof GameStateGUI)) {
+            throw new IOException(file.getName() + " is not a save of the GUI version");
+        }
+        return (GameStateGUI) state;
+    }
+
+    /**
+     * Method used to read a save file of the text version of the game
+     * @param file which file to read
+     * @return the stored state
+     * @throws IOException if the file couldn't be read or doesn't hold a GameState
+     */
+    public static GameState readGameState(File file) throws IOException {
+        Object state = read(file);
+        if (!(state instanceof GameState)) {
+            throw new IOException(file.getName() + " is not a save of the text version");
+        }
+        return (GameState) state;
+    }
+
+    /**
+     * Method used to write the state of the GUI version of the game into a file
+     * @param file which file to write into
+     * @param state which state to write
+     * @throws IOException if the file couldn't be written
+     */
+    public static void write(File file, GameStateGUI state) throws IOException {
+        writeAtomically(file, encode(state));
+    }
+
+    /**
+     * Method used to write the state of the text version of the game into a file
+     * @param file which file to write into
+     * @param state which state to write
+     * @throws IOException if the file couldn't be written
+     */
+    public static void write(File file, GameState state) throws IOException {
+        writeAtomically(file, encode(state));
+    }
+
+    /**
+     * Method used to write a file through a temporary file which then replaces it,
+     * so that a crash while writing leaves either the old or the new file, never half of one
+     * @param file which file to write
+     * @param data what to write into it
+     * @throws IOException if the file couldn't be written
+     */
+    public static void writeAtomically(File file, byte[] data) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(data);
+            out.getFD().sync();
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Method used to convert a save written through Java serialization into the binary format,
+     * the file is replaced and keeps its last modification time, so the order of the saves doesn't change
+     * @param file which file to convert
+     * @return true if the file has been converted, false if it already was binary
+     * @throws IOException if the file couldn't be read or written
+     */
+    public static boolean convertLegacy(File file) throws IOException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        if (isBinary(data)) {
+            return false;
+        }
+        Object state = readLegacy(data);
+        byte[] encoded;
+        if (state instanceof GameStateGUI) {
+            encoded = encode((GameStateGUI) state);
+        } else if (state instanceof GameState) {
+            encoded = encode((GameState) state);
+        } else {
+            throw new IOException(file.getName() + " doesn't contain a game state");
+        }
+        long lastModified = file.lastModified();
+        writeAtomically(file, encoded);
+        file.setLastModified(lastModified);
+        return true;
+    }
+
+    /**
+     * Method used to bring a save into the current format, saves written through Java serialization
+     * or before the header existed are decoded and encoded again, newer saves are kept as they are
+     * @param data content of the save
+     * @return the save in a format with the header
+     * @throws IOException if the save couldn't be read
+     */
+    public static byte[] upgrade(byte[] data) throws IOException {
+        if (isBinary(data) && (data[MAGIC.length] & 0xFF) >= HEADER_VERSION) {
+            return data;
+        }
+        Object state = isBinary(data) ? decode(data) : readLegacy(data);
+        if (state instanceof GameStateGUI) {
+            return encode((GameStateGUI) state);
+        } else if (state instanceof GameState) {
+            return encode((GameState) state);
+        }
+        throw new IOException("Save doesn't contain a game state");
+    }
+
+    /**
+     * Method used to read a save written through Java serialization
+     * @param data content of the save file
+     * @return the deserialized state
+     * @throws IOException if the data couldn't be deserialized
+     */
+    private static Object readLegacy(byte[] data) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown class in save: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method used to write the inventory and the equipped weapon, the weapon is stored as an index if it is in the inventory
+     * @param out where to write
+     * @param inventory the inventory's items
+     * @param equipped the equipped weapon
+     */
+    private static void writeInventory(Writer out, List<Item> inventory, Weapon equipped) {
+        int size = inventory == null ? 0 : inventory.size();
+        out.writeVarInt(size);
+        int equippedIndex = -1;
+        for (int i = 0; i < size; i++) {
+            Item item = inventory.get(i);
+            writeItem(out, item);
+            if (item == equipped) {
+                equippedIndex = i;
+            }
+        }
+        if (equipped == null) {
+            out.writeVarInt(EQUIPPED_NONE);
+        } else if (equippedIndex >= 0) {
+            out.writeVarInt(EQUIPPED_INVENTORY + equippedIndex);
+        } else {
+            out.writeVarInt(EQUIPPED_ITEM);
+            writeItem(out, equipped);
+        }
+    }
+
+    /**
+     * Method used to read the inventory and the equipped weapon
+     * @param in where to read from
+     * @param inventory list the items are added into
+     * @return the equipped weapon, null if none
+     * @throws IOException if the data isn't a valid save
+     */
+    private static Weapon readInventory(Reader in, List<Item> inventory) throws IOException {
+        int size = in.readCount();
+        for (int i = 0; i < size; i++) {
+            inventory.add(readItem(in));
+        }
+        int equipped = in.readIndex();
+        Item weapon;
+        if (equipped == EQUIPPED_NONE) {
+            return null;
+        } else if (equipped == EQUIPPED_ITEM) {
+            weapon = readItem(in);
+        } else if (equipped - EQUIPPED_INVENTORY < inventory.size()) {
+            weapon = inventory.get(equipped - EQUIPPED_INVENTORY);
+        } else {
+            throw new IOException("Equipped weapon is outside of the inventory");
+        }
+        if (!(weapon instanceof Weapon)) {
+            throw new IOException("Equipped item " + weapon.getName() + " is not a weapon");
+        }
+        return (Weapon) weapon;
+    }
+
+    /**
+     * Method used to write an item, by its definition id followed by its own values
+     * @param out where to write
+     * @param item which item to write
+     */
+    static void writeItem(Writer out, Item item) {
+        int id = ItemCatalog.idOf(item);
+        out.writeVarInt(id);
+        if (id == ItemCatalog.NO_DEFINITION) {
+            out.writeVarInt(item instanceof Hint ? CUSTOM_HINT : CUSTOM_KEY_ITEM);
+            out.writeString(item.getName());
+            out.writeString(item.getDescription());
+        } else if (item instanceof Weapon) {
+            out.writeSignedVarInt(((Weapon) item).getCurrentAmmo());
+        } else if (item instanceof Ammo) {
+            out.writeSignedVarInt(((Ammo) item).getAmount());
+        } else if (item instanceof Flashlight) {
+            out.writeSignedVarInt(((Flashlight) item).getBatteryLevel());
+        }
+    }
+
+    /**
+     * Method used to read an item
+     * @param in where to read from
+     * @return the item
+     * @throws IOException if the data isn't a valid save
+     */
+    static Item readItem(Reader in) throws IOException {
+        int id = in.readVarInt();
+        if (id == ItemCatalog.NO_DEFINITION) {
+            int kind = in.readVarInt();
+            String name = in.readString();
+            String description = in.readString();
+            return kind == CUSTOM_HINT ? new Hint(name, description) : new KeyItem(name, description);
+        }
+        Item item = ItemCatalog.create(id);
+        if (item == null) {
+            throw new IOException("Unknown item definition " + id);
+        }
+        if (item instanceof Weapon) {
+            ((Weapon) item).setCurrentAmmo(in.readSignedVarInt());
+        } else if (item instanceof Ammo) {
+            ((Ammo) item).setAmount(in.readSignedVarInt());
+        } else if (item instanceof Flashlight) {
+            ((Flashlight) item).setBatteryLevel(in.readSignedVarInt());
+        }
+        return item;
+    }
+
+    /**
+     * Method used to write a map of string lists(searched spots per room)
+     * @param out where to write
+     * @param map which map to write
+     */
+    private static void writeStringLists(Writer out, Map<String, List<String>> map) {
+        out.writeVarInt(map == null ? 0 : map.size());
+        if (map == null) return;
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeVarInt(entry.getValue().size());
+            for (String value : entry.getValue()) {
+                out.writeString(value);
+            }
+        }
+    }
+
+    /**
+     * Method used to read a map of string lists(searched spots per room)
+     * @param in where to read from
+     * @return the map
+     * @throws IOException if the data isn't a valid save
+     */
+    private static Map<String, List<String>> readStringLists(Reader in) throws IOException {
+        int size = in.readCount();
+        Map<String, List<String>> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = in.readString();
+            int count = in.readCount();
+            List<String> values = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                values.add(in.readString());
+            }
+            map.put(key, values);
+        }
+        return map;
+    }
+
+    /**
+     * Method used to write the lock states
+     * @param out where to write
+     * @param lockStates which lock states to write
+     */
+    private static void writeLockStates(Writer out, Map<String, Boolean> lockStates) {
+        out.writeVarInt(lockStates == null ? 0 : lockStates.size());
+        if (lockStates == null) return;
+        for (Map.Entry<String, Boolean> entry : lockStates.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeByte(Boolean.TRUE.equals(entry.getValue()) ? 1 : 0);
+        }
+    }
+
+    /**
+     * Method used to read the lock states
+     * @param in where to read from
+     * @return the lock states
+     * @throws IOException if the data isn't a valid save
+     */
+    private static Map<String, Boolean> readLockStates(Reader in) throws IOException {
+        int size = in.readCount();
+        Map<String, Boolean> lockStates = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String name = in.readString();
+            lockStates.put(name, in.readByte() != 0);
+        }
+        return lockStates;
+    }
+
+    /**
+     * Class used to write the primitives of the binary format into a growing byte array
+     */
+    static final class Writer {
+        /**
+         * Written bytes
+         */
+        private byte[] buffer = new byte[512];
+        /**
+         * Amount of written bytes
+         */
+        private int size;
+        /**
+         * Strings already written, with their indexes
+         */
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        /**
+         * Constructor, used for data without the save header(journal records)
+         */
+        Writer() {
+        }
+
+        /**
+         * Constructor, writes the start of the header
+         * @param type type of the stored state
+         */
+        Writer(int type) {
+            for (byte b : MAGIC) {
+                writeByte(b);
+            }
+            writeByte(VERSION);
+            writeByte(type);
+        }
+
+        /**
+         * Method used to write a single byte
+         * @param value the byte
+         */
+        void writeByte(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        /**
+         * Method used to write the fixed-size header, right after the magic bytes, version and type
+         * @param health player's health
+         * @param playTimeMillis how long the player has been playing, in milliseconds
+         * @param savedAt when the game has been saved
+         * @param roomName name of the player's room, cut if it doesn't fit
+         */
+        void writeHeader(int health, long playTimeMillis, long savedAt, String roomName) {
+            writeInt(health);
+            writeLong(playTimeMillis);
+            writeLong(savedAt);
+            byte[] bytes = roomName == null ? new byte[0] : roomName.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, HEADER_ROOM_SIZE - 1);
+            // Don't cut a character in half
+            while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) {
+                length--;
+            }
+            writeByte(length);
+            for (int i = 0; i < HEADER_ROOM_SIZE - 1; i++) {
+                writeByte(i < length ? bytes[i] : 0);
+            }
+        }
+
+        /**
+         * Method used to write an int in 4 bytes
+         * @param value the value
+         */
+        void writeInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                writeByte(value >>> shift);
+            }
+        }
+
+        /**
+         * Method used to write a long in 8 bytes
+         * @param value the value
+         */
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (value >>> shift));
+            }
+        }
+
+        /**
+         * Method used to write a non-negative int in as few bytes as possible(7 bits per byte)
+         * @param value the value
+         */
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        /**
+         * Method used to write an int which may be negative, zigzag encoded so that small negative values stay short
+         * @param value the value
+         */
+        void writeSignedVarInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        /**
+         * Method used to write a double
+         * @param value the value
+         */
+        void writeDouble(double value) {
+            writeLong(Double.doubleToLongBits(value));
+        }
+
+        /**
+         * Method used to write a string, a string written before is only referenced by its index
+         * @param value the string, may be null
+         */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(bytes.length);
+            for (byte b : bytes) {
+                writeByte(b);
+            }
+        }
+
+        /**
+         * Method used to get the written bytes
+         * @return copy of the written bytes
+         */
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * Class used to read the primitives of the binary format from a byte array
+     */
+    static final class Reader {
+        /**
+         * Data being read
+         */
+        private final byte[] data;
+        /**
+         * Position of the next byte
+         */
+        private int position;
+        /**
+         * Strings already read, in order
+         */
+        private final List<String> strings = new ArrayList<>();
+
+        /**
+         * Constructor
+         * @param data data to read
+         * @param position where to start reading
+         */
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        /**
+         * Method used to check whether all the data has been read
+         * @return true if there is nothing more to read
+         */
+        boolean isAtEnd() {
+            return position >= data.length;
+        }
+
+        /**
+         * Method used to read a single byte
+         * @return the byte(0 - 255)
+         * @throws IOException if the data ends
+         */
+        int readByte() throws IOException {
+            if (position >= data.length) {
+                throw new EOFException("Save file is truncated");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        /**
+         * Method used to read a varint
+         * @return the value
+         * @throws IOException if the data ends or the varint is too long
+         */
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in save");
+        }
+
+        /**
+         * Method used to read the amount of the elements following it, every element takes at least one byte
+         * @return the amount
+         * @throws IOException if the data ends or the amount is negative or larger than the rest of the data
+         */
+        int readCount() throws IOException {
+            int count = readVarInt();
+            if (count < 0 || count > data.length - position) {
+                throw new IOException("Invalid amount " + count + " in save");
+            }
+            return count;
+        }
+
+        /**
+         * Method used to read an index(a varint which can't be negative)
+         * @return the index
+         * @throws IOException if the data ends or the index is negative
+         */
+        int readIndex() throws IOException {
+            int index = readVarInt();
+            if (index < 0) {
+                throw new IOException("Invalid index " + index + " in save");
+            }
+            return index;
+        }
+
+        /**
+         * Method used to read a zigzag encoded varint
+         * @return the value
+         * @throws IOException if the data ends or the varint is too long
+         */
+        int readSignedVarInt() throws IOException {
+            int value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        /**
+         * Method used to read a double
+         * @return the value
+         * @throws IOException if the data ends
+         */
+        double readDouble() throws IOException {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        /**
+         * Method used to read an int stored in 4 bytes
+         * @return the value
+         * @throws IOException if the data ends
+         */
+        int readInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        /**
+         * Method used to read a long stored in 8 bytes
+         * @return the value
+         * @throws IOException if the data ends
+         */
+        long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        /**
+         * Method used to read a string stored in a fixed amount of bytes
+         * @param size amount of bytes reserved for the string(length byte included)
+         * @return the string, null if empty
+         * @throws IOException if the data ends
+         */
+        String readFixedString(int size) throws IOException {
+            if (size > data.length - position) {
+                throw new EOFException("Save file is truncated");
+            }
+            int length = Math.min(readByte(), size - 1);
+            String value = length == 0 ? null : new String(data, position, length, StandardCharsets.UTF_8);
+            position += size - 1;
+            return value;
+        }
+
+        /**
+         * Method used to read a string
+         * @return the string, may be null
+         * @throws IOException if the data ends or references an unknown string
+         */
+        String readString() throws IOException {
+            int tag = readVarInt();
+            if (tag == 0) {
+                return null;
+            }
+            if (tag != 1) {
+                if (tag < 0 || tag - 2 >= strings.size()) {
+                    throw new IOException("Unknown string reference in save");
+                }
+                return strings.get(tag - 2);
+            }
+            int length = readVarInt();
+            if (length < 0) {
+                throw new IOException("Invalid string length " + length + " in save");
+            }
+            if (length > data.length - position) {
+                throw new EOFException("Save file is truncated");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Interface used to compress the body of the saves, the header of a save is never compressed so the save menus can read it directly.
+ * Every compression has an id stored in the save right after the header, the compression has to be registered(see SaveCodec.registerCompression)
+ * for the saves written with it to be read again
+ */
+public interface SaveCompression {
+    /**
+     * Getter for the id stored in the saves, 0 is reserved for uncompressed saves and 255 for saves kept in a chunk store
+     * @return the id(1 - 254)
+     */
+    int getId();
+
+    /**
+     * Getter for the name of the compression
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Method used to wrap a stream, so that everything written into it is compressed.
+     * Closing the returned stream finishes the compressed data and closes the wrapped stream
+     * @param out stream receiving the compressed data
+     * @return stream to write the uncompressed data into
+     * @throws IOException if the stream couldn't be created
+     */
+    OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * Method used to wrap a stream, so that everything read from it is decompressed
+     * @param in stream of the compressed data
+     * @return stream to read the uncompressed data from
+     * @throws IOException if the stream couldn't be created
+     */
+    InputStream decompress(InputStream in) throws IOException;
+}
@@ -1,49 +1,133 @@
 import javafx.geometry.Point2D;
 
-import java.io.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Helper class used for saving the game
  */
 public class SaveHelper {
     /**
-     * Method used to save the game, creating a new save file in the correct directory
+     * Method used to save the game, creating a new save
      * @param player who is attempting to save the game
      * @param world which world is the data taken from
      * @return has the saving been successful?
      */
     public static boolean saveGame(Player player, World world) {
+        return saveGame(player, world, SaveManager.getNewSaveName());
+    }
+
+    /**
+     * Method used to save the game into a specific save
+     * @param player who is attempting to save the game
+     * @param world which world is the data taken from
+     * @param slot name of the save(created or overwritten)
+     * @return has the saving been successful?
+     */
+    public static boolean saveGame(Player player, World world, String slot) {
         try {
-            String timestamp = LocalDateTime.now().format(
-                    DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            File saveDir = new File("saves/");
-            if (!saveDir.exists()) saveDir.mkdirs();
-            File saveFile = new File(saveDir, "save_" + timestamp + ".dat");
-            try (ObjectOutputStream out = new ObjectOutputStream(
-                    new FileOutputStream(saveFile))) {
-                GameStateGUI state = new GameStateGUI();
-                state.setPlayerHealth(player.getHealth());
-                state.setPlayerStamina(player.getCurrentStamina());
-                state.setPlayerPosition(player.getX(), player.getY());
-                state.setCurrentRoomName(player.getCurrentRoomName());
-                state.setInventory(new ArrayList<>(player.getInventory().getItems()));
-                state.setEquippedWeapon(player.getEquippedWeapon());
-                state.setSearchedSpots(getSearchedSpots(world));
-                state.setDroppedItems(getDroppedItems(world));
-                state.setLockStates(world.getAllLockStates());
-                state.setStalkerDistance(world.getStalkerDistance());
-                out.writeObject(state);
-                return true;
-            }
+            SaveManager.writeSave(slot, createGameState(player, world));
+            return true;
         } catch (IOException e) {
             System.err.println("Failed to save game: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Method used to save the game in the background, only the snapshot of the game state is taken on the calling thread
+     * @param player who is attempting to save the game
+     * @param world which world is the data taken from
+     * @param slot name of the save(created or overwritten)
+     * @param thumbnail thumbnail shown next to the save in the save menus, null if the save shouldn't have one
+     * @param onSaved called on the JavaFX thread once the save has been written
+     * @param onFailed called with the cause if the save couldn't be written
+     */
+    public static void saveGameAsync(Player player, World world, String slot, SaveThumbnail thumbnail, Runnable onSaved, Consumer<Throwable> onFailed) {
+        SlotStore store;
+        try {
+            store = SaveManager.getStore();
+        } catch (IOException e) {
+            onFailed.accept(e);
+            return;
+        }
+        SavePipeline.save(store, slot, createGameState(player, world), onSaved, onFailed);
+        if (thumbnail != null) {
+            SavePipeline.saveThumbnail(slot, thumbnail);
+        }
+    }
+
+    /**
+     * Method used to create the game state to store data. The items are copied, so the state is a snapshot
+     * which doesn't change with the game and can be written on another thread
+     * @param player whose state to store
+     * @param world which world is the data taken from
+     * @return the game state with now saved attributes
+     */
+    public static GameStateGUI createGameState(Player player, World world) {
+        GameStateGUI state = new GameStateGUI();
+        state.setPlayerHealth(player.getHealth());
+        state.setPlayerStamina(player.getCurrentStamina());
+        state.setPlayerPosition(player.getX(), player.getY());
+        state.setCurrentRoomName(player.getCurrentRoomKey());
+        List<Item> inventory = new ArrayList<>();
+        Weapon equippedWeapon = player.getEquippedWeapon();
+        Item equippedCopy = null;
+        for (Item item : player.getInventory().getItems()) {
+            Item copy = ItemCatalog.copy(item);
+            inventory.add(copy);
+            if (item == equippedWeapon) {
+                equippedCopy = copy;
+            }
+        }
+        if (equippedWeapon != null && equippedCopy == null) {
+            equippedCopy = ItemCatalog.copy(equippedWeapon);
+        }
+        state.setInventory(inventory);
+        state.setEquippedWeapon((Weapon) equippedCopy);
+        state.setSearchedSpots(getSearchedSpots(world));
+        state.setDroppedItems(getDroppedItems(world));
+        state.setLockStates(world.getAllLockStates());
+        state.setStalkerDistance(world.getStalkerDistance());
+        state.setPlayTime(player.getPlayTime());
+        state.setSavedAt(System.currentTimeMillis());
+        return state;
+    }
+
+    /**
+     * Method used to create the game state of the text version of the game
+     * @param player whose state to store
+     * @param world which world is the data taken from
+     * @return the GameState instance
+     */
+    public static GameState createTextGameState(Player player, World world) {
+        GameState state = new GameState();
+        state.setPlayerHealth(player.getHealth());
+        state.setEquippedWeapon(player.getEquippedWeapon());
+        state.setInventory(new ArrayList<>(player.getInventory().getItems()));
+        // The text version moves the world's current room, the player's room name may lag behind
+        Room currentRoom = world.getCurrentRoom();
+        state.setCurrentRoomName(currentRoom != null ? currentRoom.getName() : player.getCurrentRoomKey());
+        // Get flashlight state
+        Flashlight flashlight = (Flashlight) player.findItemInInventory("Flashlight");
+        if (flashlight != null) {
+            state.setFlashlightBattery(flashlight.getBatteryLevel());
+            state.setFlashlightInCellar(flashlight.getIsInCellar());
+        }
+        // Get combat state
+        state.setPlayerFighting(player.isFighting());
+        state.setPlayerBlocking(player.isBlocking());
+        // Get world state
+        state.setInsertedGears(world.getGearLock().getInsertedGears());
+        state.setLockStates(world.getAllLockStates());
+        Map<String, List<String>> searchedSpots = getSearchedSpots(world);
+        searchedSpots.values().removeIf(List::isEmpty);
+        state.setSearchedSpotsPerRoom(searchedSpots);
+        state.setStalkerDistance(world.getStalkerDistance());
+        return state;
+    }
+
     /**
      * Method used to get all the already searched spots
      * @param world which world is the data taken from
@@ -64,19 +148,13 @@ public class SaveHelper {
     }
 
     /**
-     * Method used to obtain the save's metadata
-     * @param saveFile which file are we accessing
+     * Method used to obtain the save's metadata, read from the slot table instead of loading the save
+     * @param slot name of the save
      * @return the metadata
      */
-    public static String getSaveMetadata(File saveFile) {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(saveFile))) {
-            GameStateGUI state = (GameStateGUI) in.readObject();
-            return String.format("Health: %d | Room: %s",
-                    state.getPlayerHealth(),
-                    state.getCurrentRoomName());
-        } catch (Exception e) {
-            return "Unknown save data";
-        }
+    public static String getSaveMetadata(String slot) {
+        SaveMetadata metadata = SaveManager.getSaveMetadata(slot);
+        return metadata != null ? metadata.getSummary() : "Unknown save data";
     }
 
     /**
@@ -90,7 +168,7 @@ public class SaveHelper {
             List<ItemPosition> items = new ArrayList<>();
             for (Map.Entry<Item, Point2D> entry : room.getItemPositions().entrySet()) {
                 Point2D pos = entry.getValue();
-                items.add(new ItemPosition(entry.getKey(), pos.getX(), pos.getY()));
+                items.add(new ItemPosition(ItemCatalog.copy(entry.getKey()), pos.getX(), pos.getY()));
             }
             droppedItems.put(room.getName(), items);
         }
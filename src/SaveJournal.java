@@ -0,0 +1,505 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * Class used to save a game incrementally into a slot of the SlotStore. The slot starts with a base snapshot(a normal save, see SaveCodec),
+ * followed by delta records appended in place, each with only what changed since the previous save:
+ * the player's values, changed and removed lock states, searched spots, inventory operations and dropped items.
+ * Once the records grow over a threshold, or don't fit into the slot anymore, they are compacted into a new base snapshot.
+ * The slot's checksum covers the records, a record cut off by a crash is dropped together with the rest of the unfinished write.
+ * Not thread-safe by itself, the saves are written on the save thread(see SavePipeline)
+ */
+public class SaveJournal {
+    /**
+     * Size of the records in bytes after which they are compacted into a new base
+     */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 4 * 1024;
+    /**
+     * Size of the length in front of every record
+     */
+    private static final int RECORD_HEADER_SIZE = 4;
+    /**
+     * Value written instead of a lock's state(0 unlocked, 1 locked) once the lock isn't in the state anymore
+     */
+    private static final int LOCK_REMOVED = 2;
+    /**
+     * Store holding the save
+     */
+    private final SlotStore store;
+    /**
+     * Name of the save's slot
+     */
+    private final String name;
+    /**
+     * Size of the records in bytes after which they are compacted
+     */
+    private final int compactionThreshold;
+    /**
+     * The state as stored in the slot, the next delta is made against it, null until the slot has been read
+     */
+    private GameStateGUI current;
+    /**
+     * Sequence number of the slot after it has been last written here
+     */
+    private long sequence = -1;
+    /**
+     * Size of the records after the base
+     */
+    private int journalLength;
+    /**
+     * How many times the records have been compacted
+     */
+    private int compactions;
+
+    /**
+     * Constructor
+     * @param store store holding the save
+     * @param name name of the save's slot
+     */
+    public SaveJournal(SlotStore store, String name) {
+        this(store, name, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     * @param store store holding the save
+     * @param name name of the save's slot
+     * @param compactionThreshold size of the records in bytes after which they are compacted
+     */
+    public SaveJournal(SlotStore store, String name, int compactionThreshold) {
+        this.store = store;
+        this.name = name;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Getter for 'journalLength'
+     * @return value of 'journalLength'
+     */
+    public int getJournalLength() {
+        return journalLength;
+    }
+
+    /**
+     * Getter for 'compactions'
+     * @return value of 'compactions'
+     */
+    public int getCompactions() {
+        return compactions;
+    }
+
+    /**
+     * Method used to save a snapshot of the game state, by appending the changes since the previous save to the slot.
+     * Writes a new base instead if there is no base yet, and compacts the records once they get over the threshold
+     * @param snapshot the game state, must not be changed after being passed here
+     * @throws IOException if the slot couldn't be written
+     */
+    public void save(GameStateGUI snapshot) throws IOException {
+        if (current != null && store.getSequence(name) != sequence) {
+            // The slot has been overwritten or deleted by someone else, read it again
+            current = null;
+        }
+        if (current == null) {
+            readSlot();
+        }
+        if (current == null) {
+            writeBase(snapshot);
+            return;
+        }
+        byte[] record = encodeDelta(current, snapshot);
+        byte[] framed = new byte[RECORD_HEADER_SIZE + record.length];
+        writeInt(framed, 0, record.length);
+        System.arraycopy(record, 0, framed, RECORD_HEADER_SIZE, record.length);
+        if (journalLength + framed.length > compactionThreshold
+                || !store.append(name, framed, SaveCodec.encodeHeader(snapshot))) {
+            writeBase(snapshot);
+            compactions++;
+            return;
+        }
+        journalLength += framed.length;
+        current = snapshot;
+        sequence = store.getSequence(name);
+    }
+
+    /**
+     * Method used to compact the records, by writing the current state as a new base
+     * @throws IOException if the slot couldn't be written
+     */
+    public void compact() throws IOException {
+        if (current == null || store.getSequence(name) != sequence) {
+            readSlot();
+        }
+        if (current != null) {
+            writeBase(current);
+            compactions++;
+        }
+    }
+
+    /**
+     * Method used to decode a slot, the records are applied onto the base
+     * @param slot content of the slot
+     * @return the decoded GameStateGUI or GameState
+     * @throws IOException if the base isn't a valid save
+     */
+    public static Object decode(SlotStore.Slot slot) throws IOException {
+        Object state = SaveCodec.decode(slot.getBase());
+        if (state instanceof GameStateGUI) {
+            apply(slot, (GameStateGUI) state);
+        }
+        return state;
+    }
+
+    /**
+     * Method used to apply the records of a slot onto its decoded base
+     * @param slot content of the slot
+     * @param state the decoded base, the changes are applied onto it
+     * @throws IOException if a record is broken
+     */
+    private static void apply(SlotStore.Slot slot, GameStateGUI state) throws IOException {
+        byte[] data = slot.getData();
+        int position = slot.getBaseLength();
+        while (position < data.length) {
+            if (position + RECORD_HEADER_SIZE > data.length) {
+                throw new IOException("Record of save " + slot.getName() + " is cut off");
+            }
+            int length = readInt(data, position);
+            int start = position + RECORD_HEADER_SIZE;
+            if (length < 0 || length > data.length - start) {
+                throw new IOException("Record of save " + slot.getName() + " is cut off");
+            }
+            applyDelta(new SaveCodec.Reader(Arrays.copyOfRange(data, start, start + length), 0), state);
+            position = start + length;
+        }
+    }
+
+    /**
+     * Method used to read the slot, to have the state the next delta is made against
+     */
+    private void readSlot() {
+        current = null;
+        try {
+            SlotStore.Slot slot = store.read(name);
+            if (slot == null) return;
+            Object decoded = decode(slot);
+            if (!(decoded instanceof GameStateGUI)) return;
+            current = (GameStateGUI) decoded;
+            sequence = slot.getSequence();
+            journalLength = slot.getData().length - slot.getBaseLength();
+        } catch (IOException e) {
+            System.err.println("Could not read save " + name + ", writing a new one: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Method used to write a new base, dropping the records
+     * @param state the state to write
+     * @throws IOException if the slot couldn't be written
+     */
+    private void writeBase(GameStateGUI state) throws IOException {
+        store.write(name, SaveCodec.encode(state));
+        current = state;
+        sequence = store.getSequence(name);
+        journalLength = 0;
+    }
+
+    /**
+     * Method used to encode the changes between two states
+     * @param previous the state already stored
+     * @param next the new state
+     * @return the encoded record
+     */
+    static byte[] encodeDelta(GameStateGUI previous, GameStateGUI next) {
+        SaveCodec.Writer out = new SaveCodec.Writer();
+        out.writeSignedVarInt(next.getPlayerHealth());
+        out.writeDouble(next.getPlayerStamina());
+        out.writeDouble(next.getPlayerX());
+        out.writeDouble(next.getPlayerY());
+        out.writeString(next.getCurrentRoomName());
+        out.writeLong(Math.round(next.getPlayTime() * 1000));
+        out.writeLong(next.getSavedAt());
+        out.writeSignedVarInt(next.getStalkerDistance());
+
+        Map<String, Boolean> oldLocks = orEmpty(previous.getLockStates());
+        Map<String, Boolean> newLocks = orEmpty(next.getLockStates());
+        List<String> changedLocks = new ArrayList<>();
+        for (String lock : union(oldLocks.keySet(), newLocks.keySet())) {
+            if (oldLocks.containsKey(lock) != newLocks.containsKey(lock) || !Objects.equals(oldLocks.get(lock), newLocks.get(lock))) {
+                changedLocks.add(lock);
+            }
+        }
+        out.writeVarInt(changedLocks.size());
+        for (String name : changedLocks) {
+            out.writeString(name);
+            if (!newLocks.containsKey(name)) {
+                out.writeByte(LOCK_REMOVED);
+            } else {
+                out.writeByte(Boolean.TRUE.equals(newLocks.get(name)) ? 1 : 0);
+            }
+        }
+
+        Map<String, List<String>> oldSpots = orEmpty(previous.getSearchedSpots());
+        Map<String, List<String>> newSpots = orEmpty(next.getSearchedSpots());
+        List<String> changedRooms = changedKeys(oldSpots, newSpots);
+        out.writeVarInt(changedRooms.size());
+        for (String room : changedRooms) {
+            List<String> spots = newSpots.getOrDefault(room, Collections.emptyList());
+            out.writeString(room);
+            out.writeVarInt(spots.size());
+            for (String spot : spots) {
+                out.writeString(spot);
+            }
+        }
+
+        // Inventory as operations: keep the unchanged beginning, then add the rest
+        List<Item> oldInventory = orEmpty(previous.getInventory());
+        List<Item> newInventory = orEmpty(next.getInventory());
+        int kept = 0;
+        while (kept < oldInventory.size() && kept < newInventory.size()
+                && sameItem(oldInventory.get(kept), newInventory.get(kept))) {
+            kept++;
+        }
+        out.writeVarInt(kept);
+        out.writeVarInt(newInventory.size() - kept);
+        for (int i = kept; i < newInventory.size(); i++) {
+            SaveCodec.writeItem(out, newInventory.get(i));
+        }
+        Weapon equipped = next.getEquippedWeapon();
+        int equippedIndex = -1;
+        for (int i = 0; i < newInventory.size(); i++) {
+            if (newInventory.get(i) == equipped) {
+                equippedIndex = i;
+            }
+        }
+        if (equipped == null) {
+            out.writeVarInt(SaveCodec.EQUIPPED_NONE);
+        } else if (equippedIndex >= 0) {
+            out.writeVarInt(SaveCodec.EQUIPPED_INVENTORY + equippedIndex);
+        } else {
+            out.writeVarInt(SaveCodec.EQUIPPED_ITEM);
+            SaveCodec.writeItem(out, equipped);
+        }
+
+        Map<String, List<ItemPosition>> oldDropped = orEmpty(previous.getDroppedItems());
+        Map<String, List<ItemPosition>> newDropped = orEmpty(next.getDroppedItems());
+        List<String> changedDropped = new ArrayList<>();
+        for (String room : union(oldDropped.keySet(), newDropped.keySet())) {
+            if (!sameItems(oldDropped.get(room), newDropped.get(room))) {
+                changedDropped.add(room);
+            }
+        }
+        out.writeVarInt(changedDropped.size());
+        for (String room : changedDropped) {
+            List<ItemPosition> items = newDropped.getOrDefault(room, Collections.emptyList());
+            out.writeString(room);
+            out.writeVarInt(items.size());
+            for (ItemPosition position : items) {
+                SaveCodec.writeItem(out, position.getItem());
+                out.writeDouble(position.getX());
+                out.writeDouble(position.getY());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Method used to apply a record onto a state
+     * @param in reader over the record
+     * @param state the state to change
+     * @throws IOException if the record is broken
+     */
+    static void applyDelta(SaveCodec.Reader in, GameStateGUI state) throws IOException {
+        state.setPlayerHealth(in.readSignedVarInt());
+        state.setPlayerStamina(in.readDouble());
+        double x = in.readDouble();
+        double y = in.readDouble();
+        state.setPlayerPosition(x, y);
+        state.setCurrentRoomName(in.readString());
+        state.setPlayTime(in.readLong() / 1000.0);
+        state.setSavedAt(in.readLong());
+        state.setStalkerDistance(in.readSignedVarInt());
+
+        Map<String, Boolean> lockStates = new HashMap<>(orEmpty(state.getLockStates()));
+        int locks = in.readCount();
+        for (int i = 0; i < locks; i++) {
+            String name = in.readString();
+            int value = in.readByte();
+            if (value == LOCK_REMOVED) {
+                lockStates.remove(name);
+            } else {
+                lockStates.put(name, value != 0);
+            }
+        }
+        state.setLockStates(lockStates);
+
+        Map<String, List<String>> searchedSpots = new HashMap<>(orEmpty(state.getSearchedSpots()));
+        int rooms = in.readCount();
+        for (int i = 0; i < rooms; i++) {
+            String room = in.readString();
+            int count = in.readCount();
+            List<String> spots = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                spots.add(in.readString());
+            }
+            searchedSpots.put(room, spots);
+        }
+        state.setSearchedSpots(searchedSpots);
+
+        List<Item> oldInventory = orEmpty(state.getInventory());
+        int kept = in.readIndex();
+        int added = in.readCount();
+        if (kept > oldInventory.size()) {
+            throw new IOException("Journal keeps " + kept + " items of an inventory of " + oldInventory.size());
+        }
+        List<Item> inventory = new ArrayList<>(oldInventory.subList(0, kept));
+        for (int i = 0; i < added; i++) {
+            inventory.add(SaveCodec.readItem(in));
+        }
+        state.setInventory(inventory);
+        int equipped = in.readIndex();
+        Item weapon;
+        if (equipped == SaveCodec.EQUIPPED_NONE) {
+            weapon = null;
+        } else if (equipped == SaveCodec.EQUIPPED_ITEM) {
+            weapon = SaveCodec.readItem(in);
+        } else if (equipped - SaveCodec.EQUIPPED_INVENTORY < inventory.size()) {
+            weapon = inventory.get(equipped - SaveCodec.EQUIPPED_INVENTORY);
+        } else {
+            throw new IOException("Equipped weapon is outside of the inventory");
+        }
+        if (weapon != null && !(weapon instanceof Weapon)) {
+            throw new IOException("Equipped item " + weapon.getName() + " is not a weapon");
+        }
+        state.setEquippedWeapon((Weapon) weapon);
+
+        Map<String, List<ItemPosition>> droppedItems = new HashMap<>(orEmpty(state.getDroppedItems()));
+        int droppedRooms = in.readCount();
+        for (int i = 0; i < droppedRooms; i++) {
+            String room = in.readString();
+            int count = in.readCount();
+            List<ItemPosition> positions = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                Item item = SaveCodec.readItem(in);
+                double itemX = in.readDouble();
+                double itemY = in.readDouble();
+                positions.add(new ItemPosition(item, itemX, itemY));
+            }
+            droppedItems.put(room, positions);
+        }
+        state.setDroppedItems(droppedItems);
+        if (!in.isAtEnd()) {
+            throw new IOException("Unexpected data at the end of a journal record");
+        }
+    }
+
+    /**
+     * Method used to check whether two items would be saved the same way
+     * @param a first item
+     * @param b second item
+     * @return true if they have the same definition and the same own values
+     */
+    private static boolean sameItem(Item a, Item b) {
+        int id = ItemCatalog.idOf(a);
+        if (id != ItemCatalog.idOf(b)) return false;
+        if (id == ItemCatalog.NO_DEFINITION) {
+            return a.getClass() == b.getClass() && Objects.equals(a.getName(), b.getName())
+                    && Objects.equals(a.getDescription(), b.getDescription());
+        } else if (a instanceof Weapon) {
+            return ((Weapon) a).getCurrentAmmo() == ((Weapon) b).getCurrentAmmo();
+        } else if (a instanceof Ammo) {
+            return ((Ammo) a).getAmount() == ((Ammo) b).getAmount();
+        } else if (a instanceof Flashlight) {
+            return ((Flashlight) a).getBatteryLevel() == ((Flashlight) b).getBatteryLevel();
+        }
+        return true;
+    }
+
+    /**
+     * Method used to check whether two lists of dropped items would be saved the same way
+     * @param a first list, may be null
+     * @param b second list, may be null
+     * @return true if the items and their positions are the same
+     */
+    private static boolean sameItems(List<ItemPosition> a, List<ItemPosition> b) {
+        if (a == null || b == null) return a == b;
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            ItemPosition first = a.get(i);
+            ItemPosition second = b.get(i);
+            if (first.getX() != second.getX() || first.getY() != second.getY()
+                    || !sameItem(first.getItem(), second.getItem())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method used to find the keys whose values differ between two maps, including keys only in one of them
+     * @param previous the old map
+     * @param next the new map
+     * @return the changed keys
+     */
+    private static <V> List<String> changedKeys(Map<String, V> previous, Map<String, V> next) {
+        List<String> changed = new ArrayList<>();
+        for (String key : union(previous.keySet(), next.keySet())) {
+            if (!Objects.equals(previous.get(key), next.get(key))) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Method used to join two sets of keys, in a stable order
+     * @param a first set
+     * @param b second set
+     * @return keys in any of the sets
+     */
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> keys = new LinkedHashSet<>(b);
+        keys.addAll(a);
+        return keys;
+    }
+
+    /**
+     * Method used to treat a missing map as an empty one
+     * @param map the map, may be null
+     * @return the map, or an empty map
+     */
+    private static <V> Map<String, V> orEmpty(Map<String, V> map) {
+        return map == null ? Collections.emptyMap() : map;
+    }
+
+    /**
+     * Method used to treat a missing list as an empty one
+     * @param list the list, may be null
+     * @return the list, or an empty list
+     */
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    /**
+     * Method used to read a big-endian int from a byte array
+     * @param data the bytes
+     * @param offset where the int starts
+     * @return the int
+     */
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16
+                | (data[offset + 2] & 0xFF) << 8 | data[offset + 3] & 0xFF;
+    }
+
+    /**
+     * Method used to write a big-endian int into a byte array
+     * @param data the bytes
+     * @param offset where the int starts
+     * @param value the int
+     */
+    private static void writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,215 @@
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Class used to show the saves in the save menus. Only the rows which are visible are created(and reused while scrolling),
+ * the thumbnails of the saves are loaded on a background thread once their row is shown, so the list opens instantly with any amount of saves
+ */
+public class SaveListView extends ListView<SaveMetadata> {
+    /**
+     * Height of a row, in pixels
+     */
+    public static final double ROW_HEIGHT = SaveThumbnail.MAX_HEIGHT + 12;
+    /**
+     * Maximum amount of thumbnails kept in memory
+     */
+    private static final int CACHE_SIZE = 128;
+    /**
+     * Executor loading the thumbnails, with a single daemon thread so it doesn't keep the game running
+     */
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thumbnail-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Map used to store the loaded thumbnails (save name and modification time, image or null if the save has none), in the order they've been used in
+     */
+    private static final Map<String, Image> THUMBNAILS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    /**
+     * Text of the button of each row
+     */
+    private final String actionText;
+    /**
+     * Style class of the button of each row
+     */
+    private final String buttonStyleClass;
+    /**
+     * Called with the save whose button has been pressed
+     */
+    private final Consumer<SaveMetadata> action;
+
+    /**
+     * Constructor, the saves are listed right away
+     * @param actionText text of the button of each row
+     * @param buttonStyleClass style class of the button of each row
+     * @param action called with the save whose button has been pressed
+     */
+    public SaveListView(String actionText, String buttonStyleClass, Consumer<SaveMetadata> action) {
+        this.actionText = actionText;
+        this.buttonStyleClass = buttonStyleClass;
+        this.action = action;
+        setStyle("-fx-background-color: transparent; -fx-control-inner-background: transparent;");
+        setFixedCellSize(ROW_HEIGHT);
+        setCellFactory(list -> new SaveCell());
+        Label noSaves = new Label("No saved games found");
+        noSaves.setStyle("-fx-text-fill: lightgray; -fx-font-size: 18;");
+        setPlaceholder(noSaves);
+        refreshSaves();
+    }
+
+    /**
+     * Method used to list the saves again, only their metadata is read(from the slot table)
+     */
+    public void refreshSaves() {
+        setItems(FXCollections.observableArrayList(SaveManager.getSaveMetadata()));
+    }
+
+    /**
+     * Method used to get the key of the thumbnail of a save, the modification time makes overwritten saves load their new thumbnail
+     * @param save which save
+     * @return the key
+     */
+    private static String thumbnailKey(SaveMetadata save) {
+        return save.getName() + "@" + save.getLastModified();
+    }
+
+    /**
+     * Class used to show a single save, the cell is reused for other saves while scrolling
+     */
+    private class SaveCell extends ListCell<SaveMetadata> {
+        /**
+         * The row shown as the cell's graphic
+         */
+        private final HBox row;
+        /**
+         * View of the save's thumbnail
+         */
+        private final ImageView thumbnail = new ImageView();
+        /**
+         * Label with the name of the save
+         */
+        private final Label nameLabel = new Label();
+        /**
+         * Label with the summary of the save
+         */
+        private final Label metaLabel = new Label();
+        /**
+         * Key of the thumbnail the cell shows, written on the JavaFX thread and read by the loader
+         */
+        private volatile String shownKey;
+
+        /**
+         * Constructor
+         */
+        SaveCell() {
+            thumbnail.setFitWidth(SaveThumbnail.WIDTH);
+            thumbnail.setFitHeight(SaveThumbnail.MAX_HEIGHT);
+            thumbnail.setPreserveRatio(true);
+            thumbnail.setSmooth(true);
+            StackPane frame = new StackPane(thumbnail);
+            frame.setMinSize(SaveThumbnail.WIDTH, SaveThumbnail.MAX_HEIGHT);
+            frame.setMaxSize(SaveThumbnail.WIDTH, SaveThumbnail.MAX_HEIGHT);
+            frame.setStyle("-fx-background-color: #111;");
+            nameLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
+            metaLabel.setStyle("-fx-text-fill: #aaa; -fx-font-size: 12;");
+            VBox infoBox = new VBox(5, nameLabel, metaLabel);
+            infoBox.setAlignment(Pos.CENTER_LEFT);
+            HBox.setHgrow(infoBox, Priority.ALWAYS);
+            Button button = new Button(actionText);
+            button.getStyleClass().add(buttonStyleClass);
+            button.setOnAction(e -> {
+                if (getItem() != null) {
+                    action.accept(getItem());
+                }
+            });
+            row = new HBox(10, frame, infoBox, button);
+            row.getStyleClass().add("save-entry");
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.setPadding(new Insets(5));
+            setStyle("-fx-background-color: transparent;");
+        }
+
+        /**
+         * Method used to show a save in the cell, the cell is reused for other saves while scrolling
+         * @param save the save, null if the cell is empty
+         * @param empty is the cell empty?
+         */
+        @Override
+        protected void updateItem(SaveMetadata save, boolean empty) {
+            super.updateItem(save, empty);
+            if (empty || save == null) {
+                shownKey = null;
+                thumbnail.setImage(null);
+                setGraphic(null);
+                return;
+            }
+            nameLabel.setText(save.getName());
+            metaLabel.setText(save.getSummary());
+            String key = thumbnailKey(save);
+            shownKey = key;
+            synchronized (THUMBNAILS) {
+                if (THUMBNAILS.containsKey(key)) {
+                    thumbnail.setImage(THUMBNAILS.get(key));
+                } else {
+                    thumbnail.setImage(null);
+                    LOADER.execute(() -> loadThumbnail(save.getName(), key));
+                }
+            }
+            setGraphic(row);
+        }
+
+        /**
+         * Method used to load a thumbnail and show it once loaded, called on the loader's thread.
+         * Nothing is loaded if the cell has been scrolled to another save in the meantime
+         * @param name name of the save
+         * @param key key of the thumbnail
+         */
+        private void loadThumbnail(String name, String key) {
+            if (!key.equals(shownKey)) return;
+            Image image;
+            boolean cached;
+            synchronized (THUMBNAILS) {
+                // Another cell may have loaded it while this task was waiting
+                cached = THUMBNAILS.containsKey(key);
+                image = THUMBNAILS.get(key);
+            }
+            if (!cached) {
+                SaveThumbnail loaded = SaveManager.readThumbnail(name);
+                image = loaded != null ? loaded.toImage() : null;
+                synchronized (THUMBNAILS) {
+                    THUMBNAILS.put(key, image);
+                }
+            }
+            Image shown = image;
+            Platform.runLater(() -> {
+                if (key.equals(shownKey)) {
+                    thumbnail.setImage(shown);
+                }
+            });
+        }
+    }
+}
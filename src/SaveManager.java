@@ -1,52 +1,259 @@
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
-/** Class used to manage save files */
+/** Class used to manage the saves, all of them are stored in a single slot store(see SlotStore), with their bodies deduplicated in a chunk store(see ChunkStore) */
 public class SaveManager {
     /**
      * Name of the folder for saves
      */
     private static final String SAVE_FOLDER = "saves/";
+    /**
+     * Name of the slot store file inside the save folder
+     */
+    private static final String STORE_FILE = "slots.bin";
+    /**
+     * Name of the chunk store file inside the save folder
+     */
+    private static final String CHUNK_FILE = "chunks.bin";
+    /**
+     * Folder the imported save files are moved into
+     */
+    private static final String IMPORTED_FOLDER = "imported";
+    /**
+     * Folder the thumbnails of the saves are stored in, they are only cosmetic so they're kept outside of the slot store
+     */
+    private static final String THUMBNAIL_FOLDER = "thumbnails";
+    /**
+     * Extension of the thumbnail files
+     */
+    private static final String THUMBNAIL_EXTENSION = ".thm";
+    /**
+     * Prefix of the names of the saves made by the player
+     */
+    private static final String SAVE_PREFIX = "save_";
+    /**
+     * The slot store, opened when first needed
+     */
+    private static SlotStore store;
+    /**
+     * Highest number of a new save name given out so far, the saves are written in the background,
+     * so a name may be given out before its save is in the store
+     */
+    private static int lastSaveNumber;
 
     /**
-     * Method used to get the save files from the folder
-     * @return new Arraylist if save directory doesn't exist, or array of names of the files in the save directory
+     * Constructor, the class is only used statically
      */
-    public static List<String> getSaveFiles() {
-        File saveDir = new File(SAVE_FOLDER);
-        if (!saveDir.exists()) {
-            saveDir.mkdirs();
+    private SaveManager() {
+    }
+
+    /**
+     * Method used to get the slot store holding the saves, the store is opened together with its chunk store when first needed
+     * @return the store
+     * @throws IOException if the store couldn't be opened
+     */
+    public static synchronized SlotStore getStore() throws IOException {
+        if (store == null) {
+            ChunkStore chunks = new ChunkStore(new File(SAVE_FOLDER, CHUNK_FILE));
+            try {
+                store = new SlotStore(new File(SAVE_FOLDER, STORE_FILE), chunks);
+            } catch (IOException e) {
+                chunks.close();
+                throw e;
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Method used to get the metadata of all the saves, only the slot table is read
+     * @return the metadata, newest saves first, empty if the store couldn't be opened
+     */
+    public static List<SaveMetadata> getSaveMetadata() {
+        try {
+            return getStore().list();
+        } catch (IOException e) {
+            System.err.println("Could not open the saves: " + e.getMessage());
             return new ArrayList<>();
         }
+    }
 
-        File[] files = saveDir.listFiles((dir, name) -> name.startsWith("save_"));
-        if (files == null) return new ArrayList<>();
+    /**
+     * Method used to get the metadata of a single save
+     * @param name name of the save
+     * @return the metadata, null if there is no such save
+     */
+    public static SaveMetadata getSaveMetadata(String name) {
+        try {
+            return getStore().getMetadata(name);
+        } catch (IOException e) {
+            System.err.println("Could not open the saves: " + e.getMessage());
+            return null;
+        }
+    }
 
-        Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
-        return Arrays.stream(files).map(File::getName).toList();
+    /**
+     * Method used to read a save
+     * @param name name of the save
+     * @return the stored GameStateGUI or GameState
+     * @throws IOException if there is no such save or it couldn't be read
+     */
+    public static Object readSave(String name) throws IOException {
+        SlotStore.Slot slot = getStore().read(name);
+        if (slot == null) {
+            throw new IOException("There is no save " + name);
+        }
+        return SaveJournal.decode(slot);
     }
 
     /**
-     * Method used to delete saves
-     * @param filename name of the file to delete
-     * @return true/false based on whether the file had been successfully deleted
+     * Method used to read a save of the GUI version of the game
+     * @param name name of the save
+     * @return the stored state
+     * @throws IOException if the save couldn't be read or doesn't hold a GameStateGUI
      */
-    public static boolean deleteSave(String filename) {
-        File file = new File(SAVE_FOLDER + filename);
-        return file.delete();
+    public static GameStateGUI readGameStateGUI(String name) throws IOException {
+        Object state = readSave(name);
+        if (!(state instanceof GameStateGUI)) {
+            throw new IOException(name + " is not a save of the GUI version");
+        }
+        return (GameStateGUI) state;
     }
 
     /**
-     * Method used to get the new save name when creating a new save
-     * @return name of the new save
+     * Method used to read a save of the text version of the game
+     * @param name name of the save
+     * @return the stored state
+     * @throws IOException if the save couldn't be read or doesn't hold a GameState
      */
-    public static String getNewSaveName() {
-        List<String> saves = getSaveFiles();
-        int maxNumber = saves.stream()
-                .map(s -> s.replace("save_", "").replace(".dat", ""))
-                .mapToInt(Integer::parseInt)
-                .max()
-                .orElse(0);
-        return "save_" + (maxNumber + 1) + ".dat";
+    public static GameState readGameState(String name) throws IOException {
+        Object state = readSave(name);
+        if (!(state instanceof GameState)) {
+            throw new IOException(name + " is not a save of the text version");
+        }
+        return (GameState) state;
+    }
+
+    /**
+     * Method used to write a save of the GUI version of the game, overwriting the save with the same name
+     * @param name name of the save
+     * @param state which state to write
+     * @throws IOException if the save couldn't be written
+     */
+    public static void writeSave(String name, GameStateGUI state) throws IOException {
+        getStore().write(name, SaveCodec.encode(state));
+    }
+
+    /**
+     * Method used to write a save of the text version of the game, overwriting the save with the same name
+     * @param name name of the save
+     * @param state which state to write
+     * @throws IOException if the save couldn't be written
+     */
+    public static void writeSave(String name, GameState state) throws IOException {
+        getStore().write(name, SaveCodec.encode(state));
+    }
+
+    /**
+     * Method used to write the thumbnail of a save, overwriting the previous one
+     * @param name name of the save
+     * @param thumbnail the thumbnail
+     * @throws IOException if the thumbnail couldn't be written
+     */
+    public static void writeThumbnail(String name, SaveThumbnail thumbnail) throws IOException {
+        File file = getThumbnailFile(name);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), thumbnail.encode());
+    }
+
+    /**
+     * Method used to read the thumbnail of a save
+     * @param name name of the save
+     * @return the thumbnail, null if the save doesn't have one or it couldn't be read
+     */
+    public static SaveThumbnail readThumbnail(String name) {
+        File file = getThumbnailFile(name);
+        if (!file.isFile()) return null;
+        try {
+            return SaveThumbnail.decode(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            System.err.println("Could not read thumbnail of " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Method used to get the file the thumbnail of a save is stored in
+     * @param name name of the save
+     * @return the file
+     */
+    private static File getThumbnailFile(String name) {
+        return new File(new File(SAVE_FOLDER, THUMBNAIL_FOLDER), name + THUMBNAIL_EXTENSION);
+    }
+
+    /**
+     * Method used to import the save files written by older versions of the game into the slot store,
+     * serialized saves are converted on the way. The imported files are moved into a subfolder
+     * @return amount of imported saves
+     */
+    public static int importSaveFiles() {
+        File saveDir = new File(SAVE_FOLDER);
+        File[] files = saveDir.listFiles((dir, name) -> name.endsWith(".dat"));
+        if (files == null || files.length == 0) return 0;
+        File importedDir = new File(saveDir, IMPORTED_FOLDER);
+        int imported = 0;
+        for (File file : files) {
+            try {
+                SlotStore slots = getStore();
+                String name = file.getName().substring(0, file.getName().length() - ".dat".length());
+                if (name.isEmpty() || name.length() > SlotStore.MAX_NAME_LENGTH || slots.contains(name)) {
+                    name = getNewSaveName();
+                }
+                slots.write(name, SaveCodec.upgrade(Files.readAllBytes(file.toPath())), file.lastModified());
+                importedDir.mkdirs();
+                Files.move(file.toPath(), new File(importedDir, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                imported++;
+            } catch (IOException e) {
+                System.err.println("Could not import save " + file.getName() + ": " + e.getMessage());
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * Method used to delete saves together with their thumbnails, the chunks only the deleted save referenced are dropped once the chunk store gets compacted
+     * @param name name of the save to delete
+     * @return true/false based on whether the save had been successfully deleted
+     */
+    public static boolean deleteSave(String name) {
+        getThumbnailFile(name).delete();
+        try {
+            return getStore().delete(name);
+        } catch (IOException e) {
+            System.err.println("Could not delete save " + name + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Method used to get the new save name when creating a new save, the name is reserved,
+     * so it isn't given out again even if its save hasn't been written yet
+     * @return name of the new save(save_ followed by a number higher than the number of any save and of any name given out before)
+     */
+    public static synchronized String getNewSaveName() {
+        int maxNumber = lastSaveNumber;
+        for (SaveMetadata save : getSaveMetadata()) {
+            String name = save.getName();
+            if (!name.startsWith(SAVE_PREFIX)) continue;
+            try {
+                maxNumber = Math.max(maxNumber, Integer.parseInt(name.substring(SAVE_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                // Named differently(e.g. by an older version of the game), doesn't take part in the numbering
+            }
+        }
+        lastSaveNumber = maxNumber + 1;
+        return SAVE_PREFIX + lastSaveNumber;
     }
-}
\ No newline at end of file
+}
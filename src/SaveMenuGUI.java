@@ -1,32 +1,24 @@
 
 import javafx.geometry.Insets;
-import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 
-import java.io.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 /**
  * Class used to create, style and set the menu for saving the game
  */
 public class SaveMenuGUI extends StackPane {
-    /**
-     * folder used to store the save files
-     */
-    private static final String SAVE_FOLDER = "saves/";
     /**
      * GameGUI instance
      */
     private final GameGUI gameGUI;
     /**
-     * Container used to store the save files
+     * List of the save files
      */
-    private final VBox saveListContainer;
+    private final SaveListView saveList;
 
     /**
      * Method used to set and style the save menu's behavior and appearance
@@ -43,10 +35,10 @@ public class SaveMenuGUI extends StackPane {
         // Title
         Label title = new Label("SAVED GAMES");
         title.getStyleClass().add("save-title");
-        // Save list container
-        saveListContainer = new VBox(10);
-        saveListContainer.setAlignment(Pos.CENTER);
-        saveListContainer.setPrefWidth(400);
+        // Save list, only the visible rows are created and their thumbnails are loaded in the background
+        saveList = new SaveListView("OVERWRITE", "save-button", save -> confirmOverwrite(save.getName()));
+        saveList.setPrefWidth(400);
+        saveList.setPrefHeight(300);
         // New save button
         Button newSaveButton = new Button("NEW SAVE");
         newSaveButton.getStyleClass().add("save-button");
@@ -55,50 +47,15 @@ public class SaveMenuGUI extends StackPane {
         Button closeButton = new Button("CLOSE");
         closeButton.getStyleClass().add("save-button");
         closeButton.setOnAction(e -> closeMenu());
-        mainContainer.getChildren().addAll(title, saveListContainer, newSaveButton, closeButton);
+        mainContainer.getChildren().addAll(title, saveList, newSaveButton, closeButton);
         getChildren().add(mainContainer);
-        // Load existing saves
-        refreshSaveList();
-    }
-
-    /**
-     * Method used to refresh the list of saves
-     */
-    private void refreshSaveList() {
-        saveListContainer.getChildren().clear();
-        File saveDir = new File(SAVE_FOLDER);
-        File[] saveFiles = saveDir.listFiles((dir, name) -> name.endsWith(".dat"));
-        if (saveFiles != null && saveFiles.length > 0) {
-            for (File saveFile : saveFiles) {
-                HBox entry = new HBox(10);
-                entry.getStyleClass().add("save-entry");
-                entry.setAlignment(Pos.CENTER_LEFT);
-                entry.setPadding(new Insets(10));
-                VBox infoBox = new VBox(5);
-                Label nameLabel = new Label(saveFile.getName());
-                nameLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
-                // Add save metadata if available
-                Label metaLabel = new Label(SaveHelper.getSaveMetadata(saveFile));
-                metaLabel.setStyle("-fx-text-fill: #aaa; -fx-font-size: 12;");
-                infoBox.getChildren().addAll(nameLabel, metaLabel);
-                Button saveButton = new Button("OVERWRITE");
-                saveButton.getStyleClass().add("save-button");
-                saveButton.setOnAction(e -> confirmOverwrite(saveFile));
-                entry.getChildren().addAll(infoBox, saveButton);
-                saveListContainer.getChildren().add(entry);
-            }
-        } else {
-            Label noSaves = new Label("No saved games found");
-            noSaves.getStyleClass().add("no-saves");
-            saveListContainer.getChildren().add(noSaves);
-        }
     }
 
     /**
      * Method used for implementing the behavior and appearance of the confirm overwrite menu
-     * @param saveFile which save file is about to be overwritten
+     * @param name name of the save which is about to be overwritten
      */
-    private void confirmOverwrite(File saveFile) {
+    private void confirmOverwrite(String name) {
         Pane overlay = new Pane();
         overlay.setStyle("-fx-background-color: rgba(0,0,0,0.5);");
         overlay.setPrefSize(800, 600);
@@ -106,14 +63,14 @@ public class SaveMenuGUI extends StackPane {
         dialog.setAlignment(Pos.CENTER);
         dialog.setPadding(new Insets(20));
         dialog.setStyle("-fx-background-color: #2a2a3a; -fx-border-color: #4a4a7a; -fx-border-width: 2;");
-        Label message = new Label("Overwrite " + saveFile.getName() + "?");
+        Label message = new Label("Overwrite " + name + "?");
         message.setStyle("-fx-text-fill: white; -fx-font-size: 16;");
         HBox buttons = new HBox(20);
         buttons.setAlignment(Pos.CENTER);
         Button confirmButton = new Button("Confirm");
         confirmButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white;");
         confirmButton.setOnAction(e -> {
-            saveGame(saveFile);
+            saveGame(name);
             getChildren().remove(overlay);
         });
         Button cancelButton = new Button("Cancel");
@@ -131,105 +88,35 @@ public class SaveMenuGUI extends StackPane {
      * Method used to create a new save
      */
     private void createNewSave() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        File saveFile = new File(SAVE_FOLDER + "save_" + timestamp + ".dat");
-        saveGame(saveFile);
+        saveGame(SaveManager.getNewSaveName());
     }
 
     /**
-     * Method used to save the game into a save file
-     * @param saveFile which save file to save the info into
+     * Method used to save the game into a save
+     * @param name name of the save to save the info into
      */
-    private void saveGame(File saveFile) {
-        try {
-            Player player = gameGUI.getPlayer();
-            Inventory inventory = player.getInventory();
-            // Find first cassette in inventory
-            Optional<Item> cassette = inventory.getItems().stream()
-                    .filter(item -> item instanceof Cassette)
-                    .findFirst();
-
-            if (!cassette.isPresent()) {
-                gameGUI.addConsoleMessage("You need a Cassette to save your game!");
-                return;
-            }
-            GameStateGUI state = createGameState();
-            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(saveFile))) {
-                inventory.removeItem(cassette.get());
-                out.writeObject(state);
-                if (SaveHelper.saveGame(gameGUI.getPlayer(), gameGUI.getWorld())) {
-                    gameGUI.addConsoleMessage("Game saved successfully!");
-                    closeMenu();
-                } else {
-                    gameGUI.addConsoleMessage("Failed to save game!");
-                }
-                // Close save menu after successful save
-                closeMenu();
-            }
-        } catch (IOException e) {
-            gameGUI.addConsoleMessage("Failed to save game: " + e.getMessage());
-        }
-        refreshSaveList();
-    }
-
-    /**
-     * Method used to create the game state to store data
-     * @return the game state with now saved attributes
-     */
-    private GameStateGUI createGameState() {
-        GameStateGUI state = new GameStateGUI();
+    private void saveGame(String name) {
         Player player = gameGUI.getPlayer();
-        World world = gameGUI.getWorld();
-        // Player state
-        state.setPlayerHealth(player.getHealth());
-        state.setPlayerStamina(player.getCurrentStamina());
-        state.setPlayerPosition(player.getX(), player.getY());
-        state.setCurrentRoomName(player.getCurrentRoomName()); // Fixed to use player's room
-        state.setInventory(new ArrayList<>(player.getInventory().getItems()));
-        state.setEquippedWeapon(player.getEquippedWeapon());
-        // World state
-        state.setSearchedSpots(getSearchedSpots(world));
-        state.setDroppedItems(getDroppedItems(world));
-        state.setLockStates(world.getAllLockStates());
-        state.setStalkerDistance(world.getStalkerDistance());
-        return state;
-    }
-
-    /**
-     * Method used to get all the already searched spots
-     * @param world which world are we getting the searched spots from
-     * @return the map of searched spots
-     */
-    private Map<String, List<String>> getSearchedSpots(World world) {
-        Map<String, List<String>> searchedSpots = new HashMap<>();
-        for (Room room : world.getRooms().values()) {
-            List<String> spotNames = new ArrayList<>();
-            for (SearchSpot spot : room.getSearchSpots()) {
-                if (spot.isSearched()) {
-                    spotNames.add(spot.getName());
-                }
-            }
-            searchedSpots.put(room.getName(), spotNames);
-        }
-        return searchedSpots;
-    }
+        Inventory inventory = player.getInventory();
+        // Find first cassette in inventory
+        Optional<Item> cassette = inventory.getItems().stream()
+                .filter(item -> item instanceof Cassette)
+                .findFirst();
 
-    /**
-     * Method used to get all the dropped items in game
-     * @param world which world are we getting the dropped items from
-     * @return the map of dropped items
-     */
-    private Map<String, List<ItemPosition>> getDroppedItems(World world) {
-        Map<String, List<ItemPosition>> droppedItems = new HashMap<>();
-        for (Room room : world.getRooms().values()) {
-            List<ItemPosition> items = new ArrayList<>();
-            for (Item item : room.getItems()) {
-                Point2D position = room.getItemPosition(item);
-                items.add(new ItemPosition(item, position.getX(), position.getY()));
-            }
-            droppedItems.put(room.getName(), items);
+        if (!cassette.isPresent()) {
+            gameGUI.addConsoleMessage("You need a Cassette to save your game!");
+            return;
         }
-        return droppedItems;
+        inventory.removeItem(cassette.get());
+        gameGUI.addConsoleMessage("Saving...");
+        // Only the snapshot and the thumbnail are taken here, the save is written in the background while the game continues
+        SaveHelper.saveGameAsync(player, gameGUI.getWorld(), name, SaveThumbnail.capture(gameGUI.getCanvas()),
+                () -> gameGUI.addConsoleMessage("Game saved successfully!"),
+                error -> {
+                    inventory.addItem(cassette.get());
+                    gameGUI.addConsoleMessage("Failed to save game: " + error.getMessage());
+                });
+        closeMenu();
     }
 
     /**
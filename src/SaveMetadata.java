@@ -0,0 +1,127 @@
+/**
+ * Class used to store the information about a save shown in the save menus, read from the save's header without loading the whole save
+ */
+public class SaveMetadata {
+    /**
+     * Name of the save
+     */
+    private final String name;
+    /**
+     * Size of the save in bytes
+     */
+    private final long size;
+    /**
+     * When the save has been last modified
+     */
+    private final long lastModified;
+    /**
+     * Schema version of the save, 0 for saves written through Java serialization
+     */
+    private final int version;
+    /**
+     * Player's health
+     */
+    private final int health;
+    /**
+     * Name of the player's room
+     */
+    private final String roomName;
+    /**
+     * How long the player has been playing, in milliseconds
+     */
+    private final long playTimeMillis;
+    /**
+     * When the game has been saved(milliseconds since the epoch)
+     */
+    private final long savedAt;
+
+    /**
+     * Constructor
+     * @param name name of the save
+     * @param size size of the save in bytes
+     * @param lastModified when the save has been last modified
+     * @param version schema version of the save
+     * @param health player's health
+     * @param roomName name of the player's room
+     * @param playTimeMillis how long the player has been playing, in milliseconds
+     * @param savedAt when the game has been saved
+     */
+    public SaveMetadata(String name, long size, long lastModified, int version,
+                        int health, String roomName, long playTimeMillis, long savedAt) {
+        this.name = name;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.version = version;
+        this.health = health;
+        this.roomName = roomName;
+        this.playTimeMillis = playTimeMillis;
+        this.savedAt = savedAt;
+    }
+
+    /**
+     * Getter for 'name'
+     * @return value of 'name'
+     */
+    public String getName() { return name; }
+
+    /**
+     * Getter for 'size'
+     * @return value of 'size'
+     */
+    public long getSize() { return size; }
+
+    /**
+     * Getter for 'lastModified'
+     * @return value of 'lastModified'
+     */
+    public long getLastModified() { return lastModified; }
+
+    /**
+     * Getter for 'version'
+     * @return value of 'version'
+     */
+    public int getVersion() { return version; }
+
+    /**
+     * Getter for 'health'
+     * @return value of 'health'
+     */
+    public int getHealth() { return health; }
+
+    /**
+     * Getter for 'roomName'
+     * @return value of 'roomName'
+     */
+    public String getRoomName() { return roomName; }
+
+    /**
+     * Getter for 'playTimeMillis'
+     * @return value of 'playTimeMillis'
+     */
+    public long getPlayTimeMillis() { return playTimeMillis; }
+
+    /**
+     * Getter for 'savedAt'
+     * @return value of 'savedAt'
+     */
+    public long getSavedAt() { return savedAt; }
+
+    /**
+     * Method used to get the text shown under the save's name in the save menus
+     * @return the summary of the save
+     */
+    public String getSummary() {
+        long seconds = playTimeMillis / 1000;
+        return String.format("Health: %d | Room: %s | Played: %d:%02d:%02d",
+                health, getRoomDisplayName(), seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+
+    /**
+     * Method used to get the name of the player's room shown to the player, the saves store the room's key(e.g. enter_hall)
+     * @return the display name of the room(see RoomId), the stored name if it isn't a room's name
+     */
+    public String getRoomDisplayName() {
+        RoomId roomId = RoomId.of(roomName);
+        return roomId != null ? roomId.getDisplayName() : roomName;
+    }
+}
@@ -0,0 +1,138 @@
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Class used to write saves in the background. The game state is snapshotted on the JavaFX thread(see SaveHelper.createGameState),
+ * encoding and writing the save happens on a single background thread, so saves are written in the order they have been made.
+ * The thread stops after a second without work, so it doesn't keep the game running after it has been closed, but a save in progress is always finished
+ */
+public final class SavePipeline {
+    /**
+     * How long the background thread waits for more work before stopping, in seconds
+     */
+    private static final long KEEP_ALIVE_SECONDS = 1;
+    /**
+     * Executor writing the saves
+     */
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+    /**
+     * Journals of the saves written incrementally, by the paths of the stores and the names of the saves, only used on the save thread
+     */
+    private static final Map<String, SaveJournal> JOURNALS = new HashMap<>();
+
+    /**
+     * Constructor, the class is only used statically
+     */
+    private SavePipeline() {
+    }
+
+    /**
+     * Method used to create the executor, with a single non-daemon thread which stops when idle
+     * @return the executor
+     */
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> new Thread(runnable, "save-writer"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Method used to write a snapshot of the game state in the background
+     * @param store which slot store to save into
+     * @param slot name of the save(created or overwritten)
+     * @param snapshot the game state, must not be changed after being passed here
+     * @return future completed with the name of the save once it has been written
+     */
+    public static CompletableFuture<String> save(SlotStore store, String slot, GameStateGUI snapshot) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                store.write(slot, SaveCodec.encode(snapshot));
+                // A full save replaces the base, so the journal kept in memory doesn't belong to it anymore
+                JOURNALS.remove(journalKey(store, slot));
+                return slot;
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Method used to write a snapshot of the game state in the background, calling back on the JavaFX thread once done
+     * @param store which slot store to save into
+     * @param slot name of the save(created or overwritten)
+     * @param snapshot the game state, must not be changed after being passed here
+     * @param onSaved called once the save has been written
+     * @param onFailed called with the cause if the save couldn't be written
+     */
+    public static void save(SlotStore store, String slot, GameStateGUI snapshot, Runnable onSaved, Consumer<Throwable> onFailed) {
+        save(store, slot, snapshot).whenComplete((name, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                onSaved.run();
+            } else {
+                onFailed.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        }));
+    }
+
+    /**
+     * Method used to save a snapshot of the game state incrementally in the background,
+     * only the changes since the previous save into the same slot are written(see SaveJournal)
+     * @param store which slot store to save into
+     * @param slot name of the save(created if it doesn't exist)
+     * @param snapshot the game state, must not be changed after being passed here
+     * @return future completed with the name of the save once it has been written
+     */
+    public static CompletableFuture<String> saveIncremental(SlotStore store, String slot, GameStateGUI snapshot) {
+        return CompletableFuture.supplyAsync(() -> {
+            String key = journalKey(store, slot);
+            try {
+                JOURNALS.computeIfAbsent(key, k -> new SaveJournal(store, slot)).save(snapshot);
+                return slot;
+            } catch (IOException e) {
+                // Read the slot again on the next save, the journal may not match what is in memory
+                JOURNALS.remove(key);
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Method used to write the thumbnail of a save in the background, after the saves made before it.
+     * The thumbnail is only cosmetic, so failing to write it is only reported
+     * @param slot name of the save
+     * @param thumbnail the thumbnail
+     */
+    public static void saveThumbnail(String slot, SaveThumbnail thumbnail) {
+        EXECUTOR.execute(() -> {
+            try {
+                SaveManager.writeThumbnail(slot, thumbnail);
+            } catch (IOException e) {
+                System.err.println("Could not write thumbnail of " + slot + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Method used to get the key of a journal
+     * @param store the slot store of the save
+     * @param slot name of the save
+     * @return the key
+     */
+    private static String journalKey(SlotStore store, String slot) {
+        return store.getFile().getAbsolutePath() + ":" + slot;
+    }
+
+    /**
+     * Getter for the amount of saves waiting to be written or being written
+     * @return amount of pending saves
+     */
+    public static int getPendingSaves() {
+        return EXECUTOR.getQueue().size() + EXECUTOR.getActiveCount();
+    }
+}
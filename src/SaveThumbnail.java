@@ -0,0 +1,176 @@
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+
+import java.io.*;
+
+/**
+ * Class used to store a small downscaled picture of the game taken when saving, shown next to the save in the save menus.
+ * The picture is captured on the JavaFX thread, but encoding, decoding and converting it into an image can be done on any thread
+ */
+public class SaveThumbnail {
+    /**
+     * Width of the thumbnails, in pixels
+     */
+    public static final int WIDTH = 96;
+    /**
+     * Maximum height of the thumbnails, in pixels
+     */
+    public static final int MAX_HEIGHT = 72;
+    /**
+     * Bytes identifying an encoded thumbnail ("GTHB")
+     */
+    private static final int MAGIC = 0x47544842;
+    /**
+     * Width of the thumbnail, in pixels
+     */
+    private final int width;
+    /**
+     * Height of the thumbnail, in pixels
+     */
+    private final int height;
+    /**
+     * Colors of the pixels(ARGB), row by row
+     */
+    private final int[] pixels;
+
+    /**
+     * Constructor
+     * @param width width of the thumbnail
+     * @param height height of the thumbnail
+     * @param pixels colors of the pixels(ARGB), row by row
+     */
+    public SaveThumbnail(int width, int height, int[] pixels) {
+        if (width <= 0 || height <= 0 || pixels.length != width * height) {
+            throw new IllegalArgumentException("Invalid thumbnail size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    /**
+     * Method used to capture the thumbnail of a canvas, the canvas is scaled down to the width of the thumbnails while being snapshotted.
+     * Has to be called on the JavaFX thread
+     * @param canvas which canvas to capture
+     * @return the thumbnail, null if the canvas is empty
+     */
+    public static SaveThumbnail capture(Canvas canvas) {
+        if (canvas == null || canvas.getWidth() < 1 || canvas.getHeight() < 1) {
+            return null;
+        }
+        double scale = WIDTH / canvas.getWidth();
+        int height = (int) Math.max(1, Math.min(MAX_HEIGHT, Math.round(canvas.getHeight() * scale)));
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.BLACK);
+        parameters.setTransform(Transform.scale(scale, scale));
+        WritableImage image = canvas.snapshot(parameters, new WritableImage(WIDTH, height));
+        PixelReader reader = image.getPixelReader();
+        int[] pixels = new int[WIDTH * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                pixels[y * WIDTH + x] = reader.getArgb(x, y);
+            }
+        }
+        return new SaveThumbnail(WIDTH, height, pixels);
+    }
+
+    /**
+     * Method used to encode the thumbnail, the pixels are stored without alpha and compressed
+     * @return the encoded thumbnail
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(width);
+            out.writeShort(height);
+            byte[] rgb = new byte[pixels.length * 3];
+            for (int i = 0; i < pixels.length; i++) {
+                rgb[i * 3] = (byte) (pixels[i] >> 16);
+                rgb[i * 3 + 1] = (byte) (pixels[i] >> 8);
+                rgb[i * 3 + 2] = (byte) pixels[i];
+            }
+            try (OutputStream compressed = DeflateCompression.DEFAULT.compress(out)) {
+                compressed.write(rgb);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Writing into memory doesn't fail
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Method used to decode a thumbnail written by encode()
+     * @param data the encoded thumbnail
+     * @return the thumbnail
+     * @throws IOException if the data isn't a valid thumbnail
+     */
+    public static SaveThumbnail decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (data.length < 8 || in.readInt() != MAGIC) {
+            throw new IOException("Not a save thumbnail");
+        }
+        int width = in.readUnsignedShort();
+        int height = in.readUnsignedShort();
+        if (width == 0 || height == 0 || width > WIDTH || height > MAX_HEIGHT) {
+            throw new IOException("Invalid thumbnail size " + width + "x" + height);
+        }
+        byte[] rgb = new byte[width * height * 3];
+        try (InputStream decompressed = DeflateCompression.DEFAULT.decompress(in)) {
+            new DataInputStream(decompressed).readFully(rgb);
+        } catch (EOFException e) {
+            throw new IOException("Truncated save thumbnail", e);
+        }
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 0xFF000000 | (rgb[i * 3] & 0xFF) << 16 | (rgb[i * 3 + 1] & 0xFF) << 8 | rgb[i * 3 + 2] & 0xFF;
+        }
+        return new SaveThumbnail(width, height, pixels);
+    }
+
+    /**
+     * Method used to convert the thumbnail into an image which can be shown
+     * @return the image
+     */
+    public WritableImage toImage() {
+        WritableImage image = new WritableImage(width, height);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                writer.setArgb(x, y, pixels[y * width + x]);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Getter for 'width'
+     * @return value of 'width'
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter for 'height'
+     * @return value of 'height'
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Method used to get the color of a pixel
+     * @param x column of the pixel
+     * @param y row of the pixel
+     * @return the color(ARGB)
+     */
+    public int getArgb(int x, int y) {
+        return pixels[y * width + x];
+    }
+}
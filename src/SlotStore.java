@@ -0,0 +1,757 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Class used to store all the saves in a single memory-mapped file of fixed-size slots.
+ * Every slot has two entries and two data regions, a write goes into the region and entry not used by the newest version,
+ * so a crash while writing leaves the previous version of the save readable. Both the entries and the data have checksums,
+ * the newest entry whose checksums match wins. The entries also hold a copy of the save's header,
+ * so listing the saves only reads the slot table, and reading, overwriting or deleting a save only touches its own slot.
+ * When all the slots are used, the file grows to twice the amount of slots.
+ * With a chunk store, the bodies of the saves are kept deduplicated in it and the slots only hold the ids of their chunks,
+ * the store counts the references of the chunks from both entries of every slot, so the previous version of a save stays readable
+ */
+public class SlotStore implements Closeable {
+    /**
+     * Default amount of slots of a new store
+     */
+    public static final int DEFAULT_SLOTS = 16;
+    /**
+     * Default size of a data region in bytes, the largest save(with its journal) a slot can hold
+     */
+    public static final int DEFAULT_REGION_SIZE = 8 * 1024;
+    /**
+     * Longest name of a slot in bytes(UTF-8)
+     */
+    public static final int MAX_NAME_LENGTH = 47;
+    /**
+     * Number the store file starts with("GSLT")
+     */
+    private static final int STORE_MAGIC = 0x47534C54;
+    /**
+     * Version of the store file format
+     */
+    private static final int STORE_VERSION = 1;
+    /**
+     * Size of the store file header(magic, version, slot count, region size)
+     */
+    private static final int FILE_HEADER_SIZE = 64;
+    /**
+     * Number every used entry starts with("GSLE")
+     */
+    private static final int ENTRY_MAGIC = 0x47534C45;
+    /**
+     * Size of an entry in bytes
+     */
+    private static final int ENTRY_SIZE = 160;
+    /**
+     * Size of the part of an entry covered by its checksum
+     */
+    private static final int ENTRY_CHECKED_SIZE = 148;
+    /**
+     * Offset of the name inside an entry
+     */
+    private static final int ENTRY_NAME = 36;
+    /**
+     * Offset of the save's header inside an entry
+     */
+    private static final int ENTRY_HEADER = ENTRY_NAME + 1 + MAX_NAME_LENGTH;
+    /**
+     * The store file
+     */
+    private final File file;
+    /**
+     * Channel of the store file
+     */
+    private final FileChannel channel;
+    /**
+     * Size of a data region in bytes
+     */
+    private final int regionSize;
+    /**
+     * The mapped store file
+     */
+    private MappedByteBuffer buffer;
+    /**
+     * Amount of slots
+     */
+    private int slotCount;
+    /**
+     * Newest valid entry of every slot, null for free slots
+     */
+    private Entry[] entries;
+    /**
+     * The other valid entry of every slot(the previous version of the save), null if there is none
+     */
+    private Entry[] previous;
+    /**
+     * Chunk store the bodies of the saves are kept in, null if the saves are stored whole
+     */
+    private final ChunkStore chunks;
+    /**
+     * Indexes of the used slots by their names
+     */
+    private final Map<String, Integer> slotsByName = new HashMap<>();
+    /**
+     * Sequence number given to the next written entry, higher than any entry in the store
+     */
+    private long nextSequence = 1;
+
+    /**
+     * Constructor, opens the store or creates it with the default amount of slots and region size
+     * @param file the store file
+     * @throws IOException if the file couldn't be opened or isn't a slot store
+     */
+    public SlotStore(File file) throws IOException {
+        this(file, DEFAULT_SLOTS, DEFAULT_REGION_SIZE, null);
+    }
+
+    /**
+     * Constructor, opens the store or creates it with the default amount of slots and region size
+     * @param file the store file
+     * @param chunks chunk store the bodies of the saves are kept in, closed together with this store
+     * @throws IOException if the file couldn't be opened or isn't a slot store
+     */
+    public SlotStore(File file, ChunkStore chunks) throws IOException {
+        this(file, DEFAULT_SLOTS, DEFAULT_REGION_SIZE, chunks);
+    }
+
+    /**
+     * Constructor, opens the store or creates it, the saves are stored whole
+     * @param file the store file
+     * @param slots amount of slots of a new store, an existing store keeps its own
+     * @param regionSize size of a data region of a new store, an existing store keeps its own
+     * @throws IOException if the file couldn't be opened or isn't a slot store
+     */
+    public SlotStore(File file, int slots, int regionSize) throws IOException {
+        this(file, slots, regionSize, null);
+    }
+
+    /**
+     * Constructor, opens the store or creates it
+     * @param file the store file
+     * @param slots amount of slots of a new store, an existing store keeps its own
+     * @param regionSize size of a data region of a new store, an existing store keeps its own
+     * @param chunks chunk store the bodies of the saves are kept in, null to store the saves whole
+     * @throws IOException if the file couldn't be opened or isn't a slot store
+     */
+    public SlotStore(File file, int slots, int regionSize, ChunkStore chunks) throws IOException {
+        this.file = file;
+        this.chunks = chunks;
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null && !folder.exists()) folder.mkdirs();
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                this.slotCount = Math.max(1, slots);
+                this.regionSize = regionSize;
+                map();
+                buffer.putInt(0, STORE_MAGIC);
+                buffer.putInt(4, STORE_VERSION);
+                buffer.putInt(8, slotCount);
+                buffer.putInt(12, regionSize);
+                buffer.force();
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+                channel.read(header, 0);
+                if (header.getInt(0) != STORE_MAGIC) {
+                    throw new IOException(file.getName() + " is not a save slot store");
+                }
+                if (header.getInt(4) > STORE_VERSION) {
+                    throw new IOException(file.getName() + " was written by a newer version of the game");
+                }
+                this.slotCount = header.getInt(8);
+                this.regionSize = header.getInt(12);
+                map();
+            }
+            entries = new Entry[slotCount];
+            previous = new Entry[slotCount];
+            for (int slot = 0; slot < slotCount; slot++) {
+                loadSlot(slot);
+            }
+            if (chunks != null) {
+                // Chunks written just before a crash are referenced by no entry
+                chunks.compactIfNeeded();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Getter for 'file'
+     * @return value of 'file'
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Getter for 'regionSize'
+     * @return value of 'regionSize'
+     */
+    public int getRegionSize() {
+        return regionSize;
+    }
+
+    /**
+     * Getter for the amount of slots
+     * @return amount of slots, used or free
+     */
+    public synchronized int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Method used to list the metadata of all the saves, only the slot table is read
+     * @return the metadata, newest saves first
+     */
+    public synchronized List<SaveMetadata> list() {
+        List<SaveMetadata> result = new ArrayList<>(slotsByName.size());
+        for (Entry entry : entries) {
+            if (entry != null && entry.metadata != null) {
+                result.add(entry.metadata);
+            }
+        }
+        result.sort(Comparator.comparingLong(SaveMetadata::getLastModified).reversed());
+        return result;
+    }
+
+    /**
+     * Method used to get the metadata of a single save
+     * @param name name of the slot
+     * @return the metadata, null if there is no such save
+     */
+    public synchronized SaveMetadata getMetadata(String name) {
+        Entry entry = find(name);
+        return entry == null ? null : entry.metadata;
+    }
+
+    /**
+     * Method used to check whether a save exists
+     * @param name name of the slot
+     * @return true if the slot is used
+     */
+    public synchronized boolean contains(String name) {
+        return slotsByName.containsKey(name);
+    }
+
+    /**
+     * Method used to get the sequence number of a save, which changes with every write into its slot
+     * @param name name of the slot
+     * @return the sequence number, -1 if there is no such save
+     */
+    public synchronized long getSequence(String name) {
+        Entry entry = find(name);
+        return entry == null ? -1 : entry.sequence;
+    }
+
+    /**
+     * Method used to read a save, a save kept in the chunk store is restored from its chunks
+     * @param name name of the slot
+     * @return the content of the slot, null if there is no such save
+     * @throws IOException if a chunk of the save is missing or broken
+     */
+    public synchronized Slot read(String name) throws IOException {
+        Entry entry = find(name);
+        if (entry == null) return null;
+        byte[] data = new byte[entry.length];
+        buffer.get(regionOffset(entry.slot, entry.region), data);
+        if (entry.references.isEmpty()) {
+            return new Slot(name, data, entry.baseLength, entry.sequence);
+        }
+        byte[] base = chunks.restore(Arrays.copyOf(data, entry.baseLength));
+        byte[] restored = Arrays.copyOf(base, base.length + data.length - entry.baseLength);
+        System.arraycopy(data, entry.baseLength, restored, base.length, data.length - entry.baseLength);
+        return new Slot(name, restored, base.length, entry.sequence);
+    }
+
+    /**
+     * Method used to write a save into its slot, a new slot is used if there is no save with the name yet
+     * @param name name of the slot
+     * @param save the encoded save(see SaveCodec), at least its header
+     * @throws IOException if the save doesn't fit into a slot or couldn't be written
+     */
+    public synchronized void write(String name, byte[] save) throws IOException {
+        write(name, save, System.currentTimeMillis());
+    }
+
+    /**
+     * Method used to write a save into its slot, a new slot is used if there is no save with the name yet.
+     * With a chunk store, only the chunks of the body which aren't stored yet are written
+     * @param name name of the slot
+     * @param save the encoded save(see SaveCodec), at least its header
+     * @param modified modification time stored with the save
+     * @throws IOException if the save doesn't fit into a slot or couldn't be written
+     */
+    public synchronized void write(String name, byte[] save, long modified) throws IOException {
+        if (chunks != null && save.length >= SaveCodec.HEADER_SIZE) {
+            save = chunks.deduplicate(save);
+            // The chunks have to be on the disk before anything references them
+            chunks.flush();
+        }
+        if (save.length > regionSize) {
+            throw new IOException("Save " + name + " is too large for a slot(" + save.length + " bytes)");
+        }
+        if (save.length < SaveCodec.HEADER_SIZE) {
+            throw new IOException("Save " + name + " has no header");
+        }
+        Integer index = slotsByName.get(name);
+        int slot = index != null ? index : allocate(name);
+        Entry newest = entries[slot];
+        int region = newest == null ? 0 : 1 - newest.region;
+        int offset = regionOffset(slot, region);
+        buffer.put(offset, save);
+        buffer.force(offset, save.length);
+        writeEntry(slot, newest, name, region, save.length, save.length, crc(offset, save.length),
+                modified, Arrays.copyOf(save, SaveCodec.HEADER_SIZE), ChunkStore.references(save));
+        if (chunks != null) {
+            chunks.compactIfNeeded();
+        }
+    }
+
+    /**
+     * Method used to append data after a save in place, the save's header is replaced by a new one
+     * @param name name of the slot
+     * @param data what to append
+     * @param header the new header of the save
+     * @return false if there is no such save or the data doesn't fit into the slot
+     * @throws IOException if the data couldn't be written
+     */
+    public synchronized boolean append(String name, byte[] data, byte[] header) throws IOException {
+        Entry newest = find(name);
+        if (newest == null || newest.length + data.length > regionSize) {
+            return false;
+        }
+        int offset = regionOffset(newest.slot, newest.region);
+        // Only the bytes after the end of the newest version are changed, so both versions stay readable
+        buffer.put(offset + newest.length, data);
+        buffer.force(offset + newest.length, data.length);
+        int length = newest.length + data.length;
+        writeEntry(newest.slot, newest, name, newest.region, newest.baseLength, length, crc(offset, length),
+                System.currentTimeMillis(), header, newest.references);
+        return true;
+    }
+
+    /**
+     * Method used to delete a save
+     * @param name name of the slot
+     * @return true if the save has been deleted, false if there was no such save
+     * @throws IOException if the chunk store couldn't be compacted
+     */
+    public synchronized boolean delete(String name) throws IOException {
+        Integer slot = slotsByName.remove(name);
+        if (slot == null) return false;
+        for (int i = 0; i < 2; i++) {
+            int offset = entryOffset(slot, i);
+            buffer.put(offset, new byte[ENTRY_SIZE]);
+            buffer.force(offset, ENTRY_SIZE);
+        }
+        if (chunks != null) {
+            release(entries[slot]);
+            release(previous[slot]);
+            chunks.compactIfNeeded();
+        }
+        entries[slot] = null;
+        previous[slot] = null;
+        return true;
+    }
+
+    /**
+     * Method used to close the store and its chunk store, the mapped file is released once the buffer is garbage collected
+     * @throws IOException if the channel couldn't be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+        if (chunks != null) {
+            chunks.close();
+        }
+    }
+
+    /**
+     * Method used to find the newest entry of a save
+     * @param name name of the slot
+     * @return the entry, null if there is no such save
+     */
+    private Entry find(String name) {
+        Integer slot = slotsByName.get(name);
+        return slot == null ? null : entries[slot];
+    }
+
+    /**
+     * Method used to find a free slot for a new save, growing the store if all the slots are used
+     * @param name name of the new save
+     * @return index of the slot
+     * @throws IOException if the store couldn't grow
+     */
+    private int allocate(String name) throws IOException {
+        if (name.isEmpty() || name.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Slot name must have 1 - " + MAX_NAME_LENGTH + " bytes: " + name);
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (entries[slot] == null) {
+                return slot;
+            }
+        }
+        int slot = slotCount;
+        slotCount *= 2;
+        map();
+        buffer.putInt(8, slotCount);
+        buffer.force(0, FILE_HEADER_SIZE);
+        entries = Arrays.copyOf(entries, slotCount);
+        previous = Arrays.copyOf(previous, slotCount);
+        return slot;
+    }
+
+    /**
+     * Method used to map the whole store file, the file grows to fit all the slots
+     * @throws IOException if the file couldn't be mapped
+     */
+    private void map() throws IOException {
+        long size = slotOffset(slotCount);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Save slot store can't grow over 2 GB");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * Method used to find the newest valid entry of a slot, while opening the store
+     * @param slot index of the slot
+     */
+    private void loadSlot(int slot) {
+        Entry newest = null;
+        Entry other = null;
+        for (int i = 0; i < 2; i++) {
+            Entry entry = readEntry(slot, i);
+            if (entry == null) continue;
+            nextSequence = Math.max(nextSequence, entry.sequence + 1);
+            if (newest == null || entry.sequence > newest.sequence) {
+                other = newest;
+                newest = entry;
+            } else {
+                other = entry;
+            }
+        }
+        entries[slot] = newest;
+        previous[slot] = other;
+        if (newest != null) {
+            slotsByName.put(newest.name, slot);
+        }
+        if (chunks != null) {
+            retain(newest);
+            retain(other);
+        }
+    }
+
+    /**
+     * Method used to add the references of an entry to the chunks of its save
+     * @param entry the entry, may be null
+     */
+    private void retain(Entry entry) {
+        if (entry != null) {
+            chunks.retain(entry.references);
+        }
+    }
+
+    /**
+     * Method used to remove the references of an entry from the chunks of its save
+     * @param entry the entry, may be null
+     */
+    private void release(Entry entry) {
+        if (entry != null) {
+            chunks.release(entry.references);
+        }
+    }
+
+    /**
+     * Method used to read an entry and check its checksums
+     * @param slot index of the slot
+     * @param index which of the slot's two entries
+     * @return the entry, null if it's empty or broken
+     */
+    private Entry readEntry(int slot, int index) {
+        int offset = entryOffset(slot, index);
+        if (buffer.getInt(offset) != ENTRY_MAGIC) return null;
+        CRC32 entryCrc = new CRC32();
+        entryCrc.update(buffer.slice(offset, ENTRY_CHECKED_SIZE));
+        if ((int) entryCrc.getValue() != buffer.getInt(offset + ENTRY_CHECKED_SIZE)) {
+            return null;
+        }
+        int region = buffer.getInt(offset + 12);
+        int baseLength = buffer.getInt(offset + 16);
+        int length = buffer.getInt(offset + 20);
+        if ((region != 0 && region != 1) || length < 0 || length > regionSize || baseLength > length) {
+            return null;
+        }
+        if (crc(regionOffset(slot, region), length) != buffer.getInt(offset + 24)) {
+            // The data has been overwritten by a newer version of the save, or damaged
+            return null;
+        }
+        int nameLength = Math.min(buffer.get(offset + ENTRY_NAME) & 0xFF, MAX_NAME_LENGTH);
+        byte[] name = new byte[nameLength];
+        buffer.get(offset + ENTRY_NAME + 1, name);
+        byte[] header = new byte[SaveCodec.HEADER_SIZE];
+        buffer.get(offset + ENTRY_HEADER, header);
+        List<Integer> references = Collections.emptyList();
+        if (chunks != null) {
+            byte[] base = new byte[baseLength];
+            buffer.get(regionOffset(slot, region), base);
+            try {
+                references = ChunkStore.references(base);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return new Entry(slot, index, new String(name, StandardCharsets.UTF_8), buffer.getLong(offset + 4), region,
+                baseLength, length, buffer.getLong(offset + 28), header, references);
+    }
+
+    /**
+     * Method used to write a new newest entry of a slot, into the place of the older entry.
+     * The references of the replaced entry are moved to the chunks of the new one
+     * @param slot index of the slot
+     * @param newest the current newest entry, null for a new save
+     * @param name name of the save
+     * @param region which data region holds the save
+     * @param baseLength length of the save without appended data
+     * @param length length of the data
+     * @param dataCrc checksum of the data
+     * @param modified modification time of the save
+     * @param header header of the save
+     * @param references ids of the chunks the save is kept in
+     */
+    private void writeEntry(int slot, Entry newest, String name, int region, int baseLength, int length, int dataCrc,
+                            long modified, byte[] header, List<Integer> references) {
+        int index = newest == null ? 0 : 1 - newest.index;
+        long sequence = nextSequence++;
+        ByteBuffer bytes = ByteBuffer.allocate(ENTRY_SIZE);
+        bytes.putInt(ENTRY_MAGIC);
+        bytes.putLong(sequence);
+        bytes.putInt(region);
+        bytes.putInt(baseLength);
+        bytes.putInt(length);
+        bytes.putInt(dataCrc);
+        bytes.putLong(modified);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        bytes.put((byte) nameBytes.length);
+        bytes.put(nameBytes);
+        bytes.position(ENTRY_HEADER);
+        bytes.put(header, 0, SaveCodec.HEADER_SIZE);
+        CRC32 entryCrc = new CRC32();
+        entryCrc.update(bytes.array(), 0, ENTRY_CHECKED_SIZE);
+        bytes.putInt(ENTRY_CHECKED_SIZE, (int) entryCrc.getValue());
+        int offset = entryOffset(slot, index);
+        buffer.put(offset, bytes.array());
+        buffer.force(offset, ENTRY_SIZE);
+        Entry entry = new Entry(slot, index, name, sequence, region, baseLength, length, modified, header, references);
+        if (chunks != null) {
+            retain(entry);
+            release(previous[slot]);
+        }
+        previous[slot] = newest;
+        entries[slot] = entry;
+        slotsByName.put(name, slot);
+    }
+
+    /**
+     * Method used to compute the checksum of data in the store
+     * @param offset where the data starts
+     * @param length length of the data
+     * @return the checksum
+     */
+    private int crc(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Method used to get the offset of a slot in the file
+     * @param slot index of the slot
+     * @return the offset
+     */
+    private long slotOffset(int slot) {
+        return FILE_HEADER_SIZE + (long) slot * (2 * ENTRY_SIZE + 2L * regionSize);
+    }
+
+    /**
+     * Method used to get the offset of an entry in the file
+     * @param slot index of the slot
+     * @param index which of the slot's two entries
+     * @return the offset
+     */
+    private int entryOffset(int slot, int index) {
+        return (int) slotOffset(slot) + index * ENTRY_SIZE;
+    }
+
+    /**
+     * Method used to get the offset of a data region in the file
+     * @param slot index of the slot
+     * @param region which of the slot's two regions
+     * @return the offset
+     */
+    private int regionOffset(int slot, int region) {
+        return (int) slotOffset(slot) + 2 * ENTRY_SIZE + region * regionSize;
+    }
+
+    /**
+     * Class used to return the content of a slot
+     */
+    public static final class Slot {
+        /**
+         * Name of the slot
+         */
+        private final String name;
+        /**
+         * The save followed by the appended data
+         */
+        private final byte[] data;
+        /**
+         * Length of the save without the appended data
+         */
+        private final int baseLength;
+        /**
+         * Sequence number of the version
+         */
+        private final long sequence;
+
+        /**
+         * Constructor
+         * @param name name of the slot
+         * @param data the save followed by the appended data
+         * @param baseLength length of the save without the appended data
+         * @param sequence sequence number of the version
+         */
+        Slot(String name, byte[] data, int baseLength, long sequence) {
+            this.name = name;
+            this.data = data;
+            this.baseLength = baseLength;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Getter for 'name'
+         * @return value of 'name'
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter for 'data'
+         * @return value of 'data'
+         */
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * Getter for 'baseLength'
+         * @return value of 'baseLength'
+         */
+        public int getBaseLength() {
+            return baseLength;
+        }
+
+        /**
+         * Getter for 'sequence'
+         * @return value of 'sequence'
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Method used to get the save without the appended data
+         * @return the save
+         */
+        public byte[] getBase() {
+            return baseLength == data.length ? data : Arrays.copyOf(data, baseLength);
+        }
+    }
+
+    /**
+     * Class used to keep a valid entry of the slot table in memory
+     */
+    private static final class Entry {
+        /**
+         * Index of the slot
+         */
+        private final int slot;
+        /**
+         * Which of the slot's two entries this is
+         */
+        private final int index;
+        /**
+         * Name of the save
+         */
+        private final String name;
+        /**
+         * Sequence number, the newest entry of a slot has the highest one
+         */
+        private final long sequence;
+        /**
+         * Which of the slot's two regions holds the data
+         */
+        private final int region;
+        /**
+         * Length of the save without appended data
+         */
+        private final int baseLength;
+        /**
+         * Length of the data
+         */
+        private final int length;
+        /**
+         * Metadata of the save read from the header, null if the header isn't valid
+         */
+        private final SaveMetadata metadata;
+        /**
+         * Ids of the chunks the save is kept in, empty if it's stored whole
+         */
+        private final List<Integer> references;
+
+        /**
+         * Constructor
+         * @param slot index of the slot
+         * @param index which of the slot's two entries this is
+         * @param name name of the save
+         * @param sequence sequence number
+         * @param region which of the slot's two regions holds the data
+         * @param baseLength length of the save without appended data
+         * @param length length of the data
+         * @param modified modification time of the save
+         * @param header header of the save
+         * @param references ids of the chunks the save is kept in
+         */
+        Entry(int slot, int index, String name, long sequence, int region, int baseLength, int length, long modified, byte[] header,
+              List<Integer> references) {
+            this.slot = slot;
+            this.index = index;
+            this.name = name;
+            this.sequence = sequence;
+            this.region = region;
+            this.baseLength = baseLength;
+            this.length = length;
+            this.references = references;
+            SaveMetadata parsed;
+            try {
+                parsed = SaveCodec.readHeader(name, length, modified, header);
+            } catch (IOException e) {
+                System.err.println("Save " + name + " has a broken header: " + e.getMessage());
+                parsed = null;
+            }
+            this.metadata = parsed;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class used to pack the tiles actually used by a room into as few images(pages) as possible,
+ * so that the rest of the tile set images doesn't have to be kept in memory and the tiles are drawn from a single texture
+ */
+public class TextureAtlas {
+    /**
+     * Default maximum width/height of a single page in pixels
+     */
+    public static final int DEFAULT_MAX_PAGE_SIZE = 2048;
+    /**
+     * Pages of the atlas, stored as tile sets so that they can be drawn like any other tile set
+     */
+    private final List<TileSet> pages;
+    /**
+     * Lookup table remapping the packed gids onto the pages
+     */
+    private final TileLookup lookup;
+    /**
+     * Amount of tiles packed into the atlas
+     */
+    private final int tileCount;
+
+    /**
+     * Constructor
+     * @param pages pages of the atlas
+     * @param lookup lookup table remapping the packed gids onto the pages
+     * @param tileCount amount of tiles packed into the atlas
+     */
+    private TextureAtlas(List<TileSet> pages, TileLookup lookup, int tileCount) {
+        this.pages = pages;
+        this.lookup = lookup;
+        this.tileCount = tileCount;
+    }
+
+    /**
+     * Method used to pack every tile used by the layers into an atlas
+     * @param source lookup table of the room's tile sets
+     * @param layers tile layers whose tiles should be packed
+     * @param maxPageSize maximum width/height of a single page in pixels
+     * @return the atlas, null if there is nothing to pack or the tile set images can't be read
+     */
+    public static TextureAtlas build(TileLookup source, RoomMap.TileLayer[] layers, int maxPageSize) {
+        int size = source.size();
+        boolean[] used = new boolean[size];
+        // Tiles are packed by their size, every size gets its own pages
+        Map<Long, List<Integer>> tilesBySize = new LinkedHashMap<>();
+        int tileCount = 0;
+        for (RoomMap.TileLayer layer : layers) {
+            for (int tileId : layer.getData()) {
+                TileSet tileSet = source.getTileSet(tileId);
+                if (tileSet == null || used[tileId]) {
+                    continue;
+                }
+                used[tileId] = true;
+                long key = ((long) tileSet.getTileWidth() << 32) | tileSet.getTileHeight();
+                tilesBySize.computeIfAbsent(key, k -> new ArrayList<>()).add(tileId);
+                tileCount++;
+            }
+        }
+        if (tileCount == 0) {
+            return null;
+        }
+        TileSet[] tileSets = new TileSet[size];
+        int[] sourceX = new int[size];
+        int[] sourceY = new int[size];
+        List<TileSet> pages = new ArrayList<>();
+        for (List<Integer> tiles : tilesBySize.values()) {
+            TileSet first = source.getTileSet(tiles.get(0));
+            int tileWidth = first.getTileWidth();
+            int tileHeight = first.getTileHeight();
+            int maxColumns = Math.max(1, maxPageSize / tileWidth);
+            int maxRows = Math.max(1, maxPageSize / tileHeight);
+            int index = 0;
+            while (index < tiles.size()) {
+                int remaining = Math.min(tiles.size() - index, maxColumns * maxRows);
+                int columns = Math.min(maxColumns, (int) Math.ceil(Math.sqrt(remaining)));
+                int rows = (remaining + columns - 1) / columns;
+                WritableImage page = new WritableImage(columns * tileWidth, rows * tileHeight);
+                PixelWriter writer = page.getPixelWriter();
+                TileSet pageTileSet = new TileSet(page, 0, tileWidth, tileHeight, columns);
+                for (int i = 0; i < remaining; i++) {
+                    int tileId = tiles.get(index + i);
+                    PixelReader reader = source.getTileSet(tileId).getImage().getPixelReader();
+                    if (writer == null || reader == null) {
+                        return null;
+                    }
+                    int x = (i % columns) * tileWidth;
+                    int y = (i / columns) * tileHeight;
+                    writer.setPixels(x, y, tileWidth, tileHeight, reader, source.getSourceX(tileId), source.getSourceY(tileId));
+                    tileSets[tileId] = pageTileSet;
+                    sourceX[tileId] = x;
+                    sourceY[tileId] = y;
+                }
+                pages.add(pageTileSet);
+                index += remaining;
+            }
+        }
+        return new TextureAtlas(pages, new TileLookup(tileSets, sourceX, sourceY), tileCount);
+    }
+
+    /**
+     * Getter for 'lookup'
+     * @return lookup table remapping the packed gids onto the pages
+     */
+    public TileLookup getLookup() {
+        return lookup;
+    }
+
+    /**
+     * Getter for the pages' images
+     * @return images of the pages
+     */
+    public List<Image> getPages() {
+        List<Image> images = new ArrayList<>();
+        for (TileSet page : pages) {
+            images.add(page.getImage());
+        }
+        return images;
+    }
+
+    /**
+     * Getter for 'tileCount'
+     * @return value of 'tileCount'
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Getter for the amount of bytes the pages take up (4 bytes per pixel)
+     * @return amount of bytes
+     */
+    public long getBytes() {
+        long bytes = 0;
+        for (TileSet page : pages) {
+            bytes += (long) page.getImage().getWidth() * (long) page.getImage().getHeight() * 4;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,113 @@
+import javafx.scene.canvas.GraphicsContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class used to find the tile set and source rectangle of a tile(gid) in constant time, built once when loading a room
+ */
+public class TileLookup {
+    /**
+     * Tile set of every gid, null if no tile set contains it
+     */
+    private final TileSet[] tileSets;
+    /**
+     * X coordinate of every gid's source rectangle
+     */
+    private final int[] sourceX;
+    /**
+     * Y coordinate of every gid's source rectangle
+     */
+    private final int[] sourceY;
+
+    /**
+     * Constructor
+     * @param sets tile sets used by the room
+     */
+    public TileLookup(Collection<TileSet> sets) {
+        List<TileSet> sorted = new ArrayList<>(sets);
+        // Same as in Tiled, a gid belongs to the tile set with the highest first gid not bigger than the gid
+        sorted.sort(Comparator.comparingInt(TileSet::getFirstGid));
+        int maxGid = 0;
+        for (TileSet tileSet : sorted) {
+            maxGid = Math.max(maxGid, tileSet.getFirstGid() + tileSet.getTileCount() - 1);
+        }
+        tileSets = new TileSet[maxGid + 1];
+        sourceX = new int[maxGid + 1];
+        sourceY = new int[maxGid + 1];
+        for (TileSet tileSet : sorted) {
+            int firstGid = tileSet.getFirstGid();
+            for (int gid = Math.max(1, firstGid); gid < firstGid + tileSet.getTileCount(); gid++) {
+                tileSets[gid] = tileSet;
+                sourceX[gid] = tileSet.getSourceX(gid);
+                sourceY[gid] = tileSet.getSourceY(gid);
+            }
+        }
+    }
+
+    /**
+     * Constructor used for already resolved tables(e.g. the texture atlas' remap table)
+     * @param tileSets tile set of every gid
+     * @param sourceX x coordinate of every gid's source rectangle
+     * @param sourceY y coordinate of every gid's source rectangle
+     */
+    TileLookup(TileSet[] tileSets, int[] sourceX, int[] sourceY) {
+        this.tileSets = tileSets;
+        this.sourceX = sourceX;
+        this.sourceY = sourceY;
+    }
+
+    /**
+     * Method used to get the tile set containing a tile
+     * @param tileId id of the tile
+     * @return the tile set, null if there is none
+     */
+    public TileSet getTileSet(int tileId) {
+        return tileId > 0 && tileId < tileSets.length ? tileSets[tileId] : null;
+    }
+
+    /**
+     * Method used to get the x coordinate of a tile in its tile set's image
+     * @param tileId id of the tile, has to be contained in a tile set
+     * @return x coordinate of the source rectangle
+     */
+    public int getSourceX(int tileId) {
+        return sourceX[tileId];
+    }
+
+    /**
+     * Method used to get the y coordinate of a tile in its tile set's image
+     * @param tileId id of the tile, has to be contained in a tile set
+     * @return y coordinate of the source rectangle
+     */
+    public int getSourceY(int tileId) {
+        return sourceY[tileId];
+    }
+
+    /**
+     * Method used to draw a tile
+     * @param gc GraphicsContext instance
+     * @param tileId id of the tile
+     * @param x x coordinate of the tile
+     * @param y y coordinate of the tile
+     * @return was the tile drawn? False if no tile set contains it
+     */
+    public boolean drawTile(GraphicsContext gc, int tileId, double x, double y) {
+        TileSet tileSet = getTileSet(tileId);
+        if (tileSet == null) {
+            return false;
+        }
+        tileSet.drawTile(gc, sourceX[tileId], sourceY[tileId], x, y);
+        return true;
+    }
+
+    /**
+     * Getter for the amount of gids the lookup has space for
+     * @return highest gid + 1
+     */
+    public int size() {
+        return tileSets.length;
+    }
+}
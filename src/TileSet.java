@@ -47,6 +47,24 @@ public class TileSet {
         this.tileCount = (int) (image.getWidth() / tileWidth) * (int) (image.getHeight() / tileHeight);
     }
 
+    /**
+     * Constructor used when the amount of tiles is already known(e.g. from the tmj file)
+     * @param image Image of the tile set
+     * @param firstGid first gid attribute from tmj file
+     * @param tileWidth width of the tile
+     * @param tileHeight height of the tile
+     * @param columns amount of columns
+     * @param tileCount amount of tiles
+     */
+    public TileSet(Image image, int firstGid, int tileWidth, int tileHeight, int columns, int tileCount) {
+        this.image = image;
+        this.firstGid = firstGid;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.columns = columns;
+        this.tileCount = tileCount;
+    }
+
     /**
      * Method used to find out whether a certain tile is in a certain tile set
      * @param tileId id of the tile
@@ -56,6 +74,78 @@ public class TileSet {
         return tileId >= firstGid && tileId < firstGid + tileCount;
     }
 
+    /**
+     * Method used to get the x coordinate of a tile in the tile set's image
+     * @param tileId id of the tile
+     * @return x coordinate of the source rectangle
+     */
+    public int getSourceX(int tileId) {
+        return ((tileId - firstGid) % columns) * tileWidth;
+    }
+
+    /**
+     * Method used to get the y coordinate of a tile in the tile set's image
+     * @param tileId id of the tile
+     * @return y coordinate of the source rectangle
+     */
+    public int getSourceY(int tileId) {
+        return ((tileId - firstGid) / columns) * tileHeight;
+    }
+
+    /**
+     * Method used to draw a tile whose source rectangle has already been calculated
+     * @param gc GraphicsContext instance
+     * @param sourceX x coordinate of the tile in the tile set's image
+     * @param sourceY y coordinate of the tile in the tile set's image
+     * @param x x coordinate of the tile
+     * @param y y coordinate of the tile
+     */
+    public void drawTile(GraphicsContext gc, int sourceX, int sourceY, double x, double y) {
+        gc.drawImage(image,
+                sourceX, sourceY, tileWidth, tileHeight, // source rectangle
+                x, y, tileWidth, tileHeight);           // destination rectangle
+    }
+
+    /**
+     * Getter for 'firstGid'
+     * @return value of 'firstGid'
+     */
+    public int getFirstGid() {
+        return firstGid;
+    }
+
+    /**
+     * Getter for 'tileCount'
+     * @return value of 'tileCount'
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Getter for 'image'
+     * @return value of 'image'
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Getter for 'tileWidth'
+     * @return value of 'tileWidth'
+     */
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    /**
+     * Getter for 'tileHeight'
+     * @return value of 'tileHeight'
+     */
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
     /**
      * Method used to draw individual tiles
      * @param gc GraphicsContext instance
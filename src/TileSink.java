@@ -0,0 +1,12 @@
+/**
+ * Interface used to receive the non-empty tiles of a tile layer, so that walking the layers doesn't depend on how the tiles are drawn
+ */
+public interface TileSink {
+    /**
+     * Method called for every non-empty tile of a layer
+     * @param tileId id(gid) of the tile
+     * @param x x coordinate of the tile in pixels
+     * @param y y coordinate of the tile in pixels
+     */
+    void drawTile(int tileId, int x, int y);
+}
@@ -1,22 +1,17 @@
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Class used to load the tiled maps
+ * Class used to load the tiled maps, compiling the json data into a RoomMap once, so that the json isn't accessed after loading
  */
 public class TiledMapLoader {
     /**
-     * map data from the tmj files
-     */
-    private JSONObject mapData;
-    /**
-     * width of a tile
+     * Compiled map data from the tmj files
      */
-    private int tileWidth;
-    /**
-     * height of a tile
-     */
-    private int tileHeight;
+    private RoomMap roomMap;
 
     /**
      * Method used to load the map
@@ -24,26 +19,113 @@ public class TiledMapLoader {
      * @throws Exception incorrect json data
      */
     public void loadMap(JSONObject mapData) throws Exception {
-        this.mapData = mapData;
-        tileWidth = mapData.getInt("tilewidth");
-        tileHeight = mapData.getInt("tileheight");
+        this.roomMap = compile(mapData);
     }
 
     /**
-     * Getter to access the object group
-     * @param name name
-     * @return the object layer
+     * Method used to load an already compiled map
+     * @param roomMap which map to use
+     */
+    public void loadMap(RoomMap roomMap) {
+        this.roomMap = roomMap;
+    }
+
+    /**
+     * Method used to compile the json data of a tmj file into a RoomMap
+     * @param mapData json data of the tmj file
+     * @return the compiled map
+     * @throws Exception incorrect json data
      */
-    public JSONObject getObjectGroup(String name) {
+    public static RoomMap compile(JSONObject mapData) throws Exception {
+        int width = mapData.getInt("width");
+        int height = mapData.getInt("height");
+        int tileWidth = mapData.getInt("tilewidth");
+        int tileHeight = mapData.getInt("tileheight");
+        List<RoomMap.TileLayer> tileLayers = new ArrayList<>();
+        List<RoomMap.ObjectGroup> objectGroups = new ArrayList<>();
         JSONArray layers = mapData.getJSONArray("layers");
         for (int i = 0; i < layers.length(); i++) {
             JSONObject layer = layers.getJSONObject(i);
-            if (layer.getString("type").equals("objectgroup") &&
-                    layer.getString("name").equals(name)) {
-                return layer;
+            String type = layer.getString("type");
+            if (type.equals("tilelayer") && layer.has("data")) {
+                tileLayers.add(compileTileLayer(layer));
+            } else if (type.equals("objectgroup")) {
+                objectGroups.add(compileObjectGroup(layer));
+            }
+        }
+        List<RoomMap.TilesetRef> tilesets = new ArrayList<>();
+        if (mapData.has("tilesets")) {
+            JSONArray tilesetArray = mapData.getJSONArray("tilesets");
+            for (int i = 0; i < tilesetArray.length(); i++) {
+                tilesets.add(compileTileset(tilesetArray.getJSONObject(i)));
+            }
+        }
+        return new RoomMap(width, height, tileWidth, tileHeight, tileLayers, objectGroups, tilesets);
+    }
+
+    /**
+     * Method used to copy a tile layer's data into a primitive array
+     * @param layer json data of the layer
+     * @return the compiled layer
+     */
+    private static RoomMap.TileLayer compileTileLayer(JSONObject layer) {
+        JSONArray data = layer.getJSONArray("data");
+        int[] result = new int[data.length()];
+        for (int i = 0; i < data.length(); i++) {
+            result[i] = data.getInt(i);
+        }
+        return new RoomMap.TileLayer(layer.getString("name"), result);
+    }
+
+    /**
+     * Method used to compile an object layer
+     * @param layer json data of the layer
+     * @return the compiled object group
+     */
+    private static RoomMap.ObjectGroup compileObjectGroup(JSONObject layer) {
+        List<RoomMap.MapObject> objects = new ArrayList<>();
+        if (layer.has("objects")) {
+            JSONArray objectArray = layer.getJSONArray("objects");
+            for (int i = 0; i < objectArray.length(); i++) {
+                JSONObject obj = objectArray.getJSONObject(i);
+                objects.add(new RoomMap.MapObject(
+                        obj.optString("name", ""),
+                        obj.optString("type", ""),
+                        obj.optDouble("x", 0),
+                        obj.optDouble("y", 0),
+                        obj.optDouble("width", 0),
+                        obj.optDouble("height", 0)));
             }
         }
-        return null;
+        return new RoomMap.ObjectGroup(layer.getString("name"),
+                layer.optDouble("offsetx", 0), layer.optDouble("offsety", 0), objects);
+    }
+
+    /**
+     * Method used to compile a tile set reference, resolving the image path to a classpath resource
+     * @param tileset json data of the tile set
+     * @return the compiled tile set reference
+     */
+    private static RoomMap.TilesetRef compileTileset(JSONObject tileset) {
+        String imagePath = tileset.getString("image");
+        imagePath = imagePath.replace("..\\", "").replace("../", "");
+        String filename = imagePath.substring(imagePath.lastIndexOf("/") + 1);
+        return new RoomMap.TilesetRef(
+                tileset.getInt("firstgid"),
+                "/tilesets/" + filename,
+                tileset.getInt("tilewidth"),
+                tileset.getInt("tileheight"),
+                tileset.getInt("columns"),
+                tileset.optInt("tilecount", 0));
+    }
+
+    /**
+     * Getter to access the object group
+     * @param name name
+     * @return the object layer
+     */
+    public RoomMap.ObjectGroup getObjectGroup(String name) {
+        return roomMap.getObjectGroup(name);
     }
 
     /**
@@ -51,64 +133,49 @@ public class TiledMapLoader {
      * @param layerName name of the layer
      * @return the layer, if it exists
      */
-    public JSONObject getLayer(String layerName) {
-        JSONArray layers = mapData.getJSONArray("layers");
-        for (int i = 0; i < layers.length(); i++) {
-            JSONObject layer = layers.getJSONObject(i);
-            if (layer.getString("name").equals(layerName)) {
-                return layer;
-            }
-        }
-        return null;
+    public RoomMap.TileLayer getLayer(String layerName) {
+        return roomMap.getTileLayer(layerName);
     }
 
     /**
      * Method used to get the layer data
      * @param layerName name of the layer to access
-     * @return the data from the layer
+     * @return the data from the layer(shared, must not be modified)
      */
     public int[] getLayerData(String layerName) {
-        JSONObject layer = getLayer(layerName);
-        if (layer != null) {
-            JSONArray data = layer.getJSONArray("data");
-            int[] result = new int[data.length()];
-            for (int i = 0; i < data.length(); i++) {
-                result[i] = data.getInt(i);
-            }
-            return result;
-        }
-        return null;
+        RoomMap.TileLayer layer = getLayer(layerName);
+        return layer != null ? layer.getData() : null;
     }
 
     /**
-     * Getter for 'mapData'
-     * @return value of 'mapData'
+     * Getter for 'roomMap'
+     * @return value of 'roomMap'
      */
-    public JSONObject getMapData() {
-        return mapData;
+    public RoomMap getRoomMap() {
+        return roomMap;
     }
 
     /**
      * Getter for width
      * @return value of width
      */
-    public int getWidth() { return mapData.getInt("width"); }
+    public int getWidth() { return roomMap.getWidth(); }
 
     /**
      * Getter for height
      * @return height
      */
-    public int getHeight() { return mapData.getInt("height"); }
+    public int getHeight() { return roomMap.getHeight(); }
 
     /**
      * Getter for 'tileWidth'
      * @return value of 'tileWidth'
      */
-    public int getTileWidth() { return tileWidth; }
+    public int getTileWidth() { return roomMap.getTileWidth(); }
 
     /**
      * Getter for 'tileHeight'
      * @return value of 'tileHeight'
      */
-    public int getTileHeight() { return tileHeight; }
-}
\ No newline at end of file
+    public int getTileHeight() { return roomMap.getTileHeight(); }
+}
@@ -0,0 +1,494 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class used to store the trigger zones of a room(exits, prompts, hiding spots, cassette players, ending zones, search spots),
+ * compiled from the object layers when loading the room and indexed by a uniform grid,
+ * so that finding the zones the player is standing in is a single grid lookup
+ */
+public final class TriggerIndex {
+    /**
+     * Kinds of the trigger zones
+     */
+    public enum Kind {
+        /** EXIT TO [Name of the next room] objects */
+        EXIT,
+        /** Room transition prompt objects */
+        PROMPT,
+        /** Hiding spot objects */
+        HIDING_SPOT,
+        /** Cassette player objects */
+        CASSETTE_PLAYER,
+        /** USE_STALKER_CLAW objects */
+        ENDING,
+        /** Search spot objects */
+        SEARCH_SPOT
+    }
+
+    /**
+     * Size of the player's hitbox in pixels, used by all the trigger checks
+     */
+    public static final double PLAYER_SIZE = 20;
+    /**
+     * Distance(in pixels) from a cassette player the player has to be in
+     */
+    public static final double CASSETTE_PLAYER_RADIUS = 50;
+    /**
+     * Size of a grid cell in pixels
+     */
+    private static final int CELL_SIZE = 64;
+    /**
+     * Empty cell of the grid
+     */
+    private static final int[] EMPTY_CELL = new int[0];
+    /**
+     * Zones of the room, in the order they're stored in the tmj file
+     */
+    private final Zone[] zones;
+    /**
+     * Amount of columns of the grid
+     */
+    private final int columns;
+    /**
+     * Amount of rows of the grid
+     */
+    private final int rows;
+    /**
+     * Ids of the zones located in the individual grid cells, stored row by row
+     */
+    private final int[][] cells;
+
+    /**
+     * Constructor
+     * @param zones zones of the room
+     * @param widthInPixels width of the room in pixels
+     * @param heightInPixels height of the room in pixels
+     */
+    public TriggerIndex(List<Zone> zones, double widthInPixels, double heightInPixels) {
+        this.zones = zones.toArray(new Zone[0]);
+        this.columns = Math.max(1, (int) Math.ceil(widthInPixels / CELL_SIZE));
+        this.rows = Math.max(1, (int) Math.ceil(heightInPixels / CELL_SIZE));
+        List<List<Integer>> cellLists = new ArrayList<>();
+        for (int i = 0; i < columns * rows; i++) {
+            cellLists.add(new ArrayList<>());
+        }
+        for (int id = 0; id < this.zones.length; id++) {
+            Zone zone = this.zones[id];
+            int minColumn = clampColumn(zone.left);
+            int maxColumn = clampColumn(zone.right);
+            int minRow = clampRow(zone.top);
+            int maxRow = clampRow(zone.bottom);
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int column = minColumn; column <= maxColumn; column++) {
+                    cellLists.get(row * columns + column).add(id);
+                }
+            }
+        }
+        cells = new int[columns * rows][];
+        for (int i = 0; i < cells.length; i++) {
+            List<Integer> ids = cellLists.get(i);
+            if (ids.isEmpty()) {
+                cells[i] = EMPTY_CELL;
+            } else {
+                cells[i] = new int[ids.size()];
+                for (int j = 0; j < ids.size(); j++) {
+                    cells[i][j] = ids.get(j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method used to compile the trigger zones from the room's object layers
+     * @param map compiled tmj data of the room
+     * @return the trigger index of the room
+     */
+    public static TriggerIndex build(RoomMap map) {
+        List<Zone> zones = new ArrayList<>();
+        RoomMap.ObjectGroup gameObjects = map.getObjectGroup("GameObjects");
+        if (gameObjects != null) {
+            for (RoomMap.MapObject obj : gameObjects.getObjects()) {
+                if (obj.getName().startsWith("EXIT TO")) {
+                    zones.add(Zone.exit(Kind.EXIT, obj));
+                }
+            }
+        }
+        RoomMap.ObjectGroup prompts = map.getObjectGroup("RoomTransitionPrompts");
+        if (prompts == null) {
+            prompts = map.getObjectGroup("RoomTransitionPrompt");
+        }
+        if (prompts != null) {
+            for (RoomMap.MapObject obj : prompts.getObjects()) {
+                zones.add(Zone.exit(Kind.PROMPT, obj));
+            }
+        }
+        RoomMap.ObjectGroup hidingSpots = map.getObjectGroup("HidingSpotPrompt");
+        if (hidingSpots != null) {
+            for (RoomMap.MapObject obj : hidingSpots.getObjects()) {
+                zones.add(Zone.overlap(Kind.HIDING_SPOT, obj, false));
+            }
+        }
+        RoomMap.ObjectGroup cassettePlayers = map.getObjectGroup("CassettePlayer");
+        if (cassettePlayers != null) {
+            for (RoomMap.MapObject obj : cassettePlayers.getObjects()) {
+                zones.add(Zone.radius(Kind.CASSETTE_PLAYER, obj, CASSETTE_PLAYER_RADIUS));
+            }
+        }
+        RoomMap.ObjectGroup endings = map.getObjectGroup("USE_STALKER_CLAW");
+        if (endings != null) {
+            for (RoomMap.MapObject obj : endings.getObjects()) {
+                zones.add(Zone.overlap(Kind.ENDING, obj, false));
+            }
+        }
+        RoomMap.ObjectGroup searchSpots = map.getObjectGroup("SearchSpots");
+        if (searchSpots != null) {
+            for (RoomMap.MapObject obj : searchSpots.getObjects()) {
+                zones.add(Zone.overlap(Kind.SEARCH_SPOT, obj, true));
+            }
+        }
+        return new TriggerIndex(zones,
+                (double) map.getWidth() * map.getTileWidth(), (double) map.getHeight() * map.getTileHeight());
+    }
+
+    /**
+     * Method used to clamp an x coordinate into a grid column
+     * @param x x coordinate in pixels
+     * @return the column
+     */
+    private int clampColumn(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / CELL_SIZE)));
+    }
+
+    /**
+     * Method used to clamp a y coordinate into a grid row
+     * @param y y coordinate in pixels
+     * @return the row
+     */
+    private int clampRow(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / CELL_SIZE)));
+    }
+
+    /**
+     * Method used to get the ids of the zones which might contain a point, in the order they're stored in the tmj file
+     * @param x x coordinate of the player's center in pixels
+     * @param y y coordinate of the player's center in pixels
+     * @return ids of the candidate zones(shared, must not be modified)
+     */
+    int[] candidates(double x, double y) {
+        return cells[clampRow(y) * columns + clampColumn(x)];
+    }
+
+    /**
+     * Method used to get a zone by its id
+     * @param id id of the zone
+     * @return the zone
+     */
+    public Zone getZone(int id) {
+        return zones[id];
+    }
+
+    /**
+     * Getter for the amount of zones
+     * @return amount of zones
+     */
+    public int size() {
+        return zones.length;
+    }
+
+    /**
+     * Class used to store a single trigger zone.
+     * The zone is stored as the area the player's center has to be in, so that a query is a single point test
+     */
+    public static final class Zone {
+        /**
+         * Kind of the zone
+         */
+        private final Kind kind;
+        /**
+         * Name of the object the zone was created from
+         */
+        private final String name;
+        /**
+         * Room the zone leads to(exits and prompts), null otherwise
+         */
+        private final RoomId targetRoom;
+        /**
+         * X, Y, width and height of the object in pixels
+         */
+        private final double x, y, width, height;
+        /**
+         * Bounds of the area the player's center has to be in
+         */
+        private final double left, top, right, bottom;
+        /**
+         * Do the bounds count as being inside?
+         */
+        private final boolean inclusive;
+        /**
+         * Radius around the object's position, 0 if the zone is rectangular
+         */
+        private final double radius;
+
+        /**
+         * Constructor
+         * @param kind kind of the zone
+         * @param obj object the zone is created from
+         * @param left left bound of the player's center
+         * @param top top bound of the player's center
+         * @param right right bound of the player's center
+         * @param bottom bottom bound of the player's center
+         * @param inclusive do the bounds count as being inside?
+         * @param radius radius around the object's position, 0 if the zone is rectangular
+         */
+        private Zone(Kind kind, RoomMap.MapObject obj, double left, double top, double right, double bottom,
+                     boolean inclusive, double radius) {
+            this.kind = kind;
+            this.name = obj.getName();
+            this.targetRoom = (kind == Kind.EXIT || kind == Kind.PROMPT) && name.length() >= 7
+                    ? RoomId.of(name.substring(7)) : null;
+            this.x = obj.getX();
+            this.y = obj.getY();
+            this.width = obj.getWidth();
+            this.height = obj.getHeight();
+            this.left = left;
+            this.top = top;
+            this.right = right;
+            this.bottom = bottom;
+            this.inclusive = inclusive;
+            this.radius = radius;
+        }
+
+        /**
+         * Method used to create an exit/prompt zone, objects smaller than the player are expanded around their center
+         * @param kind kind of the zone
+         * @param obj object the zone is created from
+         * @return the zone
+         */
+        static Zone exit(Kind kind, RoomMap.MapObject obj) {
+            if (obj.getWidth() < PLAYER_SIZE || obj.getHeight() < PLAYER_SIZE) {
+                double halfWidth = Math.max(PLAYER_SIZE, obj.getWidth()) / 2;
+                double halfHeight = Math.max(PLAYER_SIZE, obj.getHeight()) / 2;
+                double centerX = obj.getX() + obj.getWidth() / 2;
+                double centerY = obj.getY() + obj.getHeight() / 2;
+                return new Zone(kind, obj, centerX - halfWidth, centerY - halfHeight,
+                        centerX + halfWidth, centerY + halfHeight, false, 0);
+            }
+            return overlap(kind, obj, false);
+        }
+
+        /**
+         * Method used to create a zone the player's hitbox has to overlap
+         * @param kind kind of the zone
+         * @param obj object the zone is created from
+         * @param inclusive does touching the object count as overlapping?
+         * @return the zone
+         */
+        static Zone overlap(Kind kind, RoomMap.MapObject obj, boolean inclusive) {
+            double half = PLAYER_SIZE / 2;
+            return new Zone(kind, obj, obj.getX() - half, obj.getY() - half,
+                    obj.getX() + obj.getWidth() + half, obj.getY() + obj.getHeight() + half, inclusive, 0);
+        }
+
+        /**
+         * Method used to create a zone around the object's position
+         * @param kind kind of the zone
+         * @param obj object the zone is created from
+         * @param radius distance from the object's position
+         * @return the zone
+         */
+        static Zone radius(Kind kind, RoomMap.MapObject obj, double radius) {
+            return new Zone(kind, obj, obj.getX() - radius, obj.getY() - radius,
+                    obj.getX() + radius, obj.getY() + radius, false, radius);
+        }
+
+        /**
+         * Method used to find out whether the player's center is in the zone
+         * @param px x coordinate of the player's center in pixels
+         * @param py y coordinate of the player's center in pixels
+         * @return is the player in the zone?
+         */
+        public boolean contains(double px, double py) {
+            if (radius > 0) {
+                return Math.hypot(px - x, py - y) < radius;
+            }
+            if (inclusive) {
+                return px >= left && px <= right && py >= top && py <= bottom;
+            }
+            return px > left && px < right && py > top && py < bottom;
+        }
+
+        /**
+         * Getter for 'kind'
+         * @return value of 'kind'
+         */
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Getter for 'name'
+         * @return value of 'name'
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter for 'targetRoom'
+         * @return value of 'targetRoom'
+         */
+        public RoomId getTargetRoom() {
+            return targetRoom;
+        }
+
+        /**
+         * Getter for 'x'
+         * @return value of 'x'
+         */
+        public double getX() {
+            return x;
+        }
+
+        /**
+         * Getter for 'y'
+         * @return value of 'y'
+         */
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * Getter for 'width'
+         * @return value of 'width'
+         */
+        public double getWidth() {
+            return width;
+        }
+
+        /**
+         * Getter for 'height'
+         * @return value of 'height'
+         */
+        public double getHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * Class used to track which zones the player is in between frames, producing zone enter/leave events
+     */
+    public static final class Tracker {
+        /**
+         * Index the tracked zones belong to
+         */
+        private TriggerIndex index;
+        /**
+         * Zones the player is currently in, in the order they're stored in the tmj file
+         */
+        private final List<Zone> inside = new ArrayList<>();
+        /**
+         * Zones the player has entered during the last update
+         */
+        private final List<Zone> entered = new ArrayList<>();
+        /**
+         * Zones the player has left during the last update
+         */
+        private final List<Zone> left = new ArrayList<>();
+        /**
+         * Zones the player was in before the last update
+         */
+        private final List<Zone> previous = new ArrayList<>();
+
+        /**
+         * Method used to update the zones the player is in
+         * @param triggerIndex trigger index of the current room, zones of a previous room are all left
+         * @param px x coordinate of the player's center in pixels
+         * @param py y coordinate of the player's center in pixels
+         */
+        public void update(TriggerIndex triggerIndex, double px, double py) {
+            previous.clear();
+            previous.addAll(inside);
+            inside.clear();
+            entered.clear();
+            left.clear();
+            index = triggerIndex;
+            if (index != null) {
+                for (int id : index.candidates(px, py)) {
+                    Zone zone = index.zones[id];
+                    if (zone.contains(px, py)) {
+                        inside.add(zone);
+                        if (!previous.contains(zone)) {
+                            entered.add(zone);
+                        }
+                    }
+                }
+            }
+            for (Zone zone : previous) {
+                if (!inside.contains(zone)) {
+                    left.add(zone);
+                }
+            }
+        }
+
+        /**
+         * Method used to find out whether the player is in a zone of a certain kind
+         * @param kind kind of the zone
+         * @return is the player in a zone of the said kind?
+         */
+        public boolean isInside(Kind kind) {
+            return getFirstInside(kind) != null;
+        }
+
+        /**
+         * Method used to get the first zone(in tmj file order) of a certain kind the player is in
+         * @param kind kind of the zone
+         * @return the zone, null if the player isn't in any
+         */
+        public Zone getFirstInside(Kind kind) {
+            for (Zone zone : inside) {
+                if (zone.kind == kind) {
+                    return zone;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Method used to find out whether the player has left a zone of a certain kind during the last update
+         * @param kind kind of the zone
+         * @return has the player left a zone of the said kind?
+         */
+        public boolean hasLeft(Kind kind) {
+            for (Zone zone : left) {
+                if (zone.kind == kind) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Getter for 'inside'
+         * @return zones the player is currently in(shared, must not be modified)
+         */
+        public List<Zone> getInside() {
+            return inside;
+        }
+
+        /**
+         * Getter for 'entered'
+         * @return zones the player has entered during the last update(shared, must not be modified)
+         */
+        public List<Zone> getEntered() {
+            return entered;
+        }
+
+        /**
+         * Getter for 'left'
+         * @return zones the player has left during the last update(shared, must not be modified)
+         */
+        public List<Zone> getLeft() {
+            return left;
+        }
+    }
+}
@@ -86,6 +86,15 @@ public abstract class Weapon extends Item implements Serializable {
         return currentAmmo;
     }
 
+    /**
+     * Setter for 'currentAmmo'
+     *
+     * @param currentAmmo what to set the value of 'currentAmmo' to
+     */
+    public void setCurrentAmmo(int currentAmmo) {
+        this.currentAmmo = currentAmmo;
+    }
+
     /**
      * Method to implement the use of a said weapon
      *
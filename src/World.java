@@ -1,7 +1,4 @@
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
 import java.io.*;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -15,9 +12,9 @@ public class World implements Serializable {
      */
     private static final long serialVersionUID = 1L;
     /**
-     * Map containing all the rooms(index,room)
+     * Map containing all the rooms(index,room), also indexed by the rooms' names
      */
-    private final Map<Integer, Room> rooms = new HashMap<>();
+    private final RoomIndex rooms = new RoomIndex();
     /**
      * Current room
      */
@@ -46,6 +43,15 @@ public class World implements Serializable {
      * GameGUI instance
      */
     private GameGUI gameGUI;
+    /**
+     * Registry of the enemies in the rooms
+     */
+    private final EnemyRegistry enemies = new EnemyRegistry();
+    /**
+     * Store holding the values of the enemies added into the world, created when the first enemy is added.
+     * Not serialized, enemies of a deserialized world keep their values themselves
+     */
+    private transient EnemyStore enemyStore;
 
     /**
      * Method used to load the rooms from the file
@@ -176,11 +182,47 @@ public class World implements Serializable {
     /**
      * Method used to find a room based on the input given
      *
-     * @param name name of the room we're looking for
+     * @param name name of the room we're looking for(ignoring case)
      * @return room based on the name given, null if no such room had been found
      */
     public Room findRoomByName(String name) {
-        return rooms.values().stream().filter(room -> room.getName().equalsIgnoreCase(name)).findFirst().orElse(null);
+        return rooms.get(name);
+    }
+
+    /**
+     * Method used to get a room by its index
+     * @param index index of the room
+     * @return the room, null if no such room exists
+     */
+    public Room getRoom(int index) {
+        return rooms.get(index);
+    }
+
+    /**
+     * Method used to get a room by its identifier
+     * @param id identifier of the room
+     * @return the room, null if no such room exists
+     */
+    public Room getRoom(RoomId id) {
+        return rooms.get(id);
+    }
+
+    /**
+     * Method used to get the index of a room by its identifier
+     * @param id identifier of the room
+     * @return index of the room, -1 if no such room exists
+     */
+    public int getRoomIndex(RoomId id) {
+        return rooms.getId(id);
+    }
+
+    /**
+     * Method used to get the index of a room by its name, the index of a room never changes
+     * @param name name of the room(ignoring case)
+     * @return index of the room, -1 if no such room exists
+     */
+    public int getRoomIndex(String name) {
+        return rooms.getId(name);
     }
 
     /**
@@ -248,39 +290,34 @@ public class World implements Serializable {
     }
 
     /**
-     * Method used to load the search spots from tmj files
+     * Method used to load the search spots from the compiled tmj files
      * @param room used to load search spots into correct rooms
-     * @param tmjData tmj data, used to access the SearchSpots object layer
+     * @param roomMap compiled tmj data, used to access the SearchSpots object layer
      */
-    public void loadSearchSpotsFromTMJ(Room room, JSONObject tmjData) {
+    public void loadSearchSpotsFromMap(Room room, RoomMap roomMap) {
         try {
-            JSONArray layers = tmjData.getJSONArray("layers");
-            for (int i = 0; i < layers.length(); i++) {
-                JSONObject layer = layers.getJSONObject(i);
-                if ("SearchSpots".equals(layer.getString("name"))) {
-                    JSONArray objects = layer.getJSONArray("objects");
-                    for (int j = 0; j < objects.length(); j++) {
-                        JSONObject obj = objects.getJSONObject(j);
-                        String name = obj.getString("name");
-                        SearchSpot existingSpot = room.getSearchSpots().stream()
-                                .filter(s -> s.getName().equals(name))
-                                .findFirst()
-                                .orElse(null);
-                        if (existingSpot != null) {
-                            // Update existing spot's searched status if needed
-                            existingSpot.setSearched(existingSpot.isSearched());
-                        } else {
-                            // Store coordinates in pixels as they come from Tiled
-                            double x = obj.getDouble("x");
-                            double y = obj.getDouble("y");
-                            double width = obj.getDouble("width");
-                            double height = obj.getDouble("height");
-                            List<Item> items = getSearchSpotItems(room.getIndex(), name);
-                            items.removeIf(item -> item == null || item.getName().equalsIgnoreCase("Empty"));
-                            SearchSpot spot = new SearchSpot(name, items, x, y, width, height);
-                            room.addSearchSpot(spot);
-
-                        }
+            RoomMap.ObjectGroup layer = roomMap.getObjectGroup("SearchSpots");
+            if (layer != null) {
+                for (RoomMap.MapObject obj : layer.getObjects()) {
+                    String name = obj.getName();
+                    SearchSpot existingSpot = room.getSearchSpots().stream()
+                            .filter(s -> s.getName().equals(name))
+                            .findFirst()
+                            .orElse(null);
+                    if (existingSpot != null) {
+                        // Update existing spot's searched status if needed
+                        existingSpot.setSearched(existingSpot.isSearched());
+                    } else {
+                        // Store coordinates in pixels as they come from Tiled
+                        double x = obj.getX();
+                        double y = obj.getY();
+                        double width = obj.getWidth();
+                        double height = obj.getHeight();
+                        List<Item> items = getSearchSpotItems(room.getIndex(), name);
+                        items.removeIf(item -> item == null || item.getName().equalsIgnoreCase("Empty"));
+                        SearchSpot spot = new SearchSpot(name, items, x, y, width, height);
+                        room.addSearchSpot(spot);
+
                     }
                 }
             }
@@ -297,58 +334,7 @@ public class World implements Serializable {
      * @return the item based on the name given, null if no such item had been found
      */
     private Item createItem(String itemName) {
-        switch (itemName.toUpperCase()) {
-            case "KNIFE":
-                return new Knife();
-            case "PISTOL":
-                return new Pistol();
-            case "SHOTGUN":
-                return new Shotgun();
-            case "PISTOL_AMMO":
-                return new PistolAmmo(10);
-            case "SHOTGUN_AMMO":
-                return new ShotgunShells(5);
-            case "BANDAGE":
-                return new Bandage();
-            case "HEALING_SERUM":
-                return new HealingSerum();
-            case "CASSETTE":
-                return new Cassette();
-            case "GEAR_PIECE_1":
-                return new GearPiece("GEAR_PIECE_1");
-            case "GEAR_PIECE_2":
-                return new GearPiece("GEAR_PIECE_2");
-            case "GEAR_PIECE_3":
-                return new GearPiece("GEAR_PIECE_3");
-            case "GEAR_PIECE_4":
-                return new GearPiece("GEAR_PIECE_4");
-            case "FLASHLIGHT":
-                return new Flashlight();
-            case "BATTERIES":
-                return new Batteries();
-            case "REPAIR_TOOL":
-                return new KeyItem("Repair Tool", "A tool for fixing machines.");
-            case "HAMMER":
-                return new KeyItem("Hammer", "Useful for breaking or fixing things.");
-            case "STALKERS_CLAW":
-                return new KeyItem("Stalker's Claw", "A trophy from the final enemy.");
-            case "CURING_SERUM":
-                return new KeyItem("Curing Serum", "A special serum with mysterious properties.");
-            case "HINT_1":
-                return new Hint("Hint 1", "You need to wander into the basement. To do so, you need to find 4 gear pieces to unlock the door. The first one may be located somewhere outside...");
-            case "HINT_2":
-                return new Hint("Hint 2", "The second gear piece might be somewhere in the garden house.");
-            case "HINT_3":
-                return new Hint("Hint 3", "The third gear piece is probably located in the bathroom somewhere...you're gonna need a hammer.");
-            case "HINT_4":
-                return new Hint("Hint 4", "The last gear piece is located somewhere in the lower floor.");
-            case "KEY_TO_DINING_ROOM_WARDROBE_2":
-                return new KeyItem("Key to Dining Room Wardrobe 2", "A key. It seems to fit into a wardrobe in the dining room.");
-            case "KEY_TO_GARDEN_HOUSE":
-                return new KeyItem("Key to Garden House", "A key used to access the garden house.");
-            default:
-                return null;
-        }
+        return ItemCatalog.create(itemName);
     }
 
     /**
@@ -358,7 +344,7 @@ public class World implements Serializable {
      * @param scanner scanner used to register player's input
      */
     public void moveToRoom(int index, Scanner scanner) {
-        Room nextRoom = rooms.get(index);
+        Room nextRoom = getRoom(index);
 
         if (nextRoom == null) {
             System.out.println("\nInvalid index. This room does not exist.");
@@ -393,19 +379,22 @@ public class World implements Serializable {
 
         currentRoom = nextRoom;
         System.out.println("\nMoved to the room: " + currentRoom.getName());
+        if (game != null) {
+            game.captureCheckpoint();
+        }
         // Check for Stalker movement after regular movement
-        if (currentRoom.getName().equals("Secret_Chamber") &&
-                findEnemyByName("StalkerFinalBattle") != null) {
-            startCombat(findEnemyByName("StalkerFinalBattle"));
+        StalkerFinalBattle finalBattle = enemies.findByType(StalkerFinalBattle.class);
+        if (currentRoom.getName().equals("Secret_Chamber") && finalBattle != null) {
+            startCombat(finalBattle);
             return;
         }
         // Handle regular Stalker movement
-        Enemy stalker = findEnemyByName("Stalker");
+        Stalker stalker = enemies.findByType(Stalker.class);
         if (stalker != null && player.hasItem("Knife")) {
-            ((Stalker) stalker).moveCloser();
-            System.out.println("[DEBUG] Stalker distance: " + ((Stalker) stalker).distanceFromPlayer);
+            stalker.moveCloser();
+            System.out.println("[DEBUG] Stalker distance: " + stalker.distanceFromPlayer);
 
-            if (((Stalker) stalker).isInCombatRange()) {
+            if (stalker.isInCombatRange()) {
                 System.out.println("The Stalker has caught up to you!");
                 startCombat(stalker);
             }
@@ -413,15 +402,10 @@ public class World implements Serializable {
 
 
         // Check for zombies in current room
-        List<Enemy> enemiesInRoom = getEnemiesInRoom(currentRoom);
-        if (!enemiesInRoom.isEmpty()) {
-            // Check if any of the enemies are zombies
-            Optional<Enemy> zombie = enemiesInRoom.stream()
-                    .filter(e -> e instanceof Zombie)
-                    .findFirst();
-
-            if (zombie.isPresent()) {
-                startCombat(zombie.get());
+        for (Enemy enemy : getEnemiesInRoom(currentRoom)) {
+            if (enemy instanceof Zombie) {
+                startCombat(enemy);
+                break;
             }
         }
     }
@@ -460,28 +444,81 @@ public class World implements Serializable {
      * @param name name of the enemy we're looking for
      * @return the enemy, or null if no such enemy had been found
      */
-    private Enemy findEnemyByName(String name) {
-        for (Room room : rooms.values()) {
-            for (Character character : room.getCharacters()) {
-                if (character instanceof Enemy && character.getName().equalsIgnoreCase(name)) {
-                    return (Enemy) character;
-                }
-            }
-        }
-        return null;
+    public Enemy findEnemyByName(String name) {
+        return enemies.findByName(name);
     }
 
     /**
-     * Searches the room for any characters of the enemy type located in a certain room
+     * Method used to get the enemies located in a certain room
      *
      * @param room the room we're going to search
-     * @return list of enemies located in the room given
+     * @return read-only list of enemies located in the room given
+     */
+    public List<Enemy> getEnemiesInRoom(Room room) {
+        return enemies.getInRoom(room.getId());
+    }
+
+    /**
+     * Method used to add an enemy into a room, the enemy is attached to the world's enemy store
+     * @param room which room to add the enemy into
+     * @param enemy the enemy
+     */
+    public void addEnemy(Room room, Enemy enemy) {
+        enemy.setWorld(this);
+        enemy.setCurrentRoomId(room.getId());
+        enemies.register(enemy);
+        if (enemy.getStore() == null) {
+            enemy.attach(getEnemyStore());
+        }
+        room.addCharacter(enemy);
+    }
+
+    /**
+     * Method used to remove an enemy from its room, e.g. once it has been killed
+     * @param enemy the enemy
      */
-    private List<Enemy> getEnemiesInRoom(Room room) {
-        return room.getCharacters().stream()
-                .filter(c -> c instanceof Enemy)
-                .map(c -> (Enemy) c)
-                .toList();
+    public void removeEnemy(Enemy enemy) {
+        Room room = getRoom(enemy.getCurrentRoomId());
+        if (room != null) {
+            room.getCharacters().remove(enemy);
+        }
+        enemies.unregister(enemy);
+        if (enemyStore != null && enemy.getStore() == enemyStore) {
+            enemy.detach();
+        }
+    }
+
+    /**
+     * Method used to move an enemy into another room
+     * @param enemy the enemy
+     * @param room which room to move the enemy into
+     */
+    public void moveEnemy(Enemy enemy, Room room) {
+        Room previous = getRoom(enemy.getCurrentRoomId());
+        if (previous != null) {
+            previous.getCharacters().remove(enemy);
+        }
+        room.addCharacter(enemy);
+        enemies.move(enemy, room.getId());
+    }
+
+    /**
+     * Getter for 'enemies'
+     * @return value of 'enemies'
+     */
+    public EnemyRegistry getEnemies() {
+        return enemies;
+    }
+
+    /**
+     * Getter for 'enemyStore', the store is created if the world doesn't have one yet
+     * @return value of 'enemyStore'
+     */
+    public EnemyStore getEnemyStore() {
+        if (enemyStore == null) {
+            enemyStore = new EnemyStore();
+        }
+        return enemyStore;
     }
 
     /**
@@ -490,11 +527,8 @@ public class World implements Serializable {
      * @return distance of stalker from player, -1 if Stalker instance doesn't exist
      */
     public int getStalkerDistance() {
-        Enemy stalker = findEnemyByName("Stalker");
-        if (stalker instanceof Stalker) {
-            return ((Stalker) stalker).distanceFromPlayer;
-        }
-        return -1; //
+        Stalker stalker = enemies.findByType(Stalker.class);
+        return stalker != null ? stalker.distanceFromPlayer : -1;
     }
 
     /**
@@ -503,9 +537,9 @@ public class World implements Serializable {
      * @param distance what are we going to set the distance to
      */
     public void setStalkerDistance(int distance) {
-        Enemy stalker = findEnemyByName("Stalker");
-        if (stalker instanceof Stalker) {
-            ((Stalker) stalker).distanceFromPlayer = distance;
+        Stalker stalker = enemies.findByType(Stalker.class);
+        if (stalker != null) {
+            stalker.distanceFromPlayer = distance;
         }
     }
 
@@ -516,21 +550,21 @@ public class World implements Serializable {
         // Final boss
         if (rooms.containsKey(11)) {
             Room room = rooms.get(11);
-            room.addCharacter(new StalkerFinalBattle(this, room.getName()));
+            addEnemy(room, new StalkerFinalBattle(this, room.getName()));
         }
 
         // Zombies
         if (rooms.containsKey(7)) {
             Room room = rooms.get(7);
             for (int i = 0; i < 5; i++) {
-                room.addCharacter(new Zombie(this, room.getName()));
+                addEnemy(room, new Zombie(this, room.getName()));
             }
         }
 
         // Stalker
         if (rooms.containsKey(0)) {
             Room room = rooms.get(0);
-            room.addCharacter(new Stalker(this, room.getName()));
+            addEnemy(room, new Stalker(this, room.getName()));
         }
     }
 
@@ -541,7 +575,7 @@ public class World implements Serializable {
         System.out.println("\n🔹 You're currently at the room: " + currentRoom.getName());
         System.out.println("🔽 Choose where to travel next:");
         for (int neighborIndex : currentRoom.getNeighbors()) {
-            Room neighbor = rooms.get(neighborIndex);
+            Room neighbor = getRoom(neighborIndex);
             if (neighbor != null) {
                 System.out.println("   [" + neighborIndex + "] " + neighbor.getName());
             }
@@ -564,7 +598,7 @@ public class World implements Serializable {
     public void setCurrentRoom(Room room) {
         this.currentRoom = room;
         if (player != null) {
-            player.setCurrentRoomName(room.getName());
+            player.setCurrentRoom(room);
         }
     }
 
@@ -674,10 +708,7 @@ public class World implements Serializable {
      * @return the room we're looking for, if it exists
      */
     public Room getRoomByName(String name) {
-        return rooms.values().stream()
-                .filter(r -> r.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        return rooms.get(name);
     }
 
     /**
@@ -685,10 +716,8 @@ public class World implements Serializable {
      * @param room what room to add into the world
      */
     public void addRoom(Room room) {
-        // Find the next available index
-        int nextIndex = rooms.keySet().stream()
-                .max(Integer::compare)
-                .orElse(-1) + 1;
+        int nextIndex = rooms.nextId();
+        room.setIndex(nextIndex);
         rooms.put(nextIndex, room);
     }
 
@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link AutosaveService} class.
+ * This class tests coalescing the autosave requests and rotating the autosave slots.
+ */
+class AutosaveServiceTest {
+    /**
+     * Method used to wait until no autosave is pending
+     * @param autosave which autosave service
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void awaitSaved(AutosaveService autosave) throws InterruptedException {
+        for (int i = 0; i < 500 && autosave.isPending(); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(autosave.isPending());
+    }
+
+    /**
+     * Tests autosaving after room transitions.
+     * Verifies that:
+     * - A burst of requests results in a single snapshot
+     * - Requests are delayed until the minimal spacing has passed
+     * - The autosaves rotate through the slots and the counters are updated
+     *
+     * @throws Exception if the autosave can't be written or read
+     */
+    @Test
+    void update_BurstOfRequests_Coalesced() throws Exception {
+        File file = File.createTempFile("slots", ".bin");
+        file.delete();
+        file.deleteOnExit();
+        SlotStore store = new SlotStore(file);
+        AtomicInteger snapshots = new AtomicInteger();
+        AutosaveService autosave = new AutosaveService(store, 2, 1_000_000, 100, () -> {
+            GameStateGUI state = new GameStateGUI();
+            state.setPlayerHealth(snapshots.incrementAndGet());
+            state.setCurrentRoomName("Caravan");
+            state.setInventory(new ArrayList<>());
+            return state;
+        });
+        autosave.update(0);
+        for (int i = 0; i < 5; i++) {
+            autosave.requestSave();
+        }
+        autosave.update(50);
+        assertEquals(0, snapshots.get());
+        autosave.update(100);
+        awaitSaved(autosave);
+        assertEquals(1, snapshots.get());
+        assertEquals(4, autosave.getCoalesced());
+
+        autosave.requestSave();
+        autosave.update(200);
+        awaitSaved(autosave);
+
+        assertEquals(2, autosave.getSaves());
+        assertTrue(autosave.getLastSizeBytes() > 0);
+        assertEquals(1, ((GameStateGUI) SaveJournal.decode(store.read(autosave.getSlotName(0)))).getPlayerHealth());
+        assertEquals(2, ((GameStateGUI) SaveJournal.decode(store.read(autosave.getSlotName(1)))).getPlayerHealth());
+        store.close();
+    }
+}
@@ -0,0 +1,28 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link CheckpointRing} class.
+ * This class tests storing the checkpoints and overwriting the oldest ones.
+ */
+class CheckpointRingTest {
+    /**
+     * Tests adding more checkpoints than the ring can hold.
+     * Verifies that:
+     * - The newest checkpoint is returned first
+     * - The oldest checkpoints are overwritten
+     */
+    @Test
+    void push_MoreThanCapacity_KeepsNewest() {
+        CheckpointRing ring = new CheckpointRing(3);
+        assertNull(ring.latest());
+        for (int i = 1; i <= 5; i++) {
+            ring.push(new byte[]{(byte) i});
+        }
+
+        assertEquals(3, ring.size());
+        assertEquals(5, ring.latest()[0]);
+        assertEquals(3, ring.get(2)[0]);
+        assertNull(ring.get(3));
+    }
+}
@@ -0,0 +1,222 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link ChunkStore} class.
+ * This class tests splitting the saves into chunks by their content, storing every chunk once and dropping the chunks nobody references.
+ */
+class ChunkStoreTest {
+    /**
+     * Method used to create a new temporary file
+     * @param prefix prefix of the file name
+     * @return the file, not created yet
+     * @throws IOException if the file couldn't be created
+     */
+    private File createFile(String prefix) throws IOException {
+        File file = File.createTempFile(prefix, ".bin");
+        file.delete();
+        file.deleteOnExit();
+        new File(file.getPath() + ".tmp").deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Method used to create a late-game state, most of which doesn't change between the saves
+     * @param health player's health
+     * @return the state
+     */
+    private GameStateGUI createState(int health) {
+        GameStateGUI state = new GameStateGUI();
+        state.setPlayerHealth(health);
+        state.setPlayerPosition(health * 3, 40);
+        state.setCurrentRoomName("Library");
+        state.setInventory(new ArrayList<>(List.of(new Pistol(), new Flashlight(), new Bandage())));
+        Map<String, List<String>> searched = new HashMap<>();
+        Map<String, Boolean> locks = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            searched.put("Room " + i, List.of("Desk", "Shelf " + i, "Cabinet"));
+            locks.put("Door " + i, i % 2 == 0);
+        }
+        state.setSearchedSpots(searched);
+        state.setLockStates(locks);
+        state.setDroppedItems(new HashMap<>());
+        return state;
+    }
+
+    /**
+     * Tests splitting data by its content.
+     * Verifies that:
+     * - The chunks join back into the data and stay within the size limits
+     * - Inserting bytes into the middle only changes the chunks around them
+     */
+    @Test
+    void split_InsertedBytes_KeepsOtherChunks() {
+        byte[] data = new byte[8192];
+        new Random(7).nextBytes(data);
+        byte[] changed = new byte[data.length + 10];
+        System.arraycopy(data, 0, changed, 0, 4000);
+        System.arraycopy(data, 4000, changed, 4010, data.length - 4000);
+
+        List<byte[]> chunks = ChunkStore.split(data);
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        for (int i = 0; i < chunks.size(); i++) {
+            byte[] chunk = chunks.get(i);
+            assertTrue(chunk.length <= ChunkStore.MAX_CHUNK_SIZE);
+            assertTrue(chunk.length >= ChunkStore.MIN_CHUNK_SIZE || i == chunks.size() - 1);
+            joined.write(chunk, 0, chunk.length);
+        }
+        assertArrayEquals(data, joined.toByteArray());
+
+        Set<String> original = new HashSet<>();
+        for (byte[] chunk : chunks) {
+            original.add(Arrays.toString(chunk));
+        }
+        int differing = 0;
+        for (byte[] chunk : ChunkStore.split(changed)) {
+            if (!original.contains(Arrays.toString(chunk))) differing++;
+        }
+        assertTrue(differing <= 3, "Changed chunks: " + differing);
+    }
+
+    /**
+     * Tests storing similar saves in a slot store with a chunk store.
+     * Verifies that:
+     * - The unchanged parts of the saves are stored only once
+     * - Every save is restored whole, also after reopening the stores
+     * - The chunks of deleted saves are dropped once the log is compacted, the remaining save stays readable
+     *
+     * @throws IOException if the stores can't be written or read
+     */
+    @Test
+    void write_SimilarSaves_StoresChunksOnce() throws IOException {
+        File slotFile = createFile("slots");
+        File chunkFile = createFile("chunks");
+        int chunksOfOneSave;
+        ChunkStore first = new ChunkStore(chunkFile);
+        try (SlotStore store = new SlotStore(slotFile, first)) {
+            store.write("save_1", SaveCodec.encode(createState(1)));
+            chunksOfOneSave = first.getChunkCount();
+        }
+        try (SlotStore store = new SlotStore(slotFile, new ChunkStore(chunkFile))) {
+            for (int i = 2; i <= 10; i++) {
+                store.write("save_" + i, SaveCodec.encode(createState(i)));
+            }
+            for (int i = 1; i <= 10; i++) {
+                assertEquals(i, ((GameStateGUI) SaveJournal.decode(store.read("save_" + i))).getPlayerHealth());
+            }
+            assertEquals(20, ((GameStateGUI) SaveJournal.decode(store.read("save_7"))).getLockStates().size());
+        }
+        ChunkStore chunks = new ChunkStore(chunkFile);
+        try (SlotStore store = new SlotStore(slotFile, chunks)) {
+            assertTrue(chunks.getChunkCount() < chunksOfOneSave * 4,
+                    chunks.getChunkCount() + " chunks for 10 saves, " + chunksOfOneSave + " for one");
+            long sizeBefore = chunks.getSize();
+            for (int i = 1; i <= 9; i++) {
+                assertTrue(store.delete("save_" + i));
+            }
+            chunks.compact();
+            assertTrue(chunks.getSize() < sizeBefore);
+            assertEquals(0, chunks.getGarbageBytes());
+        }
+        try (SlotStore store = new SlotStore(slotFile, new ChunkStore(chunkFile))) {
+            assertEquals(10, ((GameStateGUI) SaveJournal.decode(store.read("save_10"))).getPlayerHealth());
+        }
+    }
+
+    /**
+     * Tests a chunk log cut off by a crash.
+     * Verifies that:
+     * - A broken record at the end of the log is dropped when opening it
+     * - The saves written before stay readable
+     *
+     * @throws IOException if the stores can't be written or read
+     */
+    @Test
+    void open_BrokenTail_Dropped() throws IOException {
+        File slotFile = createFile("slots");
+        File chunkFile = createFile("chunks");
+        try (SlotStore store = new SlotStore(slotFile, new ChunkStore(chunkFile))) {
+            store.write("save_1", SaveCodec.encode(createState(42)));
+        }
+        long size = chunkFile.length();
+        try (FileOutputStream out = new FileOutputStream(chunkFile, true)) {
+            out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 0, 0, 0, 64});
+        }
+        try (SlotStore store = new SlotStore(slotFile, new ChunkStore(chunkFile))) {
+            assertEquals(size, chunkFile.length());
+            assertEquals(42, ((GameStateGUI) SaveJournal.decode(store.read("save_1"))).getPlayerHealth());
+        }
+    }
+
+    /**
+     * Tests a chunk log damaged in the middle.
+     * Verifies that:
+     * - A record whose chunk doesn't match its checksum is skipped, the records after it are kept and the log isn't cut off
+     * - A record header which can't be read fails to open without changing the log
+     *
+     * @throws IOException if the stores can't be written or read
+     */
+    @Test
+    void open_DamagedRecordInMiddle_KeepsFollowingRecords() throws IOException {
+        File slotFile = createFile("slots");
+        File chunkFile = createFile("chunks");
+        int chunkCount;
+        try (SlotStore store = new SlotStore(slotFile, new ChunkStore(chunkFile))) {
+            store.write("save_1", SaveCodec.encode(createState(42)));
+            store.write("save_2", SaveCodec.encode(createState(7)));
+        }
+        try (ChunkStore chunks = new ChunkStore(chunkFile)) {
+            chunkCount = chunks.getChunkCount();
+        }
+        assertTrue(chunkCount > 2);
+        long size = chunkFile.length();
+        try (RandomAccessFile raf = new RandomAccessFile(chunkFile, "rw")) {
+            // first byte of the first chunk, after the log header(16 bytes) and the record header(28 bytes)
+            raf.seek(44);
+            int value = raf.read();
+            raf.seek(44);
+            raf.write(value ^ 0xFF);
+        }
+        try (ChunkStore chunks = new ChunkStore(chunkFile)) {
+            assertEquals(chunkCount - 1, chunks.getChunkCount());
+            assertEquals(size, chunks.getSize());
+        }
+        assertEquals(size, chunkFile.length());
+
+        try (RandomAccessFile raf = new RandomAccessFile(chunkFile, "rw")) {
+            // id of the first record
+            raf.seek(16);
+            raf.writeInt(0);
+        }
+        assertThrows(IOException.class, () -> new ChunkStore(chunkFile));
+        assertEquals(size, chunkFile.length());
+    }
+
+    /**
+     * Tests the ids of the chunks after the log has been compacted and reopened.
+     * Verifies that:
+     * - The ids of the chunks dropped by the compaction aren't given to new chunks, also after reopening the log
+     *
+     * @throws IOException if the log can't be written or read
+     */
+    @Test
+    void compact_DroppedChunks_IdsNotReused() throws IOException {
+        File chunkFile = createFile("chunks");
+        int maxId;
+        try (ChunkStore chunks = new ChunkStore(chunkFile)) {
+            maxId = Collections.max(ChunkStore.references(chunks.deduplicate(SaveCodec.encode(createState(42)))));
+            chunks.flush();
+            chunks.compact();
+            assertEquals(0, chunks.getChunkCount());
+        }
+        try (ChunkStore chunks = new ChunkStore(chunkFile)) {
+            assertEquals(0, chunks.getChunkCount());
+            for (int id : ChunkStore.references(chunks.deduplicate(SaveCodec.encode(createState(42))))) {
+                assertTrue(id > maxId, "Chunk id " + id + " was given out before");
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link CollisionWorld} class.
+ * This class tests the overlap queries against the grid indexed collision rectangles.
+ */
+class CollisionWorldTest {
+    /** The CollisionWorld instance under test */
+    private CollisionWorld world;
+    /**
+     * Initializes test environment before each test method execution.
+     * Creates a 320x320 room with:
+     * - A wall spanning several grid cells at the top
+     * - A small crate in the middle
+     * - A rectangle reaching outside of the room
+     */
+    @BeforeEach
+    void setUp() {
+        world = new CollisionWorld.Builder()
+                .add(0, 0, 320, 16)
+                .add(150, 150, 10, 10)
+                .add(300, 300, 100, 100)
+                .build(320, 320);
+    }
+
+    /**
+     * Tests overlapping rectangles.
+     * Verifies that:
+     * - Hitboxes overlapping a rectangle spanning multiple cells are detected
+     * - Hitboxes overlapping a small rectangle are detected
+     */
+    @Test
+    void overlaps_HitboxInsideCollision_ReturnsTrue() {
+        assertTrue(world.overlaps(250, 10, 12, 12));
+        assertTrue(world.overlaps(145, 145, 12, 12));
+    }
+    /**
+     * Tests touching rectangles.
+     * Verifies that:
+     * - Touching edges don't count as overlapping, same as Rectangle2D.intersects
+     */
+    @Test
+    void overlaps_TouchingEdges_ReturnsFalse() {
+        assertFalse(world.overlaps(138, 150, 12, 12));
+        assertFalse(world.overlaps(100, 16, 12, 12));
+    }
+    /**
+     * Tests rectangles outside of the room.
+     * Verifies that:
+     * - Rectangles reaching outside of the room are still found
+     * - Empty space doesn't report a collision
+     */
+    @Test
+    void overlaps_OutsideRoom_UsesEdgeCells() {
+        assertTrue(world.overlaps(350, 350, 12, 12));
+        assertFalse(world.overlaps(50, 200, 12, 12));
+        assertEquals(3, world.size());
+    }
+}
@@ -0,0 +1,98 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link EnemyRegistry} class.
+ * This class tests finding the enemies by their ids, names, types and rooms while they're added, killed and moved.
+ */
+class EnemyRegistryTest {
+    /**
+     * Tests the lookups of the registry.
+     * Verifies that:
+     * - Enemies are found by their ids, names(ignoring case), types and rooms
+     * - Removed enemies can't be found anymore and their ids are reused
+     * - Moving an enemy updates its room and the room's characters
+     */
+    @Test
+    void register_ManyEnemies_FoundByEveryIndex() {
+        World world = new World(null);
+        Room garden = new Room(6, "Garden", new ArrayList<>());
+        Room gardenHouse = new Room(7, "Garden_House", new ArrayList<>());
+        world.getRooms().put(6, garden);
+        world.getRooms().put(7, gardenHouse);
+        for (int i = 0; i < 3000; i++) {
+            world.addEnemy(gardenHouse, new Zombie(world, gardenHouse.getName()));
+        }
+        Stalker stalker = new Stalker(world, garden.getName());
+        world.addEnemy(garden, stalker);
+        EnemyRegistry enemies = world.getEnemies();
+
+        assertEquals(3001, enemies.size());
+        assertSame(stalker, enemies.get(stalker.getEntityId()));
+        assertSame(stalker, world.findEnemyByName("stalker"));
+        assertSame(stalker, enemies.findByType(Stalker.class));
+        assertEquals(3000, enemies.getByType(Zombie.class).size());
+        assertEquals(3000, world.getEnemiesInRoom(gardenHouse).size());
+        assertEquals(3, world.getStalkerDistance());
+
+        Enemy zombie = world.getEnemiesInRoom(gardenHouse).get(10);
+        int id = zombie.getEntityId();
+        world.removeEnemy(zombie);
+        assertEquals(-1, zombie.getEntityId());
+        assertNull(enemies.get(id));
+        assertFalse(world.getEnemiesInRoom(gardenHouse).contains(zombie));
+        assertEquals(2999, gardenHouse.getCharacters().size());
+        Zombie newZombie = new Zombie(world, garden.getName());
+        world.addEnemy(garden, newZombie);
+        assertEquals(id, newZombie.getEntityId());
+
+        Enemy moved = world.getEnemiesInRoom(gardenHouse).get(0);
+        world.moveEnemy(moved, garden);
+        assertSame(garden, moved.getCurrentRoom());
+        assertTrue(world.getEnemiesInRoom(garden).contains(moved));
+        assertEquals(2998, world.getEnemiesInRoom(gardenHouse).size());
+        for (Enemy enemy : world.getEnemiesInRoom(gardenHouse)) {
+            assertSame(enemy, enemies.get(enemy.getEntityId()));
+        }
+    }
+
+    /**
+     * Tests finding an enemy by its name once the enemies with the exact name are gone.
+     * Verifies that:
+     * - An emptied bucket with the exact name doesn't hide an enemy whose name only differs in case
+     * - An emptied bucket doesn't stop the search ignoring case
+     * - Names, types and rooms whose enemies are all gone aren't found, and are found again once a new enemy is added
+     */
+    @Test
+    void findByName_ExactNameRemoved_FindsOtherCase() {
+        World world = new World(null);
+        Room garden = new Room(6, "Garden", new ArrayList<>());
+        world.getRooms().put(6, garden);
+        EnemyRegistry enemies = world.getEnemies();
+        Zombie zombie = new Zombie(world, garden.getName());
+        world.addEnemy(garden, zombie);
+        Enemy upperCase = new Enemy("ZOMBIE", 50, world, garden.getName()) {
+            @Override
+            protected void initializeAttacks() {
+            }
+        };
+        world.addEnemy(garden, upperCase);
+        world.removeEnemy(zombie);
+
+        assertSame(upperCase, enemies.findByName("Zombie"));
+        assertSame(upperCase, enemies.findByName("zOmBiE"));
+        world.removeEnemy(upperCase);
+        assertNull(enemies.findByName("Zombie"));
+        assertNull(enemies.findByName("zombie"));
+        assertNull(enemies.findByType(Zombie.class));
+        assertTrue(enemies.getInRoom(garden.getId()).isEmpty());
+
+        Zombie returned = new Zombie(world, garden.getName());
+        world.addEnemy(garden, returned);
+        assertSame(returned, enemies.findByName("ZOMBIE"));
+        assertEquals(List.of(returned), enemies.getInRoom(garden.getId()));
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link EnemyScheduler} class.
+ * This class tests how the enemies are updated when the time budget of a frame runs out.
+ */
+class EnemySchedulerTest {
+    /**
+     * Tests the scheduler with a clock which moves 100 us every time it's read and a 250 us budget.
+     * Verifies that:
+     * - Only some batches of the enemies in the player's room are updated per frame, the rest is skipped
+     * - The next frames continue with the skipped enemies, until every enemy has been updated
+     * - Enemies in the other rooms aren't updated while the budget is spent on the player's room
+     */
+    @Test
+    void update_BudgetTooSmall_RoundRobinsOverFrames() {
+        World world = new World(null);
+        Room garden = new Room(6, "Garden", new ArrayList<>());
+        Room gardenHouse = new Room(7, "Garden_House", new ArrayList<>());
+        world.getRooms().put(6, garden);
+        world.getRooms().put(7, gardenHouse);
+        for (int i = 0; i < 200; i++) {
+            world.addEnemy(gardenHouse, new Zombie(world, gardenHouse.getName()));
+        }
+        world.addEnemy(garden, new Zombie(world, garden.getName()));
+        long[] time = {0};
+        EnemyScheduler scheduler = new EnemyScheduler(world, () -> time[0] += 100_000);
+        scheduler.setBudgetMicros(250);
+
+        int updated = scheduler.update(gardenHouse.getId(), 100, 0, 1, null);
+        assertTrue(updated > 0 && updated < 200);
+        assertEquals(200 - updated, scheduler.getLastSkipped());
+        assertEquals(0, scheduler.getLastOffScreen());
+        int frames = 1;
+        for (int total = updated; total < 200; total += scheduler.update(gardenHouse.getId(), 100, 0, 1, null)) {
+            frames++;
+        }
+        assertTrue(frames > 1);
+        for (Enemy zombie : world.getEnemiesInRoom(gardenHouse)) {
+            assertEquals(EnemyStore.CHASING, zombie.getState());
+            assertTrue(zombie.getX() >= EnemyScheduler.CHASE_SPEED - 1e-3);
+        }
+        assertEquals(EnemyStore.IDLE, world.getEnemiesInRoom(garden).get(0).getState());
+    }
+
+    /**
+     * Tests enemies chasing the player in a room with a wall.
+     * Verifies that:
+     * - Enemies don't move into the collisions of the room
+     * - Enemies stop at the contact distance instead of walking into the player
+     */
+    @Test
+    void update_WallBetween_EnemyBlockedAndStopsAtContact() {
+        World world = new World(null);
+        Room garden = new Room(6, "Garden", new ArrayList<>());
+        world.getRooms().put(6, garden);
+        Zombie blocked = new Zombie(world, garden.getName());
+        Zombie free = new Zombie(world, garden.getName());
+        world.addEnemy(garden, blocked);
+        world.addEnemy(garden, free);
+        blocked.setPosition(20, 50);
+        free.setPosition(100, 150);
+        CollisionWorld walls = new CollisionWorld.Builder().add(40, 0, 10, 100).build(200, 200);
+        EnemyScheduler scheduler = new EnemyScheduler(world);
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.update(garden.getId(), 100, 50, 1, walls);
+        }
+        assertTrue(blocked.getX() <= 40 - EnemyStore.SIZE / 2);
+        assertEquals(50, blocked.getY(), 1e-3);
+        assertEquals(100, free.getX(), 1e-3);
+        assertEquals(50 + EnemyScheduler.CONTACT_DISTANCE, free.getY(), 1e-3);
+    }
+}
@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link EnemyStore} class.
+ * This class tests the enemies viewing their values in the store while they're damaged, updated and removed.
+ */
+class EnemyStoreTest {
+    /**
+     * Tests enemies attached to the store of their world.
+     * Verifies that:
+     * - Damaging an enemy changes its health in the store
+     * - Updating the store only moves the enemies in the player's room, which the enemies then see
+     * - Removed enemies keep their last values and free their slots
+     * - Enemies of the same type share their attacks
+     */
+    @Test
+    void update_ZombiesInTwoRooms_OnlyPlayerRoomChases() {
+        World world = new World(null);
+        Room garden = new Room(6, "Garden", new ArrayList<>());
+        Room gardenHouse = new Room(7, "Garden_House", new ArrayList<>());
+        world.getRooms().put(6, garden);
+        world.getRooms().put(7, gardenHouse);
+        for (int i = 0; i < 500; i++) {
+            world.addEnemy(i % 2 == 0 ? garden : gardenHouse, new Zombie(world, garden.getName()));
+        }
+        EnemyStore store = world.getEnemyStore();
+        assertEquals(500, store.size());
+        Enemy chaser = world.getEnemiesInRoom(gardenHouse).get(0);
+        Enemy idle = world.getEnemiesInRoom(garden).get(0);
+        assertSame(store, chaser.getStore());
+        assertSame(chaser.getAttackTable(), idle.getAttackTable());
+        assertSame(chaser.attacks, idle.attacks);
+
+        chaser.takeDamage(30);
+        assertEquals(60, store.getHealth(chaser.getSlot()));
+        assertEquals(60, chaser.getHealth());
+
+        int chasing = store.update(0, store.getSlotCount(), gardenHouse.getId().getOrdinal(), 30, 40, 10);
+        assertEquals(250, chasing);
+        assertEquals(EnemyStore.CHASING, chaser.getState());
+        assertEquals(6, chaser.getX(), 1e-4);
+        assertEquals(8, chaser.getY(), 1e-4);
+        assertEquals(EnemyStore.IDLE, idle.getState());
+        assertEquals(0, idle.getX(), 1e-4);
+
+        chaser.takeDamage(100);
+        assertTrue(chaser.isDefeated());
+        assertEquals(EnemyStore.DEAD, chaser.getState());
+        int slot = chaser.getSlot();
+        world.removeEnemy(chaser);
+        assertNull(chaser.getStore());
+        assertEquals(-1, chaser.getSlot());
+        assertEquals(0, chaser.getHealth());
+        assertEquals(6, chaser.getX(), 1e-4);
+        assertEquals(499, store.size());
+        Zombie newZombie = new Zombie(world, garden.getName());
+        world.addEnemy(garden, newZombie);
+        assertEquals(slot, newZombie.getSlot());
+        assertEquals(90, newZombie.getHealth());
+    }
+}
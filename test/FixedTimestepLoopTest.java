@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link FixedTimestepLoop} class.
+ * This class tests the tick accumulation, the catch-up limit and the render interpolation.
+ */
+class FixedTimestepLoopTest {
+    /** The FixedTimestepLoop instance under test, running at 50 ticks per second(20 ms per tick) */
+    private FixedTimestepLoop loop;
+    /** One millisecond in nanoseconds */
+    private static final long MS = 1_000_000L;
+    /**
+     * Initializes test environment before each test method execution.
+     * Creates a loop running at 50 ticks per second with at most 3 ticks per frame.
+     */
+    @BeforeEach
+    void setUp() {
+        loop = new FixedTimestepLoop(50, 3);
+        loop.advance(0);
+    }
+
+    /**
+     * Tests the tick accumulation.
+     * Verifies that:
+     * - The same amount of ticks is run regardless of how often the frames come
+     * - The leftover time is used as the interpolation factor
+     */
+    @Test
+    void advance_DifferentFrameRates_SameTickCount() {
+        int ticks = 0;
+        for (int frame = 1; frame <= 24; frame++) {
+            ticks += loop.advance(frame * 5 * MS);
+        }
+        assertEquals(6, ticks);
+        FixedTimestepLoop slow = new FixedTimestepLoop(50, 3);
+        slow.advance(0);
+        assertEquals(2, slow.advance(50 * MS));
+        assertEquals(0.5, slow.getAlpha(), 1e-9);
+    }
+    /**
+     * Tests the catch-up limit.
+     * Verifies that:
+     * - Long frames run at most the maximum amount of ticks
+     * - The rest of the time is dropped instead of being simulated later
+     */
+    @Test
+    void advance_LongFrame_LimitsTicks() {
+        assertEquals(3, loop.advance(200 * MS));
+        assertEquals(7, loop.getDroppedTicks());
+        assertEquals(0, loop.advance(210 * MS));
+    }
+    /**
+     * Tests the render rate limit.
+     * Verifies that:
+     * - Frames closer than the limit allows aren't rendered
+     */
+    @Test
+    void shouldRender_LimitedRate_SkipsFrames() {
+        loop.setMaxRenderFps(30);
+        assertTrue(loop.shouldRender(0));
+        assertFalse(loop.shouldRender(16 * MS));
+        assertTrue(loop.shouldRender(34 * MS));
+    }
+}
@@ -0,0 +1,51 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link RoomId} class.
+ * This class tests interning the room identifiers and finding the rooms by them.
+ */
+class RoomIdTest {
+    /**
+     * Tests interning the identifiers.
+     * Verifies that:
+     * - Every spelling of a room's name maps to the same identifier
+     * - The other forms of the name are computed when the identifier is created
+     * - Blank names have no identifier
+     */
+    @Test
+    void of_DifferentSpellings_SameInstance() {
+        RoomId id = RoomId.of("Dining_Room");
+        assertSame(id, RoomId.of("DINING ROOM"));
+        assertSame(id, RoomId.of(" dining_room "));
+        assertNotSame(id, RoomId.of("Dining_Hall"));
+        assertEquals("dining_room", id.getKey());
+        assertEquals("DINING ROOM", id.getDisplayName());
+        assertEquals("ENTER FROM DINING ROOM", id.getEntranceName());
+        assertTrue(id.getOrdinal() < RoomId.count());
+        assertNull(RoomId.of(" "));
+    }
+
+    /**
+     * Tests finding the rooms and the player's room by the identifiers.
+     * Verifies that:
+     * - Rooms loaded from the layout are found by the identifiers of the tmj file names
+     * - The player's current room is resolved through its identifier, its key is stored and its display name shown
+     */
+    @Test
+    void getRoom_Identifier_FindsRoom() {
+        World world = new World(null);
+        world.getRooms().put(3, new Room(3, "Garden_House", new ArrayList<>()));
+        Room room = world.getRoom(RoomId.of("garden_house"));
+        assertNotNull(room);
+        assertEquals(3, world.getRoomIndex(room.getId()));
+
+        Player player = new Player("Test", 100, world, "GARDEN HOUSE");
+        assertSame(room, player.getCurrentRoom());
+        assertEquals(3, player.getCurrentRoomIndex());
+        assertEquals("garden_house", player.getCurrentRoomKey());
+        assertEquals("GARDEN HOUSE", player.getCurrentRoomName());
+    }
+}
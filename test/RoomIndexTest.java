@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link RoomIndex} class.
+ * This class tests finding the rooms by their names and indexes.
+ */
+class RoomIndexTest {
+    /**
+     * Tests finding rooms by their names.
+     * Verifies that:
+     * - Names are matched ignoring case
+     * - Indexes are returned for the names and -1 for unknown names
+     * - Thousands of rooms can be found after the table has grown
+     */
+    @Test
+    void get_RoomName_IgnoresCase() {
+        RoomIndex rooms = new RoomIndex();
+        for (int i = 0; i < 5000; i++) {
+            rooms.put(i, new Room(i, "Room_" + i, new ArrayList<>()));
+        }
+        assertEquals(1234, rooms.get("room_1234").getIndex());
+        assertEquals(4999, rooms.getId("ROOM_4999"));
+        assertEquals(-1, rooms.getId("Room_5000"));
+        assertNull(rooms.get((String) null));
+        assertEquals(5000, rooms.nextId());
+        assertSame(rooms.get(42), rooms.get("Room_42"));
+    }
+
+    /**
+     * Tests changing the rooms through the map.
+     * Verifies that:
+     * - A replaced room can't be found by its old name anymore
+     * - Removing a room keeps the other rooms reachable
+     * - Rooms put directly into the map can be found by their names
+     */
+    @Test
+    void put_ReplacedAndRemovedRooms_IndexUpdated() {
+        RoomIndex rooms = new RoomIndex();
+        for (int i = 0; i < 20; i++) {
+            rooms.put(i, new Room(i, "Room_" + i, new ArrayList<>()));
+        }
+        rooms.put(3, new Room(3, "Cellar", new ArrayList<>()));
+        assertNull(rooms.get("Room_3"));
+        assertEquals(3, rooms.getId("cellar"));
+
+        rooms.remove(5);
+        assertNull(rooms.get(5));
+        assertNull(rooms.get("Room_5"));
+        for (int i = 0; i < 20; i++) {
+            if (i != 3 && i != 5) {
+                assertEquals(i, rooms.getId("Room_" + i));
+            }
+        }
+
+        World world = new World(null);
+        world.getRooms().put(7, new Room(7, "Garden_House", new ArrayList<>()));
+        assertNotNull(world.findRoomByName("garden_house"));
+        assertEquals(7, world.getRoomIndex("GARDEN_HOUSE"));
+    }
+
+    /**
+     * Tests changing the rooms through the default methods of the map and through its views.
+     * Verifies that:
+     * - Rooms added with computeIfAbsent, putIfAbsent, merge and replace can be found by their names
+     * - Rooms removed through entrySet().removeIf, keySet().remove and values().iterator().remove can't be found anymore
+     * - Changing a room through its entry replaces the old name
+     */
+    @Test
+    void views_ChangedRooms_IndexUpdated() {
+        RoomIndex rooms = new RoomIndex();
+        rooms.computeIfAbsent(1, id -> new Room(id, "Hall", new ArrayList<>()));
+        rooms.putIfAbsent(2, new Room(2, "Kitchen", new ArrayList<>()));
+        rooms.merge(3, new Room(3, "Cellar", new ArrayList<>()), (old, room) -> room);
+        rooms.put(4, new Room(4, "Attic", new ArrayList<>()));
+        rooms.replace(4, new Room(4, "Library", new ArrayList<>()));
+        assertEquals(1, rooms.getId("hall"));
+        assertEquals(2, rooms.getId("kitchen"));
+        assertEquals(3, rooms.getId("cellar"));
+        assertEquals(-1, rooms.getId("attic"));
+        assertEquals(4, rooms.getId("library"));
+
+        rooms.entrySet().removeIf(entry -> entry.getKey() == 1);
+        assertNull(rooms.get("Hall"));
+        assertNull(rooms.get(1));
+        assertTrue(rooms.keySet().remove(2));
+        assertNull(rooms.get("Kitchen"));
+        Iterator<Room> iterator = rooms.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getName().equals("Cellar")) {
+                iterator.remove();
+            }
+        }
+        assertNull(rooms.get("Cellar"));
+        assertFalse(rooms.containsKey(3));
+
+        rooms.entrySet().iterator().next().setValue(new Room(4, "Study", new ArrayList<>()));
+        assertNull(rooms.get("Library"));
+        assertEquals(4, rooms.getId("study"));
+        assertEquals(1, rooms.size());
+    }
+}
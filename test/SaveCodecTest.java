@@ -0,0 +1,210 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link SaveCodec} class.
+ * This class tests that the game states survive encoding and decoding, and converting the older serialized saves.
+ */
+class SaveCodecTest {
+    /**
+     * Method used to create a GameStateGUI with items in the inventory and in a room
+     * @return the game state
+     */
+    private GameStateGUI createState() {
+        Pistol pistol = new Pistol();
+        pistol.setCurrentAmmo(3);
+        Flashlight flashlight = new Flashlight();
+        flashlight.setBatteryLevel(40);
+        GameStateGUI state = new GameStateGUI();
+        state.setPlayerHealth(75);
+        state.setPlayerStamina(42.5);
+        state.setPlayerPosition(120.25, 300.5);
+        state.setCurrentRoomName("Library");
+        state.setInventory(new ArrayList<>(List.of(pistol, new PistolAmmo(7), flashlight,
+                new KeyItem("Old Photo", "A faded photo."))));
+        state.setEquippedWeapon(pistol);
+        state.setSearchedSpots(Map.of("Library", List.of("Bookshelf", "Desk")));
+        state.setDroppedItems(Map.of("Library", List.of(new ItemPosition(new Bandage(), 64, 96))));
+        state.setLockStates(Map.of("Garden House", true));
+        state.setStalkerDistance(-1);
+        state.setSavedAt(1_700_000_000_000L);
+        return state;
+    }
+
+    /**
+     * Tests encoding and decoding a GameStateGUI.
+     * Verifies that:
+     * - The player's values, items and their own values are restored
+     * - The equipped weapon is the same instance as the one in the inventory
+     * - Items without a definition keep their name and description
+     * - The dropped items keep their positions
+     *
+     * @throws IOException if the save can't be decoded
+     */
+    @Test
+    void decode_EncodedGuiState_RoundTrip() throws IOException {
+        GameStateGUI loaded = (GameStateGUI) SaveCodec.decode(SaveCodec.encode(createState()));
+
+        assertEquals(75, loaded.getPlayerHealth());
+        assertEquals(42.5, loaded.getPlayerStamina());
+        assertEquals(300.5, loaded.getPlayerY());
+        assertEquals("Library", loaded.getCurrentRoomName());
+        assertEquals(4, loaded.getInventory().size());
+        assertSame(loaded.getInventory().get(0), loaded.getEquippedWeapon());
+        assertEquals(3, loaded.getEquippedWeapon().getCurrentAmmo());
+        assertEquals(7, ((PistolAmmo) loaded.getInventory().get(1)).getAmount());
+        assertEquals(40, ((Flashlight) loaded.getInventory().get(2)).getBatteryLevel());
+        assertEquals("A faded photo.", loaded.getInventory().get(3).getDescription());
+        assertEquals(List.of("Bookshelf", "Desk"), loaded.getSearchedSpots().get("Library"));
+        ItemPosition dropped = loaded.getDroppedItems().get("Library").get(0);
+        assertEquals("Bandage", dropped.getItem().getName());
+        assertEquals(96.0, dropped.getY());
+        assertTrue(loaded.getLockStates().get("Garden House"));
+        assertEquals(-1, loaded.getStalkerDistance());
+    }
+    /**
+     * Tests saves of a newer schema.
+     * Verifies that:
+     * - Decoding a save with an unknown version fails instead of producing a broken state
+     */
+    @Test
+    void decode_NewerVersion_Throws() {
+        byte[] data = SaveCodec.encode(createState());
+        data[4] = (byte) (SaveCodec.VERSION + 1);
+        assertThrows(IOException.class, () -> SaveCodec.decode(data));
+    }
+    /**
+     * Tests converting a save written through Java serialization.
+     * Verifies that:
+     * - The file is replaced by a binary save holding the same state
+     * - The binary save is smaller
+     *
+     * @throws IOException if the file can't be written or read
+     */
+    @Test
+    void convertLegacy_SerializedSave_BecomesBinary() throws IOException {
+        File file = File.createTempFile("save_", ".dat");
+        file.deleteOnExit();
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            out.writeObject(createState());
+        }
+        long legacySize = file.length();
+
+        assertTrue(SaveCodec.convertLegacy(file));
+        assertTrue(SaveCodec.isBinary(Files.readAllBytes(file.toPath())));
+        assertTrue(file.length() < legacySize);
+        assertEquals("Library", SaveCodec.readGameStateGUI(file).getCurrentRoomName());
+        assertFalse(SaveCodec.convertLegacy(file));
+    }
+    /**
+     * Tests the compression of the save body.
+     * Verifies that:
+     * - Compressed and uncompressed saves are both read back
+     * - The compressed save is smaller
+     * - The header stays readable without decompressing
+     * - A save compressed with an unknown compression fails to decode
+     *
+     * @throws IOException if the save can't be decoded
+     */
+    @Test
+    void encode_Compression_RoundTrip() throws IOException {
+        byte[] compressed = SaveCodec.encode(createState());
+        byte[] uncompressed;
+        try {
+            SaveCodec.setCompression(null);
+            uncompressed = SaveCodec.encode(createState());
+        } finally {
+            SaveCodec.setCompression(DeflateCompression.DEFAULT);
+        }
+
+        assertEquals(DeflateCompression.ID, compressed[SaveCodec.HEADER_SIZE]);
+        assertEquals(SaveCodec.NO_COMPRESSION, uncompressed[SaveCodec.HEADER_SIZE]);
+        assertTrue(compressed.length < uncompressed.length);
+        assertArrayEquals(Arrays.copyOf(uncompressed, SaveCodec.HEADER_SIZE), Arrays.copyOf(compressed, SaveCodec.HEADER_SIZE));
+        assertEquals(3, ((GameStateGUI) SaveCodec.decode(compressed)).getEquippedWeapon().getCurrentAmmo());
+        assertEquals(3, ((GameStateGUI) SaveCodec.decode(uncompressed)).getEquippedWeapon().getCurrentAmmo());
+        compressed[SaveCodec.HEADER_SIZE] = (byte) 200;
+        assertThrows(IOException.class, () -> SaveCodec.decode(compressed));
+    }
+    /**
+     * Tests reading the metadata of a save.
+     * Verifies that:
+     * - Health, room and play time are read from the fixed-size header, the summary shows the room's display name
+     *
+     * @throws IOException if the file can't be written or read
+     */
+    @Test
+    void readMetadata_BinarySave_ReadsHeader() throws IOException {
+        File file = File.createTempFile("save_", ".dat");
+        file.deleteOnExit();
+        GameStateGUI state = createState();
+        state.setPlayTime(3725.5);
+        SaveCodec.write(file, state);
+
+        SaveMetadata metadata = SaveCodec.readMetadata(file);
+        assertEquals(SaveCodec.VERSION, metadata.getVersion());
+        assertEquals(75, metadata.getHealth());
+        assertEquals("Library", metadata.getRoomName());
+        assertEquals(3_725_500L, metadata.getPlayTimeMillis());
+        assertEquals("Health: 75 | Room: LIBRARY | Played: 1:02:05", metadata.getSummary());
+    }
+
+    /**
+     * Tests reading a save whose counts and indexes have been damaged into 5-byte varints.
+     * Verifies that:
+     * - Negative amounts, indexes and string lengths fail with an IOException
+     * - Amounts larger than the rest of the data fail with an IOException
+     * - A journal record with a negative amount of locks or a negative equipped index fails with an IOException, the same record without them is read
+     */
+    @Test
+    void readCount_CorruptVarInts_ThrowIOException() {
+        SaveCodec.Writer negative = new SaveCodec.Writer();
+        negative.writeVarInt(-1);
+        byte[] minusOne = negative.toByteArray();
+        assertEquals(5, minusOne.length);
+        assertThrows(IOException.class, () -> new SaveCodec.Reader(minusOne, 0).readCount());
+        assertThrows(IOException.class, () -> new SaveCodec.Reader(minusOne, 0).readIndex());
+        assertThrows(IOException.class, () -> new SaveCodec.Reader(new byte[]{100, 1, 2}, 0).readCount());
+
+        SaveCodec.Writer string = new SaveCodec.Writer();
+        string.writeVarInt(1);
+        string.writeVarInt(-5);
+        byte[] negativeLength = string.toByteArray();
+        assertThrows(IOException.class, () -> new SaveCodec.Reader(negativeLength, 0).readString());
+
+        assertDoesNotThrow(() -> SaveJournal.applyDelta(new SaveCodec.Reader(createDelta(0, 0), 0), createState()));
+        assertThrows(IOException.class, () -> SaveJournal.applyDelta(
+                new SaveCodec.Reader(createDelta(-1, 0), 0), createState()));
+        assertThrows(IOException.class, () -> SaveJournal.applyDelta(
+                new SaveCodec.Reader(createDelta(0, -1), 0), createState()));
+    }
+
+    /**
+     * Method used to create a journal record which only changes the player's values
+     * @param locks amount of changed locks written into the record
+     * @param equipped equipped index written into the record
+     * @return the record
+     */
+    private byte[] createDelta(int locks, int equipped) {
+        SaveCodec.Writer out = new SaveCodec.Writer();
+        out.writeSignedVarInt(75);
+        out.writeDouble(42.5);
+        out.writeDouble(120.25);
+        out.writeDouble(300.5);
+        out.writeString("Library");
+        out.writeLong(1000);
+        out.writeLong(1_700_000_000_000L);
+        out.writeSignedVarInt(-1);
+        out.writeVarInt(locks);
+        out.writeVarInt(0);
+        out.writeVarInt(0);
+        out.writeVarInt(0);
+        out.writeVarInt(equipped);
+        out.writeVarInt(0);
+        return out.toByteArray();
+    }
+}
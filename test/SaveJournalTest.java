@@ -0,0 +1,166 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link SaveJournal} class.
+ * This class tests that incremental saves restore the same state as full saves, and that the journal gets compacted.
+ */
+class SaveJournalTest {
+    /**
+     * Method used to create a GameStateGUI
+     * @param health player's health
+     * @param inventory the inventory
+     * @param searched spots searched in the Library
+     * @return the game state
+     */
+    private GameStateGUI createState(int health, List<Item> inventory, List<String> searched) {
+        GameStateGUI state = new GameStateGUI();
+        state.setPlayerHealth(health);
+        state.setPlayerPosition(health * 2, 50);
+        state.setCurrentRoomName("Library");
+        state.setInventory(new ArrayList<>(inventory));
+        state.setSearchedSpots(Map.of("Library", searched));
+        state.setDroppedItems(Map.of("Library", List.of(new ItemPosition(new Bandage(), 64, 96))));
+        state.setLockStates(Map.of("Garden House", true));
+        return state;
+    }
+
+    /**
+     * Method used to create a slot store in a new temporary file
+     * @return the store
+     * @throws IOException if the store couldn't be created
+     */
+    private SlotStore createStore() throws IOException {
+        File file = File.createTempFile("slots", ".bin");
+        file.delete();
+        file.deleteOnExit();
+        return new SlotStore(file);
+    }
+
+    /**
+     * Method used to read the save "save_1" of a store
+     * @param store which store to read from
+     * @return the decoded state
+     * @throws IOException if the save can't be read
+     */
+    private GameStateGUI read(SlotStore store) throws IOException {
+        return (GameStateGUI) SaveJournal.decode(store.read("save_1"));
+    }
+
+    /**
+     * Tests saving the changes into the journal.
+     * Verifies that:
+     * - The base stays the same size, only the records after it grow
+     * - Loading the save applies the changed health, inventory, searched spots and locks
+     * - The equipped weapon is the same instance as the one in the inventory
+     * - The header is updated, so the save menus show the latest values
+     *
+     * @throws IOException if the slot can't be written or read
+     */
+    @Test
+    void save_ChangedState_AppendsDelta() throws IOException {
+        SlotStore store = createStore();
+        SaveJournal journal = new SaveJournal(store, "save_1");
+        Pistol pistol = new Pistol();
+        journal.save(createState(100, List.of(pistol), List.of("Desk")));
+        int baseSize = store.read("save_1").getBaseLength();
+
+        Pistol emptyPistol = new Pistol();
+        emptyPistol.setCurrentAmmo(0);
+        GameStateGUI next = createState(60, List.of(emptyPistol, new Flashlight()), List.of("Desk", "Bookshelf"));
+        next.setEquippedWeapon(emptyPistol);
+        next.setLockStates(Map.of("Garden House", false));
+        journal.save(next);
+
+        assertEquals(baseSize, store.read("save_1").getBaseLength());
+        assertTrue(journal.getJournalLength() > 0);
+        GameStateGUI loaded = read(store);
+        assertEquals(60, loaded.getPlayerHealth());
+        assertEquals(120.0, loaded.getPlayerX());
+        assertEquals(2, loaded.getInventory().size());
+        assertSame(loaded.getInventory().get(0), loaded.getEquippedWeapon());
+        assertEquals(0, loaded.getEquippedWeapon().getCurrentAmmo());
+        assertEquals(List.of("Desk", "Bookshelf"), loaded.getSearchedSpots().get("Library"));
+        assertFalse(loaded.getLockStates().get("Garden House"));
+        assertEquals(1, loaded.getDroppedItems().get("Library").size());
+        assertEquals(60, store.getMetadata("save_1").getHealth());
+        store.close();
+    }
+    /**
+     * Tests compacting the journal.
+     * Verifies that:
+     * - The journal is compacted into a new base once it grows over the threshold
+     * - A new journal instance(as after restarting the game) continues from the slot
+     *
+     * @throws IOException if the slot can't be written or read
+     */
+    @Test
+    void save_OverThreshold_Compacts() throws IOException {
+        SlotStore store = createStore();
+        SaveJournal journal = new SaveJournal(store, "save_1", 200);
+        for (int i = 1; i <= 20; i++) {
+            journal.save(createState(i, List.of(new PistolAmmo(i)), List.of("Desk")));
+        }
+        assertTrue(journal.getCompactions() > 0);
+        assertTrue(journal.getJournalLength() <= 200);
+        new SaveJournal(store, "save_1", 200).save(createState(21, List.of(new PistolAmmo(21)), List.of("Desk")));
+
+        GameStateGUI loaded = read(store);
+        assertEquals(21, loaded.getPlayerHealth());
+        assertEquals(21, ((PistolAmmo) loaded.getInventory().get(0)).getAmount());
+        store.close();
+    }
+    /**
+     * Tests records which don't belong to the base.
+     * Verifies that:
+     * - After the save is overwritten by a full save, the old records are dropped
+     * - The journal notices the overwrite and continues from the new base
+     *
+     * @throws IOException if the slot can't be written or read
+     */
+    @Test
+    void save_SlotOverwritten_ContinuesFromNewBase() throws IOException {
+        SlotStore store = createStore();
+        SaveJournal journal = new SaveJournal(store, "save_1");
+        journal.save(createState(100, List.of(), List.of()));
+        journal.save(createState(50, List.of(), List.of()));
+
+        store.write("save_1", SaveCodec.encode(createState(80, List.of(), List.of("Desk"))));
+        assertEquals(80, read(store).getPlayerHealth());
+
+        journal.save(createState(70, List.of(), List.of("Desk", "Bookshelf")));
+        GameStateGUI loaded = read(store);
+        assertEquals(70, loaded.getPlayerHealth());
+        assertEquals(List.of("Desk", "Bookshelf"), loaded.getSearchedSpots().get("Library"));
+        store.close();
+    }
+
+    /**
+     * Tests saving a state from which a lock has disappeared.
+     * Verifies that:
+     * - Loading the save doesn't bring back the removed lock
+     * - The other locks keep their changed states
+     *
+     * @throws IOException if the slot can't be written or read
+     */
+    @Test
+    void save_LockRemoved_NotRestored() throws IOException {
+        SlotStore store = createStore();
+        SaveJournal journal = new SaveJournal(store, "save_1");
+        GameStateGUI first = createState(100, List.of(), List.of("Desk"));
+        first.setLockStates(Map.of("Garden House", true, "Cellar", true));
+        journal.save(first);
+
+        GameStateGUI next = createState(90, List.of(), List.of("Desk"));
+        next.setLockStates(Map.of("Cellar", false));
+        journal.save(next);
+
+        assertTrue(journal.getJournalLength() > 0);
+        GameStateGUI loaded = read(store);
+        assertEquals(Map.of("Cellar", false), loaded.getLockStates());
+        store.close();
+    }
+}
@@ -0,0 +1,45 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link SavePipeline} class.
+ * This class tests writing the saves in the background.
+ */
+class SavePipelineTest {
+    /**
+     * Tests saving in the background.
+     * Verifies that:
+     * - Saves into the same slot are written in the order they have been made
+     * - The last snapshot is the one left in the slot
+     *
+     * @throws Exception if the save can't be written or read
+     */
+    @Test
+    void save_SeveralSnapshots_LastOneWins() throws Exception {
+        File file = File.createTempFile("slots", ".bin");
+        file.delete();
+        file.deleteOnExit();
+        try (SlotStore store = new SlotStore(file)) {
+            List<CompletableFuture<String>> saves = new ArrayList<>();
+            for (int health = 1; health <= 20; health++) {
+                GameStateGUI snapshot = new GameStateGUI();
+                snapshot.setPlayerHealth(health);
+                snapshot.setCurrentRoomName("Caravan");
+                snapshot.setInventory(new ArrayList<>());
+                saves.add(SavePipeline.save(store, "save_1", snapshot));
+            }
+            for (CompletableFuture<String> save : saves) {
+                assertEquals("save_1", save.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(20, ((GameStateGUI) SaveJournal.decode(store.read("save_1"))).getPlayerHealth());
+            assertEquals(1, store.list().size());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link SaveThumbnail} class.
+ * This class tests encoding and decoding the thumbnails stored next to the saves.
+ */
+class SaveThumbnailTest {
+    /**
+     * Tests encoding and decoding a thumbnail.
+     * Verifies that:
+     * - The size and the colors of the pixels survive the round trip
+     * - The thumbnail is stored compressed
+     *
+     * @throws IOException if the thumbnail can't be decoded
+     */
+    @Test
+    void encode_Thumbnail_DecodedBack() throws IOException {
+        int width = SaveThumbnail.WIDTH;
+        int height = 54;
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 0xFF000000 | (i % width) << 16 | (i / width) << 8 | 0x40;
+        }
+        byte[] encoded = new SaveThumbnail(width, height, pixels).encode();
+        assertTrue(encoded.length < pixels.length * 3);
+
+        SaveThumbnail decoded = SaveThumbnail.decode(encoded);
+        assertEquals(width, decoded.getWidth());
+        assertEquals(height, decoded.getHeight());
+        assertEquals(pixels[0], decoded.getArgb(0, 0));
+        assertEquals(pixels[17 * width + 90], decoded.getArgb(90, 17));
+        assertEquals(pixels[pixels.length - 1], decoded.getArgb(width - 1, height - 1));
+    }
+
+    /**
+     * Tests decoding data which isn't a valid thumbnail.
+     * Verifies that:
+     * - Data without the thumbnail's magic bytes is rejected
+     * - A truncated thumbnail is rejected
+     */
+    @Test
+    void decode_InvalidData_Rejected() {
+        assertThrows(IOException.class, () -> SaveThumbnail.decode(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}));
+        byte[] encoded = new SaveThumbnail(2, 2, new int[]{1, 2, 3, 4}).encode();
+        byte[] truncated = java.util.Arrays.copyOf(encoded, 10);
+        assertThrows(IOException.class, () -> SaveThumbnail.decode(truncated));
+    }
+}
@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link SlotStore} class.
+ * This class tests writing, reading and deleting the saves, keeping them after reopening the store, and recovering from a broken write.
+ */
+class SlotStoreTest {
+    /**
+     * Method used to create a new temporary store file
+     * @return the file, not created yet
+     * @throws IOException if the file couldn't be created
+     */
+    private File createStoreFile() throws IOException {
+        File file = File.createTempFile("slots", ".bin");
+        file.delete();
+        file.deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Method used to encode a save
+     * @param health player's health
+     * @return the encoded save
+     * @throws IOException if the save couldn't be encoded
+     */
+    private byte[] createSave(int health) throws IOException {
+        GameStateGUI state = new GameStateGUI();
+        state.setPlayerHealth(health);
+        state.setCurrentRoomName("Caravan");
+        state.setInventory(new ArrayList<>());
+        return SaveCodec.encode(state);
+    }
+
+    /**
+     * Method used to decode the health stored in a save
+     * @param store which store to read from
+     * @param name name of the save
+     * @return the health
+     * @throws IOException if the save couldn't be read
+     */
+    private int readHealth(SlotStore store, String name) throws IOException {
+        return ((GameStateGUI) SaveJournal.decode(store.read(name))).getPlayerHealth();
+    }
+
+    /**
+     * Tests writing and reading the saves.
+     * Verifies that:
+     * - Overwriting a save keeps it in the same slot
+     * - The metadata is read from the slot table
+     * - The saves are kept after reopening the store
+     *
+     * @throws IOException if the store can't be written or read
+     */
+    @Test
+    void write_ReopenedStore_KeepsNewestVersions() throws IOException {
+        File file = createStoreFile();
+        try (SlotStore store = new SlotStore(file)) {
+            store.write("save_1", createSave(100));
+            store.write("save_2", createSave(80));
+            store.write("save_1", createSave(40));
+            assertEquals(2, store.list().size());
+            assertEquals(40, store.getMetadata("save_1").getHealth());
+            assertEquals("Caravan", store.getMetadata("save_2").getRoomName());
+        }
+        long size = file.length();
+        try (SlotStore store = new SlotStore(file)) {
+            assertEquals(40, readHealth(store, "save_1"));
+            assertEquals(80, readHealth(store, "save_2"));
+            assertEquals(size, file.length());
+        }
+    }
+
+    /**
+     * Tests a write interrupted by a crash.
+     * Verifies that:
+     * - A broken newest entry is ignored
+     * - The previous version of the save is read instead
+     *
+     * @throws IOException if the store can't be written or read
+     */
+    @Test
+    void open_BrokenNewestEntry_FallsBackToPreviousVersion() throws IOException {
+        File file = createStoreFile();
+        try (SlotStore store = new SlotStore(file)) {
+            store.write("save_1", createSave(100));
+            store.write("save_1", createSave(50));
+        }
+        // The second write used the second entry of the first slot, right after the file header and the first entry
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(64 + 160 + 60);
+            raf.write(0xFF);
+        }
+        try (SlotStore store = new SlotStore(file)) {
+            assertEquals(100, readHealth(store, "save_1"));
+        }
+    }
+
+    /**
+     * Tests using more saves than the store has slots.
+     * Verifies that:
+     * - The store grows to twice the slots
+     * - Deleted saves free their slots
+     *
+     * @throws IOException if the store can't be written or read
+     */
+    @Test
+    void write_AllSlotsUsed_Grows() throws IOException {
+        File file = createStoreFile();
+        try (SlotStore store = new SlotStore(file, 2, 4096)) {
+            for (int i = 1; i <= 3; i++) {
+                store.write("save_" + i, createSave(i));
+            }
+            assertEquals(4, store.getSlotCount());
+            assertEquals(1, readHealth(store, "save_1"));
+            assertTrue(store.delete("save_2"));
+            assertFalse(store.contains("save_2"));
+            assertNull(store.read("save_2"));
+            assertFalse(store.delete("save_2"));
+        }
+        try (SlotStore store = new SlotStore(file)) {
+            assertEquals(4, store.getSlotCount());
+            assertEquals(2, store.list().size());
+            assertEquals(3, readHealth(store, "save_3"));
+        }
+    }
+}
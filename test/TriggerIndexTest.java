@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Test class for verifying the functionality of the {@link TriggerIndex} class.
+ * This class tests compiling the trigger zones from the object layers and the zone enter/leave events.
+ */
+class TriggerIndexTest {
+    /** The TriggerIndex instance under test */
+    private TriggerIndex index;
+    /** Tracker used to query the index */
+    private TriggerIndex.Tracker tracker;
+    /**
+     * Initializes test environment before each test method execution.
+     * Creates a 10x10 room(32px tiles) with:
+     * - An exit to the hall at the top
+     * - A small transition prompt
+     * - A hiding spot and a cassette player
+     */
+    @BeforeEach
+    void setUp() {
+        RoomMap map = new RoomMap(10, 10, 32, 32, List.of(), List.of(
+                new RoomMap.ObjectGroup("GameObjects", 0, 0, List.of(
+                        new RoomMap.MapObject("SPAWNPOINT", "", 100, 100, 0, 0),
+                        new RoomMap.MapObject("EXIT TO Enter Hall", "", 64, 0, 64, 32))),
+                new RoomMap.ObjectGroup("RoomTransitionPrompt", 0, 0, List.of(
+                        new RoomMap.MapObject("PROMPT Cellar", "", 300, 300, 10, 10))),
+                new RoomMap.ObjectGroup("HidingSpotPrompt", 0, 0, List.of(
+                        new RoomMap.MapObject("Hide in the closet", "", 200, 64, 32, 32))),
+                new RoomMap.ObjectGroup("CassettePlayer", 0, 0, List.of(
+                        new RoomMap.MapObject("", "", 250, 250, 0, 0)))),
+                List.of());
+        index = TriggerIndex.build(map);
+        tracker = new TriggerIndex.Tracker();
+    }
+
+    /**
+     * Tests compiling the exits.
+     * Verifies that:
+     * - Only EXIT TO objects become exit zones
+     * - The target room is resolved when compiling
+     */
+    @Test
+    void build_ExitObject_ResolvesTargetRoom() {
+        assertEquals(4, index.size());
+        tracker.update(index, 96, 16);
+        TriggerIndex.Zone exit = tracker.getFirstInside(TriggerIndex.Kind.EXIT);
+        assertNotNull(exit);
+        assertSame(RoomId.of("enter_hall"), exit.getTargetRoom());
+        assertEquals("ENTER FROM ENTER HALL", exit.getTargetRoom().getEntranceName());
+    }
+    /**
+     * Tests zones smaller than the player.
+     * Verifies that:
+     * - Small prompts are expanded around their center to the player's size
+     */
+    @Test
+    void update_SmallPrompt_ExpandedToPlayerSize() {
+        tracker.update(index, 314, 305);
+        assertTrue(tracker.isInside(TriggerIndex.Kind.PROMPT));
+        tracker.update(index, 316, 305);
+        assertFalse(tracker.isInside(TriggerIndex.Kind.PROMPT));
+    }
+    /**
+     * Tests the zone events.
+     * Verifies that:
+     * - Walking into a zone produces an enter event only once
+     * - Walking out of it produces a leave event
+     */
+    @Test
+    void update_WalkThroughHidingSpot_EntersAndLeaves() {
+        tracker.update(index, 195, 80);
+        assertEquals(1, tracker.getEntered().size());
+        assertEquals("Hide in the closet", tracker.getEntered().get(0).getName());
+        tracker.update(index, 196, 80);
+        assertTrue(tracker.getEntered().isEmpty());
+        assertTrue(tracker.isInside(TriggerIndex.Kind.HIDING_SPOT));
+        tracker.update(index, 180, 80);
+        assertTrue(tracker.hasLeft(TriggerIndex.Kind.HIDING_SPOT));
+        assertFalse(tracker.isInside(TriggerIndex.Kind.HIDING_SPOT));
+    }
+    /**
+     * Tests the cassette player radius.
+     * Verifies that:
+     * - The player has to be closer than 50 pixels to the cassette player
+     */
+    @Test
+    void update_NearCassettePlayer_InsideRadius() {
+        tracker.update(index, 280, 280);
+        assertTrue(tracker.isInside(TriggerIndex.Kind.CASSETTE_PLAYER));
+        tracker.update(index, 290, 290);
+        assertFalse(tracker.isInside(TriggerIndex.Kind.CASSETTE_PLAYER));
+    }
+    /**
+     * Tests changing rooms.
+     * Verifies that:
+     * - Zones of the previous room are all left when the index changes
+     */
+    @Test
+    void update_NoRoom_LeavesAllZones() {
+        tracker.update(index, 96, 16);
+        tracker.update(null, 96, 16);
+        assertTrue(tracker.getInside().isEmpty());
+        assertTrue(tracker.hasLeft(TriggerIndex.Kind.EXIT));
+    }
+}